@@ -0,0 +1,13 @@
+package org.depth.web.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 핸들러 메서드 인자에 경로 템플릿 변수({name}) 값을 바인딩 (value 가 비어 있으면 파라미터 이름 사용)
+@Target({ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PathVariable {
+    String value() default "";
+}
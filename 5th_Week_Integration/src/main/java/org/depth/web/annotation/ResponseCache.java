@@ -0,0 +1,17 @@
+package org.depth.web.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// GET 핸들러의 직렬화된 응답을 서버에 캐시 (키: 요청 경로 + varyHeaders 값, 200 응답만 저장)
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ResponseCache {
+    // 저장 후 유효 시간 (초)
+    long ttlSeconds() default 60;
+
+    // 값이 다르면 다른 응답으로 캐시할 요청 헤더 이름
+    String[] varyHeaders() default {};
+}
@@ -1,28 +1,47 @@
 package org.depth.web.container;
 
 import lombok.Getter;
+import org.depth.web.container.admission.AdmissionController;
+import org.depth.web.container.admission.AdmissionPolicy;
+import org.depth.web.container.concurrent.ConcurrencyLimiter;
+import org.depth.web.container.concurrent.VirtualThreadExecutors;
+import org.depth.web.container.concurrent.VirtualThreadPinningMonitor;
+import org.depth.web.container.connector.AcceptorStatistics;
+import org.depth.web.container.connector.NioSelectorConnector;
 import org.depth.web.container.filter.Filter;
+import org.depth.web.container.filter.FilterMapping;
+import org.depth.web.container.filter.FilterRegistry;
 import org.depth.web.container.listener.RequestListener;
 import org.depth.web.container.listener.SessionListener;
 import org.depth.web.container.request.HttpRequestHandler;
+import org.depth.web.http.handler.HttpResponseWriter;
 import org.depth.web.container.session.SessionManager;
 import org.depth.web.servlet.http.HttpServlet;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ServerSocketChannel;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class HttpServletContainer implements Runnable {
     private final PathRoutingServletMap servletMap;
+    @Getter
     private final HttpRequestHandler httpRequestHandler;
+    @Getter
     private final ExecutorService executorService;
 
+    // 필터 매핑과 서블릿별로 미리 계산한 필터 배열
     @Getter
-    private final List<Filter> filters = new ArrayList<>();
+    private final FilterRegistry filterRegistry;
 
     @Getter
     private final SessionManager sessionManager;
@@ -31,54 +50,246 @@ public class HttpServletContainer implements Runnable {
     private int port;
     private volatile boolean isRunning = false;
     private ServerSocket serverSocket;
+    private NioSelectorConnector nioConnector;
+
+    // SO_REUSEPORT 로 같은 포트를 여는 리스닝 소켓(억셉터) 수
+    private int acceptorCount = 1;
+    private final List<ServerSocket> additionalServerSockets = new ArrayList<>();
+    private final AtomicInteger runningAcceptors = new AtomicInteger();
+
+    @Getter
+    private final List<AcceptorStatistics> acceptorStatistics = new CopyOnWriteArrayList<>();
+
+    // 입장 제어를 켠 경우에만 설정됨
+    @Getter
+    private AdmissionController admissionController;
+    private byte[] serviceUnavailableResponse;
+
+    // 가상 스레드 모드에서만 설정됨
+    @Getter
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    // 가상 스레드 피닝으로 보고할 최소 시간
+    private static final Duration PINNING_THRESHOLD = Duration.ofMillis(20);
 
 
+    // 기본(첫 번째) 리스닝 소켓의 억셉터 루프
     @Override
     public void run() {
+        acceptLoop(serverSocket, acceptorStatistics.get(0));
+    }
+
+    private void acceptLoop(ServerSocket listeningSocket, AcceptorStatistics statistics) {
         try {
-            System.out.println("Server started on port " + this.port);
-            isRunning = true;
+            System.out.println("Server started on port " + this.port + " (" + statistics.getName() + ")");
             while (isRunning) {
-                Socket clientSocket = serverSocket.accept();
-                executorService.submit(() -> httpRequestHandler.handle(clientSocket));
+                Socket clientSocket = listeningSocket.accept();
+                statistics.recordAccepted();
+                if (admissionController != null) {
+                    admissionController.submit(() -> httpRequestHandler.handle(clientSocket),
+                            () -> rejectConnection(clientSocket));
+                } else {
+                    executorService.submit(() -> httpRequestHandler.handle(clientSocket));
+                }
             }
         } catch (IOException e) {
             if (isRunning) {
                  e.printStackTrace();
             }
         } finally {
-            if (serverSocket != null && !serverSocket.isClosed()) {
+            if (!listeningSocket.isClosed()) {
                 try {
-                    serverSocket.close();
+                    listeningSocket.close();
                 } catch (IOException e) {
                     e.printStackTrace();
                 }
             }
-            executorService.shutdown();
-            try {
-                if (!executorService.awaitTermination(60, TimeUnit.SECONDS)) {
-                    executorService.shutdownNow();
-                }
-            } catch (InterruptedException e) {
+            // 마지막 억셉터가 종료될 때 공용 자원 정리
+            if (runningAcceptors.decrementAndGet() == 0) {
+                shutdownResources();
+            }
+        }
+    }
+
+    // 미리 만들어 둔 503 응답을 보내고 연결 종료
+    private void rejectConnection(Socket clientSocket) {
+        try (Socket socket = clientSocket) {
+            socket.getOutputStream().write(serviceUnavailableResponse);
+            socket.getOutputStream().flush();
+        } catch (IOException e) {
+            // 클라이언트가 이미 떠난 경우
+        }
+    }
+
+    // 워커 풀과 세션 관리자 정리 (커넥터 공통)
+    private void shutdownResources() {
+        executorService.shutdown();
+        try {
+            if (!executorService.awaitTermination(60, TimeUnit.SECONDS)) {
                 executorService.shutdownNow();
-                Thread.currentThread().interrupt();
             }
-            sessionManager.shutdown();
-            System.out.println("Server stopped on port " + this.port);
+        } catch (InterruptedException e) {
+            executorService.shutdownNow();
+            Thread.currentThread().interrupt();
         }
+        if (pinningMonitor != null) {
+            pinningMonitor.close();
+        }
+        sessionManager.shutdown();
+        System.out.println("Server stopped on port " + this.port);
+    }
+
+    /**
+     * 블로킹 accept 대신 NIO 셀렉터 커넥터를 사용하도록 설정합니다.
+     * start 이전에 호출해야 하며, 요청 처리는 기존 워커 풀에서 수행됩니다.
+     * @param selectorCount 셀렉터(Poller) 스레드 수
+     */
+    public void enableNioConnector(int selectorCount) {
+        if (isRunning) {
+            throw new IllegalStateException("Connector must be configured before start");
+        }
+        this.nioConnector = new NioSelectorConnector(this.httpRequestHandler, this.executorService, selectorCount);
+    }
+
+    /**
+     * 워커 풀 앞에 유한 입장 대기열을 둡니다.
+     * 대기열이 가득 차거나 정책이 차단을 결정하면 미리 만들어 둔 503 응답(Retry-After 포함)을 보내고 연결을 닫습니다.
+     * start 이전에 호출해야 합니다.
+     * @param capacity 대기열 최대 길이
+     * @param policy 부하 차단 정책
+     * @param retryAfterSeconds 503 응답의 Retry-After 값
+     */
+    public void enableAdmissionControl(int capacity, AdmissionPolicy policy, int retryAfterSeconds) {
+        if (isRunning) {
+            throw new IllegalStateException("Admission control must be configured before start");
+        }
+        this.admissionController = new AdmissionController(this.executorService, capacity, policy);
+        this.serviceUnavailableResponse = HttpResponseWriter.createServiceUnavailableResponse(retryAfterSeconds).getContent();
     }
 
     public void start(int port) throws IOException {
         this.port = port;
-        this.serverSocket = new ServerSocket(this.port);
-        new Thread(this).start();
+        startPinningMonitor();
+        if (nioConnector != null) {
+            if (admissionController != null) {
+                nioConnector.setAdmissionControl(admissionController, serviceUnavailableResponse);
+            }
+            nioConnector.start(port);
+            isRunning = true;
+            System.out.println("Server started on port " + this.port + " (nio)");
+            return;
+        }
+        openListeningSockets();
+
+        runningAcceptors.set(1 + additionalServerSockets.size());
+        isRunning = true;
+        new Thread(this, "acceptor-0").start();
+        for (int i = 0; i < additionalServerSockets.size(); i++) {
+            ServerSocket listeningSocket = additionalServerSockets.get(i);
+            AcceptorStatistics statistics = acceptorStatistics.get(i + 1);
+            new Thread(() -> acceptLoop(listeningSocket, statistics), statistics.getName()).start();
+        }
+    }
+
+    /**
+     * 같은 포트에 SO_REUSEPORT 리스닝 소켓을 여러 개 열고, 소켓마다 억셉터 스레드를 둡니다.
+     * 커널(Linux)이 새 연결을 소켓들에 분산하므로 연결 수립이 많을 때 accept 병목을 줄일 수 있습니다.
+     * SO_REUSEPORT 를 지원하지 않는 플랫폼에서는 억셉터 하나로 동작합니다. start 이전에 호출해야 합니다.
+     * @param acceptorCount 리스닝 소켓(억셉터 스레드) 수
+     */
+    public void enableReusePortAcceptors(int acceptorCount) {
+        if (isRunning) {
+            throw new IllegalStateException("Acceptors must be configured before start");
+        }
+        if (acceptorCount < 1) {
+            throw new IllegalArgumentException("acceptorCount must be at least 1: " + acceptorCount);
+        }
+        this.acceptorCount = acceptorCount;
+    }
+
+    private void openListeningSockets() throws IOException {
+        acceptorStatistics.clear();
+        additionalServerSockets.clear();
+
+        boolean reusePort = acceptorCount > 1 && isReusePortSupported();
+        if (acceptorCount > 1 && !reusePort) {
+            System.err.println("HttpServletContainer WARN: SO_REUSEPORT is not supported on this platform. Using a single acceptor.");
+        }
+
+        this.serverSocket = openListeningSocket(reusePort);
+        acceptorStatistics.add(new AcceptorStatistics("acceptor-0"));
+        if (!reusePort) {
+            return;
+        }
+        try {
+            for (int i = 1; i < acceptorCount; i++) {
+                additionalServerSockets.add(openListeningSocket(true));
+                acceptorStatistics.add(new AcceptorStatistics("acceptor-" + i));
+            }
+        } catch (IOException | RuntimeException e) {
+            // 일부만 열린 상태로 포트를 붙잡고 있지 않도록 이미 연 소켓을 모두 닫음
+            closeListeningSocket(serverSocket);
+            for (ServerSocket listeningSocket : additionalServerSockets) {
+                closeListeningSocket(listeningSocket);
+            }
+            additionalServerSockets.clear();
+            acceptorStatistics.clear();
+            throw e;
+        }
+    }
+
+    private static boolean isReusePortSupported() throws IOException {
+        try (ServerSocketChannel probe = ServerSocketChannel.open()) {
+            return probe.supportedOptions().contains(StandardSocketOptions.SO_REUSEPORT);
+        }
+    }
+
+    // 채널 기반 리스닝 소켓: 수락된 소켓이 SocketChannel 을 가지므로 파일 응답을 sendfile 로 보낼 수 있음
+    private ServerSocket openListeningSocket(boolean reusePort) throws IOException {
+        ServerSocketChannel listeningChannel = ServerSocketChannel.open();
+        try {
+            if (reusePort) {
+                listeningChannel.setOption(StandardSocketOptions.SO_REUSEPORT, true);
+            }
+            listeningChannel.bind(new InetSocketAddress(this.port));
+        } catch (IOException | RuntimeException e) {
+            listeningChannel.close();
+            throw e;
+        }
+        return listeningChannel.socket();
+    }
+
+    private void startPinningMonitor() {
+        if (pinningMonitor == null) {
+            return;
+        }
+        try {
+            pinningMonitor.start();
+        } catch (RuntimeException e) {
+            System.err.println("HttpServletContainer WARN: pinning diagnostics unavailable: " + e.getMessage());
+        }
     }
 
     public void stop() {
+        if (nioConnector != null) {
+            if (isRunning) {
+                isRunning = false;
+                nioConnector.stop();
+                shutdownResources();
+            }
+            return;
+        }
         isRunning = false;
-        if (serverSocket != null && !serverSocket.isClosed()) {
+        closeListeningSocket(serverSocket);
+        for (ServerSocket listeningSocket : additionalServerSockets) {
+            closeListeningSocket(listeningSocket);
+        }
+    }
+
+    private void closeListeningSocket(ServerSocket listeningSocket) {
+        if (listeningSocket != null && !listeningSocket.isClosed()) {
             try {
-                serverSocket.close();
+                listeningSocket.close();
             } catch (IOException e) {
                 e.printStackTrace();
             }
@@ -88,21 +299,41 @@ public class HttpServletContainer implements Runnable {
     public void registerServlet(HttpServlet servlet) {
         servlet.init();
         this.servletMap.put(servlet.getServletPath(), servlet);
+        this.filterRegistry.refresh();
     }
 
     public void unregisterServlet(HttpServlet servlet) {
         servlet.destroy();
         this.servletMap.remove(servlet.getServletPath());
+        this.filterRegistry.refresh();
     }
 
+    // 모든 경로, 모든 디스패치 계기에 적용
     public void registerFilter(Filter filter) {
-        filter.init();
-        this.filters.add(filter);
+        registerFilter(FilterMapping.of(filter));
+    }
+
+    /**
+     * URL 패턴과 디스패치 계기를 지정해 필터를 등록합니다.
+     * 같은 필터를 여러 매핑으로 등록하면 init 은 처음 한 번만 호출합니다.
+     * @param mapping 필터 매핑
+     */
+    public void registerFilter(FilterMapping mapping) {
+        if (!this.filterRegistry.getFilters().contains(mapping.getFilter())) {
+            mapping.getFilter().init();
+        }
+        this.filterRegistry.addMapping(mapping);
     }
 
     public void unregisterFilter(Filter filter) {
-        filter.destroy();
-        this.filters.remove(filter);
+        if (this.filterRegistry.removeFilter(filter)) {
+            filter.destroy();
+        }
+    }
+
+    // 등록 순서대로의 필터 목록 (읽기 전용)
+    public List<Filter> getFilters() {
+        return this.filterRegistry.getFilters();
     }
 
     public void registerSessionListener(SessionListener listener) {
@@ -126,14 +357,32 @@ public class HttpServletContainer implements Runnable {
     public HttpServletContainer() {
         this.servletMap = new PathRoutingServletMap();
         this.sessionManager = new SessionManager();
-        this.httpRequestHandler = new HttpRequestHandler(this.servletMap, this.filters, this.sessionManager);
+        this.filterRegistry = new FilterRegistry(this.servletMap);
+        this.httpRequestHandler = new HttpRequestHandler(this.servletMap, this.filterRegistry, this.sessionManager);
         this.executorService = java.util.concurrent.Executors.newFixedThreadPool(10);
+        // 비동기 응답을 마친 블로킹 연결의 다음 요청은 다시 워커 풀에서 읽음
+        this.httpRequestHandler.setAsyncResumeExecutor(this.executorService);
+    }
+
+    /**
+     * 연결마다 가상 스레드 하나를 할당하는 컨테이너를 생성합니다.
+     * 동시에 서블릿을 실행하는 요청 수는 maxConcurrentRequests 로 제한되며 (유휴 keep-alive 연결은 세지 않음),
+     * synchronized 구간 등에서 발생하는 피닝은 getPinningMonitor()로 확인할 수 있습니다.
+     * @param maxConcurrentRequests 동시에 처리할 최대 요청 수
+     */
+    public static HttpServletContainer withVirtualThreads(int maxConcurrentRequests) {
+        HttpServletContainer container = new HttpServletContainer(VirtualThreadExecutors.newVirtualThreadPerTaskExecutor());
+        container.httpRequestHandler.setConcurrencyLimiter(new ConcurrencyLimiter(maxConcurrentRequests));
+        container.pinningMonitor = new VirtualThreadPinningMonitor(PINNING_THRESHOLD);
+        return container;
     }
 
     public HttpServletContainer(ExecutorService executorService) {
         this.servletMap = new PathRoutingServletMap();
         this.sessionManager = new SessionManager();
-        this.httpRequestHandler = new HttpRequestHandler(this.servletMap, this.filters, this.sessionManager);
+        this.filterRegistry = new FilterRegistry(this.servletMap);
+        this.httpRequestHandler = new HttpRequestHandler(this.servletMap, this.filterRegistry, this.sessionManager);
         this.executorService = executorService;
+        this.httpRequestHandler.setAsyncResumeExecutor(this.executorService);
     }
 }
@@ -3,43 +3,212 @@ package org.depth.web.container;
 
 import org.depth.web.servlet.Servlet;
 
+import java.util.AbstractMap;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 
-public class PathRoutingServletMap extends HashMap<String, Servlet> {
+/**
+ * 서블릿 경로 → 서블릿 매핑
+ * 등록/해제 때마다 불변 라우팅 표(압축 트라이 + 확장자 표)를 새로 만들어 교체하므로,
+ * 조회는 잠금 없이 항상 일관된 스냅샷을 보며 비용은 서블릿 수가 아니라 경로 길이에 비례한다.
+ * 매칭 순서: 정확히 일치 → 가장 긴 문자열 접두사 → 확장자(*.ext) → 기본 서블릿(/*)
+ */
+public class PathRoutingServletMap extends AbstractMap<String, Servlet> {
+    private volatile Routes routes = Routes.compile(Map.of());
+
     public Servlet findBestMatchingFor(String path) {
         if (path == null) {
             return null;
         }
+        Routes current = routes;
 
-        // 정확히 일치
-        if (containsKey(path)) {
-            return get(path);
-        }
-
-        // 가장 긴 경로 접두사 일치
-        String longestMatch = null;
-        for (String key : keySet()) {
-            if (path.startsWith(key) && (longestMatch == null || key.length() > longestMatch.length())) {
-                longestMatch = key;
-            }
-        }
+        // 정확히 일치 / 가장 긴 경로 접두사 일치 (정확히 일치하는 키가 곧 가장 긴 접두사)
+        Servlet longestMatch = current.longestPrefixMatch(path);
         if (longestMatch != null) {
-            return get(longestMatch);
+            return longestMatch;
         }
 
         // 확장자 일치
         int lastDotIndex = path.lastIndexOf('.');
         if (lastDotIndex != -1) {
-            String extension = path.substring(lastDotIndex);
-            for (String key : keySet()) {
-                if (key.startsWith("*") && key.endsWith(extension)) {
-                    return get(key);
-                }
+            Servlet extensionMatch = current.extensions.get(path.substring(lastDotIndex));
+            if (extensionMatch != null) {
+                return extensionMatch;
             }
         }
 
         // 기본 서블릿
-        return get("/*");
+        return current.servlets.get("/*");
+    }
+
+    @Override
+    public synchronized Servlet put(String path, Servlet servlet) {
+        Map<String, Servlet> next = new HashMap<>(routes.servlets);
+        Servlet previous = next.put(path, servlet);
+        routes = Routes.compile(next);
+        return previous;
+    }
+
+    @Override
+    public synchronized Servlet remove(Object path) {
+        if (!routes.servlets.containsKey(path)) {
+            return null;
+        }
+        Map<String, Servlet> next = new HashMap<>(routes.servlets);
+        Servlet previous = next.remove(path);
+        routes = Routes.compile(next);
+        return previous;
+    }
+
+    @Override
+    public synchronized void clear() {
+        routes = Routes.compile(Map.of());
+    }
+
+    @Override
+    public Servlet get(Object path) {
+        return routes.servlets.get(path);
+    }
+
+    @Override
+    public boolean containsKey(Object path) {
+        return routes.servlets.containsKey(path);
+    }
+
+    // 현재 스냅샷의 읽기 전용 뷰 (변경은 put/remove 로만)
+    @Override
+    public Set<Entry<String, Servlet>> entrySet() {
+        return routes.servlets.entrySet();
+    }
+
+    /**
+     * 한 시점의 불변 라우팅 표
+     */
+    private static final class Routes {
+        private final Map<String, Servlet> servlets;
+        private final Node root;
+        // "*.ext" 키를 확장자(".ext")로 색인
+        private final Map<String, Servlet> extensions;
+
+        private Routes(Map<String, Servlet> servlets, Node root, Map<String, Servlet> extensions) {
+            this.servlets = servlets;
+            this.root = root;
+            this.extensions = extensions;
+        }
+
+        static Routes compile(Map<String, Servlet> servlets) {
+            MutableNode trie = new MutableNode();
+            Map<String, Servlet> extensions = new HashMap<>();
+            for (Map.Entry<String, Servlet> entry : servlets.entrySet()) {
+                String key = entry.getKey();
+                if (key == null) {
+                    continue;
+                }
+                trie.insert(key, entry.getValue());
+
+                int lastDotIndex = key.lastIndexOf('.');
+                if (key.startsWith("*") && lastDotIndex != -1) {
+                    String extension = key.substring(lastDotIndex);
+                    // 같은 확장자로 끝나는 키가 여럿이면 "*.ext" 그대로인 키를 우선
+                    if (key.length() == extension.length() + 1 || !extensions.containsKey(extension)) {
+                        extensions.put(extension, entry.getValue());
+                    }
+                }
+            }
+            return new Routes(Collections.unmodifiableMap(new HashMap<>(servlets)), trie.freeze(""),
+                    Map.copyOf(extensions));
+        }
+
+        // 경로를 따라 트라이를 내려가며 마지막으로 지나친 서블릿을 기억
+        Servlet longestPrefixMatch(String path) {
+            Node node = root;
+            Servlet best = node.servlet;
+            int offset = 0;
+            while (offset < path.length()) {
+                Node child = node.child(path.charAt(offset));
+                if (child == null || !path.startsWith(child.label, offset)) {
+                    break;
+                }
+                offset += child.label.length();
+                node = child;
+                if (node.servlet != null) {
+                    best = node.servlet;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * 압축 트라이 노드 (단일 자식 체인은 label 하나로 합쳐짐)
+     */
+    private static final class Node {
+        private final String label;
+        private final Servlet servlet;
+        // 자식 label 의 첫 글자 (정렬됨, 이진 탐색)
+        private final char[] firstChars;
+        private final Node[] children;
+
+        private Node(String label, Servlet servlet, char[] firstChars, Node[] children) {
+            this.label = label;
+            this.servlet = servlet;
+            this.firstChars = firstChars;
+            this.children = children;
+        }
+
+        Node child(char c) {
+            int low = 0;
+            int high = firstChars.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char candidate = firstChars[mid];
+                if (candidate < c) {
+                    low = mid + 1;
+                } else if (candidate > c) {
+                    high = mid - 1;
+                } else {
+                    return children[mid];
+                }
+            }
+            return null;
+        }
+    }
+
+    // 컴파일 중에만 쓰는 글자 단위 트라이
+    private static final class MutableNode {
+        private final TreeMap<Character, MutableNode> children = new TreeMap<>();
+        private Servlet servlet;
+
+        void insert(String key, Servlet value) {
+            MutableNode node = this;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new MutableNode());
+            }
+            node.servlet = value;
+        }
+
+        Node freeze(String label) {
+            MutableNode node = this;
+            StringBuilder compressed = new StringBuilder(label);
+            // 루트가 아니고 서블릿이 없는 단일 자식 체인은 하나의 간선으로 합침
+            while (!label.isEmpty() && node.servlet == null && node.children.size() == 1) {
+                Map.Entry<Character, MutableNode> only = node.children.firstEntry();
+                compressed.append(only.getKey());
+                node = only.getValue();
+            }
+            char[] firstChars = new char[node.children.size()];
+            Node[] frozen = new Node[node.children.size()];
+            int i = 0;
+            for (Map.Entry<Character, MutableNode> entry : node.children.entrySet()) {
+                firstChars[i] = entry.getKey();
+                frozen[i] = entry.getValue().freeze(String.valueOf(entry.getKey()));
+                i++;
+            }
+            return new Node(compressed.toString(), node.servlet, firstChars, frozen);
+        }
     }
 }
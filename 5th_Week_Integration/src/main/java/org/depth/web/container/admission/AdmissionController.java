@@ -0,0 +1,180 @@
+package org.depth.web.container.admission;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 워커 풀 앞단의 유한 입장 대기열
+ * 연결(또는 완성된 요청)을 FIFO 로 보관하다가 워커가 비면 꺼내 실행하며,
+ * 대기열이 가득 차거나 정책이 판단하면 작업 대신 shed 콜백(503 응답)을 실행한다.
+ */
+public class AdmissionController {
+    private final Executor executor;
+    private final int capacity;
+    private final AdmissionPolicy policy;
+
+    private final ConcurrentLinkedDeque<PendingTask> queue = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    // 워커 풀에 넣었지만 아직 시작하지 않은 runNext 수 (대기열 길이를 넘지 않게 유지)
+    private final AtomicInteger pendingDrainers = new AtomicInteger();
+
+    private final LongAdder admittedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder shedOldestCount = new LongAdder();
+    private final LongAdder shedByDelayCount = new LongAdder();
+    private final AtomicLong lastQueueDelayNanos = new AtomicLong();
+
+    public AdmissionController(Executor executor, int capacity, AdmissionPolicy policy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+        }
+        this.executor = executor;
+        this.capacity = capacity;
+        this.policy = policy;
+    }
+
+    /**
+     * 작업을 대기열에 넣습니다.
+     * @param task 워커에서 실행할 작업
+     * @param onShed 작업이 버려질 때 실행할 콜백 (503 응답 후 연결 종료 등)
+     * @return 대기열에 들어갔으면 true, 즉시 거절되었으면 false
+     */
+    public boolean submit(Runnable task, Runnable onShed) {
+        if (!reserveSlot()) {
+            if (policy.onQueueFull() == AdmissionPolicy.OverflowAction.SHED_OLDEST) {
+                PendingTask oldest = queue.pollFirst();
+                if (oldest != null) {
+                    // 버린 작업의 자리를 새 작업이 그대로 이어받음
+                    shedOldestCount.increment();
+                    oldest.onShed.run();
+                    return enqueue(new PendingTask(task, onShed, System.nanoTime()));
+                }
+            }
+            rejectedCount.increment();
+            onShed.run();
+            return false;
+        }
+        return enqueue(new PendingTask(task, onShed, System.nanoTime()));
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int depth = queueDepth.get();
+            if (depth >= capacity) {
+                return false;
+            }
+            if (queueDepth.compareAndSet(depth, depth + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean enqueue(PendingTask pending) {
+        queue.addLast(pending);
+        try {
+            scheduleDrainer();
+        } catch (RejectedExecutionException e) {
+            pendingDrainers.decrementAndGet();
+            // 워커 풀이 종료된 경우: 넣은 작업을 바로 버림
+            if (queue.remove(pending)) {
+                queueDepth.decrementAndGet();
+                rejectedCount.increment();
+                pending.onShed.run();
+            }
+            return false;
+        }
+        return true;
+    }
+
+    // 대기 작업보다 예약된 runNext 가 적을 때만 하나 더 예약
+    // SHED_OLDEST 로 자리를 이어받은 작업은 버려진 작업의 runNext 를 그대로 쓰므로 워커 풀 대기열이 늘지 않음
+    private void scheduleDrainer() {
+        while (true) {
+            int pending = pendingDrainers.get();
+            if (pending >= queueDepth.get()) {
+                return;
+            }
+            if (pendingDrainers.compareAndSet(pending, pending + 1)) {
+                break;
+            }
+        }
+        executor.execute(this::runNext);
+    }
+
+    // 워커 스레드에서 실행: 가장 오래된 작업부터 꺼내 실행
+    private void runNext() {
+        pendingDrainers.decrementAndGet();
+        PendingTask next = queue.pollFirst();
+        if (next == null) {
+            // 다른 runNext 가 이미 꺼내 간 경우
+            return;
+        }
+        queueDepth.decrementAndGet();
+
+        long now = System.nanoTime();
+        long sojournNanos = now - next.enqueuedAtNanos;
+        lastQueueDelayNanos.set(sojournNanos);
+
+        if (policy.shouldShedOnDequeue(sojournNanos, now)) {
+            shedByDelayCount.increment();
+            next.onShed.run();
+            return;
+        }
+
+        admittedCount.increment();
+        next.task.run();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // 현재 대기 중인 작업 수
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public long getAdmittedCount() {
+        return admittedCount.sum();
+    }
+
+    // 대기열이 가득 차 즉시 거절된 수
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    // 새 요청에 자리를 내주고 버려진 수
+    public long getShedOldestCount() {
+        return shedOldestCount.sum();
+    }
+
+    // 대기 시간 초과(CoDel 등)로 버려진 수
+    public long getShedByDelayCount() {
+        return shedByDelayCount.sum();
+    }
+
+    public long getTotalShedCount() {
+        return getRejectedCount() + getShedOldestCount() + getShedByDelayCount();
+    }
+
+    // 가장 최근에 꺼낸 작업의 대기 시간
+    public long getLastQueueDelayNanos() {
+        return lastQueueDelayNanos.get();
+    }
+
+    private static class PendingTask {
+        private final Runnable task;
+        private final Runnable onShed;
+        private final long enqueuedAtNanos;
+
+        private PendingTask(Runnable task, Runnable onShed, long enqueuedAtNanos) {
+            this.task = task;
+            this.onShed = onShed;
+            this.enqueuedAtNanos = enqueuedAtNanos;
+        }
+    }
+}
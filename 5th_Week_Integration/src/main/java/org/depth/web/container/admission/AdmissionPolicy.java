@@ -0,0 +1,25 @@
+package org.depth.web.container.admission;
+
+/**
+ * 입장 대기열이 가득 찼을 때와 작업을 꺼낼 때의 부하 차단(load shedding) 정책
+ */
+public interface AdmissionPolicy {
+
+    // 대기열이 가득 찼을 때의 동작
+    OverflowAction onQueueFull();
+
+    /**
+     * 대기열에서 꺼낸 작업을 실행하지 않고 버려야 하는지 판단합니다.
+     * @param sojournNanos 작업이 대기열에 머문 시간
+     * @param nowNanos 현재 시각 (System.nanoTime)
+     * @return 버려야 하면 true
+     */
+    boolean shouldShedOnDequeue(long sojournNanos, long nowNanos);
+
+    enum OverflowAction {
+        // 새로 들어온 요청을 거절
+        REJECT_NEW,
+        // 가장 오래 기다린 요청을 버리고 새 요청을 받음
+        SHED_OLDEST
+    }
+}
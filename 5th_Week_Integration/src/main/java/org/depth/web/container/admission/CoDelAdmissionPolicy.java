@@ -0,0 +1,78 @@
+package org.depth.web.container.admission;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CoDel(Controlled Delay) 방식의 대기 시간 기반 부하 차단 정책
+ * 대기 시간이 target 을 interval 이상 계속 넘으면 버리기 시작하고,
+ * 버리는 간격을 interval / sqrt(count) 로 점점 줄인다.
+ * 대기열이 가득 찬 경우에는 새 요청을 거절한다.
+ */
+public class CoDelAdmissionPolicy implements AdmissionPolicy {
+    private final long targetNanos;
+    private final long intervalNanos;
+
+    // CoDel 상태 (워커 스레드들이 공유하므로 동기화)
+    private long firstAboveTime = 0;
+    private long dropNext = 0;
+    private int count = 0;
+    private boolean dropping = false;
+
+    public CoDelAdmissionPolicy(long targetMillis, long intervalMillis) {
+        this.targetNanos = TimeUnit.MILLISECONDS.toNanos(targetMillis);
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    }
+
+    // 일반적으로 쓰이는 기본값 (target 5ms, interval 100ms)
+    public CoDelAdmissionPolicy() {
+        this(5, 100);
+    }
+
+    @Override
+    public OverflowAction onQueueFull() {
+        return OverflowAction.REJECT_NEW;
+    }
+
+    @Override
+    public synchronized boolean shouldShedOnDequeue(long sojournNanos, long nowNanos) {
+        boolean okToDrop = isAboveTargetForInterval(sojournNanos, nowNanos);
+
+        if (dropping) {
+            if (!okToDrop) {
+                dropping = false;
+                return false;
+            }
+            if (nowNanos - dropNext >= 0) {
+                count++;
+                dropNext = controlLaw(dropNext);
+                return true;
+            }
+            return false;
+        }
+
+        if (okToDrop) {
+            dropping = true;
+            // 최근에 드롭 상태였다면 이전 속도에 가깝게 재개
+            count = (count > 2 && nowNanos - dropNext < 8 * intervalNanos) ? count - 2 : 1;
+            dropNext = controlLaw(nowNanos);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isAboveTargetForInterval(long sojournNanos, long nowNanos) {
+        if (sojournNanos < targetNanos) {
+            firstAboveTime = 0;
+            return false;
+        }
+        if (firstAboveTime == 0) {
+            firstAboveTime = nowNanos + intervalNanos;
+            return false;
+        }
+        return nowNanos - firstAboveTime >= 0;
+    }
+
+    private long controlLaw(long time) {
+        return time + (long) (intervalNanos / Math.sqrt(count));
+    }
+}
@@ -0,0 +1,17 @@
+package org.depth.web.container.admission;
+
+/**
+ * 대기열이 가득 차면 새 요청을 즉시 503 으로 거절하는 정책
+ */
+public class RejectNewAdmissionPolicy implements AdmissionPolicy {
+
+    @Override
+    public OverflowAction onQueueFull() {
+        return OverflowAction.REJECT_NEW;
+    }
+
+    @Override
+    public boolean shouldShedOnDequeue(long sojournNanos, long nowNanos) {
+        return false;
+    }
+}
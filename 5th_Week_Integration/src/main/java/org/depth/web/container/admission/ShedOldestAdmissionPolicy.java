@@ -0,0 +1,18 @@
+package org.depth.web.container.admission;
+
+/**
+ * 대기열이 가득 차면 가장 오래 기다린 요청을 버리는 정책
+ * 오래 기다린 클라이언트는 이미 타임아웃했을 가능성이 높다는 가정에 기반한다.
+ */
+public class ShedOldestAdmissionPolicy implements AdmissionPolicy {
+
+    @Override
+    public OverflowAction onQueueFull() {
+        return OverflowAction.SHED_OLDEST;
+    }
+
+    @Override
+    public boolean shouldShedOnDequeue(long sojournNanos, long nowNanos) {
+        return false;
+    }
+}
@@ -0,0 +1,54 @@
+package org.depth.web.container.concurrent;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 동시에 실행되는 구간 수를 공정 세마포어로 제한하는 리미터
+ * 요청 처리기는 서블릿 디스패치 구간에만 허가를 잡으므로, 유휴 keep-alive 연결은 허가를 차지하지 않는다.
+ */
+public class ConcurrencyLimiter {
+    private final Semaphore permits;
+    private final int maxConcurrency;
+
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicInteger waitingCount = new AtomicInteger();
+
+    public ConcurrencyLimiter(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1: " + maxConcurrency);
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    // 허가를 얻을 때까지 대기 (성공하면 반드시 release 를 호출해야 함)
+    public void acquire() throws InterruptedException {
+        waitingCount.incrementAndGet();
+        try {
+            permits.acquire();
+        } finally {
+            waitingCount.decrementAndGet();
+        }
+        activeCount.incrementAndGet();
+    }
+
+    public void release() {
+        activeCount.decrementAndGet();
+        permits.release();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    // 현재 허가를 잡고 실행 중인 수
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    // 허가를 기다리는 수
+    public int getWaitingCount() {
+        return waitingCount.get();
+    }
+}
@@ -0,0 +1,43 @@
+package org.depth.web.container.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 가상 스레드(JDK 21+) 기반 ExecutorService 팩토리
+ * 컴파일 대상 JDK와 무관하게 동작하도록 리플렉션으로 조회하며,
+ * 가상 스레드를 지원하지 않는 런타임에서는 캐시드 플랫폼 스레드 풀로 대체한다.
+ */
+public final class VirtualThreadExecutors {
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findFactoryMethod();
+
+    private VirtualThreadExecutors() {
+    }
+
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    // 작업(연결)마다 가상 스레드 하나를 생성하는 ExecutorService
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (!isSupported()) {
+            System.err.println("VirtualThreadExecutors WARN: virtual threads are not available on this JVM ("
+                    + Runtime.version() + "). Falling back to a cached thread pool.");
+            return Executors.newCachedThreadPool();
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create virtual thread executor", e);
+        }
+    }
+
+    private static Method findFactoryMethod() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.depth.web.container.concurrent;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 가상 스레드 피닝 진단기
+ * JFR 의 jdk.VirtualThreadPinned 이벤트를 스트리밍으로 구독하여,
+ * 핸들러의 synchronized 블록 등에서 캐리어 스레드가 고정된 횟수와 위치를 집계한다.
+ * 해당 이벤트가 없는 JVM(가상 스레드 미지원)에서는 아무것도 기록되지 않는다.
+ */
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    // 피닝 위치로 보고할 스택 프레임 수
+    private static final int REPORTED_FRAMES = 3;
+
+    private final Duration threshold;
+    private final LongAdder pinnedCount = new LongAdder();
+    private final LongAdder pinnedNanos = new LongAdder();
+    private final Map<String, LongAdder> pinnedSites = new ConcurrentHashMap<>();
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    public synchronized void start() {
+        if (recordingStream != null) {
+            return;
+        }
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::record);
+        recordingStream.startAsync();
+    }
+
+    private void record(RecordedEvent event) {
+        pinnedCount.increment();
+        pinnedNanos.add(event.getDuration().toNanos());
+        pinnedSites.computeIfAbsent(describeSite(event.getStackTrace()), key -> new LongAdder()).increment();
+    }
+
+    private static String describeSite(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "<unknown>";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        StringBuilder site = new StringBuilder();
+        for (int i = 0; i < Math.min(REPORTED_FRAMES, frames.size()); i++) {
+            RecordedFrame frame = frames.get(i);
+            if (i > 0) {
+                site.append(" <- ");
+            }
+            site.append(frame.getMethod().getType().getName())
+                    .append('.').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber());
+        }
+        return site.toString();
+    }
+
+    // 임계값 이상 피닝된 횟수
+    public long getPinnedCount() {
+        return pinnedCount.sum();
+    }
+
+    // 피닝으로 캐리어 스레드가 고정된 누적 시간
+    public Duration getTotalPinnedTime() {
+        return Duration.ofNanos(pinnedNanos.sum());
+    }
+
+    // 피닝이 발생한 위치별 횟수 (상위 스택 프레임 기준)
+    public Map<String, Long> getPinnedSites() {
+        Map<String, Long> snapshot = new HashMap<>();
+        pinnedSites.forEach((site, count) -> snapshot.put(site, count.sum()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+}
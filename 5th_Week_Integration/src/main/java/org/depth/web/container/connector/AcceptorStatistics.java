@@ -0,0 +1,59 @@
+package org.depth.web.container.connector;
+
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 억셉터 스레드 하나의 연결 수락 통계
+ * 기록은 해당 억셉터 스레드만 하고, 조회는 어느 스레드에서나 할 수 있다.
+ */
+public class AcceptorStatistics {
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Getter
+    private final String name;
+    private final long startedAtNanos = System.nanoTime();
+
+    private volatile long acceptedCount = 0;
+
+    // 초 단위 버킷: 현재 초와 직전 초의 수락 수
+    private volatile long currentSecond = 0;
+    private volatile long currentSecondCount = 0;
+    private volatile long previousSecondCount = 0;
+
+    public AcceptorStatistics(String name) {
+        this.name = name;
+    }
+
+    // 억셉터 스레드에서만 호출
+    public void recordAccepted() {
+        long second = (System.nanoTime() - startedAtNanos) / SECOND_NANOS;
+        if (second != currentSecond) {
+            previousSecondCount = (second == currentSecond + 1) ? currentSecondCount : 0;
+            currentSecondCount = 0;
+            currentSecond = second;
+        }
+        currentSecondCount++;
+        acceptedCount++;
+    }
+
+    public long getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    // 시작 이후 평균 초당 수락 수
+    public double getAverageAcceptRate() {
+        double elapsedSeconds = (double) (System.nanoTime() - startedAtNanos) / SECOND_NANOS;
+        return elapsedSeconds <= 0 ? 0 : acceptedCount / elapsedSeconds;
+    }
+
+    // 직전 1초 동안의 수락 수
+    public long getRecentAcceptRate() {
+        long second = (System.nanoTime() - startedAtNanos) / SECOND_NANOS;
+        if (second == currentSecond + 1) {
+            return currentSecondCount;
+        }
+        return second == currentSecond ? previousSecondCount : 0;
+    }
+}
@@ -0,0 +1,98 @@
+package org.depth.web.container.connector;
+
+import org.depth.web.http.handler.ZeroCopyOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+/**
+ * 논블로킹 SocketChannel 위에서 블로킹 쓰기를 흉내내는 출력 스트림
+ * 워커 스레드가 기존 OutputStream 기반 응답 기록 로직을 그대로 쓸 수 있게 한다.
+ * 소켓 송신 버퍼가 가득 차면 임시 셀렉터로 OP_WRITE 를 기다린다.
+ * 파일 본문은 SocketChannel 로 직접 transferTo 하여 sendfile 경로를 유지한다.
+ */
+class ChannelOutputStream extends OutputStream implements ZeroCopyOutput {
+    private static final long WRITE_TIMEOUT_MILLIS = 30_000;
+
+    private final SocketChannel channel;
+    private Selector writeSelector;
+
+    ChannelOutputStream(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        write(ByteBuffer.wrap(b, off, len));
+    }
+
+    @Override
+    public void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.write(buffer) == 0) {
+                awaitWritable();
+            }
+        }
+    }
+
+    @Override
+    public void write(ByteBuffer[] buffers) throws IOException {
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            long written = channel.write(buffers);
+            if (written == 0) {
+                awaitWritable();
+            }
+            remaining -= written;
+        }
+    }
+
+    // 논블로킹 소켓으로의 sendfile: 송신 버퍼가 차면 쓰기 가능해질 때까지 기다렸다가 이어서 전송
+    @Override
+    public void transferFrom(FileChannel source, long position, long count) throws IOException {
+        long transferred = 0;
+        while (transferred < count) {
+            long written = source.transferTo(position + transferred, count - transferred, channel);
+            if (written == 0) {
+                if (position + transferred >= source.size()) {
+                    throw new IOException("File truncated during transfer");
+                }
+                awaitWritable();
+            }
+            transferred += written;
+        }
+    }
+
+    private void awaitWritable() throws IOException {
+        if (writeSelector == null) {
+            writeSelector = Selector.open();
+            channel.register(writeSelector, SelectionKey.OP_WRITE);
+        }
+        if (writeSelector.select(WRITE_TIMEOUT_MILLIS) == 0) {
+            throw new IOException("Write timed out");
+        }
+        writeSelector.selectedKeys().clear();
+    }
+
+    // 채널은 커넥터가 닫으므로 여기서는 임시 셀렉터만 정리
+    @Override
+    public void close() throws IOException {
+        if (writeSelector != null) {
+            writeSelector.close();
+            writeSelector = null;
+        }
+    }
+}
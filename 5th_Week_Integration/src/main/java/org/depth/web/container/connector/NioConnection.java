@@ -0,0 +1,249 @@
+package org.depth.web.container.connector;
+
+import org.depth.web.http.handler.HttpRequestDecoder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 셀렉터 스레드가 관리하는 단일 NIO 연결의 읽기 상태
+ * 읽은 바이트는 곧바로 헤더 파서에 넘겨 이어서 파싱하고, 헤더 이후의 본문만 누적한다.
+ * 본문이 임계값보다 크면 도착하는 대로 임시 파일에 기록한다.
+ */
+class NioConnection {
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    // advance 결과
+    enum Progress {
+        INCOMPLETE, COMPLETE, BODY_TOO_LARGE
+    }
+
+    private final SocketChannel channel;
+    private final long maxBodySize;
+    private final long spillThreshold;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    // 아직 헤더 파서에 넘기지 않았거나 헤더 이후에 도착한 바이트 (본문, 파이프라인된 다음 요청)
+    private byte[] data = new byte[2048];
+    private int length = 0;
+
+    // 현재 요청의 헤더 파싱 상태
+    private HttpRequestDecoder decoder;
+    private long contentLength = 0;
+    private boolean expectContinue = false;
+
+    // 임시 파일로 받는 중인 본문
+    private Path spillFile;
+    private FileChannel spillChannel;
+    private long spilledBytes = 0;
+
+    // keep-alive 관리용 상태 (Poller 스레드와 워커 스레드가 번갈아 접근)
+    private SelectionKey selectionKey;
+    private int requestCount = 0;
+    private long lastActiveNanos = System.nanoTime();
+
+    /**
+     * @param maxBodySize 허용하는 최대 본문 크기 (음수면 제한 없음)
+     * @param spillThreshold 이보다 큰 본문은 임시 파일로 받음
+     */
+    NioConnection(SocketChannel channel, long maxBodySize, long spillThreshold) {
+        this.channel = channel;
+        this.maxBodySize = maxBodySize;
+        this.spillThreshold = spillThreshold;
+    }
+
+    SocketChannel getChannel() {
+        return channel;
+    }
+
+    SelectionKey getSelectionKey() {
+        return selectionKey;
+    }
+
+    void setSelectionKey(SelectionKey selectionKey) {
+        this.selectionKey = selectionKey;
+    }
+
+    // 이 연결에서 처리하는 요청 순번 (1부터 시작)
+    int nextRequestIndex() {
+        return ++requestCount;
+    }
+
+    void touch() {
+        lastActiveNanos = System.nanoTime();
+    }
+
+    long idleNanos(long now) {
+        return now - lastActiveNanos;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    // 채널에서 읽을 수 있는 만큼 읽어 누적 (EOF면 -1)
+    // 현재 요청을 진행하는 데 충분한 만큼 쌓이면 멈추고 advance 에 넘김 (남은 입력은 셀렉터가 다시 알려 줌)
+    int readFrom(ByteBuffer readBuffer) throws IOException {
+        int total = 0;
+        while (!hasEnoughBuffered()) {
+            readBuffer.clear();
+            int read = channel.read(readBuffer);
+            if (read < 0) {
+                return total == 0 ? -1 : total;
+            }
+            if (read == 0) {
+                return total;
+            }
+            readBuffer.flip();
+            append(readBuffer);
+            if (spillChannel != null) {
+                // 누적 버퍼가 본문 크기만큼 커지지 않도록 읽을 때마다 파일로 옮김
+                spillBuffered();
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    // 헤더 파싱 중이면 최대 헤더 크기를 넘게, 메모리로 받는 본문이면 본문 크기만큼 쌓였는지
+    private boolean hasEnoughBuffered() {
+        if (decoder == null || !decoder.isComplete()) {
+            return length > HttpRequestDecoder.DEFAULT_MAX_HEADER_SIZE;
+        }
+        return spillChannel == null && length >= contentLength;
+    }
+
+    private void append(ByteBuffer buffer) {
+        int remaining = buffer.remaining();
+        if (length + remaining > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + remaining));
+        }
+        buffer.get(data, length, remaining);
+        length += remaining;
+    }
+
+    /**
+     * 누적된 바이트로 현재 요청을 최대한 진행시킵니다.
+     * @throws IOException 헤더 형식이 잘못되었거나 너무 크거나, 임시 파일 기록에 실패한 경우
+     */
+    Progress advance() throws IOException {
+        if (decoder == null) {
+            decoder = new HttpRequestDecoder();
+        }
+        if (!decoder.isComplete()) {
+            ByteBuffer pending = ByteBuffer.wrap(data, 0, length);
+            boolean complete = decoder.decode(pending);
+            // 파서가 가져간 헤더 바이트는 버퍼에서 제거
+            consume(pending.position());
+            if (!complete) {
+                return Progress.INCOMPLETE;
+            }
+
+            contentLength = decoder.getContentLength();
+            expectContinue = contentLength > 0 && "100-continue".equalsIgnoreCase(decoder.getHeaderValue("Expect"));
+            if (maxBodySize >= 0 && contentLength > maxBodySize) {
+                return Progress.BODY_TOO_LARGE;
+            }
+            if (contentLength > spillThreshold) {
+                startSpill();
+            }
+        }
+
+        if (spillChannel != null) {
+            spillBuffered();
+            return spilledBytes == contentLength ? Progress.COMPLETE : Progress.INCOMPLETE;
+        }
+        return length >= contentLength ? Progress.COMPLETE : Progress.INCOMPLETE;
+    }
+
+    // Expect: 100-continue 요청이면 한 번만 true (본문 전송 허락 응답용)
+    boolean takeExpectContinue() {
+        boolean expected = expectContinue;
+        expectContinue = false;
+        return expected;
+    }
+
+    // 완성된 요청을 꺼내고 남은 바이트는 다음 요청을 위해 보존 (임시 파일 본문의 삭제는 받은 쪽 책임)
+    ReceivedRequest takeRequest() throws IOException {
+        byte[] body = EMPTY_BODY;
+        Path spilledBody = takeSpilledBody();
+        if (spilledBody == null && contentLength > 0) {
+            body = Arrays.copyOf(data, (int) contentLength);
+            consume((int) contentLength);
+        }
+        ReceivedRequest request = new ReceivedRequest(decoder, body, spilledBody);
+        decoder = null;
+        contentLength = 0;
+        expectContinue = false;
+        return request;
+    }
+
+    private Path takeSpilledBody() throws IOException {
+        if (spillChannel == null) {
+            return null;
+        }
+        spillChannel.close();
+        Path body = spillFile;
+        spillChannel = null;
+        spillFile = null;
+        spilledBytes = 0;
+        return body;
+    }
+
+    private void startSpill() throws IOException {
+        spillFile = Files.createTempFile("depth-request-body-", ".tmp");
+        spillChannel = FileChannel.open(spillFile, StandardOpenOption.WRITE);
+        spilledBytes = 0;
+    }
+
+    // 버퍼 앞쪽의 본문 바이트를 임시 파일로 옮기고, 본문 이후의 바이트(다음 요청)는 남김
+    private void spillBuffered() throws IOException {
+        int toWrite = (int) Math.min(length, contentLength - spilledBytes);
+        if (toWrite <= 0) {
+            return;
+        }
+        ByteBuffer body = ByteBuffer.wrap(data, 0, toWrite);
+        while (body.hasRemaining()) {
+            spillChannel.write(body);
+        }
+        spilledBytes += toWrite;
+        consume(toWrite);
+    }
+
+    private void consume(int count) {
+        if (count > 0) {
+            System.arraycopy(data, count, data, 0, length - count);
+            length -= count;
+        }
+    }
+
+    // 이 호출로 실제로 닫았으면 true (중복 close 방지)
+    boolean close() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // 이미 닫힌 연결
+        }
+        // 받다 만 본문 파일 정리
+        try {
+            Path body = takeSpilledBody();
+            if (body != null) {
+                Files.deleteIfExists(body);
+            }
+        } catch (IOException ignored) {
+            // 임시 파일 정리 실패는 무시
+        }
+        return true;
+    }
+}
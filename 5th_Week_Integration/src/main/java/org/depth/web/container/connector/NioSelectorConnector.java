@@ -0,0 +1,395 @@
+package org.depth.web.container.connector;
+
+import org.depth.web.container.admission.AdmissionController;
+import org.depth.web.container.request.HttpRequestHandler;
+import org.depth.web.http.handler.HttpResponseWriter;
+import org.depth.web.servlet.http.HttpServletRequest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ServerSocketChannel 기반 논블로킹 커넥터
+ * 억셉터 스레드 하나가 연결을 받아 N개의 셀렉터(Poller) 스레드에 라운드로빈으로 분배하고,
+ * Poller는 요청 하나가 완전히 도착했을 때만 워커 풀에 처리를 넘긴다.
+ * 유휴 연결은 스레드를 점유하지 않고 셀렉터에 등록된 채로만 남는다.
+ * keep-alive 연결은 응답 후 다시 Poller 로 돌아가며, 이미 도착한 파이프라인 요청이 있으면 순서대로 처리한다.
+ * 헤더는 Poller 가 읽는 즉시 바이트 단위로 이어서 파싱하고, 큰 본문은 도착하는 대로 임시 파일에 기록한다.
+ * 허용 크기를 넘는 본문은 받기 전에 413 으로 거절한다.
+ */
+public class NioSelectorConnector {
+    private static final int READ_BUFFER_SIZE = 8192;
+    // 유휴 연결 검사 주기
+    private static final long IDLE_SWEEP_INTERVAL_MILLIS = 1000;
+    private static final byte[] CONTINUE_RESPONSE = "HTTP/1.1 100 Continue\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final HttpRequestHandler httpRequestHandler;
+    private final ExecutorService workerExecutor;
+    private final Poller[] pollers;
+    private final AtomicInteger nextPoller = new AtomicInteger();
+    private final AtomicInteger openConnections = new AtomicInteger();
+
+    private volatile boolean isRunning = false;
+    private ServerSocketChannel serverChannel;
+
+    // 입장 제어 (선택)
+    private AdmissionController admissionController;
+    private byte[] rejectionResponse;
+
+    // 본문 크기 초과 응답 (start 시점 설정으로 미리 만들어 둠)
+    private byte[] payloadTooLargeResponse;
+
+    public NioSelectorConnector(HttpRequestHandler httpRequestHandler, ExecutorService workerExecutor, int selectorCount) {
+        if (selectorCount < 1) {
+            throw new IllegalArgumentException("selectorCount must be at least 1: " + selectorCount);
+        }
+        this.httpRequestHandler = httpRequestHandler;
+        this.workerExecutor = workerExecutor;
+        this.pollers = new Poller[selectorCount];
+    }
+
+    public void start(int port) throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.bind(new InetSocketAddress(port));
+        } catch (IOException | RuntimeException e) {
+            serverChannel.close();
+            throw e;
+        }
+        payloadTooLargeResponse = HttpResponseWriter.createPayloadTooLargeResponse(
+                httpRequestHandler.getMaxRequestBodySize()).getContent();
+        isRunning = true;
+
+        for (int i = 0; i < pollers.length; i++) {
+            pollers[i] = new Poller(Selector.open());
+            Thread pollerThread = new Thread(pollers[i], "nio-poller-" + i);
+            pollerThread.setDaemon(true);
+            pollerThread.start();
+        }
+
+        Thread acceptorThread = new Thread(this::acceptLoop, "nio-acceptor");
+        acceptorThread.start();
+    }
+
+    public void stop() {
+        isRunning = false;
+        if (serverChannel != null) {
+            try {
+                serverChannel.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        for (Poller poller : pollers) {
+            if (poller != null) {
+                poller.close();
+            }
+        }
+    }
+
+    /**
+     * 완성된 요청을 워커 풀 대신 입장 대기열에 넣도록 설정합니다. (start 이전)
+     * @param rejectionResponse 요청이 버려질 때 보낼 응답 바이트
+     */
+    public void setAdmissionControl(AdmissionController admissionController, byte[] rejectionResponse) {
+        this.admissionController = admissionController;
+        this.rejectionResponse = rejectionResponse;
+    }
+
+    private NioConnection newConnection(SocketChannel channel) {
+        return new NioConnection(channel, httpRequestHandler.getMaxRequestBodySize(),
+                httpRequestHandler.getRequestBodySpillThreshold());
+    }
+
+    // 현재 열려 있는 연결 수 (유휴 연결 포함)
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    private void acceptLoop() {
+        try {
+            while (isRunning) {
+                SocketChannel channel = serverChannel.accept();
+                channel.configureBlocking(false);
+                openConnections.incrementAndGet();
+                pollers[Math.floorMod(nextPoller.getAndIncrement(), pollers.length)].register(channel);
+            }
+        } catch (IOException e) {
+            if (isRunning) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void dispatch(Poller poller, NioConnection connection, ReceivedRequest received) {
+        if (admissionController != null) {
+            admissionController.submit(() -> process(poller, connection, received), () -> {
+                received.release();
+                reject(connection, rejectionResponse);
+            });
+            return;
+        }
+        try {
+            workerExecutor.submit(() -> process(poller, connection, received));
+        } catch (RejectedExecutionException e) {
+            received.release();
+            closeConnection(connection);
+        }
+    }
+
+    private void reject(NioConnection connection, byte[] response) {
+        try (ChannelOutputStream outputStream = new ChannelOutputStream(connection.getChannel())) {
+            outputStream.write(response);
+        } catch (IOException e) {
+            // 클라이언트가 이미 떠난 경우
+        } finally {
+            closeConnection(connection);
+        }
+    }
+
+    // 워커 스레드에서 실행: 기존 HttpRequestHandler 파이프라인을 그대로 사용
+    // 비동기 응답이면 워커는 바로 반환되고, 응답을 완성한 스레드에서 연결을 재개하거나 닫음
+    private void process(Poller poller, NioConnection connection, ReceivedRequest received) {
+        ChannelOutputStream outputStream = new ChannelOutputStream(connection.getChannel());
+        CompletableFuture<Boolean> result;
+        try {
+            HttpServletRequest request = received.toRequest();
+            int requestIndex = connection.nextRequestIndex();
+            httpRequestHandler.getKeepAliveStatistics().recordRequest(requestIndex);
+            result = httpRequestHandler.handleAsync(request, outputStream,
+                    isRunning && httpRequestHandler.shouldKeepAlive(request, requestIndex));
+        } catch (IOException | RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((keepAlive, error) -> finish(poller, connection, received, outputStream,
+                error == null && keepAlive, error));
+    }
+
+    private void finish(Poller poller, NioConnection connection, ReceivedRequest received,
+                        ChannelOutputStream outputStream, boolean keepAlive, Throwable error) {
+        if (error != null && isRunning) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            System.err.println("NioSelectorConnector WARN: request processing failed: " + cause.getMessage());
+        }
+        try {
+            outputStream.close();
+        } catch (IOException e) {
+            // 임시 셀렉터 정리 실패는 연결 처리와 무관
+        }
+        received.release();
+        if (keepAlive) {
+            // 파이프라인된 다음 요청 처리 또는 읽기 재개는 Poller 스레드에서
+            poller.resume(connection);
+        } else {
+            closeConnection(connection);
+        }
+    }
+
+    private void closeConnection(NioConnection connection) {
+        if (connection.close()) {
+            openConnections.decrementAndGet();
+        }
+    }
+
+    private final class Poller implements Runnable {
+        private final Selector selector;
+        private final Queue<SocketChannel> pendingRegistrations = new ConcurrentLinkedQueue<>();
+        private final Queue<NioConnection> pendingResumes = new ConcurrentLinkedQueue<>();
+        private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        private long lastIdleSweepNanos = System.nanoTime();
+
+        private Poller(Selector selector) {
+            this.selector = selector;
+        }
+
+        private void register(SocketChannel channel) {
+            pendingRegistrations.add(channel);
+            selector.wakeup();
+        }
+
+        private void resume(NioConnection connection) {
+            pendingResumes.add(connection);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (isRunning) {
+                    selector.select(IDLE_SWEEP_INTERVAL_MILLIS);
+                    registerPending();
+                    resumePending();
+
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        if (key.isValid() && key.isReadable()) {
+                            onReadable(key);
+                        }
+                    }
+                    closeIdleConnections();
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                if (isRunning) {
+                    e.printStackTrace();
+                }
+            } finally {
+                closeAll();
+            }
+        }
+
+        private void registerPending() {
+            SocketChannel channel;
+            while ((channel = pendingRegistrations.poll()) != null) {
+                NioConnection connection = newConnection(channel);
+                try {
+                    connection.setSelectionKey(channel.register(selector, SelectionKey.OP_READ, connection));
+                    httpRequestHandler.getKeepAliveStatistics().recordConnection();
+                } catch (IOException e) {
+                    closeConnection(connection);
+                }
+            }
+        }
+
+        // 응답을 마친 keep-alive 연결: 이미 버퍼에 있는 요청부터 순서대로 처리
+        private void resumePending() {
+            NioConnection connection;
+            while ((connection = pendingResumes.poll()) != null) {
+                if (connection.isClosed()) {
+                    continue;
+                }
+                connection.touch();
+                if (!dispatchIfComplete(connection)) {
+                    try {
+                        connection.getSelectionKey().interestOps(SelectionKey.OP_READ);
+                    } catch (CancelledKeyException e) {
+                        closeConnection(connection);
+                    }
+                }
+            }
+        }
+
+        private boolean dispatchIfComplete(NioConnection connection) {
+            NioConnection.Progress progress;
+            try {
+                progress = connection.advance();
+            } catch (IOException e) {
+                // 잘못된 요청, 너무 큰 헤더, 임시 파일 기록 실패
+                closeConnection(connection);
+                return true;
+            }
+
+            switch (progress) {
+                case BODY_TOO_LARGE -> {
+                    // 본문을 받지 않고 바로 거절
+                    connection.getSelectionKey().interestOps(0);
+                    reject(connection, payloadTooLargeResponse);
+                    return true;
+                }
+                case INCOMPLETE -> {
+                    if (connection.takeExpectContinue()) {
+                        sendContinue(connection);
+                    }
+                    return false;
+                }
+                default -> {
+                    // 요청 처리 중에는 더 읽지 않음
+                    connection.getSelectionKey().interestOps(0);
+                    ReceivedRequest received;
+                    try {
+                        received = connection.takeRequest();
+                    } catch (IOException e) {
+                        closeConnection(connection);
+                        return true;
+                    }
+                    dispatch(this, connection, received);
+                    return true;
+                }
+            }
+        }
+
+        // 본문 전송을 기다리는 클라이언트에게 허락 응답 (짧은 응답이라 송신 버퍼에 바로 들어감)
+        private void sendContinue(NioConnection connection) {
+            try {
+                connection.getChannel().write(ByteBuffer.wrap(CONTINUE_RESPONSE));
+            } catch (IOException e) {
+                closeConnection(connection);
+            }
+        }
+
+        // 읽기 대기 중 keep-alive 제한 시간을 넘긴 연결 정리
+        private void closeIdleConnections() {
+            long now = System.nanoTime();
+            if (now - lastIdleSweepNanos < TimeUnit.MILLISECONDS.toNanos(IDLE_SWEEP_INTERVAL_MILLIS)) {
+                return;
+            }
+            lastIdleSweepNanos = now;
+
+            long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(httpRequestHandler.getKeepAliveTimeoutMillis());
+            for (SelectionKey key : selector.keys()) {
+                if (key.isValid() && key.interestOps() == SelectionKey.OP_READ
+                        && key.attachment() instanceof NioConnection connection
+                        && connection.idleNanos(now) > timeoutNanos) {
+                    httpRequestHandler.getKeepAliveStatistics().recordIdleTimeout();
+                    closeConnection(connection);
+                }
+            }
+        }
+
+        private void onReadable(SelectionKey key) {
+            NioConnection connection = (NioConnection) key.attachment();
+            try {
+                if (connection.readFrom(readBuffer) < 0) {
+                    closeConnection(connection);
+                    return;
+                }
+            } catch (IOException e) {
+                closeConnection(connection);
+                return;
+            }
+
+            connection.touch();
+            dispatchIfComplete(connection);
+        }
+
+        // 셀렉터 루프를 깨워 종료시킨다 (정리는 Poller 스레드가 수행)
+        private void close() {
+            selector.wakeup();
+        }
+
+        private void closeAll() {
+            SocketChannel pending;
+            while ((pending = pendingRegistrations.poll()) != null) {
+                closeConnection(newConnection(pending));
+            }
+            try {
+                for (SelectionKey key : selector.keys()) {
+                    if (key.attachment() instanceof NioConnection connection) {
+                        closeConnection(connection);
+                    }
+                }
+                selector.close();
+            } catch (IOException | ClosedSelectorException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.depth.web.container.connector;
+
+import org.depth.web.http.handler.HttpRequestDecoder;
+import org.depth.web.servlet.http.HttpServletRequest;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Poller 가 완전히 받아 워커에게 넘기는 요청 (파싱된 헤더 + 메모리 또는 임시 파일 본문)
+ */
+class ReceivedRequest {
+    private final HttpRequestDecoder head;
+    private final byte[] body;
+    private final Path spilledBody;
+    private InputStream bodyInput;
+
+    ReceivedRequest(HttpRequestDecoder head, byte[] body, Path spilledBody) {
+        this.head = head;
+        this.body = body;
+        this.spilledBody = spilledBody;
+    }
+
+    HttpServletRequest toRequest() throws IOException {
+        bodyInput = spilledBody != null
+                ? new BufferedInputStream(Files.newInputStream(spilledBody))
+                : new ByteArrayInputStream(body);
+        return head.toRequest(bodyInput);
+    }
+
+    // 처리가 끝났거나 버려진 요청의 임시 파일 정리
+    void release() {
+        if (spilledBody == null) {
+            return;
+        }
+        try {
+            if (bodyInput != null) {
+                bodyInput.close();
+            }
+            Files.deleteIfExists(spilledBody);
+        } catch (IOException e) {
+            System.err.println("NioSelectorConnector WARN: failed to delete request body file " + spilledBody);
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package org.depth.web.container.filter;
+
+import lombok.Getter;
+import org.depth.web.http.handler.BodyHash;
+import org.depth.web.http.handler.HttpResponseWriter;
+import org.depth.web.http.model.FileRegion;
+import org.depth.web.servlet.http.HttpServletRequest;
+import org.depth.web.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * 응답 본문 압축 필터 (gzip / deflate)
+ * - Accept-Encoding 의 q 값으로 인코딩을 고르며, 같으면 gzip 을 우선
+ * - 최소 크기 이상이면서 압축 효과가 있는 Content-Type 만 압축
+ * - Deflater 는 풀에서 재사용하고, 같은 요청 경로의 본문이 이전과 같으면(해시와 길이 비교) 압축 결과를 캐시에서 재사용
+ *
+ * 스트리밍 응답과 파일 본문(정적 리소스)은 이미 전송 중이거나 복사 없이 보내야 하므로 건드리지 않는다.
+ * HttpServletContainer.registerFilter 로 등록한다.
+ */
+public class CompressionFilter implements Filter {
+    private static final int DEFAULT_MIN_SIZE = 1024;
+    private static final int DEFAULT_CACHE_ENTRIES = 256;
+    // 이보다 큰 압축 결과는 캐시하지 않음
+    private static final int MAX_CACHEABLE_SIZE = 256 * 1024;
+    private static final int POOL_CAPACITY = 32;
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+    private static final int GZIP_TRAILER_SIZE = 8;
+
+    private static final Set<String> COMPRESSIBLE_TYPES = Set.of(
+            "application/json", "application/javascript", "application/xml", "image/svg+xml"
+    );
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final int minSize;
+    private final int maxCacheEntries;
+    private final DeflaterPool gzipDeflaters;
+    private final DeflaterPool deflateDeflaters;
+
+    // "인코딩 메서드 경로" -> 마지막으로 압축한 본문의 해시/길이와 압축 결과 (LRU, 원본 문자열은 들고 있지 않음)
+    private final Map<String, CompressedVariant> variantCache;
+
+    @Getter
+    private final CompressionStatistics statistics = new CompressionStatistics();
+
+    public CompressionFilter() {
+        this(DEFAULT_MIN_SIZE, Deflater.DEFAULT_COMPRESSION, DEFAULT_CACHE_ENTRIES);
+    }
+
+    /**
+     * @param minSize 압축할 본문의 최소 크기 (바이트)
+     * @param level Deflater 압축 수준 (1~9, 기본값은 Deflater.DEFAULT_COMPRESSION)
+     * @param maxCacheEntries 캐시할 압축 결과 수 (0이면 캐시하지 않음)
+     */
+    public CompressionFilter(int minSize, int level, int maxCacheEntries) {
+        this.minSize = minSize;
+        this.maxCacheEntries = maxCacheEntries;
+        this.gzipDeflaters = new DeflaterPool(POOL_CAPACITY, level, true);
+        this.deflateDeflaters = new DeflaterPool(POOL_CAPACITY, level, false);
+        this.variantCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompressedVariant> eldest) {
+                return size() > CompressionFilter.this.maxCacheEntries;
+            }
+        };
+    }
+
+    @Override
+    public void init() {
+    }
+
+    @Override
+    public void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws IOException {
+        chain.doFilter(request, response);
+
+        String body = response.getBody();
+        if (!isCompressible(request, response, body)) {
+            statistics.recordSkipped();
+            return;
+        }
+        long originalLength = HttpResponseWriter.utf8Length(body);
+        if (originalLength < minSize) {
+            statistics.recordSkipped();
+            return;
+        }
+
+        // 압축 여부가 Accept-Encoding 에 따라 달라지므로 중간 캐시에 알림
+        addVary(response);
+
+        String encoding = negotiate(request.getHeader("Accept-Encoding"));
+        if (encoding == null) {
+            statistics.recordSkipped();
+            return;
+        }
+
+        String cacheKey = encoding + " " + request.getMethod() + " " + request.getPath();
+        long sourceHash = maxCacheEntries > 0 ? BodyHash.hash(body) : 0;
+        CompressedVariant variant = lookup(cacheKey, sourceHash, body.length());
+        boolean fromCache = variant != null;
+        if (variant == null) {
+            variant = compress(body, encoding, sourceHash);
+            if (variant.length >= originalLength) {
+                // 이미 압축된 데이터 등 작아지지 않는 본문
+                statistics.recordSkipped();
+                return;
+            }
+            variant = store(cacheKey, variant);
+        }
+
+        response.setFileBody(FileRegion.ofBytes(variant.bytes, 0, variant.length));
+        response.removeHeaderByName("Content-Encoding");
+        response.addHeader("Content-Encoding", encoding);
+        tagEntity(response, encoding);
+        statistics.recordCompressed(originalLength, variant.length, fromCache);
+    }
+
+    @Override
+    public void destroy() {
+        gzipDeflaters.close();
+        deflateDeflaters.close();
+        synchronized (variantCache) {
+            variantCache.clear();
+        }
+    }
+
+    private boolean isCompressible(HttpServletRequest request, HttpServletResponse response, String body) {
+        if (response.isStreaming() || response.getFileBody() != null || body == null || body.isEmpty()) {
+            return false;
+        }
+        if ("HEAD".equals(request.getMethod())) {
+            return false;
+        }
+        int status = response.getStatusCode();
+        if (status == 204 || status == 206 || status == 304) {
+            return false;
+        }
+        if (response.getHeader("Content-Encoding") != null) {
+            return false;
+        }
+        return isCompressibleType(response.getHeader("Content-Type"));
+    }
+
+    // Content-Type 이 없으면 표준화 단계에서 text/html 이 붙으므로 압축 대상
+    private static boolean isCompressibleType(String contentType) {
+        if (contentType == null) {
+            return true;
+        }
+        String mimeType = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        return mimeType.startsWith("text/")
+                || COMPRESSIBLE_TYPES.contains(mimeType)
+                || mimeType.endsWith("+json")
+                || mimeType.endsWith("+xml");
+    }
+
+    /**
+     * Accept-Encoding 에서 사용할 인코딩을 고릅니다.
+     * @return "gzip", "deflate" 또는 둘 다 허용되지 않으면 null
+     */
+    static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        double gzipQuality = -1;
+        double deflateQuality = -1;
+        double wildcardQuality = -1;
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            switch (coding) {
+                case "gzip", "x-gzip" -> gzipQuality = quality;
+                case "deflate" -> deflateQuality = quality;
+                case "*" -> wildcardQuality = quality;
+                default -> {
+                }
+            }
+        }
+        // 명시되지 않은 인코딩에는 * 의 값을 적용
+        if (gzipQuality < 0) {
+            gzipQuality = wildcardQuality;
+        }
+        if (deflateQuality < 0) {
+            deflateQuality = wildcardQuality;
+        }
+        if (gzipQuality <= 0 && deflateQuality <= 0) {
+            return null;
+        }
+        return gzipQuality >= deflateQuality ? "gzip" : "deflate";
+    }
+
+    private CompressedVariant lookup(String cacheKey, long sourceHash, int sourceLength) {
+        if (maxCacheEntries <= 0) {
+            return null;
+        }
+        CompressedVariant variant;
+        synchronized (variantCache) {
+            variant = variantCache.get(cacheKey);
+        }
+        // 본문이 바뀌었으면 다시 압축 (해시는 압축보다 훨씬 저렴하고, 길이까지 같아야 같은 본문으로 봄)
+        return variant != null && variant.sourceHash == sourceHash && variant.sourceLength == sourceLength
+                ? variant : null;
+    }
+
+    // 캐시에 넣을 때는 압축 버퍼의 남는 공간을 잘라내 결과 크기만큼만 보관
+    private CompressedVariant store(String cacheKey, CompressedVariant variant) {
+        if (maxCacheEntries <= 0 || variant.length > MAX_CACHEABLE_SIZE) {
+            return variant;
+        }
+        CompressedVariant trimmed = variant.bytes.length == variant.length ? variant
+                : new CompressedVariant(variant.sourceHash, variant.sourceLength,
+                        Arrays.copyOf(variant.bytes, variant.length), variant.length);
+        synchronized (variantCache) {
+            variantCache.put(cacheKey, trimmed);
+        }
+        return trimmed;
+    }
+
+    private CompressedVariant compress(String body, String encoding, long sourceHash) {
+        long startedAt = cpuTimeNanos();
+        byte[] input = body.getBytes(StandardCharsets.UTF_8);
+        boolean gzip = "gzip".equals(encoding);
+        DeflaterPool pool = gzip ? gzipDeflaters : deflateDeflaters;
+        Deflater deflater = pool.borrow();
+        try {
+            byte[] output = new byte[Math.max(64, input.length / 2) + GZIP_HEADER.length + GZIP_TRAILER_SIZE];
+            int length = 0;
+            if (gzip) {
+                System.arraycopy(GZIP_HEADER, 0, output, 0, GZIP_HEADER.length);
+                length = GZIP_HEADER.length;
+            }
+
+            deflater.setInput(input);
+            deflater.finish();
+            while (!deflater.finished()) {
+                if (length == output.length) {
+                    output = Arrays.copyOf(output, output.length * 2);
+                }
+                length += deflater.deflate(output, length, output.length - length);
+            }
+
+            if (gzip) {
+                CRC32 crc = new CRC32();
+                crc.update(input);
+                if (length + GZIP_TRAILER_SIZE > output.length) {
+                    output = Arrays.copyOf(output, length + GZIP_TRAILER_SIZE);
+                }
+                length = writeIntLittleEndian(output, length, (int) crc.getValue());
+                length = writeIntLittleEndian(output, length, input.length);
+            }
+            return new CompressedVariant(sourceHash, body.length(), output, length);
+        } finally {
+            pool.release(deflater);
+            statistics.recordCpuTime(cpuTimeNanos() - startedAt);
+        }
+    }
+
+    private static int writeIntLittleEndian(byte[] output, int offset, int value) {
+        output[offset] = (byte) value;
+        output[offset + 1] = (byte) (value >>> 8);
+        output[offset + 2] = (byte) (value >>> 16);
+        output[offset + 3] = (byte) (value >>> 24);
+        return offset + 4;
+    }
+
+    // 스레드 CPU 시간을 지원하지 않는 JVM 에서는 경과 시간으로 대신함
+    private static long cpuTimeNanos() {
+        if (THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()) {
+            return THREAD_MX_BEAN.getCurrentThreadCpuTime();
+        }
+        return System.nanoTime();
+    }
+
+    private static void addVary(HttpServletResponse response) {
+        String vary = response.getHeader("Vary");
+        if (vary == null) {
+            response.addHeader("Vary", "Accept-Encoding");
+        } else if (!vary.toLowerCase(Locale.ROOT).contains("accept-encoding")) {
+            response.removeHeaderByName("Vary");
+            response.addHeader("Vary", vary + ", Accept-Encoding");
+        }
+    }
+
+    // 압축본은 원본과 다른 표현이므로 ETag 도 구분
+    private static void tagEntity(HttpServletResponse response, String encoding) {
+        String etag = response.getHeader("ETag");
+        if (etag != null && etag.endsWith("\"")) {
+            response.removeHeaderByName("ETag");
+            response.addHeader("ETag", etag.substring(0, etag.length() - 1) + "-" + encoding + "\"");
+        }
+    }
+
+    private static final class CompressedVariant {
+        private final long sourceHash;
+        private final int sourceLength;
+        private final byte[] bytes;
+        private final int length;
+
+        private CompressedVariant(long sourceHash, int sourceLength, byte[] bytes, int length) {
+            this.sourceHash = sourceHash;
+            this.sourceLength = sourceLength;
+            this.bytes = bytes;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.depth.web.container.filter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 응답 압축 효과 통계
+ * 절약한 전송량과 압축에 쓴 CPU 시간을 함께 보아 압축이 이득인지 판단한다.
+ */
+public class CompressionStatistics {
+    private final LongAdder compressedResponses = new LongAdder();
+    private final LongAdder skippedResponses = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder bytesBeforeCompression = new LongAdder();
+    private final LongAdder bytesAfterCompression = new LongAdder();
+    private final LongAdder compressionCpuNanos = new LongAdder();
+
+    public void recordCompressed(long originalBytes, long compressedBytes, boolean fromCache) {
+        compressedResponses.increment();
+        bytesBeforeCompression.add(originalBytes);
+        bytesAfterCompression.add(compressedBytes);
+        if (fromCache) {
+            cacheHits.increment();
+        }
+    }
+
+    // 크기/타입/협상 조건에 맞지 않거나 압축해도 작아지지 않은 응답
+    public void recordSkipped() {
+        skippedResponses.increment();
+    }
+
+    public void recordCpuTime(long nanos) {
+        compressionCpuNanos.add(nanos);
+    }
+
+    public long getCompressedResponses() {
+        return compressedResponses.sum();
+    }
+
+    public long getSkippedResponses() {
+        return skippedResponses.sum();
+    }
+
+    // 압축하지 않고 캐시된 결과를 재사용한 응답 수
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getBytesBeforeCompression() {
+        return bytesBeforeCompression.sum();
+    }
+
+    public long getBytesAfterCompression() {
+        return bytesAfterCompression.sum();
+    }
+
+    public long getSavedBytes() {
+        return bytesBeforeCompression.sum() - bytesAfterCompression.sum();
+    }
+
+    // 압축 후 크기 / 압축 전 크기 (낮을수록 효과가 큼)
+    public double getCompressionRatio() {
+        long before = bytesBeforeCompression.sum();
+        return before == 0 ? 1.0 : (double) bytesAfterCompression.sum() / before;
+    }
+
+    public long getCompressionCpuNanos() {
+        return compressionCpuNanos.sum();
+    }
+
+    // 절약한 1KB 당 사용한 CPU 시간 (나노초)
+    public double getCpuNanosPerSavedKilobyte() {
+        long saved = getSavedBytes();
+        return saved <= 0 ? 0 : compressionCpuNanos.sum() * 1024.0 / saved;
+    }
+}
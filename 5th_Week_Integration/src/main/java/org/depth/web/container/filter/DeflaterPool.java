@@ -0,0 +1,44 @@
+package org.depth.web.container.filter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Deflater 재사용 풀
+ * Deflater 는 생성 시 네이티브 zlib 상태(수백 KB)를 할당하므로 요청마다 만들지 않고 reset 해서 다시 쓴다.
+ * 풀이 가득 차면 반납된 인스턴스는 즉시 end 로 네이티브 메모리를 해제한다.
+ */
+class DeflaterPool {
+    private final BlockingQueue<Deflater> idle;
+    private final int level;
+    private final boolean nowrap;
+
+    /**
+     * @param nowrap true 면 zlib 헤더 없는 raw deflate (gzip 용), false 면 zlib 형식 (HTTP deflate 용)
+     */
+    DeflaterPool(int capacity, int level, boolean nowrap) {
+        this.idle = new ArrayBlockingQueue<>(capacity);
+        this.level = level;
+        this.nowrap = nowrap;
+    }
+
+    Deflater borrow() {
+        Deflater deflater = idle.poll();
+        return deflater != null ? deflater : new Deflater(level, nowrap);
+    }
+
+    void release(Deflater deflater) {
+        deflater.reset();
+        if (!idle.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    void close() {
+        Deflater deflater;
+        while ((deflater = idle.poll()) != null) {
+            deflater.end();
+        }
+    }
+}
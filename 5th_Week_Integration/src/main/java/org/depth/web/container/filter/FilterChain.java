@@ -8,25 +8,44 @@ import java.io.IOException;
 import java.util.List;
 
 public class FilterChain {
-    private final List<Filter> filters;
+    private static final Filter[] NO_FILTERS = new Filter[0];
+
+    private final Filter[] filters;
+    // filters 와 같은 위치의 경로 검사 (null 이면 모두 적용)
+    private final FilterMapping[] pathChecks;
+    private final String path;
     private final Servlet targetServlet;
     private int currentFilterIndex = 0;
 
     public FilterChain(List<Filter> filters, Servlet targetServlet) {
+        this(filters.toArray(NO_FILTERS), null, null, targetServlet);
+    }
+
+    /**
+     * FilterRegistry 가 미리 계산한 배열로 체인을 만듭니다. (배열은 복사하지 않고 공유)
+     * @param pathChecks 요청 경로를 검사해야 하는 필터 위치의 매핑 (검사가 필요 없으면 null)
+     * @param path 요청 경로
+     */
+    public FilterChain(Filter[] filters, FilterMapping[] pathChecks, String path, Servlet targetServlet) {
         this.filters = filters;
+        this.pathChecks = pathChecks;
+        this.path = path;
         this.targetServlet = targetServlet;
     }
 
 
     public void doFilter(HttpServletRequest request, HttpServletResponse response) throws IOException {
-        // 필터가 모두 실행된 경우 서블릿 실행
-        if (currentFilterIndex < filters.size()) {
-            Filter filter = filters.get(currentFilterIndex);
-            currentFilterIndex++;
+        // 경로가 맞지 않는 필터는 건너뜀
+        while (currentFilterIndex < filters.length) {
+            int index = currentFilterIndex++;
+            if (pathChecks == null || pathChecks[index] == null || pathChecks[index].matches(path)) {
+                filters[index].doFilter(request, response, this);
+                return;
+            }
+        }
 
-            // 필터 초기화
-            filter.doFilter(request, response, this);
-        } else if (targetServlet != null) {
+        // 필터가 모두 실행된 경우 서블릿 실행
+        if (targetServlet != null) {
             try {
                 targetServlet.service(request, response);
             } catch (Exception e) {
@@ -34,4 +53,4 @@ public class FilterChain {
             }
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,158 @@
+package org.depth.web.container.filter;
+
+import lombok.Getter;
+import org.depth.web.servlet.DispatcherType;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 필터와 그 필터를 적용할 URL 패턴, 디스패치 계기
+ * URL 패턴 문법 (서블릿 명세와 같음):
+ * - "/*" 또는 "/": 모든 경로
+ * - "/api/*": "/api" 와 "/api/" 아래 모든 경로
+ * - "*.json": 확장자
+ * - 그 밖의 "/..." : 정확히 일치
+ * 패턴은 쿼리 문자열을 뺀 경로와 비교한다.
+ */
+@Getter
+public final class FilterMapping {
+    private static final String[] ALL_PATHS = {"/*"};
+
+    private final Filter filter;
+    private final String[] urlPatterns;
+    private final Set<DispatcherType> dispatcherTypes;
+    // 모든 경로에 적용되는지 (경로 검사 생략)
+    private final boolean matchesAllPaths;
+
+    /**
+     * @param dispatcherTypes 필터를 실행할 디스패치 계기 (비어 있으면 모든 계기)
+     * @param urlPatterns 적용할 URL 패턴 (없으면 "/*")
+     */
+    public FilterMapping(Filter filter, Set<DispatcherType> dispatcherTypes, String... urlPatterns) {
+        if (filter == null) {
+            throw new IllegalArgumentException("filter must not be null");
+        }
+        String[] patterns = urlPatterns == null || urlPatterns.length == 0 ? ALL_PATHS : urlPatterns.clone();
+        boolean all = false;
+        for (String pattern : patterns) {
+            if (pattern == null || !(pattern.startsWith("/") || pattern.startsWith("*."))) {
+                throw new IllegalArgumentException("Invalid URL pattern: " + pattern);
+            }
+            all |= isAllPaths(pattern);
+        }
+        this.filter = filter;
+        this.urlPatterns = patterns;
+        this.dispatcherTypes = dispatcherTypes == null || dispatcherTypes.isEmpty()
+                ? EnumSet.allOf(DispatcherType.class) : EnumSet.copyOf(dispatcherTypes);
+        this.matchesAllPaths = all;
+    }
+
+    // 모든 디스패치 계기에 적용되는 매핑 (registerFilter(Filter) 의 기존 동작과 같음)
+    public static FilterMapping of(Filter filter, String... urlPatterns) {
+        return new FilterMapping(filter, null, urlPatterns);
+    }
+
+    public String[] getUrlPatterns() {
+        return urlPatterns.clone();
+    }
+
+    public boolean appliesTo(DispatcherType dispatcherType) {
+        return dispatcherTypes.contains(dispatcherType);
+    }
+
+    /**
+     * 요청 경로가 패턴 중 하나와 맞는지 확인합니다.
+     * @param path 요청 경로 (쿼리 문자열이 있으면 무시)
+     */
+    public boolean matches(String path) {
+        if (matchesAllPaths) {
+            return true;
+        }
+        int end = path.indexOf('?');
+        if (end < 0) {
+            end = path.length();
+        }
+        for (String pattern : urlPatterns) {
+            if (matches(pattern, path, end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 서블릿 매핑 키로 라우팅되는 요청들에 이 필터가 적용되는지 미리 판단합니다.
+     * @param routeKey PathRoutingServletMap 의 키 (null 이면 알 수 없음)
+     */
+    Applicability classify(String routeKey) {
+        if (matchesAllPaths) {
+            return Applicability.ALWAYS;
+        }
+        if (routeKey == null) {
+            return Applicability.CONDITIONAL;
+        }
+        Applicability result = Applicability.NEVER;
+        for (String pattern : urlPatterns) {
+            Applicability applicability = classify(pattern, routeKey);
+            if (applicability == Applicability.ALWAYS) {
+                return applicability;
+            }
+            if (applicability == Applicability.CONDITIONAL) {
+                result = applicability;
+            }
+        }
+        return result;
+    }
+
+    private static Applicability classify(String pattern, String routeKey) {
+        if (!routeKey.startsWith("/")) {
+            // 확장자 서블릿("*.ext")으로 오는 요청은 모두 그 확장자로 끝남
+            if (pattern.startsWith("*.")) {
+                return pattern.equals(routeKey) ? Applicability.ALWAYS : Applicability.NEVER;
+            }
+            return Applicability.CONDITIONAL;
+        }
+        if (routeKey.equals("/*")) {
+            // 기본 서블릿: 다른 서블릿에 맞지 않는 모든 경로
+            return Applicability.CONDITIONAL;
+        }
+        // 문자열 접두사 키: 이 서블릿으로 오는 경로는 모두 routeKey 로 시작
+        if (pattern.endsWith("/*")) {
+            String prefix = pattern.substring(0, pattern.length() - 2);
+            if (routeKey.startsWith(prefix + "/")) {
+                return Applicability.ALWAYS;
+            }
+            return routeKey.startsWith(prefix) || prefix.startsWith(routeKey)
+                    ? Applicability.CONDITIONAL : Applicability.NEVER;
+        }
+        if (pattern.startsWith("*.")) {
+            return Applicability.CONDITIONAL;
+        }
+        return pattern.startsWith(routeKey) ? Applicability.CONDITIONAL : Applicability.NEVER;
+    }
+
+    private static boolean matches(String pattern, String path, int end) {
+        if (pattern.startsWith("*.")) {
+            int extensionLength = pattern.length() - 1;
+            return end >= extensionLength && path.regionMatches(end - extensionLength, pattern, 1, extensionLength);
+        }
+        if (pattern.endsWith("/*")) {
+            int prefixLength = pattern.length() - 2;
+            return end >= prefixLength && path.regionMatches(0, pattern, 0, prefixLength)
+                    && (end == prefixLength || path.charAt(prefixLength) == '/');
+        }
+        return end == pattern.length() && path.regionMatches(0, pattern, 0, end);
+    }
+
+    private static boolean isAllPaths(String pattern) {
+        return pattern.equals("/*") || pattern.equals("/");
+    }
+
+    // 서블릿 매핑 하나에 대한 필터 적용 여부
+    enum Applicability {
+        ALWAYS,
+        CONDITIONAL,
+        NEVER
+    }
+}
@@ -0,0 +1,163 @@
+package org.depth.web.container.filter;
+
+import org.depth.web.container.PathRoutingServletMap;
+import org.depth.web.servlet.DispatcherType;
+import org.depth.web.servlet.Servlet;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 등록된 필터 매핑과 서블릿(라우트)별로 미리 계산한 필터 배열
+ * 필터나 서블릿 등록이 바뀔 때마다 불변 스냅샷을 새로 만들어 교체(copy-on-write)하므로,
+ * 요청은 잠금 없이 자기 서블릿/디스패치 계기의 배열만 훑는다.
+ * 라우트 키만으로 적용 여부가 정해지지 않는 필터(예: 서블릿 "/" 아래의 "/api/*")만 요청마다 경로를 검사한다.
+ */
+public class FilterRegistry {
+    private static final DispatcherType[] DISPATCHER_TYPES = DispatcherType.values();
+
+    private final PathRoutingServletMap servletMap;
+    private volatile Snapshot snapshot;
+
+    public FilterRegistry(PathRoutingServletMap servletMap) {
+        this.servletMap = servletMap;
+        this.snapshot = Snapshot.compile(new FilterMapping[0], servletMap);
+    }
+
+    public synchronized void addMapping(FilterMapping mapping) {
+        FilterMapping[] current = snapshot.mappings;
+        FilterMapping[] next = new FilterMapping[current.length + 1];
+        System.arraycopy(current, 0, next, 0, current.length);
+        next[current.length] = mapping;
+        snapshot = Snapshot.compile(next, servletMap);
+    }
+
+    // 필터의 모든 매핑을 제거
+    public synchronized boolean removeFilter(Filter filter) {
+        List<FilterMapping> next = new ArrayList<>();
+        for (FilterMapping mapping : snapshot.mappings) {
+            if (mapping.getFilter() != filter) {
+                next.add(mapping);
+            }
+        }
+        if (next.size() == snapshot.mappings.length) {
+            return false;
+        }
+        snapshot = Snapshot.compile(next.toArray(new FilterMapping[0]), servletMap);
+        return true;
+    }
+
+    // 서블릿 등록이 바뀐 뒤 라우트별 배열을 다시 계산
+    public synchronized void refresh() {
+        snapshot = Snapshot.compile(snapshot.mappings, servletMap);
+    }
+
+    // 등록 순서대로의 필터 목록 (읽기 전용)
+    public List<Filter> getFilters() {
+        List<Filter> filters = new ArrayList<>();
+        for (FilterMapping mapping : snapshot.mappings) {
+            if (!filters.contains(mapping.getFilter())) {
+                filters.add(mapping.getFilter());
+            }
+        }
+        return List.copyOf(filters);
+    }
+
+    public List<FilterMapping> getMappings() {
+        return List.of(snapshot.mappings);
+    }
+
+    /**
+     * 요청 하나를 위한 필터 체인을 만듭니다. (필터 배열은 스냅샷의 것을 공유)
+     * @param servlet 요청 경로에 맞는 서블릿
+     */
+    public FilterChain createChain(Servlet servlet, DispatcherType dispatcherType, String path) {
+        RouteFilters route = snapshot.routeFor(servlet);
+        int type = dispatcherType.ordinal();
+        return new FilterChain(route.filters[type], route.pathChecks[type], path, servlet);
+    }
+
+    // 서블릿/디스패치 계기에 미리 계산된 필터 배열 (테스트용)
+    Filter[] compiledFilters(Servlet servlet, DispatcherType dispatcherType) {
+        return snapshot.routeFor(servlet).filters[dispatcherType.ordinal()].clone();
+    }
+
+    /**
+     * 한 서블릿의 디스패치 계기별 필터 배열
+     * pathChecks[i] 가 null 이면 항상 적용, 아니면 요청 경로가 그 매핑과 맞을 때만 적용
+     */
+    static final class RouteFilters {
+        private final Filter[][] filters;
+        private final FilterMapping[][] pathChecks;
+
+        private RouteFilters(Filter[][] filters, FilterMapping[][] pathChecks) {
+            this.filters = filters;
+            this.pathChecks = pathChecks;
+        }
+
+        static RouteFilters compile(FilterMapping[] mappings, String routeKey) {
+            Filter[][] filters = new Filter[DISPATCHER_TYPES.length][];
+            FilterMapping[][] pathChecks = new FilterMapping[DISPATCHER_TYPES.length][];
+            for (DispatcherType type : DISPATCHER_TYPES) {
+                List<Filter> applied = new ArrayList<>();
+                List<FilterMapping> checks = new ArrayList<>();
+                boolean anyCheck = false;
+                for (FilterMapping mapping : mappings) {
+                    if (!mapping.appliesTo(type)) {
+                        continue;
+                    }
+                    FilterMapping.Applicability applicability = mapping.classify(routeKey);
+                    if (applicability == FilterMapping.Applicability.NEVER) {
+                        continue;
+                    }
+                    boolean conditional = applicability == FilterMapping.Applicability.CONDITIONAL;
+                    applied.add(mapping.getFilter());
+                    checks.add(conditional ? mapping : null);
+                    anyCheck |= conditional;
+                }
+                filters[type.ordinal()] = applied.toArray(new Filter[0]);
+                // 검사할 필터가 없으면 배열 자체를 생략
+                pathChecks[type.ordinal()] = anyCheck ? checks.toArray(new FilterMapping[0]) : null;
+            }
+            return new RouteFilters(filters, pathChecks);
+        }
+    }
+
+    private static final class Snapshot {
+        private final FilterMapping[] mappings;
+        // 서블릿 맵에 등록된 서블릿별 배열 (스냅샷을 만들 때 모두 계산)
+        private final Map<Servlet, RouteFilters> routes;
+        // 맵 밖에서 전달된 서블릿용 (라우트 키를 몰라 경로를 모두 검사)
+        private final Map<Servlet, RouteFilters> unknownRoutes = new ConcurrentHashMap<>();
+
+        private Snapshot(FilterMapping[] mappings, Map<Servlet, RouteFilters> routes) {
+            this.mappings = mappings;
+            this.routes = routes;
+        }
+
+        static Snapshot compile(FilterMapping[] mappings, PathRoutingServletMap servletMap) {
+            Map<Servlet, RouteFilters> routes = new IdentityHashMap<>();
+            Map<Servlet, Integer> routeCounts = new IdentityHashMap<>();
+            for (Map.Entry<String, Servlet> entry : servletMap.entrySet()) {
+                routeCounts.merge(entry.getValue(), 1, Integer::sum);
+            }
+            for (Map.Entry<String, Servlet> entry : servletMap.entrySet()) {
+                // 한 서블릿이 여러 키에 등록되었으면 키로 판단할 수 없으므로 경로로 검사
+                String routeKey = routeCounts.get(entry.getValue()) == 1 ? entry.getKey() : null;
+                routes.put(entry.getValue(), RouteFilters.compile(mappings, routeKey));
+            }
+            return new Snapshot(mappings, routes);
+        }
+
+        RouteFilters routeFor(Servlet servlet) {
+            RouteFilters route = routes.get(servlet);
+            if (route != null) {
+                return route;
+            }
+            return unknownRoutes.computeIfAbsent(servlet, ignored -> RouteFilters.compile(mappings, null));
+        }
+    }
+}
@@ -1,38 +1,89 @@
 package org.depth.web.container.request;
 
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import org.depth.web.container.PathRoutingServletMap;
-import org.depth.web.container.filter.Filter;
+import org.depth.web.container.concurrent.ConcurrencyLimiter;
 import org.depth.web.container.filter.FilterChain;
+import org.depth.web.container.filter.FilterRegistry;
 import org.depth.web.container.listener.RequestListener;
 import org.depth.web.container.session.SessionManager;
+import org.depth.web.http.handler.EntityTagMode;
 import org.depth.web.http.handler.HttpRequestParser;
 import org.depth.web.http.handler.HttpResponseWriter;
 import org.depth.web.http.model.HttpHeader;
+import org.depth.web.http.model.HttpHeaders;
 import org.depth.web.http.model.HttpSession;
+import org.depth.web.servlet.DispatcherType;
 import org.depth.web.servlet.Servlet;
 import org.depth.web.servlet.http.HttpServletRequest;
 import org.depth.web.servlet.http.HttpServletResponse;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 @RequiredArgsConstructor
 public class HttpRequestHandler implements RequestHandler {
     private final PathRoutingServletMap pathRoutingServletMap;
-    private final List<Filter> filters;
+    private final FilterRegistry filterRegistry;
     private final SessionManager sessionManager;
     private final List<RequestListener> globalRequestListeners = new ArrayList<>();
     
     // 세션 쿠키 이름
     private static final String SESSION_COOKIE_NAME = "JSESSIONID";
 
+    // keep-alive 연결의 유휴 제한 시간 (밀리초)
+    @Getter @Setter
+    private int keepAliveTimeoutMillis = 5000;
+
+    // 연결 하나에서 처리할 최대 요청 수
+    @Getter @Setter
+    private int maxKeepAliveRequests = 100;
+
+    // 요청 본문 최대 크기 (바이트, 음수면 제한 없음) - 넘으면 본문을 읽기 전에 413 으로 거절
+    @Getter @Setter
+    private long maxRequestBodySize = 10L * 1024 * 1024;
+
+    // 연결 전체를 받아두어야 하는 커넥터(NIO)가 이보다 큰 본문을 메모리 대신 임시 파일에 받는 기준 (바이트)
+    @Getter @Setter
+    private int requestBodySpillThreshold = 1024 * 1024;
+
+    // 핸들러가 ETag 를 붙이지 않은 200 응답에 자동으로 붙일 ETag 종류 (NONE 이면 본문 해시를 계산하지 않음)
+    @Getter @Setter
+    private EntityTagMode entityTagMode = EntityTagMode.WEAK;
+
+    // keep-alive 를 위해 서블릿이 읽지 않은 본문을 버릴 수 있는 최대 크기 (넘으면 연결을 닫음)
+    private static final long MAX_DISCARD_BODY_SIZE = 2L * 1024 * 1024;
+
+    private static final byte[] CONTINUE_RESPONSE = "HTTP/1.1 100 Continue\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    // 동기 요청의 결과 (매 요청 future 를 만들지 않도록 공유)
+    private static final CompletableFuture<Boolean> KEEP_ALIVE = CompletableFuture.completedFuture(true);
+    private static final CompletableFuture<Boolean> CLOSE = CompletableFuture.completedFuture(false);
+
+    // 비동기 응답을 마친 연결에서 다음 요청 읽기를 이어갈 실행기 (null 이면 응답을 완성한 스레드에서 바로 이어감)
+    @Getter @Setter
+    private Executor asyncResumeExecutor;
+
+    // 서블릿을 동시에 실행하는 요청 수 제한 (null 이면 제한 없음) - 디스패치 구간에만 허가를 잡으므로 유휴 연결은 세지 않음
+    @Getter @Setter
+    private ConcurrencyLimiter concurrencyLimiter;
+
+    @Getter
+    private final KeepAliveStatistics keepAliveStatistics = new KeepAliveStatistics();
+
     // 요청 리스너 추가
     public void addRequestListener(RequestListener listener) {
         globalRequestListeners.add(listener);
@@ -43,97 +94,407 @@ public class HttpRequestHandler implements RequestHandler {
         globalRequestListeners.remove(listener);
     }
 
-    // 클라이언트 요청 처리
+    // 클라이언트 요청 처리 (keep-alive 연결이면 같은 소켓에서 요청을 순서대로 반복 처리)
     @Override
     public void handle(Socket clientSocket) {
-        HttpServletRequest request = null;
-        HttpServletResponse response = null;
-        
-        try (
-                BufferedReader reader = new BufferedReader(new InputStreamReader(clientSocket.getInputStream()));
-                OutputStream outputStream = clientSocket.getOutputStream()
-        ) {
-            request = HttpRequestParser.parse(reader);
-            response = HttpResponseWriter.createDefaultResponse();
+        BlockingConnection connection;
+        try {
+            connection = new BlockingConnection(clientSocket);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        keepAliveStatistics.recordConnection();
+        serve(connection);
+    }
+
+    // 연결이 끝나거나 비동기 응답을 기다리게 될 때까지 요청을 순서대로 처리
+    private void serve(BlockingConnection connection) {
+        boolean suspended = false;
+        try {
+            boolean keepAlive = true;
+            while (keepAlive) {
+                HttpServletRequest request;
+                try {
+                    request = HttpRequestParser.parse(connection.inputStream);
+                } catch (SocketTimeoutException e) {
+                    // 유휴 제한 시간 초과
+                    keepAliveStatistics.recordIdleTimeout();
+                    return;
+                } catch (IOException e) {
+                    if (connection.requestCount > 0) {
+                        // 클라이언트가 영속 연결을 닫음
+                        return;
+                    }
+                    throw e;
+                }
+
+                int requestCount = ++connection.requestCount;
+                keepAliveStatistics.recordRequest(requestCount);
+
+                // 본문을 보내기 전에 허락을 기다리는 클라이언트 (크기 초과면 보내지 않고 바로 413 을 받게 됨)
+                if (!isBodyTooLarge(request) && request.getContentLength() > 0
+                        && "100-continue".equalsIgnoreCase(request.getHeader("Expect"))) {
+                    connection.outputStream.write(CONTINUE_RESPONSE);
+                    connection.outputStream.flush();
+                }
+
+                CompletableFuture<Boolean> result = handleAsync(request, connection.outputStream,
+                        shouldKeepAlive(request, requestCount));
+                if (!result.isDone()) {
+                    // 비동기 응답: 워커를 반환하고 응답이 끝나면 이어서 다음 요청을 읽음
+                    suspended = true;
+                    result.whenComplete((resultKeepAlive, error) -> resume(connection, request, resultKeepAlive, error));
+                    return;
+                }
+                keepAlive = join(result);
+
+                // 서블릿이 읽지 않은 본문을 건너뛰어 다음 요청 위치로 이동
+                if (keepAlive && !request.discardRemainingBody(MAX_DISCARD_BODY_SIZE)) {
+                    keepAlive = false;
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            if (!suspended) {
+                connection.close();
+            }
+        }
+    }
+
+    // 비동기 응답을 마친 연결을 이어서 처리하거나 닫음 (응답을 완성한 스레드에서 호출)
+    private void resume(BlockingConnection connection, HttpServletRequest request, Boolean keepAlive, Throwable error) {
+        try {
+            if (error != null || !keepAlive || !request.discardRemainingBody(MAX_DISCARD_BODY_SIZE)) {
+                connection.close();
+                return;
+            }
+        } catch (IOException e) {
+            connection.close();
+            return;
+        }
+
+        Executor executor = asyncResumeExecutor;
+        if (executor == null) {
+            serve(connection);
+            return;
+        }
+        try {
+            executor.execute(() -> serve(connection));
+        } catch (RejectedExecutionException e) {
+            connection.close();
+        }
+    }
+
+    // 채널에서 수락된 소켓이면 파일 본문을 sendfile 로 보낼 수 있는 출력 사용
+    private static OutputStream openOutput(Socket clientSocket) throws IOException {
+        if (clientSocket.getChannel() != null) {
+            return new SocketChannelOutput(clientSocket.getOutputStream(), clientSocket.getChannel());
+        }
+        return clientSocket.getOutputStream();
+    }
+
+    // 선언된 본문 크기가 허용치를 넘는지
+    private boolean isBodyTooLarge(HttpServletRequest request) {
+        return maxRequestBodySize >= 0 && request.getContentLength() > maxRequestBodySize;
+    }
+
+    private static boolean hasMultipleContentLengths(HttpServletRequest request) {
+        List<HttpHeader> headers = request.getHeaders();
+        return headers != null && ((HttpHeaders) headers).getValues(HttpHeaders.CONTENT_LENGTH).size() > 1;
+    }
+
+    // 요청 헤더와 연결당 요청 수 제한을 보고 연결 유지 여부 결정
+    public boolean shouldKeepAlive(HttpServletRequest request, int requestCount) {
+        if (requestCount >= maxKeepAliveRequests) {
+            keepAliveStatistics.recordMaxRequestsReached();
+            return false;
+        }
+        return isKeepAliveRequested(request);
+    }
+
+    // HTTP/1.1은 기본 유지, HTTP/1.0은 Connection: keep-alive 일 때만 유지
+    private static boolean isKeepAliveRequested(HttpServletRequest request) {
+        String connection = request.getHeader(HttpHeaders.CONNECTION);
+        if (connection != null) {
+            if (connection.equalsIgnoreCase("close")) {
+                return false;
+            }
+            if (connection.equalsIgnoreCase("keep-alive")) {
+                return true;
+            }
+        }
+        return "HTTP/1.1".equals(request.getVersion());
+    }
+
+
+    // 파싱이 끝난 요청을 필터/서블릿 파이프라인에 태우고 응답을 기록 (커넥터 공용)
+    public void handle(HttpServletRequest request, OutputStream outputStream) throws IOException {
+        handle(request, outputStream, false);
+    }
+
+    /**
+     * 파싱이 끝난 요청을 필터/서블릿 파이프라인에 태우고 응답을 기록합니다. (커넥터 공용)
+     * 비동기 요청이면 응답이 완성될 때까지 호출 스레드를 막으므로, 워커를 놓아주려면 handleAsync 를 사용해야 합니다.
+     * @param keepAliveRequested 요청과 연결 상태상 연결을 유지할 수 있는지 여부
+     * @return 응답 이후에도 연결을 유지해야 하면 true
+     */
+    public boolean handle(HttpServletRequest request, OutputStream outputStream, boolean keepAliveRequested) throws IOException {
+        return join(handleAsync(request, outputStream, keepAliveRequested));
+    }
+
+    // 응답이 끝날 때까지 기다려 연결 유지 여부를 반환 (기록 실패는 IOException 으로 되돌림)
+    private static boolean join(CompletableFuture<Boolean> result) throws IOException {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 파싱이 끝난 요청을 필터/서블릿 파이프라인에 태우고 응답을 기록합니다. (커넥터 공용)
+     * 서블릿이 비동기 처리를 시작하면 바로 반환하고, 결과를 넘긴 스레드에서 ASYNC 재처리와 응답 기록, 요청 완료 이벤트가 이어집니다.
+     * 동기 요청은 이미 완료된 future 를 반환합니다.
+     * @param keepAliveRequested 요청과 연결 상태상 연결을 유지할 수 있는지 여부
+     * @return 응답 이후에도 연결을 유지해야 하는지 (기록 실패 시 IOException 으로 완료)
+     */
+    public CompletableFuture<Boolean> handleAsync(HttpServletRequest request, OutputStream outputStream,
+                                                  boolean keepAliveRequested) throws IOException {
+        // 청크 본문은 해석하지 않으므로 본문 경계를 알 수 없음: 남은 바이트를 다음 요청으로 읽지 않도록 연결을 닫음
+        if (request.getHeader(HttpHeaders.TRANSFER_ENCODING) != null) {
+            HttpServletResponse rejection = request.getHeader(HttpHeaders.CONTENT_LENGTH) != null
+                    ? HttpResponseWriter.createBadRequestResponse("Content-Length and Transfer-Encoding must not be combined.")
+                    : HttpResponseWriter.createNotImplementedResponse("Transfer-Encoding");
+            HttpResponseWriter.write(rejection, outputStream);
+            return CLOSE;
+        }
+        // 같은 요청에 Content-Length 가 여러 번 오면 앞뒤 서버가 서로 다른 값을 믿을 수 있으므로 거절
+        if (hasMultipleContentLengths(request)) {
+            HttpResponseWriter.write(HttpResponseWriter.createBadRequestResponse("Multiple Content-Length headers."), outputStream);
+            return CLOSE;
+        }
+        // 본문을 읽기 전에 거절 (남은 본문은 버리지 않고 연결을 닫음)
+        if (isBodyTooLarge(request)) {
+            HttpResponseWriter.write(HttpResponseWriter.createPayloadTooLargeResponse(maxRequestBodySize), outputStream);
+            return CLOSE;
+        }
+
+        Exchange exchange = new Exchange(request, outputStream, keepAliveRequested);
+        try {
+            exchange.response = HttpResponseWriter.createDefaultResponse();
+            exchange.response.bindConnection(outputStream, keepAliveRequested, "HTTP/1.1".equals(request.getVersion()));
             
             // 전역 요청 리스너 등록
             for (RequestListener listener : globalRequestListeners) {
                 request.addRequestListener(listener);
             }
             
-            // 세션 처리
-            processSession(request, response);
+            // 세션 처리 (실제 조회/생성은 처음 getSession 할 때)
+            processSession(request, exchange);
             
             // 요청 초기화 이벤트 발생
-            boolean continueProcessing = request.notifyRequestInitialized(response);
+            boolean continueProcessing = request.notifyRequestInitialized(exchange.response);
             
             if (continueProcessing) {
-                try {
-                    Servlet bestMatchingServlet = pathRoutingServletMap.findBestMatchingFor(request.getPath());
-    
-                    if (bestMatchingServlet != null) {
-                        FilterChain filterChain = new FilterChain(filters, bestMatchingServlet);
-                        filterChain.doFilter(request, response);
-                    } else {
-                        response = HttpResponseWriter.createNotFoundResponse(request.getPath());
+                dispatch(exchange);
+            }
+
+            if (request.isAsyncStarted() && !exchange.failed) {
+                // 워커는 여기서 반환: 결과를 넘긴 스레드가 재처리와 응답 기록을 이어받음
+                return request.getAsyncContext().completion().thenApply(redispatch -> {
+                    if (redispatch) {
+                        request.setDispatcherType(DispatcherType.ASYNC);
+                        dispatch(exchange);
                     }
-                } catch (Exception e) {
-                    // 오류 처리 이벤트 발생
-                    if (!request.notifyRequestError(response, e)) {
-                        // 오류가 처리되지 않은 경우 500 응답 생성
-                        response = HttpResponseWriter.createServerErrorResponse(e.getMessage());
+                    try {
+                        return complete(exchange);
+                    } catch (IOException e) {
+                        request.notifyRequestError(exchange.response, e);
+                        throw new CompletionException(e);
                     }
+                });
+            }
+            return complete(exchange) ? KEEP_ALIVE : CLOSE;
+        } catch (IOException e) {
+            // 요청 처리 중 예외가 발생하면 오류 이벤트 발생
+            if (exchange.response != null) {
+                request.notifyRequestError(exchange.response, e);
+            }
+            throw e;
+        }
+    }
+
+    // 경로에 맞는 서블릿을 찾아 필터 체인을 통과시킴 (처리되지 않은 예외는 500 으로 바꿈)
+    private void dispatch(Exchange exchange) {
+        HttpServletRequest request = exchange.request;
+        ConcurrencyLimiter limiter = concurrencyLimiter;
+        boolean acquired = false;
+        try {
+            if (limiter != null) {
+                limiter.acquire();
+                acquired = true;
+            }
+            Servlet bestMatchingServlet = pathRoutingServletMap.findBestMatchingFor(request.getPath());
+
+            if (bestMatchingServlet != null) {
+                FilterChain filterChain = filterRegistry.createChain(bestMatchingServlet,
+                        request.getDispatcherType(), request.getPath());
+                filterChain.doFilter(request, exchange.response);
+            } else {
+                exchange.response = HttpResponseWriter.createNotFoundResponse(request.getPath());
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.failed = true;
+            if (request.isAsyncStarted()) {
+                // 오류 응답을 보낼 것이므로 늦게 도착하는 비동기 결과는 무시
+                request.getAsyncContext().complete();
+            }
+            // 오류 처리 이벤트 발생
+            if (!request.notifyRequestError(exchange.response, e)) {
+                if (exchange.response.isStreaming()) {
+                    // 이미 본문을 보내기 시작했으면 오류 응답으로 바꿀 수 없음
+                    exchange.streamingFailed = true;
+                } else {
+                    // 오류가 처리되지 않은 경우 500 응답 생성
+                    exchange.response = HttpResponseWriter.createServerErrorResponse(e.getMessage());
                 }
             }
-            
-            // 요청 완료 이벤트 발생
-            request.notifyRequestCompleted(response);
+        } finally {
+            if (acquired) {
+                limiter.release();
+            }
+        }
+    }
 
-            response.setCommitted(true);
+    // 요청 완료 이벤트를 알리고 응답을 기록 (비동기 요청은 결과를 넘긴 스레드에서 실행)
+    private boolean complete(Exchange exchange) throws IOException {
+        HttpServletRequest request = exchange.request;
+        HttpServletResponse response = exchange.response;
+        // 요청 완료 이벤트 발생
+        request.notifyRequestCompleted(response);
 
-            outputStream.write(response.getContent());
-            outputStream.flush();
-        } catch (IOException e) {
-            // 요청 처리 중 예외가 발생하면 오류 이벤트 발생
-            if (request != null && response != null) {
-                request.notifyRequestError(response, e);
+        // 요청이 세션을 썼으면 세션 속성을 저장소에 되돌려 씀
+        if (request.hasSession()) {
+            sessionManager.release(request.getSession(false));
+        }
+
+        // 스트리밍 응답은 헤더가 이미 커밋되었으므로 남은 본문만 마무리
+        if (response.isStreaming()) {
+            if (exchange.streamingFailed) {
+                response.abortStreaming();
+                return false;
             }
-            throw new RuntimeException(e);
+            return response.finishStreaming();
         }
+
+        // 서블릿이 명시적으로 연결 종료를 요청했는지 확인
+        boolean keepAlive = exchange.keepAliveRequested
+                && !"close".equalsIgnoreCase(response.getHeader(HttpHeaders.CONNECTION));
+
+        // 세션을 만든 뒤 응답이 오류 응답 등으로 바뀌었으면 새 응답에도 세션 쿠키를 옮겨 붙임
+        applySessionCookie(exchange);
+
+        // 영속 연결에서는 Content-Length 로 응답 경계를 알려야 함 (ETag 가 일치하면 여기서 304 로 바뀜)
+        HttpResponseWriter.standardizeResponse(request, response, entityTagMode);
+        response.removeHeaderByName(HttpHeaders.CONNECTION);
+        response.addHeader(HttpHeaders.CONNECTION, keepAlive ? "keep-alive" : "close");
+
+        response.setCommitted(true);
+
+        HttpResponseWriter.write(response, exchange.outputStream);
+        return keepAlive;
     }
-    
-    // 세션 처리 로직
-    private void processSession(HttpServletRequest request, HttpServletResponse response) {
-        // 쿠키에서 세션 ID 추출
-        String sessionId = extractSessionIdFromCookies(request);
-        
-        // 세션 ID로 세션 조회 또는 생성
-        HttpSession session;
-        if (sessionId != null) {
-            session = sessionManager.getSession(sessionId);
-        } else {
-            session = null;
+
+    // 블로킹 소켓 연결 (비동기 응답을 기다리는 동안 워커 사이를 옮겨 다님)
+    private final class BlockingConnection {
+        private final Socket socket;
+        private final InputStream inputStream;
+        private final OutputStream outputStream;
+        private int requestCount = 0;
+
+        private BlockingConnection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.inputStream = new BufferedInputStream(socket.getInputStream());
+            this.outputStream = openOutput(socket);
+            socket.setSoTimeout(keepAliveTimeoutMillis);
         }
-        
-        // 세션이 없거나 만료된 경우 새 세션 생성
-        if (session == null) {
-            session = sessionManager.createSession();
-            // 응답에 세션 쿠키 추가
-            response.addHeader("Set-Cookie", SESSION_COOKIE_NAME + "=" + session.getId() + "; Path=/; HttpOnly");
+
+        private void close() {
+            try {
+                outputStream.close();
+                inputStream.close();
+            } catch (IOException e) {
+                // 클라이언트가 이미 떠난 경우
+            } finally {
+                try {
+                    socket.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    // 요청 하나의 처리 상태 (비동기 요청이면 스레드를 옮겨 다님)
+    private static final class Exchange {
+        private final HttpServletRequest request;
+        private final OutputStream outputStream;
+        private final boolean keepAliveRequested;
+        private HttpServletResponse response;
+        private boolean failed = false;
+        private boolean streamingFailed = false;
+        // 이 요청에서 새로 만든 세션의 Set-Cookie 값과, 그 헤더를 붙인 응답
+        private String sessionCookie;
+        private HttpServletResponse sessionCookieResponse;
+
+        private Exchange(HttpServletRequest request, OutputStream outputStream, boolean keepAliveRequested) {
+            this.request = request;
+            this.outputStream = outputStream;
+            this.keepAliveRequested = keepAliveRequested;
+        }
+    }
+    
+    // 세션 처리 로직: 요청이 세션을 처음 찾을 때 쿠키로 조회하고, create 일 때만 새로 만듦
+    private void processSession(HttpServletRequest request, Exchange exchange) {
+        request.setSessionResolver(create -> {
+            // 쿠키에서 세션 ID 추출
+            String sessionId = extractSessionIdFromCookies(request);
+            HttpSession session = sessionId != null ? sessionManager.getSession(sessionId) : null;
+
+            // 세션이 없거나 만료된 경우, 요청했을 때만 새 세션 생성
+            if (session == null && create) {
+                if (exchange.response.isCommitted()) {
+                    // 쿠키를 보낼 수 없으므로 아무도 다시 찾지 못할 세션을 만들지 않음
+                    throw new IllegalStateException("Cannot create a session after the response has been committed");
+                }
+                session = sessionManager.createSession();
+                // 응답에 세션 쿠키 추가
+                exchange.sessionCookie = SESSION_COOKIE_NAME + "=" + session.getId() + "; Path=/; HttpOnly";
+                applySessionCookie(exchange);
+            }
+            return session;
+        });
+    }
+
+    // 현재 응답에 아직 세션 쿠키가 없으면 붙임
+    private static void applySessionCookie(Exchange exchange) {
+        if (exchange.sessionCookie != null && exchange.sessionCookieResponse != exchange.response) {
+            exchange.response.addHeader("Set-Cookie", exchange.sessionCookie);
+            exchange.sessionCookieResponse = exchange.response;
         }
-        
-        // 요청에 세션 설정
-        request.setSession(session);
     }
     
     // 쿠키에서 세션 ID 추출
     private String extractSessionIdFromCookies(HttpServletRequest request) {
-        Optional<HttpHeader> cookieHeader = request.getHeaders().stream()
-                .filter(header -> "Cookie".equalsIgnoreCase(header.getName()))
-                .findFirst();
-        
-        if (cookieHeader.isPresent()) {
-            String cookieValue = cookieHeader.get().getValue();
+        String cookieValue = request.getHeader(HttpHeaders.COOKIE);
+
+        if (cookieValue != null) {
             String[] cookies = cookieValue.split(";");
             
             for (String cookie : cookies) {
@@ -0,0 +1,62 @@
+package org.depth.web.container.request;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 영속 연결(keep-alive) 재사용 통계
+ * 블로킹/NIO 커넥터가 공통으로 기록한다.
+ */
+public class KeepAliveStatistics {
+    private final LongAdder connections = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder reusedRequests = new LongAdder();
+    private final LongAdder idleTimeouts = new LongAdder();
+    private final LongAdder maxRequestsClosures = new LongAdder();
+
+    public void recordConnection() {
+        connections.increment();
+    }
+
+    // requestIndex: 해당 연결에서 몇 번째 요청인지 (1부터 시작)
+    public void recordRequest(int requestIndex) {
+        requests.increment();
+        if (requestIndex > 1) {
+            reusedRequests.increment();
+        }
+    }
+
+    public void recordIdleTimeout() {
+        idleTimeouts.increment();
+    }
+
+    public void recordMaxRequestsReached() {
+        maxRequestsClosures.increment();
+    }
+
+    public long getConnections() {
+        return connections.sum();
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    // 기존 연결을 재사용해 처리한 요청 수
+    public long getReusedRequests() {
+        return reusedRequests.sum();
+    }
+
+    public long getIdleTimeouts() {
+        return idleTimeouts.sum();
+    }
+
+    public long getMaxRequestsClosures() {
+        return maxRequestsClosures.sum();
+    }
+
+    // 연결당 평균 요청 수
+    public double getRequestsPerConnection() {
+        long connectionCount = connections.sum();
+        return connectionCount == 0 ? 0 : (double) requests.sum() / connectionCount;
+    }
+}
@@ -0,0 +1,61 @@
+package org.depth.web.container.request;
+
+import org.depth.web.http.handler.ZeroCopyOutput;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * 블로킹 모드 SocketChannel 에 연결된 소켓 출력 스트림
+ * 파일 본문은 FileChannel.transferTo 로 커널에서 바로 전송한다.
+ */
+class SocketChannelOutput extends FilterOutputStream implements ZeroCopyOutput {
+    private final SocketChannel channel;
+
+    SocketChannelOutput(OutputStream socketOutputStream, SocketChannel channel) {
+        super(socketOutputStream);
+        this.channel = channel;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+    }
+
+    @Override
+    public void transferFrom(FileChannel source, long position, long count) throws IOException {
+        flush();
+        long transferred = 0;
+        while (transferred < count) {
+            long written = source.transferTo(position + transferred, count - transferred, channel);
+            if (written <= 0) {
+                throw new IOException("File truncated during transfer");
+            }
+            transferred += written;
+        }
+    }
+
+    @Override
+    public void write(ByteBuffer buffer) throws IOException {
+        flush();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public void write(ByteBuffer[] buffers) throws IOException {
+        flush();
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+    }
+}
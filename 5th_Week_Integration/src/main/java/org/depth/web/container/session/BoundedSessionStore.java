@@ -0,0 +1,366 @@
+package org.depth.web.container.session;
+
+import lombok.Getter;
+import org.depth.web.http.model.HttpSession;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 세션 수와 대략의 메모리 사용량에 상한이 있는 세션 저장소
+ * 세션 ID 해시로 나눈 샤드마다 잠금과 접근 순서(LRU) 목록을 따로 두므로, 조회와 밀어내기가 샤드 하나만 잠근다.
+ * 상한은 샤드마다 균등하게 나누어 적용하고, 샤드가 마지막 세션을 남기느라 전체 상한을 넘으면
+ * (상한이 샤드 수보다 작을 때 등) 샤드를 가로질러 가장 오래 쓰이지 않은 세션을 하나씩 더 밀어낸다.
+ * 밀려난 세션은 잠금을 푼 뒤 evictionListener 로 넘긴다.
+ */
+public class BoundedSessionStore {
+    private final Shard[] shards;
+    private final int shardMask;
+    private final Consumer<HttpSession> evictionListener;
+
+    // 최대 세션 수
+    @Getter
+    private volatile int maximumSessions;
+
+    // 세션 크기(HttpSession.getEstimatedSize) 합의 상한 (바이트)
+    @Getter
+    private volatile long maximumWeight;
+
+    @Getter
+    private final SessionStoreStatistics statistics = new SessionStoreStatistics();
+
+    /**
+     * @param shardCount 샤드 수 (2의 거듭제곱으로 올림)
+     * @param evictionListener 용량 때문에 밀려난 세션을 받을 함수
+     */
+    public BoundedSessionStore(int maximumSessions, long maximumWeight, int shardCount,
+                               Consumer<HttpSession> evictionListener) {
+        int size = shardCount <= 1 ? 1 : Integer.highestOneBit(shardCount - 1) << 1;
+        this.shards = new Shard[size];
+        for (int i = 0; i < size; i++) {
+            shards[i] = new Shard();
+        }
+        this.shardMask = size - 1;
+        this.evictionListener = evictionListener;
+        setMaximumSessions(maximumSessions);
+        setMaximumWeight(maximumWeight);
+    }
+
+    public void setMaximumSessions(int maximumSessions) {
+        if (maximumSessions <= 0) {
+            throw new IllegalArgumentException("maximumSessions must be positive");
+        }
+        this.maximumSessions = maximumSessions;
+    }
+
+    public void setMaximumWeight(long maximumWeight) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("maximumWeight must be positive");
+        }
+        this.maximumWeight = maximumWeight;
+    }
+
+    /**
+     * 세션을 찾아 최근 사용으로 표시하고, 그 사이 바뀐 크기를 반영합니다.
+     * @return 세션 (없으면 null)
+     */
+    public HttpSession get(String id) {
+        Shard shard = shardFor(id);
+        List<HttpSession> evicted = null;
+        HttpSession session;
+        shard.lock.lock();
+        try {
+            Entry entry = shard.entries.get(id);
+            if (entry == null) {
+                return null;
+            }
+            session = entry.session;
+            entry.lastAccessNanos = System.nanoTime();
+            shard.reweigh(entry);
+            evicted = shard.evictIfNeeded();
+        } finally {
+            shard.lock.unlock();
+        }
+        notifyEvicted(evictAcrossShards(id, evicted));
+        return session;
+    }
+
+    /**
+     * 세션 ID 가 아직 저장소에 있는지 확인합니다. (최근 사용으로 표시하지 않음)
+     * 접근 순서 맵의 get 은 순서를 바꾸므로 ID 만 확인하며, 같은 ID 의 다른 세션인지는 remove 가 가린다.
+     */
+    public boolean contains(String id) {
+        Shard shard = shardFor(id);
+        shard.lock.lock();
+        try {
+            return shard.entries.containsKey(id);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    // 세션을 넣고, 상한을 넘으면 가장 오래 쓰이지 않은 세션부터 밀어냄
+    public void put(HttpSession session) {
+        Shard shard = shardFor(session.getId());
+        List<HttpSession> evicted;
+        shard.lock.lock();
+        try {
+            Entry entry = new Entry(session);
+            Entry previous = shard.entries.put(session.getId(), entry);
+            if (previous != null) {
+                shard.weight -= previous.weight;
+            }
+            shard.weight += entry.weight;
+            shard.size = shard.entries.size();
+            evicted = shard.evictIfNeeded();
+        } finally {
+            shard.lock.unlock();
+        }
+        notifyEvicted(evictAcrossShards(session.getId(), evicted));
+    }
+
+    /**
+     * 같은 ID 의 세션이 없을 때만 넣습니다.
+     * @return 이미 있던 세션 (넣었으면 null)
+     */
+    public HttpSession putIfAbsent(HttpSession session) {
+        Shard shard = shardFor(session.getId());
+        List<HttpSession> evicted;
+        shard.lock.lock();
+        try {
+            Entry existing = shard.entries.get(session.getId());
+            if (existing != null) {
+                return existing.session;
+            }
+            Entry entry = new Entry(session);
+            shard.entries.put(session.getId(), entry);
+            shard.weight += entry.weight;
+            shard.size = shard.entries.size();
+            evicted = shard.evictIfNeeded();
+        } finally {
+            shard.lock.unlock();
+        }
+        notifyEvicted(evictAcrossShards(session.getId(), evicted));
+        return null;
+    }
+
+    // ID 로 세션을 제거하고 제거한 세션을 반환 (없으면 null)
+    public HttpSession remove(String id) {
+        Shard shard = shardFor(id);
+        shard.lock.lock();
+        try {
+            Entry entry = shard.entries.remove(id);
+            if (entry == null) {
+                return null;
+            }
+            shard.weight -= entry.weight;
+            shard.size = shard.entries.size();
+            return entry.session;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    // 세션이 아직 그 ID 로 저장되어 있으면 제거
+    public boolean remove(HttpSession session) {
+        Shard shard = shardFor(session.getId());
+        shard.lock.lock();
+        try {
+            Entry entry = shard.entries.get(session.getId());
+            if (entry == null || entry.session != session) {
+                return false;
+            }
+            shard.entries.remove(session.getId());
+            shard.weight -= entry.weight;
+            shard.size = shard.entries.size();
+            return true;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    // 모든 세션을 비우고 비운 세션들을 반환
+    public List<HttpSession> clear() {
+        List<HttpSession> removed = new ArrayList<>();
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                for (Entry entry : shard.entries.values()) {
+                    removed.add(entry.session);
+                }
+                shard.entries.clear();
+                shard.weight = 0;
+                shard.size = 0;
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return removed;
+    }
+
+    // 현재 세션 수 (샤드별 값의 합이라 동시 변경 중에는 근사값)
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.size;
+        }
+        return size;
+    }
+
+    // 현재 세션 크기 합 (바이트, 근사값)
+    public long getWeightedSize() {
+        long weight = 0;
+        for (Shard shard : shards) {
+            weight += shard.weight;
+        }
+        return weight;
+    }
+
+    private Shard shardFor(String id) {
+        int hash = id.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & shardMask];
+    }
+
+    /**
+     * 전체 세션 수나 크기 합이 상한을 넘는 동안 모든 샤드에서 가장 오래 쓰이지 않은 세션을 찾아 밀어냅니다.
+     * 잠금은 한 번에 샤드 하나만 잡으므로 샤드 사이 잠금 순서 문제가 없고, 그 사이 바뀐 샤드는 다음 반복에서 다시 본다.
+     * @param keepId 방금 쓰인 세션 (밀어내지 않음)
+     */
+    private List<HttpSession> evictAcrossShards(String keepId, List<HttpSession> evicted) {
+        while (size() > maximumSessions || getWeightedSize() > maximumWeight) {
+            Shard victim = null;
+            long oldestAccess = Long.MAX_VALUE;
+            for (Shard shard : shards) {
+                long access = shard.eldestAccessNanos(keepId);
+                if (access < oldestAccess) {
+                    oldestAccess = access;
+                    victim = shard;
+                }
+            }
+            if (victim == null) {
+                return evicted;
+            }
+            HttpSession session = victim.evictEldest(keepId);
+            if (session != null) {
+                if (evicted == null) {
+                    evicted = new ArrayList<>();
+                }
+                evicted.add(session);
+            }
+        }
+        return evicted;
+    }
+
+    private void notifyEvicted(List<HttpSession> evicted) {
+        if (evicted == null) {
+            return;
+        }
+        for (HttpSession session : evicted) {
+            try {
+                evictionListener.accept(session);
+            } catch (RuntimeException e) {
+                System.err.println("BoundedSessionStore WARN: eviction listener failed: " + e);
+            }
+        }
+    }
+
+    private final class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        // 접근 순서: 가장 오래 쓰이지 않은 세션이 앞
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        // 잠금 없이 읽는 통계용 값 (잠금 안에서만 변경)
+        private volatile long weight;
+        private volatile int size;
+
+        private void reweigh(Entry entry) {
+            long current = entry.session.getEstimatedSize();
+            weight += current - entry.weight;
+            entry.weight = current;
+        }
+
+        // 남길 세션을 제외하고 가장 오래 쓰이지 않은 세션의 마지막 사용 시각 (없으면 Long.MAX_VALUE)
+        private long eldestAccessNanos(String keepId) {
+            lock.lock();
+            try {
+                Entry eldest = eldest(keepId);
+                return eldest == null ? Long.MAX_VALUE : eldest.lastAccessNanos;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 남길 세션을 제외하고 가장 오래 쓰이지 않은 세션을 밀어냄 (없으면 null)
+        private HttpSession evictEldest(String keepId) {
+            lock.lock();
+            try {
+                Entry eldest = eldest(keepId);
+                if (eldest == null) {
+                    return null;
+                }
+                if (size() > maximumSessions) {
+                    statistics.recordCountEviction();
+                } else {
+                    statistics.recordWeightEviction();
+                }
+                entries.remove(eldest.session.getId());
+                weight -= eldest.weight;
+                size = entries.size();
+                return eldest.session;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Entry eldest(String keepId) {
+            for (Entry entry : entries.values()) {
+                if (!entry.session.getId().equals(keepId)) {
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+        // 방금 쓰인 세션(맨 뒤)은 남기고 앞에서부터 밀어냄
+        private List<HttpSession> evictIfNeeded() {
+            int shardCount = shards.length;
+            int sessionLimit = Math.max(1, maximumSessions / shardCount);
+            long weightLimit = Math.max(1, maximumWeight / shardCount);
+            List<HttpSession> evicted = null;
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (entries.size() > 1 && (entries.size() > sessionLimit || weight > weightLimit)) {
+                Entry eldest = iterator.next().getValue();
+                iterator.remove();
+                if (entries.size() >= sessionLimit) {
+                    statistics.recordCountEviction();
+                } else {
+                    statistics.recordWeightEviction();
+                }
+                weight -= eldest.weight;
+                if (evicted == null) {
+                    evicted = new ArrayList<>();
+                }
+                evicted.add(eldest.session);
+            }
+            size = entries.size();
+            return evicted;
+        }
+    }
+
+    private static final class Entry {
+        private final HttpSession session;
+        // 저장소에 반영된 크기 (조회할 때 세션의 현재 크기로 갱신)
+        private long weight;
+        // 마지막 사용 시각 (샤드를 가로질러 밀어낼 세션을 고를 때 사용, 샤드 잠금 안에서만 변경)
+        private long lastAccessNanos = System.nanoTime();
+
+        private Entry(HttpSession session) {
+            this.session = session;
+            this.weight = session.getEstimatedSize();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package org.depth.web.container.session;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 직렬화된 세션 속성을 힙 밖(direct buffer)에 두는 슬랩 할당기
+ * 블록 크기를 64B ~ 64KB 의 2의 거듭제곱 등급으로 나누고, 등급마다 1MB 슬랩을 잘라 빈 블록 스택으로 재사용한다.
+ * 더 큰 값은 따로 direct buffer 를 할당한다. 슬랩은 한 번 잡으면 돌려주지 않는다. (용량 상한 안에서 재사용)
+ * 핸들(long)은 등급, 슬랩 번호, 블록 번호를 담는다.
+ */
+public class OffHeapAttributeStore {
+    private static final int MIN_BLOCK_SHIFT = 6;
+    private static final int MAX_BLOCK_SHIFT = 16;
+    private static final int SLAB_SIZE = 1024 * 1024;
+    // 큰 값 전용 버퍼의 등급 표시
+    private static final int LARGE_CLASS = 0xFF;
+
+    private final SizeClass[] sizeClasses = new SizeClass[MAX_BLOCK_SHIFT - MIN_BLOCK_SHIFT + 1];
+    private final ConcurrentHashMap<Long, ByteBuffer> largeBuffers = new ConcurrentHashMap<>();
+    private final AtomicLong nextLargeId = new AtomicLong();
+    private final long capacity;
+    // 잡아 둔 direct 메모리 (슬랩 + 큰 값 버퍼)
+    private final AtomicLong reservedBytes = new AtomicLong();
+    // 현재 쓰이는 블록 크기 합
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    /**
+     * @param capacity 잡을 수 있는 direct 메모리 상한 (바이트, 넘으면 allocate 가 -1 을 반환)
+     */
+    public OffHeapAttributeStore(long capacity) {
+        this.capacity = capacity;
+        for (int i = 0; i < sizeClasses.length; i++) {
+            sizeClasses[i] = new SizeClass(1 << (MIN_BLOCK_SHIFT + i));
+        }
+    }
+
+    /**
+     * 바이트를 힙 밖에 복사합니다.
+     * @return 핸들 (용량이 모자라면 -1)
+     */
+    public long store(byte[] bytes, int length) {
+        long handle = allocate(length);
+        if (handle >= 0) {
+            view(handle, length).put(bytes, 0, length);
+        }
+        return handle;
+    }
+
+    // 핸들이 가리키는 length 바이트의 읽기용 버퍼 (위치 0)
+    public ByteBuffer read(long handle, int length) {
+        return view(handle, length).asReadOnlyBuffer();
+    }
+
+    public void free(long handle) {
+        int sizeClass = (int) (handle >>> 56);
+        if (sizeClass == LARGE_CLASS) {
+            ByteBuffer buffer = largeBuffers.remove(handle & 0x00FF_FFFF_FFFF_FFFFL);
+            if (buffer != null) {
+                reservedBytes.addAndGet(-buffer.capacity());
+                usedBytes.addAndGet(-buffer.capacity());
+            }
+            return;
+        }
+        SizeClass target = sizeClasses[sizeClass];
+        target.release((int) (handle >>> 32) & 0xFF_FFFF, (int) handle);
+        usedBytes.addAndGet(-target.blockSize);
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public long getReservedBytes() {
+        return reservedBytes.get();
+    }
+
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    private long allocate(int length) {
+        int shift = Math.max(MIN_BLOCK_SHIFT, 32 - Integer.numberOfLeadingZeros(Math.max(1, length) - 1));
+        if (shift > MAX_BLOCK_SHIFT) {
+            if (!reserve(length)) {
+                return -1;
+            }
+            long id = nextLargeId.incrementAndGet();
+            largeBuffers.put(id, ByteBuffer.allocateDirect(length));
+            usedBytes.addAndGet(length);
+            return ((long) LARGE_CLASS << 56) | id;
+        }
+        int sizeClass = shift - MIN_BLOCK_SHIFT;
+        long block = sizeClasses[sizeClass].acquire();
+        if (block < 0) {
+            return -1;
+        }
+        usedBytes.addAndGet(1L << shift);
+        return ((long) sizeClass << 56) | block;
+    }
+
+    private ByteBuffer view(long handle, int length) {
+        int sizeClass = (int) (handle >>> 56);
+        if (sizeClass == LARGE_CLASS) {
+            ByteBuffer buffer = largeBuffers.get(handle & 0x00FF_FFFF_FFFF_FFFFL);
+            if (buffer == null) {
+                throw new IllegalStateException("Freed off-heap handle: " + handle);
+            }
+            return buffer.duplicate().limit(length).slice();
+        }
+        SizeClass target = sizeClasses[sizeClass];
+        int offset = (int) handle * target.blockSize;
+        return target.slab((int) (handle >>> 32) & 0xFF_FFFF).duplicate().position(offset).limit(offset + length).slice();
+    }
+
+    private boolean reserve(long bytes) {
+        long current;
+        do {
+            current = reservedBytes.get();
+            if (current + bytes > capacity) {
+                return false;
+            }
+        } while (!reservedBytes.compareAndSet(current, current + bytes));
+        return true;
+    }
+
+    private final class SizeClass {
+        private final int blockSize;
+        private final int blocksPerSlab;
+        private final ReentrantLock lock = new ReentrantLock();
+        // 슬랩 목록 (추가만 하므로 읽기는 volatile 배열 참조로)
+        private volatile ByteBuffer[] slabs = new ByteBuffer[0];
+        // 빈 블록 스택: (슬랩 번호 << 32 | 블록 번호)
+        private long[] freeBlocks = new long[0];
+        private int freeCount;
+
+        private SizeClass(int blockSize) {
+            this.blockSize = blockSize;
+            this.blocksPerSlab = SLAB_SIZE / blockSize;
+        }
+
+        private long acquire() {
+            lock.lock();
+            try {
+                if (freeCount == 0 && !grow()) {
+                    return -1;
+                }
+                return freeBlocks[--freeCount];
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void release(int slab, int block) {
+            lock.lock();
+            try {
+                freeBlocks[freeCount++] = ((long) slab << 32) | block;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private ByteBuffer slab(int index) {
+            return slabs[index];
+        }
+
+        // 슬랩 하나를 더 잡아 블록들을 빈 스택에 넣음 (lock 을 잡은 상태에서 호출)
+        private boolean grow() {
+            if (!reserve(SLAB_SIZE)) {
+                return false;
+            }
+            ByteBuffer[] next = new ByteBuffer[slabs.length + 1];
+            System.arraycopy(slabs, 0, next, 0, slabs.length);
+            int slabIndex = slabs.length;
+            next[slabIndex] = ByteBuffer.allocateDirect(SLAB_SIZE);
+            slabs = next;
+
+            long[] blocks = new long[next.length * blocksPerSlab];
+            System.arraycopy(freeBlocks, 0, blocks, 0, freeCount);
+            // 낮은 번호 블록부터 꺼내도록 역순으로 쌓음
+            for (int block = blocksPerSlab - 1; block >= 0; block--) {
+                blocks[freeCount++] = ((long) slabIndex << 32) | block;
+            }
+            freeBlocks = blocks;
+            return true;
+        }
+    }
+}
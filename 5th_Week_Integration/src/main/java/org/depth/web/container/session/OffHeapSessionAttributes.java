@@ -0,0 +1,215 @@
+package org.depth.web.container.session;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 세션 하나의 속성을 힙 밖에 직렬화해 두는 저장소
+ * 요청 중에는 getAttribute 로 읽은 속성만 풀어서 힙에 두고, 요청이 끝나면(flush) 바뀐 속성을 다시 직렬화해 힙 밖에 쓰고 힙 사본을 버린다.
+ * 그래서 요청 사이에는 세션 속성이 old 영역의 객체 그래프가 아니라 direct buffer 의 바이트로만 남는다.
+ * 직렬화 형식은 SessionAttributeCodec 을 따른다.
+ */
+public final class OffHeapSessionAttributes {
+    private final OffHeapAttributeStore store;
+    // 힙 밖에 쓴 속성 (handle < 0 이면 없음)
+    private long handle = -1;
+    private int length;
+    // 이번 요청에서 읽거나 쓴 속성 (flush 전까지 힙에 둠)
+    private final Map<String, Object> loaded = new HashMap<>();
+    // 이번 요청에서 지운 속성
+    private final Set<String> removed = new HashSet<>();
+    // setAttribute/removeAttribute 가 있었는지
+    private boolean dirty;
+
+    public OffHeapSessionAttributes(OffHeapAttributeStore store) {
+        this.store = store;
+    }
+
+    public synchronized Object get(String name) {
+        if (loaded.containsKey(name)) {
+            return loaded.get(name);
+        }
+        if (removed.contains(name) || handle < 0) {
+            return null;
+        }
+        Object value = find(name);
+        if (value != null) {
+            loaded.put(name, value);
+        }
+        return value;
+    }
+
+    /**
+     * @return 이전 값 (없으면 null)
+     * @throws IllegalArgumentException 값을 직렬화할 수 없으면
+     */
+    public synchronized Object put(String name, Object value) {
+        if (value != null && !(value instanceof Serializable)) {
+            throw new IllegalArgumentException("Off-heap session attribute must be Serializable: " + name);
+        }
+        Object previous = get(name);
+        loaded.put(name, value);
+        removed.remove(name);
+        dirty = true;
+        return previous;
+    }
+
+    // @return 지운 값 (없었으면 null)
+    public synchronized Object remove(String name) {
+        Object previous = get(name);
+        loaded.remove(name);
+        removed.add(name);
+        dirty = true;
+        return previous;
+    }
+
+    // 모든 속성을 풀어서 반환 (풀린 속성은 flush 까지 힙에 남음)
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> result = new HashMap<>();
+        if (handle >= 0) {
+            ByteBuffer buffer = store.read(handle, length);
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                String name = SessionAttributeCodec.readName(buffer);
+                byte type = buffer.get();
+                int valueLength = buffer.getInt();
+                if (!loaded.containsKey(name) && !removed.contains(name)) {
+                    Object value = SessionAttributeCodec.decode(type, buffer.slice(buffer.position(), valueLength));
+                    loaded.put(name, value);
+                }
+                buffer.position(buffer.position() + valueLength);
+            }
+        }
+        for (Map.Entry<String, Object> entry : loaded.entrySet()) {
+            if (entry.getValue() != null) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 이번 요청에서 바뀐 속성을 힙 밖에 다시 쓰고 힙 사본을 버립니다.
+     * 읽기만 한 속성도 제자리에서 바뀌었을 수 있으므로 불변 타입이 아니면 다시 직렬화합니다.
+     * 힙 밖 용량이 모자라면 속성을 힙에 둔 채로 두고 다음 요청 끝에 다시 시도합니다.
+     */
+    public synchronized void flush() {
+        if (!dirty && onlyImmutableLoaded()) {
+            loaded.clear();
+            return;
+        }
+        byte[] bytes = encode();
+        long next = bytes.length == 0 ? -1 : store.store(bytes, bytes.length);
+        if (bytes.length > 0 && next < 0) {
+            return;
+        }
+        if (handle >= 0) {
+            store.free(handle);
+        }
+        handle = next;
+        length = bytes.length;
+        loaded.clear();
+        removed.clear();
+        dirty = false;
+    }
+
+    // 현재 속성의 직렬화 바이트 (SessionAttributeCodec 형식, 먼저 flush 해서 힙 밖의 바이트를 그대로 복사)
+    public synchronized byte[] encoded() {
+        flush();
+        if (!loaded.isEmpty() || !removed.isEmpty()) {
+            // 힙 밖 용량이 모자라 아직 쓰지 못한 변경이 있음
+            return SessionAttributeCodec.encode(snapshot());
+        }
+        if (handle < 0) {
+            return SessionAttributeCodec.encode(Map.of());
+        }
+        byte[] bytes = new byte[length];
+        store.read(handle, length).get(bytes);
+        return bytes;
+    }
+
+    // 힙 밖 메모리를 돌려주고 모든 속성을 지움 (세션 무효화 시)
+    public synchronized void clear() {
+        if (handle >= 0) {
+            store.free(handle);
+            handle = -1;
+            length = 0;
+        }
+        loaded.clear();
+        removed.clear();
+        dirty = false;
+    }
+
+    // 힙 밖에 쓴 바이트 수
+    public synchronized int getStoredLength() {
+        return length;
+    }
+
+    private boolean onlyImmutableLoaded() {
+        for (Object value : loaded.values()) {
+            if (!(value == null || value instanceof String || value instanceof Long
+                    || value instanceof Integer || value instanceof Boolean)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Object find(String name) {
+        ByteBuffer buffer = store.read(handle, length);
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            String entryName = SessionAttributeCodec.readName(buffer);
+            byte type = buffer.get();
+            int valueLength = buffer.getInt();
+            if (entryName.equals(name)) {
+                return SessionAttributeCodec.decode(type, buffer.slice(buffer.position(), valueLength));
+            }
+            buffer.position(buffer.position() + valueLength);
+        }
+        return null;
+    }
+
+    // 힙 밖의 변하지 않은 속성은 바이트 그대로 옮기고, 힙에 있는 속성은 새로 직렬화
+    private byte[] encode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int count = 0;
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+        out.writeBytes(header.array());
+        if (handle >= 0) {
+            ByteBuffer buffer = store.read(handle, length);
+            int storedCount = buffer.getInt();
+            for (int i = 0; i < storedCount; i++) {
+                int start = buffer.position();
+                String name = SessionAttributeCodec.readName(buffer);
+                buffer.get();
+                int valueLength = buffer.getInt();
+                int end = buffer.position() + valueLength;
+                if (!loaded.containsKey(name) && !removed.contains(name)) {
+                    byte[] raw = new byte[end - start];
+                    buffer.get(start, raw);
+                    out.writeBytes(raw);
+                    count++;
+                }
+                buffer.position(end);
+            }
+        }
+        for (Map.Entry<String, Object> entry : loaded.entrySet()) {
+            if (entry.getValue() != null) {
+                SessionAttributeCodec.writeEntry(out, entry.getKey(), entry.getValue());
+                count++;
+            }
+        }
+        if (count == 0) {
+            return new byte[0];
+        }
+        byte[] bytes = out.toByteArray();
+        ByteBuffer.wrap(bytes).putInt(0, count);
+        return bytes;
+    }
+}
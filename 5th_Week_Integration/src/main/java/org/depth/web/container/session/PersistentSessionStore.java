@@ -0,0 +1,441 @@
+package org.depth.web.container.session;
+
+import lombok.Getter;
+import org.depth.web.http.model.HttpSession;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 세션 상태를 메모리 매핑된 추가 전용 로그에 남기는 저장소 (재시작 후 세션 복구용)
+ * 로그는 고정 크기 세그먼트 파일(sessions-00000001.log ...)로 나뉘고, 레코드는 마지막 세그먼트 끝에만 덧붙인다.
+ * 메모리에는 세션 ID 별 최신 레코드 위치만 두고, 세션 내용은 필요할 때 매핑된 파일에서 읽는다.
+ * 시작할 때 세그먼트를 순서대로 훑어 색인을 다시 만들며, 만료된 세션과 CRC 가 맞지 않는(쓰다 만) 레코드는 건너뛴다.
+ * 지난 세그먼트의 살아 있는 레코드 비율이 낮아지면 살아 있는 레코드만 끝으로 옮기고 지난 세그먼트를 지운다.
+ *
+ * 레코드: [본문 길이 int][본문 CRC32 int][본문]
+ * 본문: [종류 byte][ID 길이 short][ID UTF-8] 다음에, 저장 레코드면 [만료 시각 epoch ms long][비활성 허용 시간 ms long][속성 (SessionAttributeCodec)]
+ */
+public class PersistentSessionStore implements Closeable {
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final byte RECORD_PUT = 1;
+    private static final byte RECORD_REMOVE = 2;
+    private static final int RECORD_HEADER = 2 * Integer.BYTES;
+    private static final String SEGMENT_PREFIX = "sessions-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    // 지난 세그먼트에서 살아 있는 레코드가 이 비율보다 적으면 압축
+    private static final double COMPACTION_LIVE_RATIO = 0.5;
+
+    private final Path directory;
+    private final int segmentSize;
+    // 세션 ID 별 최신 저장 레코드 위치
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+    // 덧붙이기, 색인 변경, 세그먼트 추가/삭제를 보호
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private Segment active;
+
+    // 시작할 때 색인을 다시 만드는 데 걸린 시간과 복구한 세션 수
+    @Getter
+    private final long recoveryMillis;
+    @Getter
+    private final int recoveredSessions;
+
+    /**
+     * 디렉터리의 로그로 색인을 다시 만들고 이어서 쓸 준비를 합니다.
+     * @param segmentSize 세그먼트 파일 하나의 크기 (세션 레코드 하나는 이보다 작아야 함)
+     */
+    public PersistentSessionStore(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+
+        long startedAt = System.nanoTime();
+        recover();
+        this.recoveryMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        this.recoveredSessions = index.size();
+    }
+
+    public PersistentSessionStore(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * 세션 상태를 로그에 덧붙입니다.
+     * @param force false 면 마지막으로 쓴 뒤 속성이 바뀌지 않은 세션은 건너뜀 (만료 시각만 바뀐 경우 포함)
+     */
+    public void save(HttpSession session, boolean force) {
+        long version = session.getModificationCount();
+        Location current = index.get(session.getId());
+        if (!force && current != null && current.version == version) {
+            return;
+        }
+        OffHeapSessionAttributes offHeap = session.getOffHeapAttributes();
+        byte[] attributes = offHeap != null ? offHeap.encoded() : SessionAttributeCodec.encode(session.getAttributes());
+        long expiresAtMillis = System.currentTimeMillis() + (session.getExpiresAtNanos() - System.nanoTime()) / 1_000_000;
+
+        byte[] id = session.getId().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer body = ByteBuffer.allocate(1 + Short.BYTES + id.length + 2 * Long.BYTES + attributes.length);
+        body.put(RECORD_PUT).putShort((short) id.length).put(id)
+                .putLong(expiresAtMillis).putLong(session.getMaxInactiveInterval().toMillis()).put(attributes);
+        append(session.getId(), RECORD_PUT, body.array(), expiresAtMillis, version);
+    }
+
+    // 세션이 로그에 있으면 삭제 레코드를 덧붙임
+    public void remove(String sessionId) {
+        if (!index.containsKey(sessionId)) {
+            return;
+        }
+        byte[] id = sessionId.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer body = ByteBuffer.allocate(1 + Short.BYTES + id.length);
+        body.put(RECORD_REMOVE).putShort((short) id.length).put(id);
+        append(sessionId, RECORD_REMOVE, body.array(), 0, 0);
+    }
+
+    /**
+     * 로그에 남은 세션을 읽습니다.
+     * @return 세션 상태 (없거나 만료되었으면 null)
+     */
+    public PersistedSession load(String sessionId) {
+        while (true) {
+            Location location = index.get(sessionId);
+            if (location == null || location.expiresAtMillis < System.currentTimeMillis()) {
+                return null;
+            }
+            Segment segment = segments.get(location.segmentId);
+            // 세그먼트가 없으면 읽는 사이 압축으로 옮겨진 것이므로 새 위치로 다시 읽음
+            if (segment != null) {
+                return load(sessionId, location, segment);
+            }
+        }
+    }
+
+    // 복구 후 이 세션 상태가 로그와 같다고 표시 (다음 save 에서 바뀌지 않았으면 건너뜀)
+    public void markPersisted(HttpSession session) {
+        Location location = index.get(session.getId());
+        if (location != null) {
+            location.version = session.getModificationCount();
+        }
+    }
+
+    // 로그에 있는 세션 수
+    public int size() {
+        return index.size();
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    // 지난 세그먼트의 살아 있는 레코드 비율이 낮으면 압축
+    public void compactIfNeeded() {
+        long sealedBytes = 0;
+        long liveBytes = 0;
+        appendLock.lock();
+        try {
+            for (Segment segment : segments.headMap(active.id).values()) {
+                sealedBytes += segment.writePosition;
+                liveBytes += segment.liveBytes;
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        if (sealedBytes > 0 && liveBytes < sealedBytes * COMPACTION_LIVE_RATIO) {
+            compact();
+        }
+    }
+
+    /**
+     * 지난 세그먼트의 살아 있는(색인이 가리키고 만료되지 않은) 레코드를 끝으로 옮기고 지난 세그먼트를 지웁니다.
+     * 지난 세그먼트는 더 이상 쓰이지 않으므로 잠금 없이 훑고, 레코드 하나를 옮길 때만 잠근다.
+     */
+    public synchronized void compact() {
+        List<Segment> sealed;
+        appendLock.lock();
+        try {
+            sealed = new ArrayList<>(segments.headMap(active.id).values());
+        } finally {
+            appendLock.unlock();
+        }
+        long now = System.currentTimeMillis();
+        for (Segment segment : sealed) {
+            ByteBuffer buffer = segment.buffer.duplicate();
+            int position = 0;
+            while (position < segment.writePosition) {
+                int length = buffer.getInt(position);
+                if (buffer.get(position + RECORD_HEADER) == RECORD_PUT) {
+                    relocate(segment, position, RECORD_HEADER + length, readId(buffer, position + RECORD_HEADER + 1), now);
+                }
+                position += RECORD_HEADER + length;
+            }
+        }
+        appendLock.lock();
+        try {
+            for (Segment segment : sealed) {
+                segments.remove(segment.id);
+                segment.delete();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // 매핑된 세그먼트를 디스크에 내려씀
+    public void sync() {
+        for (Segment segment : segments.values()) {
+            segment.buffer.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        appendLock.lock();
+        try {
+            sync();
+            for (Segment segment : segments.values()) {
+                segment.channel.close();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void relocate(Segment segment, int offset, int recordLength, String sessionId, long now) {
+        appendLock.lock();
+        try {
+            Location location = index.get(sessionId);
+            if (location == null || location.segmentId != segment.id || location.offset != offset) {
+                return;
+            }
+            if (location.expiresAtMillis < now) {
+                // 만료된 세션은 옮기지 않음 (지난 세그먼트와 함께 사라짐)
+                index.remove(sessionId);
+                segment.liveBytes -= recordLength;
+                return;
+            }
+            byte[] record = new byte[recordLength];
+            segment.buffer.get(offset, record);
+            Location moved = write(record, location.expiresAtMillis, location.version);
+            index.put(sessionId, moved);
+            segment.liveBytes -= recordLength;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void append(String sessionId, byte type, byte[] body, long expiresAtMillis, long version) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        byte[] record = ByteBuffer.allocate(RECORD_HEADER + body.length)
+                .putInt(body.length).putInt((int) crc.getValue()).put(body).array();
+
+        appendLock.lock();
+        try {
+            Location location = write(record, expiresAtMillis, version);
+            Location previous = type == RECORD_PUT ? index.put(sessionId, location) : index.remove(sessionId);
+            if (previous != null) {
+                segments.get(previous.segmentId).liveBytes -= previous.length;
+            }
+            if (type == RECORD_REMOVE) {
+                // 삭제 레코드는 지난 세그먼트가 압축으로 사라질 때까지만 의미가 있음
+                active.liveBytes -= record.length;
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // 활성 세그먼트 끝에 레코드를 씀 (appendLock 을 잡은 상태에서 호출)
+    private Location write(byte[] record, long expiresAtMillis, long version) {
+        if (record.length > segmentSize) {
+            throw new IllegalArgumentException("Session record larger than segment size: " + record.length);
+        }
+        if (active.writePosition + record.length > active.buffer.capacity()) {
+            try {
+                active.buffer.force();
+                active = openSegment(active.id + 1, segmentSize);
+                segments.put(active.id, active);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to roll session log segment", e);
+            }
+        }
+        int offset = active.writePosition;
+        active.buffer.put(offset, record);
+        active.writePosition += record.length;
+        active.liveBytes += record.length;
+        return new Location(active.id, offset, record.length, expiresAtMillis, version);
+    }
+
+    private PersistedSession load(String sessionId, Location location, Segment segment) {
+        ByteBuffer record = segment.buffer.duplicate();
+        int position = location.offset + RECORD_HEADER + 1;
+        position += Short.BYTES + (record.getShort(position) & 0xFFFF);
+        long expiresAtMillis = record.getLong(position);
+        long maxInactiveMillis = record.getLong(position + Long.BYTES);
+        record.position(position + 2 * Long.BYTES).limit(location.offset + location.length);
+        return new PersistedSession(sessionId, expiresAtMillis, maxInactiveMillis, SessionAttributeCodec.decodeAll(record));
+    }
+
+    // 세그먼트를 순서대로 훑어 색인을 다시 만듦 (같은 ID 는 나중 레코드가 이김)
+    private void recover() throws IOException {
+        List<Integer> ids = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .forEach(name -> ids.add(Integer.parseInt(
+                            name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()))));
+        }
+        ids.sort(null);
+
+        for (int id : ids) {
+            Segment segment = openSegment(id, segmentSize);
+            segments.put(id, segment);
+            scan(segment);
+        }
+
+        // 만료된 세션은 복구하지 않음
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, Location>> iterator = index.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Location location = iterator.next().getValue();
+            if (location.expiresAtMillis < now) {
+                segments.get(location.segmentId).liveBytes -= location.length;
+                iterator.remove();
+            }
+        }
+
+        active = segments.isEmpty() ? openSegment(1, segmentSize) : segments.lastEntry().getValue();
+        segments.put(active.id, active);
+    }
+
+    // 세그먼트의 온전한 레코드를 색인에 반영 (길이가 0 이거나 CRC 가 맞지 않는 곳에서 멈춤)
+    private void scan(Segment segment) {
+        ByteBuffer buffer = segment.buffer.duplicate();
+        CRC32 crc = new CRC32();
+        int position = 0;
+        while (position + RECORD_HEADER < buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + RECORD_HEADER + length > buffer.capacity()) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.slice(position + RECORD_HEADER, length));
+            if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES)) {
+                break;
+            }
+            int body = position + RECORD_HEADER;
+            String sessionId = readId(buffer, body + 1);
+            int recordLength = RECORD_HEADER + length;
+            Location previous;
+            if (buffer.get(body) == RECORD_PUT) {
+                long expiresAtMillis = buffer.getLong(body + 1 + Short.BYTES + (buffer.getShort(body + 1) & 0xFFFF));
+                previous = index.put(sessionId, new Location(segment.id, position, recordLength, expiresAtMillis, -1));
+                segment.liveBytes += recordLength;
+            } else {
+                previous = index.remove(sessionId);
+            }
+            if (previous != null) {
+                segments.get(previous.segmentId).liveBytes -= previous.length;
+            }
+            position += recordLength;
+        }
+        segment.writePosition = position;
+    }
+
+    private static String readId(ByteBuffer buffer, int position) {
+        byte[] id = new byte[buffer.getShort(position) & 0xFFFF];
+        buffer.get(position + Short.BYTES, id);
+        return new String(id, StandardCharsets.UTF_8);
+    }
+
+    private Segment openSegment(int id, int size) throws IOException {
+        Path path = directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // 설정보다 큰 기존 파일은 그 크기대로 매핑 (매핑하면 파일이 그 크기로 늘어나고 나머지는 0)
+        long mappedSize = Math.max(size, channel.size());
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize);
+        return new Segment(id, path, channel, buffer);
+    }
+
+    /**
+     * 로그에서 읽은 세션 상태
+     */
+    @Getter
+    public static final class PersistedSession {
+        private final String id;
+        private final long expiresAtMillis;
+        private final long maxInactiveMillis;
+        private final Map<String, Object> attributes;
+
+        private PersistedSession(String id, long expiresAtMillis, long maxInactiveMillis, Map<String, Object> attributes) {
+            this.id = id;
+            this.expiresAtMillis = expiresAtMillis;
+            this.maxInactiveMillis = maxInactiveMillis;
+            this.attributes = attributes;
+        }
+    }
+
+    private static final class Location {
+        private final int segmentId;
+        private final int offset;
+        private final int length;
+        private final long expiresAtMillis;
+        // 이 레코드를 쓸 때의 세션 수정 횟수 (-1 이면 복구된 레코드)
+        private volatile long version;
+
+        private Location(int segmentId, int offset, int length, long expiresAtMillis, long version) {
+            this.segmentId = segmentId;
+            this.offset = offset;
+            this.length = length;
+            this.expiresAtMillis = expiresAtMillis;
+            this.version = version;
+        }
+    }
+
+    private static final class Segment {
+        private final int id;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        // 다음 레코드를 쓸 위치 (appendLock 안에서 변경)
+        private int writePosition;
+        // 색인이 가리키는 레코드 바이트 합
+        private long liveBytes;
+
+        private Segment(int id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        // 매핑은 GC 될 때 풀리므로 파일만 닫고 지움 (이미 읽고 있던 버퍼는 계속 유효)
+        private void delete() {
+            try {
+                channel.close();
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                System.err.println("PersistentSessionStore WARN: failed to delete segment " + path + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.depth.web.container.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 세션 속성 직렬화 형식 (힙 밖 속성과 세션 로그가 함께 사용)
+ * [속성 수 int] 다음에 속성마다 [이름 길이 short][이름 UTF-8][타입 byte][값 길이 int][값]
+ * String/Long/Integer/Boolean/byte[] 는 직접 쓰고, 그 밖의 값은 Java 직렬화를 쓴다.
+ */
+final class SessionAttributeCodec {
+    private static final byte TYPE_SERIALIZED = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_LONG = 2;
+    private static final byte TYPE_INTEGER = 3;
+    private static final byte TYPE_BOOLEAN = 4;
+    private static final byte TYPE_BYTES = 5;
+
+    private SessionAttributeCodec() {
+    }
+
+    // 속성 맵 전체를 직렬화 (null 값은 건너뜀)
+    static byte[] encode(Map<String, Object> attributes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(new byte[Integer.BYTES]);
+        int count = 0;
+        for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+            if (entry.getValue() != null) {
+                writeEntry(out, entry.getKey(), entry.getValue());
+                count++;
+            }
+        }
+        byte[] bytes = out.toByteArray();
+        ByteBuffer.wrap(bytes).putInt(0, count);
+        return bytes;
+    }
+
+    // 직렬화된 속성을 모두 풀어냄 (buffer 의 위치부터 읽음)
+    static Map<String, Object> decodeAll(ByteBuffer buffer) {
+        Map<String, Object> attributes = new HashMap<>();
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            String name = readName(buffer);
+            byte type = buffer.get();
+            int valueLength = buffer.getInt();
+            attributes.put(name, decode(type, buffer.slice(buffer.position(), valueLength)));
+            buffer.position(buffer.position() + valueLength);
+        }
+        return attributes;
+    }
+
+    // 속성 하나를 [이름 길이][이름][타입][값 길이][값] 형식으로 씀
+    static void writeEntry(ByteArrayOutputStream out, String name, Object value) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        byte type;
+        byte[] valueBytes;
+        if (value instanceof String text) {
+            type = TYPE_STRING;
+            valueBytes = text.getBytes(StandardCharsets.UTF_8);
+        } else if (value instanceof Long number) {
+            type = TYPE_LONG;
+            valueBytes = ByteBuffer.allocate(Long.BYTES).putLong(number).array();
+        } else if (value instanceof Integer number) {
+            type = TYPE_INTEGER;
+            valueBytes = ByteBuffer.allocate(Integer.BYTES).putInt(number).array();
+        } else if (value instanceof Boolean flag) {
+            type = TYPE_BOOLEAN;
+            valueBytes = new byte[]{(byte) (flag ? 1 : 0)};
+        } else if (value instanceof byte[] bytes) {
+            type = TYPE_BYTES;
+            valueBytes = bytes;
+        } else {
+            type = TYPE_SERIALIZED;
+            valueBytes = serialize(value);
+        }
+        ByteBuffer header = ByteBuffer.allocate(Short.BYTES + nameBytes.length + 1 + Integer.BYTES);
+        header.putShort((short) nameBytes.length).put(nameBytes).put(type).putInt(valueBytes.length);
+        out.writeBytes(header.array());
+        out.writeBytes(valueBytes);
+    }
+
+    static String readName(ByteBuffer buffer) {
+        byte[] nameBytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(nameBytes);
+        return new String(nameBytes, StandardCharsets.UTF_8);
+    }
+
+    static Object decode(byte type, ByteBuffer value) {
+        switch (type) {
+            case TYPE_STRING -> {
+                byte[] bytes = new byte[value.remaining()];
+                value.get(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            case TYPE_LONG -> {
+                return value.getLong();
+            }
+            case TYPE_INTEGER -> {
+                return value.getInt();
+            }
+            case TYPE_BOOLEAN -> {
+                return value.get() != 0;
+            }
+            default -> {
+                byte[] bytes = new byte[value.remaining()];
+                value.get(bytes);
+                return type == TYPE_BYTES ? bytes : deserialize(bytes);
+            }
+        }
+    }
+
+    private static byte[] serialize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize session attribute", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to deserialize session attribute", e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to deserialize session attribute", e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.depth.web.container.session;
+
+import org.depth.web.http.model.HttpSession;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 세션 만료를 위한 해시 타이밍 휠
+ * 세션은 만료 시각이 속한 칸(tick)에 한 번 들어가고, 세션 접근은 세션의 만료 시각 필드만 바꾼다.
+ * 칸이 돌아왔을 때 만료 시각이 지났으면 만료시키고, 그 사이 접근으로 늘어났으면 새 만료 시각의 칸으로 옮긴다.
+ * 따라서 접근은 O(1)이고, 한 번의 진행은 지나간 칸의 세션만 살핀다. (만료 지연은 최대 한 tick)
+ */
+class SessionExpiryWheel {
+    private final long tickNanos;
+    private final int mask;
+    // 칸마다 잠금 없는 단일 연결 스택
+    private final AtomicReferenceArray<Entry> buckets;
+    private final long startNanos;
+    // 다음에 처리할 tick (advance 를 호출하는 스레드만 변경)
+    // 진행과 동시에 들어온 세션이 방금 비운 칸에 들어가면 한 바퀴 뒤에 확인될 수 있음
+    private volatile long currentTick;
+
+    /**
+     * @param tickNanos 칸 하나의 시간 (만료 정밀도)
+     * @param wheelSize 칸 수 (2의 거듭제곱으로 올림, 한 바퀴보다 먼 만료는 그 칸을 지날 때마다 다시 확인)
+     */
+    SessionExpiryWheel(long tickNanos, int wheelSize, long nowNanos) {
+        if (tickNanos <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickNanos and wheelSize must be positive");
+        }
+        int size = wheelSize <= 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+        this.tickNanos = tickNanos;
+        this.mask = size - 1;
+        this.buckets = new AtomicReferenceArray<>(size);
+        this.startNanos = nowNanos;
+    }
+
+    // 세션을 만료 시각의 칸에 넣음 (아무 스레드에서나 호출 가능)
+    void schedule(HttpSession session) {
+        push(bucketOf(session.getExpiresAtNanos()), new Entry(session));
+    }
+
+    /**
+     * 현재 시각까지 지나간 칸들을 처리합니다.
+     * @param isLive 아직 관리 중인 세션인지 (false 면 칸에서 버림)
+     * @param expire 만료된 세션을 처리할 함수
+     * @return 만료시킨 세션 수
+     */
+    int advance(long nowNanos, Predicate<HttpSession> isLive, Consumer<HttpSession> expire) {
+        long targetTick = tickOf(nowNanos);
+        if (targetTick < currentTick) {
+            return 0;
+        }
+        // 한 바퀴 넘게 밀렸으면 모든 칸을 한 번씩만 처리
+        long firstTick = Math.max(currentTick, targetTick - mask);
+        int expired = 0;
+        for (long tick = firstTick; tick <= targetTick; tick++) {
+            Entry entry = buckets.getAndSet((int) (tick & mask), null);
+            while (entry != null) {
+                Entry next = entry.next;
+                HttpSession session = entry.session;
+                if (isLive.test(session)) {
+                    if (session.isExpired(nowNanos)) {
+                        expire.accept(session);
+                        expired++;
+                    } else {
+                        // 접근으로 연장된 세션: 새 만료 시각의 칸으로 (지금 처리 중인 칸이면 다음 바퀴에 확인)
+                        entry.next = null;
+                        push(bucketOf(session.getExpiresAtNanos()), entry);
+                    }
+                }
+                entry = next;
+            }
+        }
+        currentTick = targetTick + 1;
+        return expired;
+    }
+
+    private int bucketOf(long expiresAtNanos) {
+        // 만료 시각이 지난 칸이면 다음에 처리할 칸으로
+        long tick = Math.max(tickOf(expiresAtNanos) + 1, currentTick);
+        return (int) (tick & mask);
+    }
+
+    private long tickOf(long nanos) {
+        return Math.max(0, nanos - startNanos) / tickNanos;
+    }
+
+    private void push(int index, Entry entry) {
+        Entry head;
+        do {
+            head = buckets.get(index);
+            entry.next = head;
+        } while (!buckets.compareAndSet(index, head, entry));
+    }
+
+    private static final class Entry {
+        private final HttpSession session;
+        private Entry next;
+
+        private Entry(HttpSession session) {
+            this.session = session;
+        }
+    }
+}
@@ -1,26 +1,72 @@
 package org.depth.web.container.session;
 
+import lombok.Getter;
+import lombok.Setter;
 import org.depth.web.container.listener.SessionListener;
 import org.depth.web.http.model.HttpSession;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 public class SessionManager {
-    private final Map<String, HttpSession> sessions = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    // 세션 저장소 (상한을 넘으면 오래 쓰이지 않은 세션부터 무효화)
+    @Getter
+    private final BoundedSessionStore sessionStore;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "session-expiry");
+        thread.setDaemon(true);
+        return thread;
+    });
     private final List<SessionListener> globalSessionListeners = new ArrayList<>();
+    private final SessionExpiryWheel expiryWheel;
+    private final long tickMillis;
+
+    // 새 세션의 비활성 허용 시간 (null 이면 HttpSession 기본값 30분)
+    // 세션을 만든 뒤 setMaxInactiveInterval 로 줄이면 접근 시에는 바로 만료되지만, 정리는 타이머 한 바퀴만큼 늦을 수 있음
+    @Getter @Setter
+    private volatile Duration defaultMaxInactiveInterval;
+
+    // 세션을 재시작 후에도 남기는 로그 (null 이면 종료 시 모든 세션을 무효화, enablePersistence 로 설정)
+    @Getter
+    private volatile PersistentSessionStore persistentStore;
+
+    // 새 세션의 속성을 힙 밖에 둘 저장소 (null 이면 힙에 둠, enableOffHeapAttributes 로 설정)
+    @Getter
+    private volatile OffHeapAttributeStore offHeapAttributeStore;
     
-    // 세션 클린업 주기 (기본 10분)
-    private static final long CLEANUP_INTERVAL = 10;
+    // 만료 타이머 한 칸 (기본 1초, 세션은 만료 후 최대 이 시간 안에 정리됨)
+    private static final long DEFAULT_TICK_MILLIS = 1000;
+    // 타이머 칸 수 (한 바퀴 = 512초, 더 먼 만료는 그 칸을 지날 때마다 다시 확인)
+    private static final int WHEEL_SIZE = 512;
+    // 세션 저장소 기본 상한: 세션 수, 세션 크기 합, 잠금 샤드 수
+    private static final int DEFAULT_MAXIMUM_SESSIONS = 1_000_000;
+    private static final long DEFAULT_MAXIMUM_WEIGHT = 512L * 1024 * 1024;
+    private static final int STORE_SHARDS = 32;
+    // 세션 로그 압축 검사 주기 (초)
+    private static final long COMPACTION_INTERVAL_SECONDS = 30;
     
     // 세션 관리자 생성자
     public SessionManager() {
+        this(DEFAULT_TICK_MILLIS);
+    }
+
+    /**
+     * @param tickMillis 만료 타이머가 진행하는 간격 (만료 정밀도)
+     */
+    public SessionManager(long tickMillis) {
+        this.tickMillis = tickMillis;
+        // 용량 때문에 밀려난 세션도 만료와 같이 무효화 이벤트를 발생
+        this.sessionStore = new BoundedSessionStore(DEFAULT_MAXIMUM_SESSIONS, DEFAULT_MAXIMUM_WEIGHT, STORE_SHARDS,
+                this::evict);
+        this.expiryWheel = new SessionExpiryWheel(TimeUnit.MILLISECONDS.toNanos(tickMillis), WHEEL_SIZE, System.nanoTime());
         // 주기적으로 만료된 세션을 정리하는 작업 시작
         startSessionCleanup();
     }
@@ -41,15 +87,20 @@ public class SessionManager {
             return null;
         }
         
-        HttpSession session = sessions.get(sessionId);
+        HttpSession session = sessionStore.get(sessionId);
+        if (session == null && persistentStore != null) {
+            // 재시작 전에 남긴 세션이면 로그에서 되살림
+            session = restore(sessionId);
+        }
         
         if (session != null) {
-            if (session.isExpired()) {
-                invalidateSession(sessionId); // 만료된 세션 정리
+            long now = System.nanoTime();
+            if (session.isExpired(now)) {
+                expire(session); // 만료된 세션 정리
                 return null;
             }
-            // 세션 접근 시 만료 시간 갱신
-            session.resetExpireTime();
+            // 세션 접근 시 만료 시간 갱신 (만료 타이머는 건드리지 않음)
+            session.resetExpireTime(now);
             
             // 세션 접근 이벤트 알림
             session.notifySessionAccessed();
@@ -58,16 +109,103 @@ public class SessionManager {
         return session;
     }
     
+    /**
+     * 이후 만드는 세션의 속성을 힙 밖(direct buffer)에 직렬화해 둡니다.
+     * 오래 사는 세션이 많을 때 old 영역과 GC 부담을 줄이지만, 속성은 Serializable 이어야 하고 읽을 때마다 역직렬화 비용이 듭니다.
+     * @param capacityBytes 힙 밖 메모리 상한 (넘으면 새로 바뀐 속성은 힙에 남음)
+     */
+    public void enableOffHeapAttributes(long capacityBytes) {
+        this.offHeapAttributeStore = new OffHeapAttributeStore(capacityBytes);
+    }
+
+    /**
+     * 요청이 끝났을 때 호출합니다. 요청 중 풀어 둔 세션 속성을 힙 밖에 되돌려 씁니다.
+     * @param session 요청이 사용한 세션
+     */
+    public void release(HttpSession session) {
+        session.flushAttributes();
+        PersistentSessionStore persistent = persistentStore;
+        if (persistent != null) {
+            try {
+                // 속성이 바뀐(또는 새로 만든) 세션만 로그에 덧붙임
+                persistent.save(session, false);
+            } catch (RuntimeException e) {
+                System.err.println("SessionManager WARN: failed to persist session: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 세션을 디렉터리의 로그에 남겨 재시작 후에도 이어지게 합니다. (요청을 받기 전에 호출)
+     * 요청이 끝날 때 속성이 바뀐 세션을, 종료할 때 모든 세션을 로그에 쓰고, 로그에 남은 세션은 처음 조회될 때 되살립니다.
+     * 속성 값은 Serializable 이어야 하며, 제자리에서 바꾼 속성은 다시 setAttribute 해야 종료 전에도 로그에 반영됩니다.
+     * @param directory 세션 로그 디렉터리
+     */
+    public void enablePersistence(Path directory) throws IOException {
+        PersistentSessionStore store = new PersistentSessionStore(directory);
+        this.persistentStore = store;
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                store.compactIfNeeded();
+            } catch (RuntimeException e) {
+                System.err.println("SessionManager WARN: session log compaction failed: " + e.getMessage());
+            }
+        }, COMPACTION_INTERVAL_SECONDS, COMPACTION_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    // 로그의 세션 상태로 세션을 다시 만듦 (없거나 만료되었으면 null)
+    private HttpSession restore(String sessionId) {
+        PersistentSessionStore.PersistedSession persisted = persistentStore.load(sessionId);
+        if (persisted == null) {
+            return null;
+        }
+        HttpSession session = new HttpSession(sessionId);
+        session.setMaxInactiveInterval(Duration.ofMillis(persisted.getMaxInactiveMillis()));
+        session.setExpireTime(Instant.ofEpochMilli(persisted.getExpiresAtMillis()));
+        for (Map.Entry<String, Object> entry : persisted.getAttributes().entrySet()) {
+            session.setAttribute(entry.getKey(), entry.getValue());
+        }
+        OffHeapAttributeStore attributeStore = offHeapAttributeStore;
+        if (attributeStore != null) {
+            session.useOffHeapAttributes(new OffHeapSessionAttributes(attributeStore));
+        }
+        for (SessionListener listener : globalSessionListeners) {
+            session.addSessionListener(listener);
+        }
+
+        // 같은 세션을 동시에 되살렸으면 먼저 넣은 쪽을 사용
+        HttpSession existing = sessionStore.putIfAbsent(session);
+        if (existing != null) {
+            OffHeapSessionAttributes offHeap = session.getOffHeapAttributes();
+            if (offHeap != null) {
+                // 쓰이지 않을 사본의 힙 밖 메모리 반환 (무효화 이벤트 없이)
+                offHeap.clear();
+            }
+            return existing;
+        }
+        persistentStore.markPersisted(session);
+        expiryWheel.schedule(session);
+        return session;
+    }
+
     // 새 세션 생성
     public HttpSession createSession() {
         HttpSession session = new HttpSession();
+        if (defaultMaxInactiveInterval != null) {
+            session.setMaxInactiveInterval(defaultMaxInactiveInterval);
+        }
+        OffHeapAttributeStore attributeStore = offHeapAttributeStore;
+        if (attributeStore != null) {
+            session.useOffHeapAttributes(new OffHeapSessionAttributes(attributeStore));
+        }
         
         // 전역 세션 리스너 등록
         for (SessionListener listener : globalSessionListeners) {
             session.addSessionListener(listener);
         }
         
-        sessions.put(session.getId(), session);
+        sessionStore.put(session);
+        expiryWheel.schedule(session);
         
         // 세션 생성 이벤트 알림
         session.notifySessionCreated();
@@ -75,25 +213,56 @@ public class SessionManager {
         return session;
     }
     
+    // 저장된 세션 수 (만료되었지만 아직 정리되지 않은 세션 포함)
+    public int getSessionCount() {
+        return sessionStore.size();
+    }
+    
     // 세션 무효화
     public void invalidateSession(String sessionId) {
-        HttpSession session = sessions.remove(sessionId);
+        HttpSession session = sessionStore.remove(sessionId);
         if (session != null) {
             session.invalidate();
         }
+        forget(sessionId);
     }
     
-    // 만료된 세션 정리 작업 시작
+    // 만료된 세션 정리 작업 시작 (타이머 칸 하나씩 진행하며 그 칸의 세션만 확인)
     private void startSessionCleanup() {
         scheduler.scheduleAtFixedRate(() -> {
-            sessions.entrySet().removeIf(entry -> {
-                boolean expired = entry.getValue().isExpired();
-                if (expired) {
-                    entry.getValue().invalidate(); // 세션 무효화 이벤트 발생
-                }
-                return expired;
-            });
-        }, CLEANUP_INTERVAL, CLEANUP_INTERVAL, TimeUnit.MINUTES);
+            try {
+                expiryWheel.advance(System.nanoTime(),
+                        session -> sessionStore.contains(session.getId()), this::expire);
+            } catch (RuntimeException e) {
+                System.err.println("SessionManager WARN: session expiry failed: " + e);
+            }
+        }, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // 맵에서 먼저 제거한 쪽만 무효화 (요청 스레드와 타이머가 동시에 만료시켜도 이벤트는 한 번)
+    private void expire(HttpSession session) {
+        if (sessionStore.remove(session)) {
+            session.invalidate(); // 세션 무효화 이벤트 발생
+            forget(session.getId());
+        }
+    }
+
+    // 용량 때문에 밀려난 세션
+    private void evict(HttpSession session) {
+        session.invalidate();
+        forget(session.getId());
+    }
+
+    // 무효화된 세션을 로그에서도 지움
+    private void forget(String sessionId) {
+        PersistentSessionStore persistent = persistentStore;
+        if (persistent != null) {
+            try {
+                persistent.remove(sessionId);
+            } catch (RuntimeException e) {
+                System.err.println("SessionManager WARN: failed to remove persisted session: " + e.getMessage());
+            }
+        }
     }
     
     // 세션 관리자 종료
@@ -108,11 +277,27 @@ public class SessionManager {
             Thread.currentThread().interrupt();
         }
         
-        // 모든 세션 무효화
-        for (HttpSession session : sessions.values()) {
-            session.invalidate();
+        PersistentSessionStore persistent = persistentStore;
+        if (persistent == null) {
+            // 모든 세션 무효화
+            for (HttpSession session : sessionStore.clear()) {
+                session.invalidate();
+            }
+            return;
+        }
+
+        // 세션 로그가 있으면 무효화하지 않고 마지막 상태(만료 시각 포함)를 남김
+        for (HttpSession session : sessionStore.clear()) {
+            try {
+                persistent.save(session, true);
+            } catch (RuntimeException e) {
+                System.err.println("SessionManager WARN: failed to persist session: " + e.getMessage());
+            }
+        }
+        try {
+            persistent.close();
+        } catch (IOException e) {
+            System.err.println("SessionManager WARN: failed to close session log: " + e.getMessage());
         }
-        
-        sessions.clear();
     }
 } 
\ No newline at end of file
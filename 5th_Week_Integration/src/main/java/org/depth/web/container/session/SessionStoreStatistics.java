@@ -0,0 +1,34 @@
+package org.depth.web.container.session;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 세션 저장소 통계
+ * 용량(세션 수, 메모리 예산) 때문에 밀려난 세션 수를 본다. 만료나 명시적 무효화는 세지 않는다.
+ */
+public class SessionStoreStatistics {
+    private final LongAdder countEvictions = new LongAdder();
+    private final LongAdder weightEvictions = new LongAdder();
+
+    void recordCountEviction() {
+        countEvictions.increment();
+    }
+
+    void recordWeightEviction() {
+        weightEvictions.increment();
+    }
+
+    // 최대 세션 수를 넘어 밀려난 세션 수
+    public long getCountEvictions() {
+        return countEvictions.sum();
+    }
+
+    // 메모리 예산을 넘어 밀려난 세션 수
+    public long getWeightEvictions() {
+        return weightEvictions.sum();
+    }
+
+    public long getEvictions() {
+        return getCountEvictions() + getWeightEvictions();
+    }
+}
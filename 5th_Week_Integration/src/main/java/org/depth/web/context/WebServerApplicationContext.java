@@ -1,10 +1,12 @@
 package org.depth.web.context;
 
+import lombok.Getter;
 import lombok.SneakyThrows;
 import org.depth.web.container.HttpServletContainer;
 import org.depth.web.servlet.http.HttpServlet;
 
 public class WebServerApplicationContext extends GenericWebApplicationContext {
+    @Getter
     private final HttpServletContainer servletContainer;
 
     public WebServerApplicationContext() {
@@ -15,6 +17,11 @@ public class WebServerApplicationContext extends GenericWebApplicationContext {
         this.servletContainer = servletContainer;
     }
 
+    // 연결당 가상 스레드 실행 모드의 컨텍스트 생성
+    public static WebServerApplicationContext withVirtualThreads(int maxConcurrentRequests) {
+        return new WebServerApplicationContext(HttpServletContainer.withVirtualThreads(maxConcurrentRequests));
+    }
+
     public void registerServlet(HttpServlet servlet) {
         servletContainer.registerServlet(servlet);
     }
@@ -2,10 +2,13 @@ package org.depth.web.http;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 import org.depth.web.http.handler.HttpRawMessageConverter;
 import org.depth.web.http.model.HttpHeader;
+import org.depth.web.http.model.HttpHeaders;
 
 import java.util.List;
 
@@ -13,6 +16,9 @@ import java.util.List;
 @NoArgsConstructor
 @Data
 @SuperBuilder
+// 하위 클래스의 getBody 는 아직 읽지 않은 본문 스트림을 소비하므로 필드를 직접 사용
+@EqualsAndHashCode(doNotUseGetters = true)
+@ToString(doNotUseGetters = true)
 public abstract class HttpRequest {
     private String method;
     private String path;
@@ -20,6 +26,24 @@ public abstract class HttpRequest {
     private List<HttpHeader> headers;
     private String body;
 
+    // 빌더/생성자로 받은 일반 목록은 처음 조회할 때 이름 색인을 가진 목록으로 바꿈
+    public List<HttpHeader> getHeaders() {
+        if (headers != null && !(headers instanceof HttpHeaders)) {
+            headers = HttpHeaders.of(headers);
+        }
+        return headers;
+    }
+
+    public void setHeaders(List<HttpHeader> headers) {
+        this.headers = HttpHeaders.of(headers);
+    }
+
+    // 이름이 일치하는(대소문자 무시) 첫 번째 헤더 값 (없으면 null)
+    public String getHeader(String name) {
+        List<HttpHeader> indexed = getHeaders();
+        return indexed == null ? null : ((HttpHeaders) indexed).getValue(name);
+    }
+
     public String toRawRequest() {
         return HttpRawMessageConverter.toRawRequest(this);
     }
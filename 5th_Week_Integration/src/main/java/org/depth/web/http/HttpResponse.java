@@ -6,6 +6,7 @@ import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 import org.depth.web.http.handler.HttpRawMessageConverter;
 import org.depth.web.http.model.HttpHeader;
+import org.depth.web.http.model.HttpHeaders;
 
 import java.util.List;
 
@@ -24,15 +25,33 @@ public abstract class HttpResponse {
         return HttpRawMessageConverter.toRawResponse(this);
     }
 
+    // 빌더/생성자로 받은 일반 목록은 처음 조회할 때 이름 색인을 가진 목록으로 바꿈
+    public List<HttpHeader> getHeaders() {
+        if (headers != null && !(headers instanceof HttpHeaders)) {
+            headers = HttpHeaders.of(headers);
+        }
+        return headers;
+    }
+
+    public void setHeaders(List<HttpHeader> headers) {
+        this.headers = HttpHeaders.of(headers);
+    }
+
+    // 이름이 일치하는(대소문자 무시) 첫 번째 헤더 값 (없으면 null)
+    public String getHeader(String name) {
+        List<HttpHeader> indexed = getHeaders();
+        return indexed == null ? null : ((HttpHeaders) indexed).getValue(name);
+    }
+
     public void addHeader(String name, String value) {
-        this.headers.add(HttpHeader.of(name, value));
+        ((HttpHeaders) getHeaders()).add(name, value);
     }
 
     public void removeHeader(HttpHeader header) {
-        this.headers.remove(header);
+        getHeaders().remove(header);
     }
 
     public void removeHeaderByName(String name) {
-        this.headers.removeIf(header -> header.getName().equalsIgnoreCase(name));
+        ((HttpHeaders) getHeaders()).removeByName(name);
     }
 }
@@ -0,0 +1,69 @@
+package org.depth.web.http.handler;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 응답 본문의 64비트 비암호 해시 (ETag 용, xxHash64 의 라운드/마무리 함수 사용)
+ * 문자열은 인코딩 없이 UTF-16 코드 단위 4개씩, 바이트 버퍼는 8바이트씩 한 라운드로 섞는다.
+ * 같은 본문이면 언제나 같은 값이 나오지만 충돌 저항성은 보장하지 않는다.
+ * 압축 캐시처럼 원본을 들고 있지 않고 본문이 바뀌었는지 확인할 때도 쓴다 (길이와 함께 비교).
+ */
+public final class BodyHash {
+    private static final long PRIME_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME_3 = 0x165667B19E3779F9L;
+    private static final long PRIME_4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME_5 = 0x27D4EB2F165667C5L;
+
+    private BodyHash() {
+    }
+
+    public static long hash(CharSequence text) {
+        int length = text.length();
+        long h = PRIME_5 + length * 2L;
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            long k = text.charAt(i)
+                    | (long) text.charAt(i + 1) << 16
+                    | (long) text.charAt(i + 2) << 32
+                    | (long) text.charAt(i + 3) << 48;
+            h = mix(h, k);
+        }
+        for (; i < length; i++) {
+            h ^= text.charAt(i) * PRIME_5;
+            h = Long.rotateLeft(h, 11) * PRIME_1;
+        }
+        return avalanche(h);
+    }
+
+    // 버퍼의 position/limit 은 바꾸지 않음
+    public static long hash(ByteBuffer buffer) {
+        ByteBuffer view = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int position = view.position();
+        int limit = view.limit();
+        long h = PRIME_5 + (limit - position);
+        for (; position + 8 <= limit; position += 8) {
+            h = mix(h, view.getLong(position));
+        }
+        for (; position < limit; position++) {
+            h ^= (view.get(position) & 0xFF) * PRIME_5;
+            h = Long.rotateLeft(h, 11) * PRIME_1;
+        }
+        return avalanche(h);
+    }
+
+    private static long mix(long h, long k) {
+        h ^= Long.rotateLeft(k * PRIME_2, 31) * PRIME_1;
+        return Long.rotateLeft(h, 27) * PRIME_1 + PRIME_4;
+    }
+
+    private static long avalanche(long h) {
+        h ^= h >>> 33;
+        h *= PRIME_2;
+        h ^= h >>> 29;
+        h *= PRIME_3;
+        h ^= h >>> 32;
+        return h;
+    }
+}
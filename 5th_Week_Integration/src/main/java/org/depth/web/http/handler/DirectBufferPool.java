@@ -0,0 +1,40 @@
+package org.depth.web.http.handler;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 고정 크기 직접 버퍼 풀
+ * 직접 버퍼는 할당/해제 비용이 크고 GC 로 늦게 회수되므로 응답마다 만들지 않고 재사용한다.
+ * 풀이 비어 있으면 새로 만들고, 가득 찬 상태에서 반납된 버퍼는 버린다.
+ */
+class DirectBufferPool {
+    private final int bufferSize;
+    private final BlockingQueue<ByteBuffer> idle;
+
+    DirectBufferPool(int bufferSize, int capacity) {
+        this.bufferSize = bufferSize;
+        this.idle = new ArrayBlockingQueue<>(capacity);
+    }
+
+    int getBufferSize() {
+        return bufferSize;
+    }
+
+    ByteBuffer acquire() {
+        ByteBuffer buffer = idle.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    void release(ByteBuffer buffer) {
+        if (buffer.isDirect() && buffer.capacity() == bufferSize) {
+            buffer.clear();
+            idle.offer(buffer);
+        }
+    }
+}
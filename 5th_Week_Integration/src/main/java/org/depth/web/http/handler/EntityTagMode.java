@@ -0,0 +1,13 @@
+package org.depth.web.http.handler;
+
+/**
+ * 동적 응답에 자동으로 붙일 ETag 종류
+ * - NONE: 붙이지 않음 (핸들러가 직접 붙인 ETag 만 조건부 요청에 사용)
+ * - WEAK: W/"해시" - 의미가 같으면 같은 표현으로 보는 약한 검증자 (기본값)
+ * - STRONG: "해시" - 바이트 단위로 같을 때만 같은 강한 검증자 (Range 요청에도 사용 가능)
+ */
+public enum EntityTagMode {
+    NONE,
+    WEAK,
+    STRONG
+}
@@ -0,0 +1,382 @@
+package org.depth.web.http.handler;
+
+import lombok.Getter;
+import org.depth.web.http.model.HttpHeader;
+import org.depth.web.http.model.HttpHeaders;
+import org.depth.web.http.model.RequestBodyInputStream;
+import org.depth.web.servlet.http.HttpServletRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ByteBuffer 위에서 바로 동작하는 바이트 단위 HTTP 요청 헤더 파서 (상태 머신)
+ * 입력이 여러 번에 나뉘어 도착해도 멈춘 지점부터 이어서 파싱하므로 NIO 커넥터가 읽은 만큼 바로 넘길 수 있다.
+ * 자주 쓰이는 메서드/버전/헤더 이름은 미리 만든 문자열을 재사용하고,
+ * 헤더 값은 복사하지 않고 원본 구간만 기억했다가 처음 조회될 때 디코딩한다.
+ * 요청 하나당 인스턴스 하나를 사용한다.
+ */
+public class HttpRequestDecoder {
+    public static final int DEFAULT_MAX_HEADER_SIZE = 64 * 1024;
+
+    private enum State {
+        REQUEST_LINE_START, METHOD, TARGET, VERSION, REQUEST_LINE_END,
+        HEADER_START, HEADER_NAME, HEADER_VALUE_START, HEADER_VALUE, HEADER_LINE_END,
+        HEADERS_END, DONE
+    }
+
+    private static final String[] KNOWN_METHODS = {
+            "GET", "POST", "PUT", "DELETE", "HEAD", "OPTIONS", "PATCH", "TRACE", "CONNECT"
+    };
+    private static final String[] KNOWN_VERSIONS = {"HTTP/1.1", "HTTP/1.0"};
+    private static final String[] KNOWN_HEADER_NAMES = HttpHeaders.wellKnownNames().toArray(new String[0]);
+    // 길이별로 묶은 헤더 이름 (비교 후보를 줄이기 위함)
+    private static final String[][] HEADER_NAMES_BY_LENGTH = groupByLength(KNOWN_HEADER_NAMES);
+
+    private final int maxHeaderSize;
+    private State state = State.REQUEST_LINE_START;
+
+    // 헤더 영역 원본 바이트 (헤더 값이 이 배열의 구간을 참조)
+    private byte[] block;
+    private int blockLength = 0;
+    private int tokenStart;
+    private int valueEnd;
+    private String currentName;
+
+    @Getter
+    private String method;
+    @Getter
+    private String path;
+    @Getter
+    private String version;
+    @Getter
+    private final HttpHeaders headers = new HttpHeaders();
+    private long contentLength = 0;
+    // Transfer-Encoding 헤더가 있는 요청 (본문 경계를 알 수 없으므로 Content-Length 로 나누지 않음)
+    @Getter
+    private boolean transferEncoded = false;
+    // Content-Length 헤더가 두 번 이상 온 요청 (값이 같더라도 어느 쪽을 믿을지 모호하므로 거절 대상)
+    @Getter
+    private boolean duplicateContentLength = false;
+
+    public HttpRequestDecoder() {
+        this(DEFAULT_MAX_HEADER_SIZE);
+    }
+
+    public HttpRequestDecoder(int maxHeaderSize) {
+        this.maxHeaderSize = maxHeaderSize;
+        this.block = new byte[Math.min(512, maxHeaderSize)];
+    }
+
+    /**
+     * 입력에서 헤더 끝(빈 줄)까지를 소비합니다.
+     * 헤더가 끝나면 입력의 position 은 본문 첫 바이트에 멈추며, 덜 도착했으면 모두 소비하고 다음 입력을 기다립니다.
+     * @return 요청줄과 헤더를 모두 읽었으면 true
+     * @throws IOException 형식이 잘못되었거나 헤더가 최대 크기를 넘은 경우
+     */
+    public boolean decode(ByteBuffer input) throws IOException {
+        while (state != State.DONE && input.hasRemaining()) {
+            // 입력을 헤더 영역 배열로 한 번에 옮긴 뒤 배열 위에서 상태 머신을 돌림
+            int start = blockLength;
+            int copied = fill(input);
+            int end = scan(start, start + copied);
+            if (state == State.DONE) {
+                // 헤더 뒤에 함께 옮겨진 본문 바이트는 입력에 되돌림
+                input.position(input.position() - (start + copied - end));
+                blockLength = end;
+            }
+        }
+        return state == State.DONE;
+    }
+
+    // 상태 머신을 [from, to) 구간에 적용하고 헤더가 끝났으면 그 다음 인덱스를 반환
+    private int scan(int from, int to) throws IOException {
+        byte[] bytes = block;
+        int index = from;
+        while (index < to) {
+            switch (state) {
+                case REQUEST_LINE_START -> {
+                    byte b = bytes[index];
+                    if (b == '\r' || b == '\n') {
+                        // 요청 사이의 빈 줄은 무시
+                        index++;
+                        continue;
+                    }
+                    if (b == ' ') {
+                        throw new IOException("Invalid HTTP request format: empty method");
+                    }
+                    tokenStart = index;
+                    state = State.METHOD;
+                }
+                case METHOD -> {
+                    int end = indexOfDelimiter(bytes, index, to, (byte) ' ');
+                    if (end == to) {
+                        return to;
+                    }
+                    if (bytes[end] != ' ') {
+                        throw new IOException("Invalid HTTP request format: missing request target");
+                    }
+                    method = intern(KNOWN_METHODS, tokenStart, end);
+                    tokenStart = end + 1;
+                    index = end + 1;
+                    state = State.TARGET;
+                }
+                case TARGET -> {
+                    int end = indexOfDelimiter(bytes, index, to, (byte) ' ');
+                    if (end == to) {
+                        return to;
+                    }
+                    if (bytes[end] != ' ') {
+                        throw new IOException("Invalid HTTP request format: missing HTTP version");
+                    }
+                    if (end == tokenStart) {
+                        throw new IOException("Invalid HTTP request format: empty request target");
+                    }
+                    path = new String(bytes, tokenStart, end - tokenStart, StandardCharsets.UTF_8);
+                    tokenStart = end + 1;
+                    index = end + 1;
+                    state = State.VERSION;
+                }
+                case VERSION -> {
+                    int end = indexOfDelimiter(bytes, index, to, (byte) '\n');
+                    if (end == to) {
+                        return to;
+                    }
+                    if (end == tokenStart) {
+                        throw new IOException("Invalid HTTP request format: missing HTTP version");
+                    }
+                    version = intern(KNOWN_VERSIONS, tokenStart, end);
+                    index = end + 1;
+                    state = bytes[end] == '\r' ? State.REQUEST_LINE_END : State.HEADER_START;
+                }
+                case REQUEST_LINE_END, HEADER_LINE_END -> {
+                    if (bytes[index] != '\n') {
+                        throw new IOException("Invalid HTTP request format: bare CR");
+                    }
+                    index++;
+                    state = State.HEADER_START;
+                }
+                case HEADER_START -> {
+                    byte b = bytes[index++];
+                    if (b == '\r') {
+                        state = State.HEADERS_END;
+                    } else if (b == '\n') {
+                        state = State.DONE;
+                        return index;
+                    } else {
+                        tokenStart = index - 1;
+                        state = State.HEADER_NAME;
+                    }
+                }
+                case HEADER_NAME -> {
+                    int end = indexOfDelimiter(bytes, index, to, (byte) ':');
+                    if (end == to) {
+                        return to;
+                    }
+                    index = end + 1;
+                    if (bytes[end] == ':') {
+                        currentName = internHeaderName(tokenStart, trimEnd(tokenStart, end));
+                        state = State.HEADER_VALUE_START;
+                    } else {
+                        // 콜론이 없는 줄은 무시
+                        state = bytes[end] == '\r' ? State.HEADER_LINE_END : State.HEADER_START;
+                    }
+                }
+                case HEADER_VALUE_START -> {
+                    byte b = bytes[index];
+                    if (b == ' ' || b == '\t') {
+                        index++;
+                        continue;
+                    }
+                    tokenStart = index;
+                    valueEnd = index;
+                    state = State.HEADER_VALUE;
+                }
+                case HEADER_VALUE -> {
+                    int end = indexOfDelimiter(bytes, index, to, (byte) '\n');
+                    if (end > index) {
+                        valueEnd = trimEnd(tokenStart, end);
+                    }
+                    if (end == to) {
+                        return to;
+                    }
+                    addHeader(tokenStart, valueEnd);
+                    index = end + 1;
+                    state = bytes[end] == '\r' ? State.HEADER_LINE_END : State.HEADER_START;
+                }
+                case HEADERS_END -> {
+                    if (bytes[index] != '\n') {
+                        throw new IOException("Invalid HTTP request format: bare CR");
+                    }
+                    state = State.DONE;
+                    return index + 1;
+                }
+                default -> throw new IllegalStateException("Unexpected state: " + state);
+            }
+        }
+        return index;
+    }
+
+    // [from, to) 에서 CR, LF 또는 지정한 구분자가 처음 나오는 위치 (없으면 to)
+    private static int indexOfDelimiter(byte[] bytes, int from, int to, byte delimiter) {
+        for (int i = from; i < to; i++) {
+            byte b = bytes[i];
+            if (b == delimiter || b == '\r' || b == '\n') {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    // 본문을 나누는 데 쓸 Content-Length (본문 경계가 모호한 요청은 거절 대상이므로 본문 없음으로 취급)
+    public long getContentLength() {
+        return transferEncoded || duplicateContentLength ? 0 : contentLength;
+    }
+
+    public boolean isComplete() {
+        return state == State.DONE;
+    }
+
+    // 아직 아무 바이트도 소비하지 않았는지 (연결이 요청 사이에서 닫혔는지 판단용)
+    public boolean isEmpty() {
+        return state == State.REQUEST_LINE_START;
+    }
+
+    // 이름이 일치하는(대소문자 무시) 첫 번째 헤더 값 (없으면 null)
+    public String getHeaderValue(String name) {
+        return headers.getValue(name);
+    }
+
+    /**
+     * 파싱한 요청줄/헤더로 요청 객체를 만듭니다.
+     * @param bodySource 본문이 이어지는 입력 (Content-Length 만큼만 읽도록 감싸서 연결)
+     */
+    public HttpServletRequest toRequest(InputStream bodySource) {
+        if (state != State.DONE) {
+            throw new IllegalStateException("HTTP request header is not complete");
+        }
+        return HttpServletRequest.builder()
+                .method(method)
+                .path(path)
+                .version(version)
+                .headers(headers)
+                .body(getContentLength() > 0 ? null : "")
+                .bodyStream(getContentLength() > 0 ? new RequestBodyInputStream(bodySource, contentLength) : null)
+                .build();
+    }
+
+    // 입력을 헤더 영역 배열 뒤에 덧붙임 (최대 크기를 넘으면 거절)
+    private int fill(ByteBuffer input) throws IOException {
+        if (blockLength >= maxHeaderSize) {
+            throw new IOException("HTTP header too large");
+        }
+        int count = Math.min(input.remaining(), maxHeaderSize - blockLength);
+        if (blockLength + count > block.length) {
+            // 이미 만든 헤더는 이전 배열을 계속 참조하므로 내용이 바뀌지 않는다
+            block = Arrays.copyOf(block, Math.min(maxHeaderSize, Math.max(block.length * 2, blockLength + count)));
+        }
+        input.get(block, blockLength, count);
+        blockLength += count;
+        return count;
+    }
+
+    private void addHeader(int start, int end) throws IOException {
+        // 알려진 헤더 이름은 상수로 통일되므로 참조 비교로 충분
+        if (currentName == HttpHeaders.CONTENT_LENGTH) {
+            duplicateContentLength |= headers.containsName(HttpHeaders.CONTENT_LENGTH);
+            contentLength = parseContentLength(start, end);
+        } else if (currentName == HttpHeaders.TRANSFER_ENCODING) {
+            transferEncoded = true;
+        }
+        headers.add(HttpHeader.lazy(currentName, block, start, end - start));
+    }
+
+    private long parseContentLength(int start, int end) throws IOException {
+        if (start == end || end - start > 18) {
+            throw new IOException("Invalid Content-Length: " + new String(block, start, end - start, StandardCharsets.ISO_8859_1));
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = block[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IOException("Invalid Content-Length: " + new String(block, start, end - start, StandardCharsets.ISO_8859_1));
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private int trimEnd(int start, int end) {
+        while (end > start && (block[end - 1] == ' ' || block[end - 1] == '\t')) {
+            end--;
+        }
+        return end;
+    }
+
+    // 알려진 토큰과 정확히 일치하면 상수 문자열을 재사용
+    private String intern(String[] candidates, int start, int end) {
+        int length = end - start;
+        for (String candidate : candidates) {
+            if (candidate.length() == length && matches(candidate, start, false)) {
+                return candidate;
+            }
+        }
+        return new String(block, start, length, StandardCharsets.ISO_8859_1);
+    }
+
+    // 헤더 이름은 대소문자를 구분하지 않으므로 표준 표기의 상수로 통일
+    private String internHeaderName(int start, int end) {
+        int length = end - start;
+        if (length < HEADER_NAMES_BY_LENGTH.length) {
+            for (String candidate : HEADER_NAMES_BY_LENGTH[length]) {
+                if (matches(candidate, start, true)) {
+                    return candidate;
+                }
+            }
+        }
+        return new String(block, start, length, StandardCharsets.ISO_8859_1);
+    }
+
+    private boolean matches(String candidate, int start, boolean ignoreCase) {
+        for (int i = 0; i < candidate.length(); i++) {
+            int actual = block[start + i];
+            int expected = candidate.charAt(i);
+            if (ignoreCase) {
+                actual = toLowerAscii(actual);
+                expected = toLowerAscii(expected);
+            }
+            if (actual != expected) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int toLowerAscii(int c) {
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+
+    private static String[][] groupByLength(String[] names) {
+        int maxLength = 0;
+        for (String name : names) {
+            maxLength = Math.max(maxLength, name.length());
+        }
+        List<List<String>> groups = new ArrayList<>();
+        for (int i = 0; i <= maxLength; i++) {
+            groups.add(new ArrayList<>());
+        }
+        for (String name : names) {
+            groups.get(name.length()).add(name);
+        }
+        String[][] byLength = new String[maxLength + 1][];
+        for (int i = 0; i <= maxLength; i++) {
+            byLength[i] = groups.get(i).toArray(new String[0]);
+        }
+        return byLength;
+    }
+}
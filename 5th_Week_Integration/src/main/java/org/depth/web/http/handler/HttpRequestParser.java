@@ -1,82 +1,72 @@
 package org.depth.web.http.handler;
 
-import org.depth.web.http.model.HttpHeader;
 import org.depth.web.servlet.http.HttpServletRequest;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 
 public class HttpRequestParser {
 
-
-  public static HttpServletRequest parse(BufferedReader reader) throws IOException {
-    // 요청 첫 줄 읽기
-    String requestLine = reader.readLine();
-    if (requestLine == null) {
-      throw new IOException("Invalid HTTP request: empty request");
-    }
-
-    String[] requestParts = requestLine.split(" ");
-    if (requestParts.length < 3) {
-      throw new IOException("Invalid HTTP request format: " + requestLine);
+  // mark/reset 을 지원하는 입력에서 한 번에 미리 읽어 파서에 넘기는 크기
+  private static final int READ_AHEAD_SIZE = 1024;
+
+
+  /**
+   * 요청줄과 헤더만 읽고, 본문은 Content-Length 만큼 읽도록 제한된 스트림으로 요청에 연결합니다.
+   * 본문은 서블릿이 읽을 때 비로소 입력에서 소비되므로, 다음 요청을 읽기 전에 남은 본문을 버려야 합니다.
+   * @param inputStream 연결의 입력 스트림 (mark/reset 을 지원하면 헤더 끝을 넘어 읽은 바이트를 되돌림)
+   */
+  public static HttpServletRequest parse(InputStream inputStream) throws IOException {
+    HttpRequestDecoder decoder = new HttpRequestDecoder();
+    if (inputStream.markSupported()) {
+      decodeWithReadAhead(inputStream, decoder);
+    } else {
+      decodeByteByByte(inputStream, decoder);
     }
-
-    String method = requestParts[0];
-    String path = requestParts[1];
-    String version = requestParts[2];
-
-    // 헤더 파싱
-    List<HttpHeader> headers = parseHeaders(reader);
-
-    // 요청 본문 파싱
-    String body = parseBody(reader, headers);
-
-    // HttpServletRequest 생성 및 반환
-    return HttpServletRequest.builder()
-        .method(method)
-        .path(path)
-        .version(version)
-        .headers(headers)
-        .body(body)
-        .build();
+    return decoder.toRequest(inputStream);
   }
 
 
-  private static List<HttpHeader> parseHeaders(BufferedReader reader) throws IOException {
-    List<HttpHeader> headers = new ArrayList<>();
-    String headerLine;
-
-    while ((headerLine = reader.readLine()) != null && !headerLine.isEmpty()) {
-      String[] headerParts = headerLine.split(":", 2);
-      if (headerParts.length == 2) {
-        headers.add(HttpHeader.of(headerParts[0].trim(), headerParts[1].trim()));
+  // 미리 읽은 바이트 중 헤더에 쓰인 만큼만 소비하고 나머지(본문)는 입력에 되돌림
+  private static void decodeWithReadAhead(InputStream inputStream, HttpRequestDecoder decoder) throws IOException {
+    byte[] readAhead = new byte[READ_AHEAD_SIZE];
+    while (true) {
+      inputStream.mark(READ_AHEAD_SIZE);
+      int read = inputStream.read(readAhead);
+      if (read < 0) {
+        throw endOfStream(decoder);
+      }
+      ByteBuffer buffer = ByteBuffer.wrap(readAhead, 0, read);
+      boolean complete = decoder.decode(buffer);
+      inputStream.reset();
+      inputStream.skipNBytes(buffer.position());
+      if (complete) {
+        return;
       }
     }
-
-    return headers;
   }
 
-  private static String parseBody(BufferedReader reader, List<HttpHeader> headers) throws IOException {
-    StringBuilder bodyBuilder = new StringBuilder();
-
-    // Content-Length 헤더가 있는 경우에만 본문 파싱
-    if (headers.stream().anyMatch(h -> h.getName().equalsIgnoreCase("Content-Length"))) {
-      int contentLength = headers.stream()
-          .filter(h -> h.getName().equalsIgnoreCase("Content-Length"))
-          .map(h -> Integer.parseInt(h.getValue().trim()))
-          .findFirst()
-          .orElse(0);
 
-      if (contentLength > 0) {
-        char[] buffer = new char[contentLength];
-        reader.read(buffer, 0, contentLength);
-        bodyBuilder.append(buffer);
+  private static void decodeByteByByte(InputStream inputStream, HttpRequestDecoder decoder) throws IOException {
+    ByteBuffer single = ByteBuffer.allocate(1);
+    while (!decoder.isComplete()) {
+      int b = inputStream.read();
+      if (b < 0) {
+        throw endOfStream(decoder);
       }
+      single.clear();
+      single.put((byte) b).flip();
+      decoder.decode(single);
     }
+  }
+
 
-    return bodyBuilder.toString();
+  private static IOException endOfStream(HttpRequestDecoder decoder) {
+    if (decoder.isEmpty()) {
+      return new IOException("Invalid HTTP request: empty request");
+    }
+    return new IOException("Unexpected end of HTTP header");
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,260 @@
+package org.depth.web.http.handler;
+
+import org.depth.web.http.HttpResponse;
+import org.depth.web.http.model.FileRegion;
+import org.depth.web.http.model.HttpHeader;
+import org.depth.web.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 응답을 문자열로 조립하지 않고 바로 바이트로 직렬화하는 인코더
+ * - HTTP/1.1 상태줄은 상태 코드별로 미리 인코딩해 둔 표를 사용
+ * - 상태줄/헤더는 풀에서 빌린 직접 버퍼에 바로 기록하고, 작은 본문도 같은 버퍼에 이어 담음
+ * - 큰 본문과 메모리 본문은 헤더 버퍼와 함께 gathering write 한 번으로 전송
+ */
+public class HttpResponseEncoder {
+    private static final DirectBufferPool BUFFER_POOL = new DirectBufferPool(8192, 64);
+
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] HEADER_SEPARATOR = {':', ' '};
+
+    private static final String[] REASON_PHRASES = new String[600];
+    private static final byte[][] STATUS_LINES = new byte[600][];
+    private static final Map<String, byte[]> HEADER_NAMES = new HashMap<>();
+
+    static {
+        Map<Integer, String> reasons = Map.ofEntries(
+                Map.entry(100, "Continue"), Map.entry(101, "Switching Protocols"),
+                Map.entry(200, "OK"), Map.entry(201, "Created"), Map.entry(202, "Accepted"),
+                Map.entry(204, "No Content"), Map.entry(206, "Partial Content"),
+                Map.entry(301, "Moved Permanently"), Map.entry(302, "Found"), Map.entry(303, "See Other"),
+                Map.entry(304, "Not Modified"), Map.entry(307, "Temporary Redirect"), Map.entry(308, "Permanent Redirect"),
+                Map.entry(400, "Bad Request"), Map.entry(401, "Unauthorized"), Map.entry(403, "Forbidden"),
+                Map.entry(404, "Not Found"), Map.entry(405, "Method Not Allowed"), Map.entry(406, "Not Acceptable"),
+                Map.entry(408, "Request Timeout"), Map.entry(409, "Conflict"), Map.entry(410, "Gone"),
+                Map.entry(411, "Length Required"), Map.entry(412, "Precondition Failed"),
+                Map.entry(413, "Payload Too Large"), Map.entry(414, "URI Too Long"),
+                Map.entry(415, "Unsupported Media Type"), Map.entry(416, "Range Not Satisfiable"),
+                Map.entry(417, "Expectation Failed"), Map.entry(429, "Too Many Requests"),
+                Map.entry(500, "Internal Server Error"), Map.entry(501, "Not Implemented"),
+                Map.entry(502, "Bad Gateway"), Map.entry(503, "Service Unavailable"),
+                Map.entry(504, "Gateway Timeout"), Map.entry(505, "HTTP Version Not Supported")
+        );
+        reasons.forEach((code, reason) -> {
+            REASON_PHRASES[code] = reason;
+            STATUS_LINES[code] = ("HTTP/1.1 " + code + " " + reason + "\r\n").getBytes(StandardCharsets.US_ASCII);
+        });
+
+        for (String name : new String[]{
+                "Content-Type", "Content-Length", "Content-Encoding", "Transfer-Encoding", "Connection", "Server",
+                "Set-Cookie", "Date", "Vary", "ETag", "Last-Modified", "Accept-Ranges", "Content-Range",
+                "Cache-Control", "Location", "Allow", "Retry-After"}) {
+            HEADER_NAMES.put(name, name.getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    // 표준 사유 구문 (모르는 코드면 null)
+    public static String reasonPhrase(int statusCode) {
+        return statusCode >= 0 && statusCode < REASON_PHRASES.length ? REASON_PHRASES[statusCode] : null;
+    }
+
+    /**
+     * 상태줄/헤더와 본문을 출력에 기록합니다.
+     * 파일 본문은 출력이 지원하면 sendfile 로, 메모리 본문은 헤더와 함께 gathering write 로 보냅니다.
+     */
+    public static void write(HttpServletResponse response, OutputStream outputStream) throws IOException {
+        FileRegion fileBody = response.getFileBody();
+        String body = fileBody == null ? response.getBody() : null;
+        int headLength = measureHead(response);
+        long bodyLength = body == null ? 0 : HttpResponseWriter.utf8Length(body);
+        boolean inlineBody = body != null && headLength + bodyLength <= BUFFER_POOL.getBufferSize();
+
+        ByteBuffer head = acquire(inlineBody ? headLength + (int) bodyLength : headLength, outputStream);
+        try {
+            putHead(head, response);
+            if (inlineBody) {
+                putUtf8(head, body);
+            }
+            head.flip();
+
+            if (fileBody != null) {
+                ByteBuffer memoryBody = fileBody.memoryBuffer();
+                if (memoryBody != null) {
+                    writeGathering(outputStream, head, memoryBody);
+                    fileBody.release();
+                } else {
+                    writeGathering(outputStream, head);
+                    fileBody.writeTo(outputStream);
+                }
+            } else if (body != null && !inlineBody) {
+                writeGathering(outputStream, head, ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8)));
+            } else {
+                writeGathering(outputStream, head);
+            }
+        } finally {
+            BUFFER_POOL.release(head);
+        }
+        outputStream.flush();
+    }
+
+    // 상태줄/헤더/빈 줄만 기록 (스트리밍 응답의 헤더 커밋용)
+    public static void writeHead(HttpResponse response, OutputStream outputStream) throws IOException {
+        ByteBuffer head = acquire(measureHead(response), outputStream);
+        try {
+            putHead(head, response);
+            head.flip();
+            writeGathering(outputStream, head);
+        } finally {
+            BUFFER_POOL.release(head);
+        }
+    }
+
+    // 상태줄/헤더와 메모리 본문을 하나의 배열로 인코딩 (미리 만들어 두는 응답용, 파일 채널 본문은 포함하지 않음)
+    public static byte[] encode(HttpServletResponse response) {
+        ByteBuffer memoryBody = response.getFileBody() == null ? null : response.getFileBody().memoryBuffer();
+        String body = response.getFileBody() == null ? response.getBody() : null;
+        long bodyLength = memoryBody != null ? memoryBody.remaining()
+                : body == null ? 0 : HttpResponseWriter.utf8Length(body);
+        byte[] encoded = new byte[measureHead(response) + (int) bodyLength];
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        putHead(buffer, response);
+        if (memoryBody != null) {
+            buffer.put(memoryBody);
+        } else if (body != null) {
+            putUtf8(buffer, body);
+        }
+        return encoded;
+    }
+
+    // 문자열을 UTF-8 로 이어 붙인 배열 (미리 인코딩한 조각 사이에 동적인 값을 끼울 때 사용)
+    public static byte[] concat(byte[] prefix, CharSequence value, byte[] suffix) {
+        byte[] joined = new byte[prefix.length + (int) HttpResponseWriter.utf8Length(value) + suffix.length];
+        ByteBuffer buffer = ByteBuffer.wrap(joined);
+        buffer.put(prefix);
+        putUtf8(buffer, value);
+        buffer.put(suffix);
+        return joined;
+    }
+
+    // 소켓 채널로 바로 쓰는 출력이면 풀의 직접 버퍼, 일반 스트림이면 그대로 넘길 수 있는 힙 버퍼
+    private static ByteBuffer acquire(int size, OutputStream outputStream) {
+        if (outputStream instanceof ZeroCopyOutput && size <= BUFFER_POOL.getBufferSize()) {
+            return BUFFER_POOL.acquire();
+        }
+        return ByteBuffer.allocate(size);
+    }
+
+    private static int measureHead(HttpResponse response) {
+        int length;
+        byte[] statusLine = cachedStatusLine(response);
+        if (statusLine != null) {
+            length = statusLine.length;
+        } else {
+            length = (int) (HttpResponseWriter.utf8Length(String.valueOf(response.getVersion()))
+                    + 1 + String.valueOf(response.getStatusCode()).length() + 1
+                    + HttpResponseWriter.utf8Length(String.valueOf(response.getStatusText())) + CRLF.length);
+        }
+        if (response.getHeaders() != null) {
+            for (HttpHeader header : response.getHeaders()) {
+                length += (int) (HttpResponseWriter.utf8Length(header.getName())
+                        + HEADER_SEPARATOR.length
+                        + HttpResponseWriter.utf8Length(String.valueOf(header.getValue()))
+                        + CRLF.length);
+            }
+        }
+        return length + CRLF.length;
+    }
+
+    private static void putHead(ByteBuffer buffer, HttpResponse response) {
+        byte[] statusLine = cachedStatusLine(response);
+        if (statusLine != null) {
+            buffer.put(statusLine);
+        } else {
+            putUtf8(buffer, String.valueOf(response.getVersion()));
+            buffer.put((byte) ' ');
+            putUtf8(buffer, String.valueOf(response.getStatusCode()));
+            buffer.put((byte) ' ');
+            putUtf8(buffer, String.valueOf(response.getStatusText()));
+            buffer.put(CRLF);
+        }
+        if (response.getHeaders() != null) {
+            for (HttpHeader header : response.getHeaders()) {
+                byte[] name = HEADER_NAMES.get(header.getName());
+                if (name != null) {
+                    buffer.put(name);
+                } else {
+                    putUtf8(buffer, header.getName());
+                }
+                buffer.put(HEADER_SEPARATOR);
+                putUtf8(buffer, String.valueOf(header.getValue()));
+                buffer.put(CRLF);
+            }
+        }
+        buffer.put(CRLF);
+    }
+
+    // 버전과 사유 구문이 표준과 같을 때만 미리 인코딩한 상태줄 사용
+    private static byte[] cachedStatusLine(HttpResponse response) {
+        int statusCode = response.getStatusCode();
+        if (statusCode < 0 || statusCode >= STATUS_LINES.length || STATUS_LINES[statusCode] == null) {
+            return null;
+        }
+        if (!"HTTP/1.1".equals(response.getVersion()) || !REASON_PHRASES[statusCode].equals(response.getStatusText())) {
+            return null;
+        }
+        return STATUS_LINES[statusCode];
+    }
+
+    // 중간 배열 없이 UTF-8 로 인코딩해 기록 (짝이 맞지 않는 서로게이트는 '?', utf8Length 와 같은 규칙)
+    private static void putUtf8(ByteBuffer buffer, CharSequence text) {
+        int size = text.length();
+        for (int i = 0; i < size; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < size && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    // 커넥터 출력이면 채널 gathering write, 일반 스트림이면 버퍼 내용을 복사해 기록
+    private static void writeGathering(OutputStream outputStream, ByteBuffer... buffers) throws IOException {
+        if (outputStream instanceof ZeroCopyOutput zeroCopyOutput) {
+            zeroCopyOutput.write(buffers);
+            return;
+        }
+        for (ByteBuffer buffer : buffers) {
+            if (buffer.hasArray()) {
+                outputStream.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                buffer.position(buffer.limit());
+            } else {
+                byte[] chunk = new byte[Math.min(buffer.remaining(), 8192)];
+                while (buffer.hasRemaining()) {
+                    int length = Math.min(chunk.length, buffer.remaining());
+                    buffer.get(chunk, 0, length);
+                    outputStream.write(chunk, 0, length);
+                }
+            }
+        }
+    }
+}
@@ -1,44 +1,193 @@
 package org.depth.web.http.handler;
 
+import org.depth.web.http.model.FileRegion;
+import org.depth.web.http.model.HttpHeaders;
+import org.depth.web.servlet.http.HttpServletRequest;
 import org.depth.web.servlet.http.HttpServletResponse;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 
 public class HttpResponseWriter {
 
+  // 정형화된 오류 본문은 고정된 부분을 한 번만 인코딩해 두고, 요청마다 달라지는 값만 이어 붙임
+  private static final byte[] NOT_FOUND_PREFIX =
+      "<html><body><h1>404 Not Found</h1><p>The requested URL ".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] NOT_FOUND_SUFFIX =
+      " was not found on this server.</p></body></html>".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] SERVER_ERROR_PREFIX =
+      "<html><body><h1>500 Internal Server Error</h1><p>".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] SERVER_ERROR_SUFFIX = "</p></body></html>".getBytes(StandardCharsets.UTF_8);
+
   public static HttpServletResponse createDefaultResponse() {
     return HttpServletResponse.builder()
         .version("HTTP/1.1")
         .statusCode(200)
         .statusText("OK")
-        .headers(new ArrayList<>())
+        .headers(new HttpHeaders())
         .body("")
         .build();
   }
 
 
   public static void standardizeResponse(HttpServletResponse response) {
+    standardizeHeaders(response);
+
+    // Content-Length 헤더 재설정 (304 는 본문이 없고, 길이를 적으면 캐시된 표현의 길이로 오해됨)
+    response.removeHeaderByName(HttpHeaders.CONTENT_LENGTH);
+    if (response.getStatusCode() == 304) {
+      return;
+    }
+    if (response.getFileBody() != null) {
+      response.addHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(response.getFileBody().getCount()));
+    } else if (response.getBody() != null) {
+      response.addHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(utf8Length(response.getBody())));
+    }
+  }
+
+
+  /**
+   * 응답을 표준화하면서 ETag 를 붙이고 조건부 요청(If-None-Match)을 평가합니다.
+   * 일치하면 본문을 비운 304 로 바꾸므로 폴링 클라이언트는 본문을 다시 받지 않습니다.
+   * @param request 조건부 헤더를 가진 요청
+   * @param mode 핸들러가 ETag 를 붙이지 않은 응답에 자동으로 붙일 ETag 종류
+   */
+  public static void standardizeResponse(HttpServletRequest request, HttpServletResponse response, EntityTagMode mode) {
+    if (isValidatable(request, response)) {
+      String etag = response.getHeader(HttpHeaders.ETAG);
+      if (etag == null && mode != EntityTagMode.NONE) {
+        etag = computeEntityTag(response, mode == EntityTagMode.WEAK);
+        if (etag != null) {
+          response.addHeader(HttpHeaders.ETAG, etag);
+        }
+      }
+      String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+      if (etag != null && ifNoneMatch != null && matchesAny(ifNoneMatch, etag)) {
+        toNotModified(response);
+      }
+    }
+    standardizeResponse(response);
+  }
+
+
+  /**
+   * 본문 해시로 ETag 를 만듭니다.
+   * @return 본문을 메모리에서 읽을 수 없으면(파일 채널 본문) null
+   */
+  public static String computeEntityTag(HttpServletResponse response, boolean weak) {
+    long hash;
+    FileRegion fileBody = response.getFileBody();
+    if (fileBody != null) {
+      ByteBuffer buffer = fileBody.memoryBuffer();
+      if (buffer == null) {
+        return null;
+      }
+      hash = BodyHash.hash(buffer);
+    } else {
+      String body = response.getBody();
+      hash = BodyHash.hash(body == null ? "" : body);
+    }
+    String tag = "\"" + Long.toHexString(hash) + "\"";
+    return weak ? "W/" + tag : tag;
+  }
+
+
+  // If-None-Match 는 약한 비교: W/ 접두어를 무시하고 태그 값만 비교, "*" 는 모든 표현과 일치
+  public static boolean matchesAny(String ifNoneMatch, String etag) {
+    String opaqueTag = stripWeakPrefix(etag);
+    int start = 0;
+    int length = ifNoneMatch.length();
+    while (start < length) {
+      int end = ifNoneMatch.indexOf(',', start);
+      if (end < 0) {
+        end = length;
+      }
+      String candidate = ifNoneMatch.substring(start, end).trim();
+      if (candidate.equals("*") || stripWeakPrefix(candidate).equals(opaqueTag)) {
+        return true;
+      }
+      start = end + 1;
+    }
+    return false;
+  }
+
+
+  // 성공한 GET/HEAD 의 완성된 본문만 검증 대상
+  private static boolean isValidatable(HttpServletRequest request, HttpServletResponse response) {
+    if (response.getStatusCode() != 200 || response.isStreaming()) {
+      return false;
+    }
+    String method = request.getMethod();
+    return "GET".equals(method) || "HEAD".equals(method);
+  }
+
+
+  // 검증자와 캐시 관련 헤더는 남기고 본문만 비움
+  private static void toNotModified(HttpServletResponse response) {
+    response.setStatusCode(304);
+    response.setStatusText("Not Modified");
+    response.setBody("");
+    if (response.getFileBody() != null) {
+      response.getFileBody().release();
+      response.setFileBody(null);
+    }
+    response.removeHeaderByName(HttpHeaders.CONTENT_ENCODING);
+  }
+
+
+  private static String stripWeakPrefix(String tag) {
+    return tag.startsWith("W/") ? tag.substring(2) : tag;
+  }
+
+
+  // 본문 길이와 무관한 기본 헤더 (스트리밍 응답의 헤더 커밋에서도 사용)
+  public static void standardizeHeaders(HttpServletResponse response) {
     // 응답 헤더가 null인 경우 초기화
     if (response.getHeaders() == null) {
-      response.setHeaders(new ArrayList<>());
+      response.setHeaders(new HttpHeaders());
     }
 
     // Content-Type 헤더가 없으면 기본값 설정
-    if (response.getHeaders().stream().noneMatch(h -> h.getName().equalsIgnoreCase("Content-Type"))) {
-      response.addHeader("Content-Type", "text/html; charset=UTF-8");
+    if (response.getHeader(HttpHeaders.CONTENT_TYPE) == null) {
+      response.addHeader(HttpHeaders.CONTENT_TYPE, "text/html; charset=UTF-8");
     }
 
-    // Content-Length 헤더 재설정
-    response.removeHeaderByName("Content-Length");
-    if (response.getBody() != null) {
-      response.addHeader("Content-Length", String.valueOf(response.getBody().getBytes().length));
+    // Server 헤더 추가
+    if (response.getHeader(HttpHeaders.SERVER) == null) {
+      response.addHeader(HttpHeaders.SERVER, "Depth-SimpleServletContainer");
     }
+  }
 
-    // Server 헤더 추가
-    if (response.getHeaders().stream().noneMatch(h -> h.getName().equalsIgnoreCase("Server"))) {
-      response.addHeader("Server", "Depth-SimpleServletContainer");
+
+  // 인코딩 결과 배열을 만들지 않고 UTF-8 바이트 수 계산 (짝이 맞지 않는 서로게이트는 '?' 1바이트로 치환됨)
+  public static long utf8Length(CharSequence text) {
+    long length = 0;
+    int size = text.length();
+    for (int i = 0; i < size; i++) {
+      char c = text.charAt(i);
+      if (c < 0x80) {
+        length += 1;
+      } else if (c < 0x800) {
+        length += 2;
+      } else if (Character.isHighSurrogate(c) && i + 1 < size && Character.isLowSurrogate(text.charAt(i + 1))) {
+        length += 4;
+        i++;
+      } else if (Character.isSurrogate(c)) {
+        length += 1;
+      } else {
+        length += 3;
+      }
     }
+    return length;
+  }
+
+
+  // 문자열 조립 없이 바이트로 직렬화해 기록 (헤더는 풀의 직접 버퍼에 쓰고 본문과 함께 gathering write, 파일 본문은 복사 없이 전송)
+  public static void write(HttpServletResponse response, OutputStream outputStream) throws IOException {
+    HttpResponseEncoder.write(response, outputStream);
   }
 
 
@@ -46,8 +195,7 @@ public class HttpResponseWriter {
     HttpServletResponse response = createDefaultResponse();
     response.setStatusCode(404);
     response.setStatusText("Not Found");
-    response.setBody("<html><body><h1>404 Not Found</h1><p>The requested URL " + path
-        + " was not found on this server.</p></body></html>");
+    setEncodedBody(response, HttpResponseEncoder.concat(NOT_FOUND_PREFIX, String.valueOf(path), NOT_FOUND_SUFFIX));
 
     standardizeResponse(response);
     return response;
@@ -58,7 +206,69 @@ public class HttpResponseWriter {
     HttpServletResponse response = createDefaultResponse();
     response.setStatusCode(500);
     response.setStatusText("Internal Server Error");
-    response.setBody("<html><body><h1>500 Internal Server Error</h1><p>" + errorMessage + "</p></body></html>");
+    setEncodedBody(response,
+        HttpResponseEncoder.concat(SERVER_ERROR_PREFIX, String.valueOf(errorMessage), SERVER_ERROR_SUFFIX));
+
+    standardizeResponse(response);
+    return response;
+  }
+
+
+  // 이미 인코딩된 본문은 문자열로 되돌리지 않고 메모리 영역으로 전송
+  private static void setEncodedBody(HttpServletResponse response, byte[] encodedBody) {
+    response.setBody("");
+    response.setFileBody(FileRegion.ofBytes(encodedBody, 0, encodedBody.length));
+  }
+
+
+  // 본문이 허용 크기를 넘는 요청: 본문을 읽지 않고 거절하므로 연결은 닫음
+  public static HttpServletResponse createPayloadTooLargeResponse(long maxBodySize) {
+    HttpServletResponse response = createDefaultResponse();
+    response.setStatusCode(413);
+    response.setStatusText("Payload Too Large");
+    response.setBody("<html><body><h1>413 Payload Too Large</h1><p>The request body exceeds the limit of "
+        + maxBodySize + " bytes.</p></body></html>");
+    response.addHeader("Connection", "close");
+
+    standardizeResponse(response);
+    return response;
+  }
+
+
+  // 본문 경계가 모호한 요청 (Content-Length 와 Transfer-Encoding 이 함께 오는 등): 다음 요청 위치를 믿을 수 없으므로 연결은 닫음
+  public static HttpServletResponse createBadRequestResponse(String reason) {
+    HttpServletResponse response = createDefaultResponse();
+    response.setStatusCode(400);
+    response.setStatusText("Bad Request");
+    response.setBody("<html><body><h1>400 Bad Request</h1><p>" + reason + "</p></body></html>");
+    response.addHeader("Connection", "close");
+
+    standardizeResponse(response);
+    return response;
+  }
+
+
+  // 지원하지 않는 Transfer-Encoding 본문: 본문을 읽을 수 없으므로 연결은 닫음
+  public static HttpServletResponse createNotImplementedResponse(String feature) {
+    HttpServletResponse response = createDefaultResponse();
+    response.setStatusCode(501);
+    response.setStatusText("Not Implemented");
+    response.setBody("<html><body><h1>501 Not Implemented</h1><p>" + feature + " is not supported.</p></body></html>");
+    response.addHeader("Connection", "close");
+
+    standardizeResponse(response);
+    return response;
+  }
+
+
+  // 과부하로 요청을 처리하지 않을 때의 응답 (연결은 닫음)
+  public static HttpServletResponse createServiceUnavailableResponse(int retryAfterSeconds) {
+    HttpServletResponse response = createDefaultResponse();
+    response.setStatusCode(503);
+    response.setStatusText("Service Unavailable");
+    response.setBody("<html><body><h1>503 Service Unavailable</h1><p>The server is overloaded. Please retry later.</p></body></html>");
+    response.addHeader("Retry-After", String.valueOf(retryAfterSeconds));
+    response.addHeader("Connection", "close");
 
     standardizeResponse(response);
     return response;
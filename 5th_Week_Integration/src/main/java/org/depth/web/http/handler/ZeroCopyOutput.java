@@ -0,0 +1,25 @@
+package org.depth.web.http.handler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 커넥터가 제공하는 복사 없는 출력 경로
+ * 응답 출력 스트림이 이 인터페이스를 구현하면 파일/매핑 버퍼 본문을 힙을 거치지 않고 소켓으로 보낸다.
+ */
+public interface ZeroCopyOutput {
+
+    // 파일 영역을 커널에서 바로 소켓으로 전송 (sendfile)
+    void transferFrom(FileChannel source, long position, long count) throws IOException;
+
+    // 직접/매핑 버퍼를 그대로 소켓에 기록
+    void write(ByteBuffer buffer) throws IOException;
+
+    // 여러 버퍼(헤더 + 본문)를 한 번의 시스템 콜로 기록 (gathering write)
+    default void write(ByteBuffer[] buffers) throws IOException {
+        for (ByteBuffer buffer : buffers) {
+            write(buffer);
+        }
+    }
+}
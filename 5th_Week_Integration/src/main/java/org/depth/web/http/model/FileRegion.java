@@ -0,0 +1,111 @@
+package org.depth.web.http.model;
+
+import lombok.Getter;
+import org.depth.web.http.handler.ZeroCopyOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * 문자열 본문 대신 전송할 파일 영역 (또는 메모리 매핑된 파일 버퍼)
+ * 출력이 ZeroCopyOutput 이면 sendfile/직접 버퍼 쓰기로, 아니면 채널 복사로 전송한다.
+ */
+public class FileRegion {
+    private final FileChannel fileChannel;
+    private final ByteBuffer mappedBuffer;
+    private final long position;
+    @Getter
+    private final long count;
+
+    private FileRegion(FileChannel fileChannel, ByteBuffer mappedBuffer, long position, long count) {
+        this.fileChannel = fileChannel;
+        this.mappedBuffer = mappedBuffer;
+        this.position = position;
+        this.count = count;
+    }
+
+    // 전송이 끝나면 fileChannel 을 닫는다
+    public static FileRegion of(FileChannel fileChannel, long position, long count) {
+        return new FileRegion(fileChannel, null, position, count);
+    }
+
+    // 매핑 버퍼의 [position, position + count) 구간 (버퍼 자체는 공유되므로 복제해서 사용)
+    public static FileRegion mapped(ByteBuffer mappedBuffer, long position, long count) {
+        return new FileRegion(null, mappedBuffer, position, count);
+    }
+
+    // 메모리에 있는 바이트 배열 구간 (압축된 본문 등)
+    public static FileRegion ofBytes(byte[] bytes, int offset, int length) {
+        return new FileRegion(null, ByteBuffer.wrap(bytes), offset, length);
+    }
+
+    // HEAD 응답용: Content-Length 로 길이만 알리고 본문은 보내지 않음
+    public static FileRegion lengthOnly(long count) {
+        return new FileRegion(null, null, 0, count);
+    }
+
+    // 메모리(매핑/배열) 본문이면 전송할 구간의 버퍼, 파일 채널 본문이면 null
+    public ByteBuffer memoryBuffer() {
+        if (mappedBuffer == null) {
+            return null;
+        }
+        ByteBuffer slice = mappedBuffer.duplicate();
+        slice.position((int) position).limit((int) (position + count));
+        return slice;
+    }
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        try {
+            if (mappedBuffer != null) {
+                writeMapped(outputStream);
+            } else if (fileChannel != null) {
+                writeFile(outputStream);
+            }
+        } finally {
+            release();
+        }
+    }
+
+    private void writeMapped(OutputStream outputStream) throws IOException {
+        ByteBuffer slice = memoryBuffer();
+        if (outputStream instanceof ZeroCopyOutput zeroCopyOutput) {
+            zeroCopyOutput.write(slice);
+        } else {
+            WritableByteChannel target = Channels.newChannel(outputStream);
+            while (slice.hasRemaining()) {
+                target.write(slice);
+            }
+        }
+    }
+
+    private void writeFile(OutputStream outputStream) throws IOException {
+        if (outputStream instanceof ZeroCopyOutput zeroCopyOutput) {
+            zeroCopyOutput.transferFrom(fileChannel, position, count);
+            return;
+        }
+        WritableByteChannel target = Channels.newChannel(outputStream);
+        long transferred = 0;
+        while (transferred < count) {
+            long written = fileChannel.transferTo(position + transferred, count - transferred, target);
+            if (written <= 0) {
+                throw new IOException("File truncated during transfer");
+            }
+            transferred += written;
+        }
+    }
+
+    // 응답이 기록되지 않은 경우에도 파일 핸들을 반납
+    public void release() {
+        if (fileChannel != null && fileChannel.isOpen()) {
+            try {
+                fileChannel.close();
+            } catch (IOException ignored) {
+                // 닫기 실패는 무시
+            }
+        }
+    }
+}
@@ -4,6 +4,8 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.nio.charset.StandardCharsets;
+
 @RequiredArgsConstructor
 @Builder
 @Getter
@@ -14,4 +16,34 @@ public class HttpHeader {
     public static HttpHeader of(String name, String value) {
         return new HttpHeader(name, value);
     }
+
+    // 원본 바이트 구간을 참조만 하고 값은 처음 조회될 때 디코딩하는 헤더 (파서용, source 는 이후 변경되면 안 됨)
+    public static HttpHeader lazy(String name, byte[] source, int offset, int length) {
+        return new LazyValueHttpHeader(name, source, offset, length);
+    }
+
+    private static final class LazyValueHttpHeader extends HttpHeader {
+        private final byte[] source;
+        private final int offset;
+        private final int length;
+        private String decodedValue;
+
+        private LazyValueHttpHeader(String name, byte[] source, int offset, int length) {
+            super(name, null);
+            this.source = source;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public String getValue() {
+            // 경합 시 같은 값을 두 번 디코딩할 수 있을 뿐 결과는 같음
+            String value = decodedValue;
+            if (value == null) {
+                value = new String(source, offset, length, StandardCharsets.UTF_8);
+                decodedValue = value;
+            }
+            return value;
+        }
+    }
 }
@@ -0,0 +1,351 @@
+package org.depth.web.http.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * 이름 색인을 가진 헤더 목록
+ * 삽입 순서대로 순회하는 List 이면서, 이름(대소문자 무시)으로 첫 값/전체 값을 상수 시간에 찾는다.
+ * - 자주 쓰는 헤더는 고정 슬롯 배열로 바로 찾고, 그 외 이름은 대소문자 무시 해시로 만든 개방 주소 표에서 찾음
+ * - 같은 이름의 헤더는 next 배열로 연결해 다중 값을 순서대로 돌려줌
+ * - 헤더 이름 상수를 공유해 요청마다 같은 이름 문자열을 새로 만들지 않음
+ * 추가는 색인을 이어서 갱신하고, 삭제/교체처럼 드문 변경은 색인을 다시 만든다.
+ */
+public class HttpHeaders extends AbstractList<HttpHeader> implements RandomAccess {
+    public static final String HOST = "Host";
+    public static final String CONNECTION = "Connection";
+    public static final String CONTENT_LENGTH = "Content-Length";
+    public static final String CONTENT_TYPE = "Content-Type";
+    public static final String CONTENT_ENCODING = "Content-Encoding";
+    public static final String TRANSFER_ENCODING = "Transfer-Encoding";
+    public static final String EXPECT = "Expect";
+    public static final String COOKIE = "Cookie";
+    public static final String SET_COOKIE = "Set-Cookie";
+    public static final String SERVER = "Server";
+    public static final String ACCEPT_ENCODING = "Accept-Encoding";
+    public static final String VARY = "Vary";
+    public static final String ETAG = "ETag";
+    public static final String IF_NONE_MATCH = "If-None-Match";
+
+    private static final String[] WELL_KNOWN_NAMES = {
+            HOST, CONNECTION, CONTENT_LENGTH, CONTENT_TYPE, CONTENT_ENCODING, TRANSFER_ENCODING, EXPECT,
+            COOKIE, SET_COOKIE, SERVER, ACCEPT_ENCODING, VARY, ETAG, IF_NONE_MATCH,
+            "Accept", "Accept-Language", "Accept-Charset", "User-Agent", "Referer", "Origin",
+            "Authorization", "Cache-Control", "Pragma", "Upgrade", "Range", "If-Range",
+            "If-Modified-Since", "If-Match", "If-Unmodified-Since", "Keep-Alive",
+            "X-Forwarded-For", "X-Forwarded-Proto", "X-Requested-With",
+            "Date", "Last-Modified", "Location", "Allow", "Retry-After", "Accept-Ranges", "Content-Range"
+    };
+    private static final int WELL_KNOWN_COUNT = WELL_KNOWN_NAMES.length;
+    // 상수 문자열 그대로 조회하면 해시 계산 없이 참조로 슬롯을 찾음
+    private static final Map<String, Integer> WELL_KNOWN_IDS = new IdentityHashMap<>();
+    // 대소문자가 다른 이름으로 조회할 때 쓰는 표 (id + 1, 0 은 빈 칸)
+    private static final int[] WELL_KNOWN_TABLE = new int[128];
+
+    static {
+        for (int id = 0; id < WELL_KNOWN_COUNT; id++) {
+            String name = WELL_KNOWN_NAMES[id];
+            WELL_KNOWN_IDS.put(name, id);
+            int slot = hashIgnoreCase(name) & (WELL_KNOWN_TABLE.length - 1);
+            while (WELL_KNOWN_TABLE[slot] != 0) {
+                slot = (slot + 1) & (WELL_KNOWN_TABLE.length - 1);
+            }
+            WELL_KNOWN_TABLE[slot] = id + 1;
+        }
+    }
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int INITIAL_CUSTOM_SLOTS = 8;
+
+    private HttpHeader[] entries = new HttpHeader[INITIAL_CAPACITY];
+    private int size = 0;
+    // 같은 이름의 다음 헤더 위치 (-1 이면 마지막)
+    private int[] next = new int[INITIAL_CAPACITY];
+
+    // 이름 키별 첫/마지막 헤더 위치: [0, WELL_KNOWN_COUNT) 는 자주 쓰는 헤더, 이후는 사용자 이름의 개방 주소 슬롯
+    private int[] first;
+    private int[] last;
+    private int customSlots;
+    private int customCount = 0;
+
+    public HttpHeaders() {
+        initIndex(INITIAL_CUSTOM_SLOTS);
+    }
+
+    public HttpHeaders(Collection<? extends HttpHeader> headers) {
+        this();
+        for (HttpHeader header : headers) {
+            add(header);
+        }
+    }
+
+    // 이미 HttpHeaders 이면 그대로, 아니면 색인을 만든 사본 (null 은 null)
+    public static HttpHeaders of(List<HttpHeader> headers) {
+        if (headers == null || headers instanceof HttpHeaders) {
+            return (HttpHeaders) headers;
+        }
+        return new HttpHeaders(headers);
+    }
+
+    // 자주 쓰는 헤더 이름 (파서가 이름 문자열을 공유하는 데 사용)
+    public static List<String> wellKnownNames() {
+        return List.of(WELL_KNOWN_NAMES);
+    }
+
+    // 표준 표기와 정확히 같은 이름이면 공유 상수를 반환
+    public static String canonicalName(String name) {
+        int id = wellKnownId(name);
+        return id >= 0 && WELL_KNOWN_NAMES[id].equals(name) ? WELL_KNOWN_NAMES[id] : name;
+    }
+
+    @Override
+    public HttpHeader get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return entries[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(HttpHeader header) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+            next = Arrays.copyOf(next, size * 2);
+        }
+        entries[size] = header;
+        next[size] = -1;
+        link(size);
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, HttpHeader header) {
+        if (index == size) {
+            add(header);
+            return;
+        }
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        add(header);
+        System.arraycopy(entries, index, entries, index + 1, size - 1 - index);
+        entries[index] = header;
+        reindex();
+    }
+
+    @Override
+    public HttpHeader set(int index, HttpHeader header) {
+        HttpHeader previous = get(index);
+        entries[index] = header;
+        reindex();
+        return previous;
+    }
+
+    @Override
+    public HttpHeader remove(int index) {
+        HttpHeader removed = get(index);
+        System.arraycopy(entries, index + 1, entries, index, size - index - 1);
+        entries[--size] = null;
+        modCount++;
+        reindex();
+        return removed;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super HttpHeader> filter) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!filter.test(entries[i])) {
+                entries[kept++] = entries[i];
+            }
+        }
+        if (kept == size) {
+            return false;
+        }
+        Arrays.fill(entries, kept, size, null);
+        size = kept;
+        modCount++;
+        reindex();
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(entries, 0, size, null);
+        size = 0;
+        modCount++;
+        initIndex(INITIAL_CUSTOM_SLOTS);
+    }
+
+    public void add(String name, String value) {
+        add(HttpHeader.of(canonicalName(name), value));
+    }
+
+    // 같은 이름의 헤더를 모두 지우고 하나로 설정
+    public void setValue(String name, String value) {
+        removeByName(name);
+        add(name, value);
+    }
+
+    /**
+     * 이름이 일치하는(대소문자 무시) 첫 번째 헤더 값을 반환합니다.
+     * @param name 헤더 이름
+     * @return 헤더 값 (없으면 null)
+     */
+    public String getValue(String name) {
+        int position = firstPosition(name);
+        return position < 0 ? null : entries[position].getValue();
+    }
+
+    // 이름이 일치하는 모든 헤더 값 (삽입 순서)
+    public List<String> getValues(String name) {
+        List<String> values = new ArrayList<>(1);
+        for (int position = firstPosition(name); position >= 0; position = next[position]) {
+            values.add(entries[position].getValue());
+        }
+        return values;
+    }
+
+    public boolean containsName(String name) {
+        return firstPosition(name) >= 0;
+    }
+
+    // 이름이 일치하는 헤더를 모두 제거 (없으면 색인을 건드리지 않음)
+    public boolean removeByName(String name) {
+        if (firstPosition(name) < 0) {
+            return false;
+        }
+        return removeIf(header -> header.getName().equalsIgnoreCase(name));
+    }
+
+    private int firstPosition(String name) {
+        int key = findKey(name);
+        return key < 0 ? -1 : first[key];
+    }
+
+    // 이름의 색인 키 (없는 사용자 이름이면 -1)
+    private int findKey(String name) {
+        int id = wellKnownId(name);
+        if (id >= 0) {
+            return id;
+        }
+        int mask = customSlots - 1;
+        for (int slot = hashIgnoreCase(name) & mask; ; slot = (slot + 1) & mask) {
+            int head = first[WELL_KNOWN_COUNT + slot];
+            if (head < 0) {
+                return -1;
+            }
+            if (entries[head].getName().equalsIgnoreCase(name)) {
+                return WELL_KNOWN_COUNT + slot;
+            }
+        }
+    }
+
+    // 새로 추가된 위치를 이름별 연결에 이어 붙임
+    private void link(int position) {
+        String name = entries[position].getName();
+        int key = wellKnownId(name);
+        if (key < 0) {
+            if ((customCount + 1) * 2 > customSlots) {
+                // 사용자 이름이 많아지면 표를 키워 탐색 길이를 짧게 유지
+                rebuildIndex(customSlots * 2, position);
+            }
+            key = customKeyForInsert(name);
+        }
+        if (first[key] < 0) {
+            first[key] = position;
+            if (key >= WELL_KNOWN_COUNT) {
+                customCount++;
+            }
+        } else {
+            next[last[key]] = position;
+        }
+        last[key] = position;
+    }
+
+    private int customKeyForInsert(String name) {
+        int mask = customSlots - 1;
+        for (int slot = hashIgnoreCase(name) & mask; ; slot = (slot + 1) & mask) {
+            int head = first[WELL_KNOWN_COUNT + slot];
+            if (head < 0 || entries[head].getName().equalsIgnoreCase(name)) {
+                return WELL_KNOWN_COUNT + slot;
+            }
+        }
+    }
+
+    private void reindex() {
+        rebuildIndex(INITIAL_CUSTOM_SLOTS, size);
+    }
+
+    // [0, count) 위치의 헤더로 색인을 다시 만듦
+    private void rebuildIndex(int slots, int count) {
+        int customNames = 0;
+        initIndex(slots);
+        for (int i = 0; i < count; i++) {
+            next[i] = -1;
+            if (wellKnownId(entries[i].getName()) < 0) {
+                customNames++;
+            }
+        }
+        if (customNames * 2 > customSlots) {
+            initIndex(Integer.highestOneBit(customNames * 4 - 1));
+        }
+        for (int i = 0; i < count; i++) {
+            link(i);
+        }
+    }
+
+    private void initIndex(int slots) {
+        customSlots = slots;
+        customCount = 0;
+        first = new int[WELL_KNOWN_COUNT + slots];
+        last = new int[WELL_KNOWN_COUNT + slots];
+        Arrays.fill(first, -1);
+    }
+
+    private static int wellKnownId(String name) {
+        Integer id = WELL_KNOWN_IDS.get(name);
+        if (id != null) {
+            return id;
+        }
+        int mask = WELL_KNOWN_TABLE.length - 1;
+        for (int slot = hashIgnoreCase(name) & mask; WELL_KNOWN_TABLE[slot] != 0; slot = (slot + 1) & mask) {
+            int candidate = WELL_KNOWN_TABLE[slot] - 1;
+            if (WELL_KNOWN_NAMES[candidate].equalsIgnoreCase(name)) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+
+    // equalsIgnoreCase 와 같은 규칙의 해시 (헤더 이름은 대부분 ASCII 라 빠른 경로 사용)
+    private static int hashIgnoreCase(String name) {
+        int hash = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < 0x80) {
+                if (c >= 'A' && c <= 'Z') {
+                    c += 'a' - 'A';
+                }
+            } else {
+                c = Character.toLowerCase(Character.toUpperCase(c));
+            }
+            hash = 31 * hash + c;
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
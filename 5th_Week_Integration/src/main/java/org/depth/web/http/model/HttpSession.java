@@ -1,25 +1,43 @@
 package org.depth.web.http.model;
 
 import lombok.Getter;
-import lombok.Setter;
 import org.depth.web.container.listener.SessionListener;
+import org.depth.web.container.session.OffHeapSessionAttributes;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 public class HttpSession {
     @Getter
     private final String id;
     
-    @Getter
-    @Setter
-    private Instant expireTime;
+    // 만료 시각 (System.nanoTime 기준, 벽시계 변경에 영향받지 않음)
+    private volatile long expiresAtNanos;
+
+    // 비활성 허용 시간 (나노초)
+    private volatile long maxInactiveIntervalNanos = TimeUnit.SECONDS.toNanos(DEFAULT_MAX_INACTIVE_INTERVAL);
     
     private final Map<String, Object> attributes = new HashMap<>();
+
+    // 속성이 차지하는 대략의 바이트 수 (세션 저장소의 메모리 예산 계산용)
+    private volatile long attributesSize;
+
+    // setAttribute/removeAttribute 횟수 (세션 로그가 바뀐 세션만 다시 쓰는 데 사용)
+    private volatile long modificationCount;
+
+    // 속성을 힙 밖에 둘 때의 저장소 (null 이면 attributes 맵 사용)
+    private volatile OffHeapSessionAttributes offHeapAttributes;
     
     private List<SessionListener> listeners = new ArrayList<>();
     
     private static final long DEFAULT_MAX_INACTIVE_INTERVAL = 30 * 60;
+
+    // 크기 추정에 쓰는 고정값 (바이트): 세션 자체(ID, 맵, 리스너 목록), 맵 항목 하나, 알 수 없는 객체
+    private static final long SESSION_OVERHEAD = 400;
+    private static final long ENTRY_OVERHEAD = 48;
+    private static final long DEFAULT_OBJECT_SIZE = 64;
     
     public HttpSession() {
         this.id = UUID.randomUUID().toString();
@@ -33,17 +51,93 @@ public class HttpSession {
     
     // 세션 만료 시간 리셋
     public void resetExpireTime() {
-        this.expireTime = Instant.now().plusSeconds(DEFAULT_MAX_INACTIVE_INTERVAL);
+        resetExpireTime(System.nanoTime());
+    }
+
+    /**
+     * 세션 만료 시간을 리셋합니다. (필드 하나만 쓰므로 O(1), 만료 타이머는 만료 시점에 새 시각을 확인)
+     * @param nowNanos 현재 System.nanoTime 값
+     */
+    public void resetExpireTime(long nowNanos) {
+        this.expiresAtNanos = nowNanos + maxInactiveIntervalNanos;
     }
     
     // 세션 만료 여부 확인
     public boolean isExpired() {
-        return Instant.now().isAfter(expireTime);
+        return isExpired(System.nanoTime());
+    }
+
+    public boolean isExpired(long nowNanos) {
+        return nowNanos - expiresAtNanos > 0;
+    }
+
+    // 만료 시각 (System.nanoTime 기준)
+    public long getExpiresAtNanos() {
+        return expiresAtNanos;
+    }
+
+    // 만료 시각 (벽시계 기준으로 환산)
+    public Instant getExpireTime() {
+        return Instant.now().plusNanos(expiresAtNanos - System.nanoTime());
+    }
+
+    public void setExpireTime(Instant expireTime) {
+        this.expiresAtNanos = System.nanoTime() + Duration.between(Instant.now(), expireTime).toNanos();
+    }
+
+    public Duration getMaxInactiveInterval() {
+        return Duration.ofNanos(maxInactiveIntervalNanos);
+    }
+
+    // 비활성 허용 시간을 바꾸고 만료 시간을 그 기준으로 리셋
+    public void setMaxInactiveInterval(Duration maxInactiveInterval) {
+        this.maxInactiveIntervalNanos = maxInactiveInterval.toNanos();
+        resetExpireTime();
+    }
+    
+    /**
+     * 이후 속성을 힙 밖에 직렬화해 두도록 바꿉니다. (이미 있는 속성도 옮김)
+     * 이 모드에서는 속성 값이 Serializable 이어야 하며, 요청이 끝날 때 flushAttributes 로 되돌려 써야 합니다.
+     */
+    public void useOffHeapAttributes(OffHeapSessionAttributes offHeapAttributes) {
+        for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+            offHeapAttributes.put(entry.getKey(), entry.getValue());
+        }
+        offHeapAttributes.flush();
+        attributes.clear();
+        attributesSize = 0;
+        this.offHeapAttributes = offHeapAttributes;
+    }
+
+    // 힙 밖 속성 저장소 (힙 속성 모드면 null)
+    public OffHeapSessionAttributes getOffHeapAttributes() {
+        return offHeapAttributes;
+    }
+
+    // 요청 중 풀어 둔 속성을 힙 밖에 되돌려 씀 (힙 속성 모드면 아무것도 하지 않음)
+    public void flushAttributes() {
+        OffHeapSessionAttributes offHeap = offHeapAttributes;
+        if (offHeap != null) {
+            offHeap.flush();
+        }
     }
     
     // 세션 속성 설정
     public void setAttribute(String name, Object value) {
+        modificationCount++;
+        OffHeapSessionAttributes offHeap = offHeapAttributes;
+        if (offHeap != null) {
+            if (offHeap.put(name, value) != value) {
+                notifyAttributeAdded(name, value);
+            }
+            return;
+        }
         Object oldValue = attributes.put(name, value);
+        if (oldValue != null) {
+            attributesSize += estimateSize(value) - estimateSize(oldValue);
+        } else {
+            attributesSize += estimateSize(name) + ENTRY_OVERHEAD + estimateSize(value);
+        }
         
         if (oldValue != value) {
             notifyAttributeAdded(name, value);
@@ -52,28 +146,100 @@ public class HttpSession {
     
     // 세션 속성 조회
     public Object getAttribute(String name) {
+        OffHeapSessionAttributes offHeap = offHeapAttributes;
+        if (offHeap != null) {
+            return offHeap.get(name);
+        }
         return attributes.get(name);
     }
     
     // 세션 속성 제거
     public void removeAttribute(String name) {
+        modificationCount++;
+        OffHeapSessionAttributes offHeap = offHeapAttributes;
+        if (offHeap != null) {
+            if (offHeap.remove(name) != null) {
+                notifyAttributeRemoved(name);
+            }
+            return;
+        }
         if (attributes.containsKey(name)) {
-            attributes.remove(name);
+            Object oldValue = attributes.remove(name);
+            attributesSize -= estimateSize(name) + ENTRY_OVERHEAD + estimateSize(oldValue);
             notifyAttributeRemoved(name);
         }
     }
     
     // 모든 세션 속성 반환
     public Map<String, Object> getAttributes() {
+        OffHeapSessionAttributes offHeap = offHeapAttributes;
+        if (offHeap != null) {
+            return offHeap.snapshot();
+        }
         return new HashMap<>(attributes);
     }
     
     // 세션 무효화
     public void invalidate() {
+        OffHeapSessionAttributes offHeap = offHeapAttributes;
+        if (offHeap != null) {
+            // 힙 밖 메모리 반환
+            offHeap.clear();
+        }
         attributes.clear();
+        attributesSize = 0;
         notifySessionInvalidated();
     }
     
+    // 속성이 바뀐 횟수 (제자리에서 바뀐 속성 값은 세지 않음)
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * 세션이 차지하는 대략의 바이트 수를 반환합니다.
+     * 속성 값은 넣을 때의 크기로 계산하므로, 넣은 뒤 내용이 바뀐 컬렉션 등은 다시 setAttribute 해야 반영됩니다.
+     */
+    public long getEstimatedSize() {
+        OffHeapSessionAttributes offHeap = offHeapAttributes;
+        if (offHeap != null) {
+            // 힙 밖에 쓴 바이트 (요청 중 풀어 둔 사본은 요청이 끝나면 버려짐)
+            return SESSION_OVERHEAD + offHeap.getStoredLength();
+        }
+        return SESSION_OVERHEAD + attributesSize;
+    }
+
+    // 속성 값의 대략의 크기 (문자열/배열은 길이, 컬렉션은 원소 합, 그 밖의 객체는 고정값)
+    private static long estimateSize(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof CharSequence text) {
+            return 40 + 2L * text.length();
+        }
+        if (value instanceof byte[] bytes) {
+            return 16 + bytes.length;
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof Enum<?>) {
+            return 16;
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = 32;
+            for (Object element : collection) {
+                size += 8 + estimateSize(element);
+            }
+            return size;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = 48;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += ENTRY_OVERHEAD + estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+            }
+            return size;
+        }
+        return DEFAULT_OBJECT_SIZE;
+    }
+
     // 세션 리스너 추가
     public void addSessionListener(SessionListener listener) {
         listeners.add(listener);
@@ -0,0 +1,82 @@
+package org.depth.web.http.model;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Content-Length 만큼만 읽도록 제한된 요청 본문 스트림
+ * 서블릿이 실제로 읽을 때까지 본문은 소켓(또는 임시 파일)에 남아 있어 업로드 크기와 무관하게 메모리 사용이 일정하다.
+ * 원본 스트림은 연결이 소유하므로 close 해도 닫지 않는다.
+ */
+public class RequestBodyInputStream extends InputStream {
+    private static final int DISCARD_BUFFER_SIZE = 8192;
+
+    private final InputStream source;
+    @Getter
+    private final long length;
+    @Getter
+    private long remaining;
+
+    public RequestBodyInputStream(InputStream source, long length) {
+        this.source = source;
+        this.length = length;
+        this.remaining = length;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (remaining <= 0) {
+            return -1;
+        }
+        int b = source.read();
+        if (b < 0) {
+            throw new IOException("Unexpected end of request body: " + remaining + " bytes missing");
+        }
+        remaining--;
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (remaining <= 0) {
+            return -1;
+        }
+        int read = source.read(b, off, (int) Math.min(len, remaining));
+        if (read < 0) {
+            throw new IOException("Unexpected end of request body: " + remaining + " bytes missing");
+        }
+        remaining -= read;
+        return read;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(source.available(), remaining);
+    }
+
+    /**
+     * 서블릿이 읽지 않은 본문을 버려 다음 요청 위치로 이동합니다.
+     * @param maxBytes 버릴 수 있는 최대 바이트 수
+     * @return 남은 본문을 모두 버렸으면 true, 너무 커서 포기했으면 false (연결을 닫아야 함)
+     */
+    public boolean discardRemaining(long maxBytes) throws IOException {
+        if (remaining > maxBytes) {
+            return false;
+        }
+        byte[] buffer = new byte[(int) Math.min(DISCARD_BUFFER_SIZE, Math.max(1, remaining))];
+        while (remaining > 0) {
+            read(buffer, 0, buffer.length);
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        // 원본은 커넥터가 관리
+    }
+}
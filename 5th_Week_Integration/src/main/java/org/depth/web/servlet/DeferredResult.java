@@ -0,0 +1,70 @@
+package org.depth.web.servlet;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 나중에 다른 스레드가 값을 채우는 핸들러 반환값
+ * 핸들러가 이 객체를 반환하면 워커 스레드는 바로 반환되고, setResult/setErrorResult 를 호출한 스레드에서 응답이 완성된다.
+ * 시간 제한 안에 값이 채워지지 않으면 timeoutResult 를 응답으로 쓰거나(지정한 경우) 503 으로 응답한다.
+ */
+public class DeferredResult<T> {
+    private final Long timeoutMillis;
+    private final Object timeoutResult;
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+    private volatile Runnable timeoutCallback;
+
+    // DispatcherServlet 의 기본 시간 제한 사용
+    public DeferredResult() {
+        this(null, null);
+    }
+
+    public DeferredResult(Long timeoutMillis) {
+        this(timeoutMillis, null);
+    }
+
+    /**
+     * @param timeoutMillis 결과를 기다릴 최대 시간 (null 이면 DispatcherServlet 기본값)
+     * @param timeoutResult 시간 초과 시 응답으로 쓸 값 (null 이면 503)
+     */
+    public DeferredResult(Long timeoutMillis, Object timeoutResult) {
+        this.timeoutMillis = timeoutMillis;
+        this.timeoutResult = timeoutResult;
+    }
+
+    // 결과를 설정 (이미 설정되었거나 시간이 초과되었으면 false)
+    public boolean setResult(T result) {
+        return future.complete(result);
+    }
+
+    public boolean setErrorResult(Throwable error) {
+        return future.completeExceptionally(error);
+    }
+
+    public boolean isSetOrExpired() {
+        return future.isDone();
+    }
+
+    // 시간 초과 시 호출될 작업 (외부 작업 취소 등)
+    public void onTimeout(Runnable callback) {
+        this.timeoutCallback = callback;
+    }
+
+    Long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    Object getTimeoutResult() {
+        return timeoutResult;
+    }
+
+    CompletableFuture<T> future() {
+        return future;
+    }
+
+    // 시간이 초과되면 이후 setResult 가 무시되도록 닫고 콜백 실행
+    void expire() {
+        if (future.cancel(false) && timeoutCallback != null) {
+            timeoutCallback.run();
+        }
+    }
+}
@@ -1,23 +1,57 @@
 package org.depth.web.servlet;
 
-import com.google.gson.Gson;
+import lombok.Getter;
 import lombok.Setter;
 import lombok.SneakyThrows;
 import org.depth.beans.BeanDefinition;
 import org.depth.beans.factory.exception.BeansException;
 import org.depth.web.annotation.Controller;
 import org.depth.web.annotation.RequestMapping;
+import org.depth.web.annotation.ResponseCache;
 import org.depth.web.context.GenericWebApplicationContext;
 import org.depth.web.http.handler.HttpResponseWriter;
+import org.depth.web.servlet.cache.CachedResponse;
+import org.depth.web.servlet.cache.ResponseCacheStore;
+import org.depth.web.servlet.codec.GsonResponseBodyCodec;
+import org.depth.web.servlet.codec.ResponseBodyCodec;
+import org.depth.web.servlet.http.AsyncContext;
 import org.depth.web.servlet.http.HttpServlet;
 import org.depth.web.servlet.http.HttpServletRequest;
 import org.depth.web.servlet.http.HttpServletResponse;
 
 import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 public class DispatcherServlet extends HttpServlet {
+    // 이 원소 수 이상인 컬렉션은 문자열로 만들지 않고 연결로 바로 스트리밍
+    private static final int STREAMING_COLLECTION_SIZE = 512;
+
     private final RequestHandlerMapping requestHandlerMapping = new RequestHandlerMapping();
 
+    // 핸들러 반환값의 직렬화 방식 (기본: 공유 Gson 코덱)
+    @Setter
+    private ResponseBodyCodec responseBodyCodec = GsonResponseBodyCodec.shared();
+
+    // 캐시 미스를 다른 요청이 채우는 동안 기다릴 최대 시간 (넘으면 직접 핸들러 실행)
+    private static final long CACHE_LOAD_WAIT_MILLIS = 10_000;
+    private static final long DEFAULT_RESPONSE_CACHE_WEIGHT = 64L * 1024 * 1024;
+
+    // @ResponseCache 핸들러의 응답 저장소 (null 이면 캐시하지 않음, 무효화는 getResponseCacheStore 로)
+    @Getter
+    @Setter
+    private ResponseCacheStore responseCacheStore = new ResponseCacheStore(DEFAULT_RESPONSE_CACHE_WEIGHT);
+
+    // 비동기 핸들러(CompletableFuture/DeferredResult) 결과를 기다릴 기본 시간 (밀리초, 0 이하면 무제한)
+    @Setter
+    private long asyncTimeoutMillis = 30_000;
+
     @Setter
     private GenericWebApplicationContext webApplicationContext;
 
@@ -80,7 +114,12 @@ public class DispatcherServlet extends HttpServlet {
 
                         method.setAccessible(true); // private 메서드 접근 허용
 
-                        this.requestHandlerMapping.addHandler(path, httpMethod, controllerBean, method);
+                        try {
+                            this.requestHandlerMapping.addHandler(path, httpMethod, controllerBean, method);
+                        } catch (IllegalArgumentException e) {
+                            System.err.println("DispatcherServlet WARN: Cannot map " + originalBeanClass.getName() + "." + method.getName() + ". Skipping. Error: " + e.getMessage());
+                            continue;
+                        }
                         System.out.println("DispatcherServlet INFO: Mapped HTTP " + httpMethod + " [" + path + "] onto " + originalBeanClass.getName() + "." + method.getName());
                     }
                 }
@@ -91,74 +130,214 @@ public class DispatcherServlet extends HttpServlet {
     @Override
     @SneakyThrows // Lombok 어노테이션으로 checked exception을 uncheck으로 변환 (실제로는 try-catch 권장)
     protected void service(HttpServletRequest request, HttpServletResponse response) {
-        RequestHandlerMapping.RequestHandlerMappingItem foundHandler = null;
-        try {
-            foundHandler = requestHandlerMapping.matchByPath(request.getPath(), request.getMethod());
-        } catch (IllegalArgumentException e) {
-            if (e.getMessage() != null && e.getMessage().startsWith("Method not allowed")) {
-                response.setStatusCode(405);
-                response.setStatusText("Method Not Allowed");
-                response.setBody("<html><body><h1>405 Method Not Allowed</h1><p>" + e.getMessage() + "</p></body></html>");
-            } else {
-                response.setStatusCode(404);
-                response.setStatusText("Not Found");
-                response.setBody("<html><body><h1>404 Not Found</h1><p>No handler found for " + request.getMethod() + " " + request.getPath() + "</p></body></html>");
-            }
-            HttpResponseWriter.standardizeResponse(response);
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            writeAsyncResult(request, response);
             return;
         }
 
-        if (foundHandler == null) {
+        RequestHandlerMapping.Route route = requestHandlerMapping.findRoute(request.getPath());
+        if (route == null) {
             response.setStatusCode(404);
             response.setStatusText("Not Found");
-            response.setBody("<html><body><h1>404 Not Found - Handler not resolved</h1></body></html>");
+            response.setBody("<html><body><h1>404 Not Found</h1><p>No handler found for " + request.getMethod() + " " + request.getPath() + "</p></body></html>");
             HttpResponseWriter.standardizeResponse(response);
             return;
         }
 
-        Object controller = foundHandler.getController();
-        Method methodToCall = foundHandler.getMethodToCall();
-        Object invokeResponse;
+        RequestHandlerMapping.RequestHandlerMappingItem foundHandler = route.getHandler(request.getMethod());
+        if (foundHandler == null) {
+            // 경로는 있지만 메서드가 등록되지 않음: 허용 메서드를 Allow 로 알림
+            response.setStatusCode(405);
+            response.setStatusText("Method Not Allowed");
+            response.addHeader("Allow", route.getAllowedMethods());
+            response.setBody("<html><body><h1>405 Method Not Allowed</h1><p>Method not allowed: " + request.getMethod() + "</p></body></html>");
+            HttpResponseWriter.standardizeResponse(response);
+            return;
+        }
+
+        if (route.hasPathVariables()) {
+            request.setRequestAttribute(RequestHandlerMapping.PATH_VARIABLES_ATTRIBUTE, route.extractPathVariables(request.getPath()));
+        }
+
+        HandlerInvoker invoker = foundHandler.getInvoker();
+        ResponseCache cachePolicy = foundHandler.getResponseCache();
+        if (cachePolicy != null && responseCacheStore != null && "GET".equals(request.getMethod())) {
+            serveCached(request, response, invoker, cachePolicy);
+            return;
+        }
+        invokeAndWrite(request, response, invoker);
+    }
 
+    private void invokeAndWrite(HttpServletRequest request, HttpServletResponse response, HandlerInvoker invoker) throws Exception {
+        Object invokeResponse;
         try {
-            if (methodToCall.getParameterCount() == 2 &&
-                    methodToCall.getParameterTypes()[0].isAssignableFrom(HttpServletRequest.class) &&
-                    methodToCall.getParameterTypes()[1].isAssignableFrom(HttpServletResponse.class)) {
-                invokeResponse = methodToCall.invoke(controller, request, response);
-            } else if (methodToCall.getParameterCount() == 0) {
-                invokeResponse = methodToCall.invoke(controller);
+            invokeResponse = invoker.invoke(request, response);
+        } catch (Exception e) {
+            writeFailure(request, response, e);
+            return;
+        }
+
+        if (invokeResponse instanceof CompletionStage<?> || invokeResponse instanceof DeferredResult<?>) {
+            // 워커를 반환하고, 값이 준비되면 그 스레드에서 ASYNC 로 다시 들어와 응답을 씀
+            startAsync(request, invokeResponse);
+            return;
+        }
+        writeResult(request, response, invoker.returnsValue() ? invokeResponse : null);
+    }
+
+    /**
+     * 캐시된 응답이 있으면 핸들러를 실행하지 않고 그대로 씁니다.
+     * 미스면 같은 키의 동시 요청 중 하나만 핸들러를 실행해 저장하고, 나머지는 그 결과를 받아 씁니다.
+     * (비동기 결과나 200 이 아닌 응답은 저장하지 않음)
+     */
+    private void serveCached(HttpServletRequest request, HttpServletResponse response, HandlerInvoker invoker,
+                             ResponseCache cachePolicy) throws Exception {
+        String key = cacheKey(request, cachePolicy);
+        CachedResponse cached = responseCacheStore.get(key);
+        if (cached == null) {
+            CompletableFuture<CachedResponse> load = responseCacheStore.beginLoad(key);
+            if (load == null) {
+                CachedResponse loaded = null;
+                try {
+                    invokeAndWrite(request, response, invoker);
+                    if (!request.isAsyncStarted()) {
+                        loaded = CachedResponse.capture(response);
+                    }
+                } finally {
+                    responseCacheStore.completeLoad(key, request.getPath(), loaded,
+                            TimeUnit.SECONDS.toMillis(cachePolicy.ttlSeconds()));
+                }
+                return;
+            }
+            cached = ResponseCacheStore.await(load, CACHE_LOAD_WAIT_MILLIS);
+            if (cached == null) {
+                // 먼저 실행한 요청의 결과를 저장하지 못함: 각자 실행
+                invokeAndWrite(request, response, invoker);
+                return;
+            }
+        }
+        cached.applyTo(response);
+        HttpResponseWriter.standardizeResponse(response);
+    }
+
+    // 캐시 키: 요청 경로(쿼리 포함) + 지정한 요청 헤더 값
+    private static String cacheKey(HttpServletRequest request, ResponseCache cachePolicy) {
+        String[] varyHeaders = cachePolicy.varyHeaders();
+        if (varyHeaders.length == 0) {
+            return request.getPath();
+        }
+        StringBuilder key = new StringBuilder(request.getPath());
+        for (String name : varyHeaders) {
+            String value = request.getHeader(name);
+            key.append('\n').append(name).append(':').append(value == null ? "" : value);
+        }
+        return key.toString();
+    }
+
+    // 비동기 핸들러 결과를 기다리도록 등록 (시간 초과 시 작업을 취소)
+    private void startAsync(HttpServletRequest request, Object asyncResult) {
+        AsyncContext asyncContext = request.startAsync();
+        CompletableFuture<?> future;
+        long timeoutMillis = asyncTimeoutMillis;
+        if (asyncResult instanceof DeferredResult<?> deferredResult) {
+            future = deferredResult.future();
+            if (deferredResult.getTimeoutMillis() != null) {
+                timeoutMillis = deferredResult.getTimeoutMillis();
+            }
+            asyncContext.setTimeoutResult(deferredResult.getTimeoutResult());
+            asyncContext.onTimeout(deferredResult::expire);
+        } else {
+            future = ((CompletionStage<?>) asyncResult).toCompletableFuture();
+            asyncContext.onTimeout(() -> future.cancel(true));
+        }
+        asyncContext.setTimeout(timeoutMillis);
+
+        future.whenComplete((value, error) -> {
+            if (error == null) {
+                asyncContext.dispatch(value);
             } else {
-                System.err.println("DispatcherServlet ERROR: Unsupported method signature for handler: " + methodToCall.getName());
-                throw new NoSuchMethodException("Suitable handler method signature not found in " + methodToCall.getName() +
-                        " for path " + request.getPath() + ". Parameters found: " + methodToCall.getParameterCount());
+                asyncContext.dispatchError(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
             }
+        });
+    }
 
-            if (invokeResponse != null && methodToCall.getReturnType() != void.class) {
-                Gson gson = new Gson();
-                String jsonResponse = gson.toJson(invokeResponse);
-                response.addHeader("Content-Type", "application/json;charset=UTF-8");
-                response.setBody(jsonResponse);
+    // ASYNC 재처리: 비동기 핸들러의 결과(또는 실패, 시간 초과)를 응답으로 씀
+    private void writeAsyncResult(HttpServletRequest request, HttpServletResponse response) throws Exception {
+        AsyncContext asyncContext = request.getAsyncContext();
+        if (asyncContext.isTimedOut()) {
+            if (asyncContext.getTimeoutResult() != null) {
+                writeResult(request, response, asyncContext.getTimeoutResult());
+                return;
+            }
+            System.err.println("DispatcherServlet WARN: Async handler timed out for " + request.getPath());
+            response.setStatusCode(503);
+            response.setStatusText("Service Unavailable");
+            response.setBody("<html><body><h1>503 Service Unavailable</h1><p>Request timed out.</p></body></html>");
+            HttpResponseWriter.standardizeResponse(response);
+            return;
+        }
+
+        Throwable error = asyncContext.getError();
+        if (error != null) {
+            writeFailure(request, response, error instanceof Exception exception ? exception : new ExecutionException(error));
+            return;
+        }
+        writeResult(request, response, asyncContext.getResult());
+    }
+
+    // 핸들러 반환값을 코덱으로 직렬화해 응답 본문으로 씀 (null 이면 핸들러가 채운 응답 그대로)
+    private void writeResult(HttpServletRequest request, HttpServletResponse response, Object value) throws Exception {
+        try {
+            if (value != null) {
+                response.addHeader("Content-Type", responseBodyCodec.getContentType());
                 if (response.getStatusCode() == 0 || response.getStatusCode() == 405) {
                     response.setStatusCode(200);
                     response.setStatusText("OK");
                 }
+                if (response.isConnectionBound() && shouldStream(value)) {
+                    // 헤더를 먼저 보내고 원소를 직렬화하는 대로 chunked 로 전송
+                    responseBodyCodec.write(value, response.getOutputStream());
+                } else {
+                    response.setBody(responseBodyCodec.encodeToString(value));
+                }
             }
-
         } catch (Exception e) {
-            System.err.println("DispatcherServlet ERROR: Handler execution failed for " + request.getPath() + ": " + e.getMessage());
-            if (e.getCause() != null) {
-                System.err.println("Caused by: " + e.getCause().getMessage());
-            }
-            e.printStackTrace();
-
-            response.setStatusCode(500);
-            response.setStatusText("Internal Server Error");
-            response.setBody("<html><body><h1>500 Internal Server Error</h1><p>Error processing request. Please check server logs.</p></body></html>");
-        } finally {
+            writeFailure(request, response, e);
+            return;
+        }
+        // 스트리밍으로 이미 커밋된 헤더는 손대지 않음
+        if (!response.isStreaming()) {
             HttpResponseWriter.standardizeResponse(response);
         }
     }
 
+    private void writeFailure(HttpServletRequest request, HttpServletResponse response, Exception e) throws Exception {
+        if (response.isStreaming()) {
+            // 이미 본문 일부를 보냈으므로 오류 페이지 대신 연결을 끊어 잘린 응답임을 알림
+            throw e;
+        }
+        System.err.println("DispatcherServlet ERROR: Handler execution failed for " + request.getPath() + ": " + e.getMessage());
+        if (e.getCause() != null) {
+            System.err.println("Caused by: " + e.getCause().getMessage());
+        }
+        e.printStackTrace();
+
+        response.setStatusCode(500);
+        response.setStatusText("Internal Server Error");
+        response.setBody("<html><body><h1>500 Internal Server Error</h1><p>Error processing request. Please check server logs.</p></body></html>");
+        HttpResponseWriter.standardizeResponse(response);
+    }
+
+    // 지연 평가되는 시퀀스나 큰 컬렉션만 스트리밍 (작은 응답은 Content-Length 와 압축 필터를 그대로 사용)
+    private static boolean shouldStream(Object value) {
+        if (value instanceof Stream<?> || value instanceof Iterator<?>) {
+            return true;
+        }
+        // Collection 이 아닌 Iterable 은 코덱이 객체로 직렬화하므로 원소 단위 스트리밍 대상이 아님
+        return value instanceof Collection<?> collection && collection.size() >= STREAMING_COLLECTION_SIZE;
+    }
+
     @Override
     public String getServletName() {
         return "DispatcherServlet";
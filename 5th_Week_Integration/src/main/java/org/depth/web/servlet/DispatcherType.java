@@ -0,0 +1,11 @@
+package org.depth.web.servlet;
+
+/**
+ * 요청이 필터/서블릿 파이프라인을 지나는 계기
+ * - REQUEST: 클라이언트 요청의 첫 처리
+ * - ASYNC: 비동기 처리가 끝난 뒤 결과를 응답으로 쓰기 위한 재처리
+ */
+public enum DispatcherType {
+    REQUEST,
+    ASYNC
+}
@@ -0,0 +1,159 @@
+package org.depth.web.servlet;
+
+import org.depth.web.annotation.PathVariable;
+import org.depth.web.http.model.HttpSession;
+import org.depth.web.servlet.http.HttpServletRequest;
+import org.depth.web.servlet.http.HttpServletResponse;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * 매핑 시점에 한 번 만들어 두는 핸들러 메서드 호출기
+ * - 메서드는 컨트롤러에 바인딩된 MethodHandle 로 바꾸고, 인자 수별로 invokeExact 경로를 고정해 리플렉션 검사와 인자 배열을 없앰
+ * - 파라미터마다 값을 꺼내는 방법(ArgumentResolver)을 미리 정해 두어 요청마다 타입을 다시 살피지 않음
+ * 지원하지 않는 파라미터는 매핑 시점에 IllegalArgumentException 으로 알린다.
+ */
+public final class HandlerInvoker {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * 요청/응답에서 파라미터 하나의 값을 꺼내는 방법
+     */
+    @FunctionalInterface
+    interface ArgumentResolver {
+        Object resolve(HttpServletRequest request, HttpServletResponse response);
+    }
+
+    private final MethodHandle handle;
+    private final ArgumentResolver[] resolvers;
+    private final boolean returnsValue;
+
+    private HandlerInvoker(MethodHandle handle, ArgumentResolver[] resolvers, boolean returnsValue) {
+        this.handle = handle;
+        this.resolvers = resolvers;
+        this.returnsValue = returnsValue;
+    }
+
+    /**
+     * 핸들러 메서드의 호출기를 만듭니다.
+     * @param controller 메서드를 호출할 컨트롤러 (static 메서드면 무시)
+     * @param method 접근 가능하도록 설정된 핸들러 메서드
+     * @throws IllegalArgumentException 값을 정할 수 없는 파라미터가 있으면
+     */
+    public static HandlerInvoker create(Object controller, Method method) {
+        ArgumentResolver[] resolvers = new ArgumentResolver[method.getParameterCount()];
+        Parameter[] parameters = method.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            resolvers[i] = resolverFor(method, parameters[i]);
+        }
+
+        MethodHandle handle;
+        try {
+            handle = LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Handler method is not accessible: " + method, e);
+        }
+        if (!Modifier.isStatic(method.getModifiers())) {
+            handle = handle.bindTo(controller);
+        }
+        // (Object, ...)Object 로 맞춰 invokeExact 로 호출 (void 반환은 null)
+        handle = handle.asType(MethodType.genericMethodType(resolvers.length));
+        if (resolvers.length > 3) {
+            handle = handle.asSpreader(Object[].class, resolvers.length);
+        }
+        return new HandlerInvoker(handle, resolvers, method.getReturnType() != void.class);
+    }
+
+    // 반환값을 응답 본문으로 써야 하는지 (void 메서드는 false)
+    public boolean returnsValue() {
+        return returnsValue;
+    }
+
+    /**
+     * 미리 정한 방법으로 인자를 만들어 핸들러를 호출합니다.
+     * @return 핸들러의 반환값 (void 면 null)
+     * @throws Exception 핸들러가 던진 예외 (리플렉션처럼 감싸지 않음)
+     */
+    public Object invoke(HttpServletRequest request, HttpServletResponse response) throws Exception {
+        try {
+            return switch (resolvers.length) {
+                case 0 -> (Object) handle.invokeExact();
+                case 1 -> (Object) handle.invokeExact(resolvers[0].resolve(request, response));
+                case 2 -> (Object) handle.invokeExact(resolvers[0].resolve(request, response),
+                        resolvers[1].resolve(request, response));
+                case 3 -> (Object) handle.invokeExact(resolvers[0].resolve(request, response),
+                        resolvers[1].resolve(request, response), resolvers[2].resolve(request, response));
+                default -> {
+                    Object[] arguments = new Object[resolvers.length];
+                    for (int i = 0; i < arguments.length; i++) {
+                        arguments[i] = resolvers[i].resolve(request, response);
+                    }
+                    yield (Object) handle.invokeExact(arguments);
+                }
+            };
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private static ArgumentResolver resolverFor(Method method, Parameter parameter) {
+        Class<?> type = parameter.getType();
+        PathVariable pathVariable = parameter.getAnnotation(PathVariable.class);
+        if (pathVariable != null) {
+            String name = pathVariable.value().isEmpty() ? parameter.getName() : pathVariable.value();
+            if (pathVariable.value().isEmpty() && !parameter.isNamePresent()) {
+                throw new IllegalArgumentException("@PathVariable needs a name (compile with -parameters or set value) on "
+                        + method.getName());
+            }
+            return pathVariableResolver(name, type, method);
+        }
+        if (type.isAssignableFrom(HttpServletRequest.class)) {
+            return (request, response) -> request;
+        }
+        if (type.isAssignableFrom(HttpServletResponse.class)) {
+            return (request, response) -> response;
+        }
+        if (type == HttpSession.class) {
+            return (request, response) -> request.getSession();
+        }
+        throw new IllegalArgumentException("Unsupported parameter type " + type.getName() + " in handler " + method.getName());
+    }
+
+    // 라우팅에서 꺼낸 변수 값을 파라미터 타입으로 변환 (변환 규칙도 매핑 시점에 고정)
+    private static ArgumentResolver pathVariableResolver(String name, Class<?> type, Method method) {
+        Function<Object, Object> converter;
+        if (type == String.class || type == Object.class) {
+            converter = String::valueOf;
+        } else if (type == int.class || type == Integer.class) {
+            converter = value -> value instanceof Number number ? number.intValue() : Integer.parseInt(value.toString());
+        } else if (type == long.class || type == Long.class) {
+            converter = value -> value instanceof Number number ? number.longValue() : Long.parseLong(value.toString());
+        } else if (type == UUID.class) {
+            converter = value -> value instanceof UUID ? value : UUID.fromString(value.toString());
+        } else {
+            throw new IllegalArgumentException("Unsupported @PathVariable type " + type.getName() + " in handler " + method.getName());
+        }
+        boolean primitive = type.isPrimitive();
+        return (request, response) -> {
+            Object variables = request.getRequestAttribute(RequestHandlerMapping.PATH_VARIABLES_ATTRIBUTE);
+            Object value = variables instanceof Map<?, ?> map ? map.get(name) : null;
+            if (value == null) {
+                if (primitive) {
+                    throw new IllegalArgumentException("Missing path variable '" + name + "'");
+                }
+                return null;
+            }
+            return converter.apply(value);
+        };
+    }
+}
@@ -1,52 +1,525 @@
 package org.depth.web.servlet;
 
-import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.Getter;
+import org.depth.web.annotation.ResponseCache;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
 
+/**
+ * 경로 템플릿과 HTTP 메서드로 핸들러를 찾는 라우팅 표
+ * 템플릿은 '/' 로 나눈 세그먼트 트라이로 컴파일되며, 등록이 바뀔 때마다 새 표로 교체(copy-on-write)된다.
+ * - 세그먼트 문법: 리터럴, {name}, {name:int|long|uuid|string}, 마지막 세그먼트의 {*name} (나머지 경로 전체)
+ * - 우선순위: 리터럴 → 타입 변수(int → long → uuid) → 문자열 변수 → {*name}, 앞선 후보가 실패하면 다음 후보로 되돌아감
+ * - 같은 템플릿의 여러 메서드는 하나의 Route 에 모이며, 경로는 맞지만 메서드가 없으면 Allow 로 허용 메서드를 알려줌
+ * 조회는 세그먼트 수에 비례하고 경로 문자열을 자르지 않아 할당이 없다. (경로 변수 값은 필요할 때 따로 추출)
+ */
 public class RequestHandlerMapping {
-    private final Map<String, RequestHandlerMappingItem> handlers = new HashMap<>();
+    // 경로 변수 값(Map<String, Object>)을 담는 요청 속성 이름
+    public static final String PATH_VARIABLES_ATTRIBUTE = RequestHandlerMapping.class.getName() + ".pathVariables";
 
-    public RequestHandlerMappingItem matchByPath(String path, String method) {
-        RequestHandlerMappingItem found = handlers.get(path);
+    // 등록 순서를 유지하는 원본 (템플릿 모양 → Route)
+    private final Map<String, Route> routes = new LinkedHashMap<>();
+    private volatile Node root = new NodeBuilder().build();
+    // 빈 경로("")로 등록된 핸들러: 어떤 템플릿과도 맞지 않을 때 사용
+    private volatile Route fallback;
 
-        if(found == null) {
-            found = handlers.get("");
-        }
+    /**
+     * 경로와 메서드에 맞는 핸들러를 찾습니다.
+     * @throws IllegalArgumentException 경로에 맞는 핸들러가 없거나("No handler found") 메서드가 허용되지 않으면("Method not allowed")
+     */
+    public RequestHandlerMappingItem matchByPath(String path, String method) {
+        Route found = findRoute(path);
 
         if(found == null) {
             throw new IllegalArgumentException("No handler found for path: " + path);
         }
 
-        if(found.getMethod().equals(method)) {
-            return found;
+        RequestHandlerMappingItem item = found.getHandler(method);
+        if(item != null) {
+            return item;
         } else {
             throw new IllegalArgumentException("Method not allowed: " + method);
         }
     }
 
-    public void addHandler(String path, String method, Object controller, Method methodToCall) {
+    /**
+     * 경로에 맞는 Route 를 찾습니다. (쿼리 문자열은 무시)
+     * @param path 요청 경로
+     * @return 일치하는 Route (없으면 null)
+     */
+    public Route findRoute(String path) {
+        Route found = null;
+        if (path != null && !path.isEmpty() && path.charAt(0) == '/') {
+            int end = path.indexOf('?');
+            if (end < 0) {
+                end = path.length();
+            }
+            // "/" 는 세그먼트가 없는 경로
+            found = match(root, path, end == 1 ? end + 1 : 1, end);
+        }
+        return found != null ? found : fallback;
+    }
+
+    /**
+     * 핸들러를 등록합니다.
+     * @throws IllegalArgumentException 경로 템플릿이 잘못됐거나 핸들러 파라미터를 바인딩할 수 없으면
+     */
+    public synchronized void addHandler(String path, String method, Object controller, Method methodToCall) {
         RequestHandlerMappingItem item = new RequestHandlerMappingItem(path, method, controller, methodToCall);
-        handlers.put(path, item);
+        Template template = Template.parse(path);
+        Route existing = routes.get(template.shape);
+        if (existing != null && !existing.template.path.equals(template.path)) {
+            System.err.println("RequestHandlerMapping WARN: [" + path + "] has the same shape as [" + existing.template.path
+                    + "]. Variables keep the names of the first mapping.");
+        }
+        if (existing != null && existing.handlers.containsKey(method)) {
+            System.err.println("RequestHandlerMapping WARN: Overriding HTTP " + method + " [" + path + "] mapping.");
+        }
+        Map<String, RequestHandlerMappingItem> handlers = existing == null ? new LinkedHashMap<>() : new LinkedHashMap<>(existing.handlers);
+        handlers.put(method, item);
+        routes.put(template.shape, new Route(existing == null ? template : existing.template, handlers));
+        recompile();
     }
 
+    // 템플릿에 등록된 첫 번째 핸들러
     public RequestHandlerMappingItem getHandler(String path) {
-        return handlers.get(path);
+        Route route = routes.get(Template.parse(path).shape);
+        return route == null ? null : route.handlers.values().iterator().next();
     }
 
-    public void removeHandler(String path) {
-        handlers.remove(path);
+    // 템플릿에 등록된 모든 메서드의 핸들러를 제거
+    public synchronized void removeHandler(String path) {
+        if (routes.remove(Template.parse(path).shape) != null) {
+            recompile();
+        }
+    }
+
+    private void recompile() {
+        NodeBuilder builder = new NodeBuilder();
+        Route empty = null;
+        for (Route route : routes.values()) {
+            if (route.template.path.isEmpty()) {
+                empty = route;
+            } else {
+                builder.insert(route, 0);
+            }
+        }
+        root = builder.build();
+        fallback = empty;
+    }
+
+    // start 는 현재 세그먼트의 시작, end 보다 크면 더 읽을 세그먼트가 없음
+    private static Route match(Node node, String path, int start, int end) {
+        if (start > end) {
+            return node.route != null ? node.route : node.catchAll;
+        }
+        int segmentEnd = path.indexOf('/', start);
+        if (segmentEnd < 0 || segmentEnd > end) {
+            segmentEnd = end;
+        }
+
+        Node literal = node.literal(path, start, segmentEnd);
+        if (literal != null) {
+            Route found = match(literal, path, segmentEnd + 1, end);
+            if (found != null) {
+                return found;
+            }
+        }
+        if (segmentEnd > start) {
+            for (int i = 0; i < node.variableTypes.length; i++) {
+                if (node.variableTypes[i].matches(path, start, segmentEnd)) {
+                    Route found = match(node.variableChildren[i], path, segmentEnd + 1, end);
+                    if (found != null) {
+                        return found;
+                    }
+                }
+            }
+        }
+        return node.catchAll;
     }
 
-    @AllArgsConstructor
     @Data
     public static class RequestHandlerMappingItem {
         private final String path;
         private final String method;
         private final Object controller;
         private final Method methodToCall;
+        // 매핑 시점에 만든 호출기 (요청마다 리플렉션으로 시그니처를 다시 보지 않음)
+        private final HandlerInvoker invoker;
+        // 응답 캐시 설정 (@ResponseCache 가 없으면 null)
+        private final ResponseCache responseCache;
+
+        public RequestHandlerMappingItem(String path, String method, Object controller, Method methodToCall) {
+            this.path = path;
+            this.method = method;
+            this.controller = controller;
+            this.methodToCall = methodToCall;
+            this.invoker = HandlerInvoker.create(controller, methodToCall);
+            this.responseCache = methodToCall.getAnnotation(ResponseCache.class);
+        }
+    }
+
+    /**
+     * 하나의 경로 템플릿과 그 템플릿에 등록된 메서드별 핸들러
+     */
+    public static class Route {
+        private final Template template;
+        private final Map<String, RequestHandlerMappingItem> handlers;
+        // 405 응답의 Allow 헤더 값 (등록 시 미리 만듦)
+        @Getter
+        private final String allowedMethods;
+
+        private Route(Template template, Map<String, RequestHandlerMappingItem> handlers) {
+            this.template = template;
+            this.handlers = Collections.unmodifiableMap(handlers);
+            this.allowedMethods = String.join(", ", new TreeSet<>(handlers.keySet()));
+        }
+
+        public String getPath() {
+            return template.path;
+        }
+
+        // 메서드에 등록된 핸들러 (없으면 null, 405 대상)
+        public RequestHandlerMappingItem getHandler(String method) {
+            return handlers.get(method);
+        }
+
+        public boolean hasPathVariables() {
+            return template.variableNames.length > 0;
+        }
+
+        /**
+         * 요청 경로에서 템플릿의 변수 값을 꺼냅니다. (int/long/uuid 변수는 해당 타입으로 변환)
+         * @param path 이 Route 와 일치한 요청 경로
+         * @return 변수 이름 → 값 (변수가 없으면 빈 Map)
+         */
+        public Map<String, Object> extractPathVariables(String path) {
+            if (!hasPathVariables()) {
+                return Map.of();
+            }
+            int end = path.indexOf('?');
+            if (end < 0) {
+                end = path.length();
+            }
+            Map<String, Object> variables = new LinkedHashMap<>();
+            int segmentIndex = 0;
+            int variableIndex = 0;
+            int start = end == 1 ? end + 1 : 1;
+            while (start <= end && variableIndex < template.variableNames.length) {
+                int segmentEnd = path.indexOf('/', start);
+                if (segmentEnd < 0 || segmentEnd > end) {
+                    segmentEnd = end;
+                }
+                if (template.variableSegments[variableIndex] == segmentIndex) {
+                    VariableType type = template.variableTypes[variableIndex];
+                    // {*name} 은 현재 세그먼트부터 끝까지
+                    String value = path.substring(start, type == null ? end : segmentEnd);
+                    variables.put(template.variableNames[variableIndex], type == null ? value : type.convert(value));
+                    variableIndex++;
+                }
+                segmentIndex++;
+                start = segmentEnd + 1;
+            }
+            // 빈 나머지 경로와 일치한 {*name}
+            if (variableIndex < template.variableNames.length) {
+                variables.put(template.variableNames[variableIndex], "");
+            }
+            return variables;
+        }
+    }
+
+    /**
+     * 경로 변수 타입 (배열 순서가 매칭 우선순위)
+     */
+    enum VariableType {
+        INT {
+            @Override
+            boolean matches(String path, int start, int end) {
+                return fitsDecimal(path, start, end, "2147483647", "2147483648");
+            }
+
+            @Override
+            Object convert(String value) {
+                return Integer.parseInt(value);
+            }
+        },
+        LONG {
+            @Override
+            boolean matches(String path, int start, int end) {
+                return fitsDecimal(path, start, end, "9223372036854775807", "9223372036854775808");
+            }
+
+            @Override
+            Object convert(String value) {
+                return Long.parseLong(value);
+            }
+        },
+        UUID {
+            @Override
+            boolean matches(String path, int start, int end) {
+                if (end - start != 36) {
+                    return false;
+                }
+                for (int i = 0; i < 36; i++) {
+                    char c = path.charAt(start + i);
+                    boolean valid = (i == 8 || i == 13 || i == 18 || i == 23) ? c == '-' : Character.digit(c, 16) >= 0;
+                    if (!valid) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            Object convert(String value) {
+                return java.util.UUID.fromString(value);
+            }
+        },
+        STRING {
+            @Override
+            boolean matches(String path, int start, int end) {
+                return true;
+            }
+
+            @Override
+            Object convert(String value) {
+                return value;
+            }
+        };
+
+        abstract boolean matches(String path, int start, int end);
+
+        abstract Object convert(String value);
+
+        static VariableType of(String name, String template) {
+            return switch (name) {
+                case "int" -> INT;
+                case "long" -> LONG;
+                case "uuid" -> UUID;
+                case "string" -> STRING;
+                default -> throw new IllegalArgumentException("Unknown path variable type '" + name + "' in " + template);
+            };
+        }
+
+        // 부호(-) 뒤에 숫자만 있고 타입 범위를 넘지 않는지 (자릿수가 최댓값과 같으면 문자열로 비교)
+        private static boolean fitsDecimal(String path, int start, int end, String max, String negativeMax) {
+            boolean negative = path.charAt(start) == '-';
+            int digitsStart = negative ? start + 1 : start;
+            int digits = end - digitsStart;
+            String limit = negative ? negativeMax : max;
+            if (digits <= 0 || digits > limit.length()) {
+                return false;
+            }
+            for (int i = digitsStart; i < end; i++) {
+                char c = path.charAt(i);
+                if (c < '0' || c > '9') {
+                    return false;
+                }
+            }
+            if (digits < limit.length()) {
+                return true;
+            }
+            for (int i = 0; i < digits; i++) {
+                char c = path.charAt(digitsStart + i);
+                if (c != limit.charAt(i)) {
+                    return c < limit.charAt(i);
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 파싱한 경로 템플릿
+     * shape 는 변수 이름을 지운 모양("/users/{int}")으로, 같은 모양의 템플릿은 같은 Route 를 공유한다.
+     */
+    static final class Template {
+        private final String path;
+        private final String shape;
+        // 세그먼트별 리터럴 값 (변수 세그먼트는 null)
+        private final String[] literals;
+        // 세그먼트별 변수 타입 (리터럴은 null, 마지막 {*name} 세그먼트는 포함하지 않음)
+        private final VariableType[] segmentTypes;
+        private final boolean catchAll;
+        private final String[] variableNames;
+        private final VariableType[] variableTypes;
+        private final int[] variableSegments;
+
+        private Template(String path, String shape, String[] literals, VariableType[] segmentTypes, boolean catchAll,
+                         String[] variableNames, VariableType[] variableTypes, int[] variableSegments) {
+            this.path = path;
+            this.shape = shape;
+            this.literals = literals;
+            this.segmentTypes = segmentTypes;
+            this.catchAll = catchAll;
+            this.variableNames = variableNames;
+            this.variableTypes = variableTypes;
+            this.variableSegments = variableSegments;
+        }
+
+        static Template parse(String path) {
+            if (path == null || path.isEmpty()) {
+                return new Template("", "", new String[0], new VariableType[0], false,
+                        new String[0], new VariableType[0], new int[0]);
+            }
+            String normalized = path.startsWith("/") ? path : "/" + path;
+            String[] segments = normalized.length() == 1 ? new String[0] : normalized.substring(1).split("/", -1);
+
+            List<String> literals = new ArrayList<>();
+            List<VariableType> segmentTypes = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            List<VariableType> types = new ArrayList<>();
+            List<Integer> positions = new ArrayList<>();
+            StringBuilder shape = new StringBuilder();
+            boolean catchAll = false;
+
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                shape.append('/');
+                if (segment.length() < 2 || segment.charAt(0) != '{' || segment.charAt(segment.length() - 1) != '}') {
+                    literals.add(segment);
+                    segmentTypes.add(null);
+                    shape.append(segment);
+                    continue;
+                }
+                String body = segment.substring(1, segment.length() - 1);
+                if (body.startsWith("*")) {
+                    if (i != segments.length - 1) {
+                        throw new IllegalArgumentException("{*name} must be the last segment: " + path);
+                    }
+                    catchAll = true;
+                    names.add(body.substring(1));
+                    types.add(null);
+                    positions.add(i);
+                    shape.append("{*}");
+                    continue;
+                }
+                int colon = body.indexOf(':');
+                String name = colon < 0 ? body : body.substring(0, colon);
+                VariableType type = colon < 0 ? VariableType.STRING : VariableType.of(body.substring(colon + 1), path);
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException("Path variable name is empty: " + path);
+                }
+                literals.add(null);
+                segmentTypes.add(type);
+                names.add(name);
+                types.add(type);
+                positions.add(i);
+                shape.append('{').append(type.name()).append('}');
+            }
+            return new Template(normalized, shape.length() == 0 ? "/" : shape.toString(),
+                    literals.toArray(new String[0]), segmentTypes.toArray(new VariableType[0]), catchAll,
+                    names.toArray(new String[0]), types.toArray(new VariableType[0]),
+                    positions.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        // {*name} 을 제외한 세그먼트 수
+        int fixedSegments() {
+            return literals.length;
+        }
+    }
+
+    /**
+     * 컴파일된 불변 트라이 노드
+     */
+    private static final class Node {
+        private final Route route;
+        private final Route catchAll;
+        // 리터럴 자식: 세그먼트 해시로 찾는 개방 주소 표
+        private final String[] literalKeys;
+        private final Node[] literalChildren;
+        private final VariableType[] variableTypes;
+        private final Node[] variableChildren;
+
+        private Node(Route route, Route catchAll, String[] literalKeys, Node[] literalChildren,
+                     VariableType[] variableTypes, Node[] variableChildren) {
+            this.route = route;
+            this.catchAll = catchAll;
+            this.literalKeys = literalKeys;
+            this.literalChildren = literalChildren;
+            this.variableTypes = variableTypes;
+            this.variableChildren = variableChildren;
+        }
+
+        Node literal(String path, int start, int end) {
+            if (literalKeys.length == 0) {
+                return null;
+            }
+            int length = end - start;
+            int mask = literalKeys.length - 1;
+            for (int slot = hash(path, start, end) & mask; literalKeys[slot] != null; slot = (slot + 1) & mask) {
+                String key = literalKeys[slot];
+                if (key.length() == length && path.regionMatches(start, key, 0, length)) {
+                    return literalChildren[slot];
+                }
+            }
+            return null;
+        }
+
+        // String.hashCode 와 같은 식을 부분 문자열을 만들지 않고 계산
+        static int hash(String text, int start, int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + text.charAt(i);
+            }
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    // 컴파일 중에만 쓰는 가변 노드
+    private static final class NodeBuilder {
+        private final Map<String, NodeBuilder> literals = new HashMap<>();
+        private final Map<VariableType, NodeBuilder> variables = new EnumMap<>(VariableType.class);
+        private Route route;
+        private Route catchAll;
+
+        void insert(Route route, int segment) {
+            Template template = route.template;
+            if (segment == template.fixedSegments()) {
+                if (template.catchAll) {
+                    this.catchAll = route;
+                } else {
+                    this.route = route;
+                }
+                return;
+            }
+            NodeBuilder child = template.literals[segment] != null
+                    ? literals.computeIfAbsent(template.literals[segment], key -> new NodeBuilder())
+                    : variables.computeIfAbsent(template.segmentTypes[segment], type -> new NodeBuilder());
+            child.insert(route, segment + 1);
+        }
+
+        Node build() {
+            int slots = 0;
+            if (!literals.isEmpty()) {
+                slots = Integer.highestOneBit(literals.size() * 4 - 1);
+            }
+            String[] keys = new String[slots];
+            Node[] children = new Node[slots];
+            for (Map.Entry<String, NodeBuilder> entry : literals.entrySet()) {
+                String key = entry.getKey();
+                int slot = Node.hash(key, 0, key.length()) & (slots - 1);
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & (slots - 1);
+                }
+                keys[slot] = key;
+                children[slot] = entry.getValue().build();
+            }
+            VariableType[] types = variables.keySet().toArray(new VariableType[0]);
+            Node[] variableChildren = new Node[types.length];
+            for (int i = 0; i < types.length; i++) {
+                variableChildren[i] = variables.get(types[i]).build();
+            }
+            return new Node(route, catchAll, keys, children, types, variableChildren);
+        }
     }
 }
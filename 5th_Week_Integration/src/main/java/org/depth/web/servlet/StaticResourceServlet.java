@@ -0,0 +1,338 @@
+package org.depth.web.servlet;
+
+import org.depth.web.http.model.FileRegion;
+import org.depth.web.servlet.http.HttpServlet;
+import org.depth.web.servlet.http.HttpServletRequest;
+import org.depth.web.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 디렉터리의 파일을 힙에 올리지 않고 전송하는 정적 리소스 서블릿
+ * - 본문은 FileChannel.transferTo(sendfile)로 소켓에 직접 전송
+ * - Range 요청(단일 구간)은 206 Partial Content, 범위 밖이면 416
+ * - ETag / Last-Modified 기반 조건부 요청은 304 Not Modified
+ * - 선택적으로 작은 파일을 메모리 매핑해 캐시 (enableMappedCache)
+ * - HEAD 는 GET 과 같은 상태/헤더(Content-Length 포함)를 보내되 파일을 열지 않음
+ *
+ * HttpServletContainer.registerServlet 으로 등록하며, servletPath 이후 경로를 baseDirectory 기준으로 찾는다.
+ */
+public class StaticResourceServlet extends HttpServlet {
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.RFC_1123_DATE_TIME;
+
+    private static final Map<String, String> CONTENT_TYPES = Map.ofEntries(
+            Map.entry("html", "text/html; charset=UTF-8"),
+            Map.entry("htm", "text/html; charset=UTF-8"),
+            Map.entry("css", "text/css; charset=UTF-8"),
+            Map.entry("js", "application/javascript; charset=UTF-8"),
+            Map.entry("json", "application/json; charset=UTF-8"),
+            Map.entry("txt", "text/plain; charset=UTF-8"),
+            Map.entry("svg", "image/svg+xml"),
+            Map.entry("png", "image/png"),
+            Map.entry("jpg", "image/jpeg"),
+            Map.entry("jpeg", "image/jpeg"),
+            Map.entry("gif", "image/gif"),
+            Map.entry("ico", "image/x-icon"),
+            Map.entry("woff2", "font/woff2"),
+            Map.entry("pdf", "application/pdf")
+    );
+
+    private final String servletPath;
+    private final Path baseDirectory;
+
+    // 메모리 매핑 캐시 (LRU), 비활성 시 null
+    private Map<Path, MappedEntry> mappedCache;
+    private long maxMappedFileSize;
+    private long maxMappedTotalSize;
+    private long mappedTotalSize;
+
+    public StaticResourceServlet(String servletPath, Path baseDirectory) {
+        this.servletPath = servletPath;
+        this.baseDirectory = baseDirectory.toAbsolutePath().normalize();
+    }
+
+    /**
+     * 작은 파일을 메모리 매핑해 캐시합니다. 매핑된 페이지는 힙 밖(페이지 캐시)에 있으므로 GC 부담이 없습니다.
+     * @param maxFileSize 캐시할 파일의 최대 크기
+     * @param maxTotalSize 캐시 전체 최대 크기 (초과 시 오래 쓰지 않은 항목부터 제거)
+     */
+    public void enableMappedCache(long maxFileSize, long maxTotalSize) {
+        this.maxMappedFileSize = maxFileSize;
+        this.maxMappedTotalSize = maxTotalSize;
+        this.mappedCache = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response) {
+        boolean head = "HEAD".equals(request.getMethod());
+        if (!head && !"GET".equals(request.getMethod())) {
+            response.setStatusCode(405);
+            response.setStatusText("Method Not Allowed");
+            response.addHeader("Allow", "GET, HEAD");
+            return;
+        }
+
+        Path file = resolve(request.getPath());
+        BasicFileAttributes attributes = file == null ? null : readAttributes(file);
+        if (attributes == null || !attributes.isRegularFile()) {
+            sendNotFound(request, response);
+            return;
+        }
+
+        long size = attributes.size();
+        Instant lastModified = attributes.lastModifiedTime().toInstant().truncatedTo(ChronoUnit.SECONDS);
+        String etag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified.getEpochSecond()) + "\"";
+
+        response.addHeader("ETag", etag);
+        response.addHeader("Last-Modified", HTTP_DATE.format(ZonedDateTime.ofInstant(lastModified, ZoneOffset.UTC)));
+        response.addHeader("Accept-Ranges", "bytes");
+        response.addHeader("Content-Type", contentTypeOf(file));
+
+        if (isNotModified(request, etag, lastModified)) {
+            response.setStatusCode(304);
+            response.setStatusText("Not Modified");
+            response.setBody("");
+            return;
+        }
+
+        long start = 0;
+        long length = size;
+        String range = request.getHeader("Range");
+        if (range != null && isRangeApplicable(request, etag, lastModified)) {
+            long[] parsed = parseRange(range, size);
+            if (parsed == null) {
+                response.setStatusCode(416);
+                response.setStatusText("Range Not Satisfiable");
+                response.addHeader("Content-Range", "bytes */" + size);
+                response.setBody("");
+                return;
+            }
+            if (parsed.length == 2) {
+                start = parsed[0];
+                length = parsed[1] - parsed[0] + 1;
+                response.setStatusCode(206);
+                response.setStatusText("Partial Content");
+                response.addHeader("Content-Range", "bytes " + parsed[0] + "-" + parsed[1] + "/" + size);
+            }
+        }
+
+        response.setBody("");
+        if (head) {
+            response.setFileBody(FileRegion.lengthOnly(length));
+            return;
+        }
+        try {
+            response.setFileBody(openRegion(file, size, lastModified, start, length));
+        } catch (IOException e) {
+            sendNotFound(request, response);
+        }
+    }
+
+    // servletPath 이후 경로를 기본 디렉터리 안의 파일로 변환 (디렉터리 밖으로 벗어나면 null)
+    private Path resolve(String requestPath) {
+        if (requestPath == null || !requestPath.startsWith(servletPath)) {
+            return null;
+        }
+        String relative = requestPath.substring(servletPath.length());
+        int queryIndex = relative.indexOf('?');
+        if (queryIndex >= 0) {
+            relative = relative.substring(0, queryIndex);
+        }
+        while (relative.startsWith("/")) {
+            relative = relative.substring(1);
+        }
+        if (relative.isEmpty()) {
+            return null;
+        }
+        Path resolved = baseDirectory.resolve(relative).normalize();
+        return resolved.startsWith(baseDirectory) ? resolved : null;
+    }
+
+    private static BasicFileAttributes readAttributes(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private FileRegion openRegion(Path file, long size, Instant lastModified, long start, long length) throws IOException {
+        if (mappedCache != null && size <= maxMappedFileSize) {
+            MappedByteBuffer mapped = lookupMapped(file, size, lastModified);
+            if (mapped != null) {
+                return FileRegion.mapped(mapped, start, length);
+            }
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        return FileRegion.of(channel, start, length);
+    }
+
+    private synchronized MappedByteBuffer lookupMapped(Path file, long size, Instant lastModified) throws IOException {
+        MappedEntry entry = mappedCache.get(file);
+        if (entry != null && entry.size == size && entry.lastModified.equals(lastModified)) {
+            return entry.buffer;
+        }
+        if (entry != null) {
+            mappedCache.remove(file);
+            mappedTotalSize -= entry.size;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            mappedCache.put(file, new MappedEntry(buffer, size, lastModified));
+            mappedTotalSize += size;
+        }
+
+        // 오래 쓰지 않은 항목부터 제거
+        Iterator<Map.Entry<Path, MappedEntry>> iterator = mappedCache.entrySet().iterator();
+        while (mappedTotalSize > maxMappedTotalSize && iterator.hasNext()) {
+            Map.Entry<Path, MappedEntry> eldest = iterator.next();
+            if (eldest.getKey().equals(file)) {
+                continue;
+            }
+            mappedTotalSize -= eldest.getValue().size;
+            iterator.remove();
+        }
+        return mappedCache.get(file).buffer;
+    }
+
+    private static boolean isNotModified(HttpServletRequest request, String etag, Instant lastModified) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            return matchesEtag(ifNoneMatch, etag);
+        }
+        Instant ifModifiedSince = parseHttpDate(request.getHeader("If-Modified-Since"));
+        return ifModifiedSince != null && !lastModified.isAfter(ifModifiedSince);
+    }
+
+    // If-Range 가 현재 표현과 일치할 때만 부분 응답
+    private static boolean isRangeApplicable(HttpServletRequest request, String etag, Instant lastModified) {
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        Instant date = parseHttpDate(ifRange);
+        return date != null && date.equals(lastModified);
+    }
+
+    private static boolean matchesEtag(String header, String etag) {
+        for (String candidate : header.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 단일 바이트 구간을 해석합니다.
+     * @return {start, end} (포함 구간), 구간을 무시하고 전체를 보내야 하면 빈 배열, 만족할 수 없으면 null
+     */
+    private static long[] parseRange(String header, long size) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            // 다중 구간은 지원하지 않으므로 전체 전송
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            long start;
+            long end;
+            if (dash == 0) {
+                // 마지막 N 바이트
+                long suffixLength = Long.parseLong(spec.substring(1));
+                if (suffixLength <= 0) {
+                    return null;
+                }
+                start = Math.max(0, size - suffixLength);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                String endPart = spec.substring(dash + 1);
+                end = endPart.isEmpty() ? size - 1 : Math.min(Long.parseLong(endPart), size - 1);
+            }
+            if (start >= size || start > end) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    private static Instant parseHttpDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return ZonedDateTime.parse(value, HTTP_DATE).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String contentTypeOf(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        if (dot >= 0) {
+            String type = CONTENT_TYPES.get(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+            if (type != null) {
+                return type;
+            }
+        }
+        return "application/octet-stream";
+    }
+
+    private static void sendNotFound(HttpServletRequest request, HttpServletResponse response) {
+        response.setStatusCode(404);
+        response.setStatusText("Not Found");
+        response.setBody("<html><body><h1>404 Not Found</h1><p>The requested URL " + request.getPath()
+                + " was not found on this server.</p></body></html>");
+    }
+
+    @Override
+    public String getServletName() {
+        return "StaticResourceServlet";
+    }
+
+    @Override
+    public String getServletPath() {
+        return servletPath;
+    }
+
+    private static class MappedEntry {
+        private final MappedByteBuffer buffer;
+        private final long size;
+        private final Instant lastModified;
+
+        private MappedEntry(MappedByteBuffer buffer, long size, Instant lastModified) {
+            this.buffer = buffer;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+}
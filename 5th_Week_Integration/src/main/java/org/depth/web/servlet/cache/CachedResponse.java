@@ -0,0 +1,77 @@
+package org.depth.web.servlet.cache;
+
+import lombok.Getter;
+import org.depth.web.http.handler.HttpResponseWriter;
+import org.depth.web.http.model.HttpHeader;
+import org.depth.web.http.model.HttpHeaders;
+import org.depth.web.servlet.http.HttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 캐시된 응답 (상태, 핸들러가 붙인 헤더, 직렬화된 본문)
+ * 연결/세션마다 달라지는 헤더는 저장하지 않으며, 적용할 때 표준화 단계가 Content-Length 등을 다시 계산한다.
+ */
+@Getter
+public final class CachedResponse {
+    // 항목 관리에 드는 대략적인 고정 비용 (바이트)
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final int statusCode;
+    private final String statusText;
+    private final List<HttpHeader> headers;
+    private final String body;
+    private final long weight;
+
+    private CachedResponse(int statusCode, String statusText, List<HttpHeader> headers, String body) {
+        this.statusCode = statusCode;
+        this.statusText = statusText;
+        this.headers = headers;
+        this.body = body;
+        long weight = ENTRY_OVERHEAD + HttpResponseWriter.utf8Length(body);
+        for (HttpHeader header : headers) {
+            weight += header.getName().length() + header.getValue().length();
+        }
+        this.weight = weight;
+    }
+
+    /**
+     * 핸들러가 채운 응답을 저장용으로 복사합니다.
+     * @return 캐시할 수 없는 응답(200 이 아님, 스트리밍, 파일 본문)이면 null
+     */
+    public static CachedResponse capture(HttpServletResponse response) {
+        if (response.getStatusCode() != 200 || response.isStreaming() || response.getFileBody() != null) {
+            return null;
+        }
+        List<HttpHeader> headers = new ArrayList<>();
+        for (HttpHeader header : response.getHeaders()) {
+            if (!isPerResponse(header.getName())) {
+                headers.add(HttpHeader.of(header.getName(), header.getValue()));
+            }
+        }
+        String body = response.getBody();
+        return new CachedResponse(response.getStatusCode(), response.getStatusText(), List.copyOf(headers),
+                body == null ? "" : body);
+    }
+
+    // 저장된 상태/헤더/본문을 응답에 적용 (이미 있는 같은 이름의 헤더는 교체)
+    public void applyTo(HttpServletResponse response) {
+        response.setStatusCode(statusCode);
+        response.setStatusText(statusText);
+        for (HttpHeader header : headers) {
+            response.removeHeaderByName(header.getName());
+        }
+        for (HttpHeader header : headers) {
+            response.addHeader(header.getName(), header.getValue());
+        }
+        response.setBody(body);
+    }
+
+    private static boolean isPerResponse(String name) {
+        return HttpHeaders.SET_COOKIE.equalsIgnoreCase(name)
+                || HttpHeaders.CONNECTION.equalsIgnoreCase(name)
+                || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)
+                || HttpHeaders.TRANSFER_ENCODING.equalsIgnoreCase(name);
+    }
+}
@@ -0,0 +1,69 @@
+package org.depth.web.servlet.cache;
+
+/**
+ * 키별 최근 접근 빈도를 근사하는 4비트 Count-Min 스케치 (TinyLFU 승인 정책용)
+ * long 하나에 카운터 16개를 담고 해시 4개 중 최솟값을 빈도로 본다.
+ * 증가 횟수가 표 크기의 10배에 이르면 모든 카운터를 절반으로 줄여 오래된 인기를 잊는다.
+ * 호출자가 동기화해야 한다.
+ */
+final class FrequencySketch {
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions = 0;
+
+    FrequencySketch(int expectedEntries) {
+        int length = Integer.highestOneBit(Math.max(64, Math.min(expectedEntries, 1 << 24)) - 1) << 1;
+        this.table = new long[length];
+        this.tableMask = length - 1;
+        this.sampleSize = 10 * length;
+    }
+
+    int frequency(int hash) {
+        int frequency = 15;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long h = mix(hash, i);
+            int shift = counterShift(h);
+            frequency = Math.min(frequency, (int) ((table[(int) h & tableMask] >>> shift) & 0xF));
+        }
+        return frequency;
+    }
+
+    void increment(int hash) {
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long h = mix(hash, i);
+            int index = (int) h & tableMask;
+            int shift = counterShift(h);
+            if (((table[index] >>> shift) & 0xF) < 15) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    private static long mix(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[(i + 1) & 3];
+        return h ^ (h >>> 29);
+    }
+
+    // 64비트 중 상위 비트로 칸 안의 카운터(0~15) 선택
+    private static int counterShift(long h) {
+        return (int) ((h >>> 58) & 0xF) << 2;
+    }
+}
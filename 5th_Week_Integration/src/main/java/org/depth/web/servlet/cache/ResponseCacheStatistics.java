@@ -0,0 +1,80 @@
+package org.depth.web.servlet.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 응답 캐시 통계
+ * 적중률과 함께 같은 키의 동시 미스를 하나의 핸들러 실행으로 합친 횟수를 본다.
+ */
+public class ResponseCacheStatistics {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalescedLoads = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    void recordCoalesced() {
+        coalescedLoads.increment();
+    }
+
+    void recordStore() {
+        stores.increment();
+    }
+
+    void recordEviction() {
+        evictions.increment();
+    }
+
+    void recordExpiration() {
+        expirations.increment();
+    }
+
+    void recordInvalidation() {
+        invalidations.increment();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    // 미스였지만 다른 요청의 핸들러 실행 결과를 기다려 받은 수
+    public long getCoalescedLoads() {
+        return coalescedLoads.sum();
+    }
+
+    public long getStores() {
+        return stores.sum();
+    }
+
+    // 용량 때문에 밀려난 항목 수 (승인되지 못한 새 항목 포함)
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getExpirations() {
+        return expirations.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    public double getHitRatio() {
+        long requests = hits.sum() + misses.sum();
+        return requests == 0 ? 0 : (double) hits.sum() / requests;
+    }
+}
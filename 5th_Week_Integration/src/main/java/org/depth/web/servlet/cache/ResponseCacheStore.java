@@ -0,0 +1,403 @@
+package org.depth.web.servlet.cache;
+
+import lombok.Getter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * 크기(바이트) 제한이 있는 응답 캐시 (W-TinyLFU)
+ * - 새 항목은 작은 window LRU 에 들어가고, 밀려나면 main 영역(probation → protected 로 승격하는 SLRU)에 도전한다.
+ * - main 이 가득 차면 도전자와 probation 의 가장 오래된 항목 중 최근 접근 빈도(FrequencySketch)가 높은 쪽만 남긴다.
+ *   한 번 훑고 지나가는 요청이 자주 쓰이는 응답을 밀어내지 못한다.
+ * - 항목마다 TTL 이 있고 만료된 항목은 조회나 정리 시점에 제거된다.
+ * - 같은 키의 미스가 동시에 몰리면 한 요청만 핸들러를 실행하고 나머지는 그 결과를 기다린다. (beginLoad/completeLoad)
+ *
+ * 조회는 잠금 없이 ConcurrentHashMap 에서 하고, 정책(순서/빈도) 갱신만 잠금을 얻을 수 있을 때 반영한다.
+ * (경합 중에는 일부 접근 기록을 버려 조회가 정책 잠금을 기다리지 않게 함)
+ */
+public class ResponseCacheStore {
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    // 항목 평균 크기 추정치 (빈도 스케치 크기 결정용)
+    private static final int ESTIMATED_ENTRY_WEIGHT = 2048;
+
+    private final ConcurrentHashMap<String, Node> data = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<CachedResponse>> loads = new ConcurrentHashMap<>();
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+
+    private final AccessOrderQueue window = new AccessOrderQueue();
+    private final AccessOrderQueue probation = new AccessOrderQueue();
+    private final AccessOrderQueue protectedQueue = new AccessOrderQueue();
+
+    @Getter
+    private final long maximumWeight;
+    private final long maximumWindowWeight;
+    private final long maximumProtectedWeight;
+
+    private long windowWeight = 0;
+    private long protectedWeight = 0;
+    // 전체 저장 크기 (정책 잠금 안에서만 변경)
+    private volatile long weightedSize = 0;
+
+    @Getter
+    private final ResponseCacheStatistics statistics = new ResponseCacheStatistics();
+
+    /**
+     * @param maximumWeight 저장할 응답의 최대 총 크기 (바이트)
+     */
+    public ResponseCacheStore(long maximumWeight) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("maximumWeight must be positive: " + maximumWeight);
+        }
+        this.maximumWeight = maximumWeight;
+        this.maximumWindowWeight = Math.max(1, maximumWeight / 100);
+        this.maximumProtectedWeight = (maximumWeight - maximumWindowWeight) * 4 / 5;
+        this.sketch = new FrequencySketch((int) Math.min(Integer.MAX_VALUE, maximumWeight / ESTIMATED_ENTRY_WEIGHT));
+    }
+
+    /**
+     * 유효한 캐시 응답을 조회합니다. (적중/미스 통계 기록)
+     * @return 없거나 만료되었으면 null
+     */
+    public CachedResponse get(String key) {
+        Node node = data.get(key);
+        if (node != null && node.isExpired(System.nanoTime())) {
+            removeExpired(node);
+            node = null;
+        }
+        if (node == null) {
+            statistics.recordMiss();
+            recordAccess(key, null);
+            return null;
+        }
+        statistics.recordHit();
+        recordAccess(key, node);
+        return node.value;
+    }
+
+    /**
+     * 미스 난 키의 로드를 시작합니다.
+     * @return 호출자가 로드를 맡았으면 null (completeLoad 를 반드시 호출해야 함), 이미 다른 요청이 로드 중이면 그 결과
+     */
+    public CompletableFuture<CachedResponse> beginLoad(String key) {
+        CompletableFuture<CachedResponse> load = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> existing = loads.putIfAbsent(key, load);
+        if (existing != null) {
+            statistics.recordCoalesced();
+        }
+        return existing;
+    }
+
+    /**
+     * beginLoad 로 맡은 로드를 끝내고 기다리던 요청에게 결과를 알립니다.
+     * @param path 무효화 단위가 되는 요청 경로
+     * @param response 저장할 응답 (캐시할 수 없으면 null: 기다리던 요청은 각자 핸들러를 실행)
+     * @param ttlMillis 유효 시간 (밀리초)
+     */
+    public void completeLoad(String key, String path, CachedResponse response, long ttlMillis) {
+        if (response != null && ttlMillis > 0) {
+            put(key, path, response, ttlMillis);
+        }
+        CompletableFuture<CachedResponse> load = loads.remove(key);
+        if (load != null) {
+            load.complete(response);
+        }
+    }
+
+    /**
+     * 다른 요청이 맡은 로드 결과를 기다립니다.
+     * @return 저장된 응답 (로드가 캐시하지 못했거나 제한 시간이 지나면 null)
+     */
+    public static CachedResponse await(CompletableFuture<CachedResponse> load, long timeoutMillis) {
+        try {
+            return load.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        }
+    }
+
+    public void put(String key, String path, CachedResponse response, long ttlMillis) {
+        if (response.getWeight() > maximumWeight - maximumWindowWeight) {
+            // main 영역보다 큰 응답은 넣어도 바로 밀려나므로 저장하지 않음
+            return;
+        }
+        Node node = new Node(key, path, response, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMillis));
+        policyLock.lock();
+        try {
+            Node previous = data.put(key, node);
+            if (previous != null) {
+                unlink(previous);
+            }
+            sketch.increment(key.hashCode());
+            node.queue = WINDOW;
+            window.addLast(node);
+            windowWeight += node.weight;
+            weightedSize += node.weight;
+            statistics.recordStore();
+            evict();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    // 키 하나를 무효화
+    public void invalidate(String key) {
+        policyLock.lock();
+        try {
+            Node node = data.remove(key);
+            if (node != null) {
+                unlink(node);
+                statistics.recordInvalidation();
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    // 요청 경로가 같은 모든 항목을 무효화 (헤더별 변형 포함)
+    public void invalidatePath(String path) {
+        invalidateIf(node -> node.path.equals(path));
+    }
+
+    // 요청 경로가 접두사로 시작하는 모든 항목을 무효화
+    public void invalidatePrefix(String pathPrefix) {
+        invalidateIf(node -> node.path.startsWith(pathPrefix));
+    }
+
+    public void invalidateAll() {
+        invalidateIf(node -> true);
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    // 현재 저장된 응답의 총 크기 (바이트)
+    public long getWeightedSize() {
+        return weightedSize;
+    }
+
+    private void invalidateIf(Predicate<Node> condition) {
+        policyLock.lock();
+        try {
+            for (Node node : data.values()) {
+                if (condition.test(node) && data.remove(node.key, node)) {
+                    unlink(node);
+                    statistics.recordInvalidation();
+                }
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    // 잠금을 바로 얻을 수 있을 때만 빈도와 순서를 갱신 (경합 시 기록을 버림)
+    private void recordAccess(String key, Node node) {
+        if (!policyLock.tryLock()) {
+            return;
+        }
+        try {
+            sketch.increment(key.hashCode());
+            if (node == null || node.queue < 0) {
+                return;
+            }
+            switch (node.queue) {
+                case WINDOW -> window.moveToLast(node);
+                case PROBATION -> promote(node);
+                default -> protectedQueue.moveToLast(node);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    // probation 에서 다시 접근된 항목을 protected 로 승격 (넘치면 가장 오래된 protected 를 probation 으로 내림)
+    private void promote(Node node) {
+        probation.remove(node);
+        node.queue = PROTECTED;
+        protectedQueue.addLast(node);
+        protectedWeight += node.weight;
+        while (protectedWeight > maximumProtectedWeight) {
+            Node demoted = protectedQueue.peekFirst();
+            if (demoted == null || demoted == node) {
+                break;
+            }
+            protectedQueue.remove(demoted);
+            protectedWeight -= demoted.weight;
+            demoted.queue = PROBATION;
+            probation.addLast(demoted);
+        }
+    }
+
+    private void evict() {
+        long now = System.nanoTime();
+        // window 에서 밀려난 항목은 probation 끝에서 main 진입을 기다림
+        while (windowWeight > maximumWindowWeight) {
+            Node candidate = window.peekFirst();
+            window.remove(candidate);
+            windowWeight -= candidate.weight;
+            if (candidate.isExpired(now)) {
+                removeNode(candidate);
+                statistics.recordExpiration();
+                continue;
+            }
+            candidate.queue = PROBATION;
+            probation.addLast(candidate);
+        }
+
+        while (weightedSize > maximumWeight) {
+            Node victim = probation.peekFirst();
+            Node candidate = probation.peekLast();
+            if (victim == null) {
+                // probation 이 비면 protected 의 가장 오래된 항목부터
+                victim = protectedQueue.peekFirst();
+                if (victim == null) {
+                    victim = window.peekFirst();
+                }
+                if (victim == null) {
+                    break;
+                }
+                evictNode(victim);
+                continue;
+            }
+            if (victim == candidate || victim.isExpired(now)) {
+                evictNode(victim);
+            } else if (candidate.isExpired(now)
+                    || sketch.frequency(candidate.key.hashCode()) <= sketch.frequency(victim.key.hashCode())) {
+                // 도전자가 더 자주 쓰이지 않으면 들어오지 못함
+                evictNode(candidate);
+            } else {
+                evictNode(victim);
+            }
+        }
+    }
+
+    private void evictNode(Node node) {
+        if (node.isExpired(System.nanoTime())) {
+            statistics.recordExpiration();
+        } else {
+            statistics.recordEviction();
+        }
+        removeNode(node);
+    }
+
+    private void removeExpired(Node node) {
+        policyLock.lock();
+        try {
+            if (data.remove(node.key, node)) {
+                unlink(node);
+                statistics.recordExpiration();
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void removeNode(Node node) {
+        data.remove(node.key, node);
+        unlink(node);
+    }
+
+    // 정책 큐에서 빼고 크기 반영 (잠금 안에서 호출)
+    private void unlink(Node node) {
+        switch (node.queue) {
+            case WINDOW -> {
+                window.remove(node);
+                windowWeight -= node.weight;
+            }
+            case PROBATION -> probation.remove(node);
+            case PROTECTED -> {
+                protectedQueue.remove(node);
+                protectedWeight -= node.weight;
+            }
+            default -> {
+                return;
+            }
+        }
+        node.queue = -1;
+        weightedSize -= node.weight;
+    }
+
+    private static final class Node {
+        private final String key;
+        private final String path;
+        private final CachedResponse value;
+        private final long weight;
+        private final long expiresAtNanos;
+        // 속한 정책 큐 (-1: 제거됨)
+        private int queue = -1;
+        private Node previous;
+        private Node next;
+
+        private Node(String key, String path, CachedResponse value, long expiresAtNanos) {
+            this.key = key;
+            this.path = path;
+            this.value = value;
+            this.weight = value.getWeight();
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    // 노드에 링크를 내장한 접근 순서 큐 (앞이 가장 오래됨)
+    private static final class AccessOrderQueue {
+        private Node first;
+        private Node last;
+
+        Node peekFirst() {
+            return first;
+        }
+
+        Node peekLast() {
+            return last;
+        }
+
+        void addLast(Node node) {
+            node.previous = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        void remove(Node node) {
+            if (node.previous == null) {
+                first = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+        }
+
+        void moveToLast(Node node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.depth.web.servlet.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Gson 기반 JSON 코덱
+ * - Gson 인스턴스 하나를 모든 요청이 공유 (Gson 은 스레드 안전)
+ * - 반환 타입별 TypeAdapter 를 캐시해 요청마다 어댑터를 다시 찾지 않음
+ * - JsonWriter 로 출력에 바로 쓰고, 컬렉션/스트림은 원소 단위로 직렬화
+ * 출력 결과는 new Gson().toJson(value) 와 같다. 단, Gson 이 배열로 쓰지 않는 Stream/Iterator 는 원소 배열로 쓴다.
+ * Collection 이 아닌 Iterable(사용자 빈, Path 등)은 Gson 처럼 객체로 직렬화한다.
+ */
+public class GsonResponseBodyCodec implements ResponseBodyCodec {
+    private static final GsonResponseBodyCodec SHARED = new GsonResponseBodyCodec(new Gson());
+    private static final int WRITE_BUFFER_SIZE = 8192;
+
+    private final Gson gson;
+    private final Map<Class<?>, TypeAdapter<Object>> adapters = new ConcurrentHashMap<>();
+
+    public GsonResponseBodyCodec(Gson gson) {
+        this.gson = gson;
+    }
+
+    // 기본 설정의 공유 인스턴스
+    public static GsonResponseBodyCodec shared() {
+        return SHARED;
+    }
+
+    @Override
+    public String getContentType() {
+        return "application/json;charset=UTF-8";
+    }
+
+    @Override
+    public void write(Object value, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        JsonWriter jsonWriter = newJsonWriter(writer);
+        writeValue(jsonWriter, value);
+        jsonWriter.flush();
+    }
+
+    @Override
+    public String encodeToString(Object value) {
+        StringWriter writer = new StringWriter();
+        try {
+            writeValue(newJsonWriter(writer), value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    // Gson.toJson 과 같은 설정 (HTML 문자 이스케이프 포함)
+    private JsonWriter newJsonWriter(Writer writer) throws IOException {
+        JsonWriter jsonWriter = gson.newJsonWriter(writer);
+        jsonWriter.setHtmlSafe(gson.htmlSafe());
+        return jsonWriter;
+    }
+
+    private void writeValue(JsonWriter jsonWriter, Object value) throws IOException {
+        if (value instanceof Stream<?> stream) {
+            try (stream) {
+                writeElements(jsonWriter, stream.iterator());
+            }
+        } else if (value instanceof Iterator<?> iterator) {
+            writeElements(jsonWriter, iterator);
+        } else if (value instanceof Collection<?> collection) {
+            writeElements(jsonWriter, collection.iterator());
+        } else {
+            writeElement(jsonWriter, value);
+        }
+    }
+
+    // 배열을 원소 단위로 써 내려감 (컬렉션 전체를 JSON 트리나 문자열로 만들지 않음)
+    private void writeElements(JsonWriter jsonWriter, Iterator<?> elements) throws IOException {
+        jsonWriter.beginArray();
+        while (elements.hasNext()) {
+            writeElement(jsonWriter, elements.next());
+        }
+        jsonWriter.endArray();
+    }
+
+    private void writeElement(JsonWriter jsonWriter, Object element) throws IOException {
+        if (element == null) {
+            jsonWriter.nullValue();
+            return;
+        }
+        adapterFor(element.getClass()).write(jsonWriter, element);
+    }
+
+    @SuppressWarnings("unchecked")
+    private TypeAdapter<Object> adapterFor(Class<?> type) {
+        return adapters.computeIfAbsent(type, key -> (TypeAdapter<Object>) gson.getAdapter(key));
+    }
+}
@@ -0,0 +1,23 @@
+package org.depth.web.servlet.codec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 핸들러 반환값을 응답 본문으로 직렬화하는 코덱
+ * DispatcherServlet 에 설정해 더 빠른 구현으로 바꿀 수 있으며, 구현은 여러 요청이 동시에 공유하므로 스레드 안전해야 한다.
+ */
+public interface ResponseBodyCodec {
+
+    // 직렬화한 본문의 Content-Type
+    String getContentType();
+
+    /**
+     * 값을 출력 스트림에 바로 직렬화합니다. (출력은 flush 만 하고 닫지 않음)
+     * Stream/Iterator/Collection 은 원소를 하나씩 써 내려가 전체를 메모리에 만들지 않습니다.
+     */
+    void write(Object value, OutputStream outputStream) throws IOException;
+
+    // 값을 문자열 본문으로 직렬화 (작은 응답처럼 길이를 알고 보내는 편이 나을 때)
+    String encodeToString(Object value);
+}
@@ -0,0 +1,153 @@
+package org.depth.web.servlet.http;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 서블릿이 반환한 뒤에도 응답을 열어 두는 비동기 처리 상태 (HttpServletRequest.startAsync 로 시작)
+ * 워커 스레드는 바로 반환되고, 결과를 가진 스레드가 dispatch/complete 를 호출하면 컨테이너가 그 스레드에서 응답을 마무리한다.
+ * - dispatch: 결과를 담아 필터/서블릿 파이프라인을 ASYNC 로 다시 태움 (필터가 실제 응답을 보게 됨)
+ * - complete: 서블릿이 이미 채운 응답을 그대로 전송
+ * 먼저 도착한 결과(또는 시간 초과)만 반영되고 이후 호출은 무시된다.
+ */
+public class AsyncContext {
+    // 시간 초과 감시 전용 스레드 (처리는 공용 풀로 넘겨 감시 스레드가 I/O 로 막히지 않게 함)
+    private static final ScheduledThreadPoolExecutor TIMEOUT_SCHEDULER = createTimeoutScheduler();
+
+    private final AtomicBoolean finished = new AtomicBoolean(false);
+    // true 면 ASYNC 재처리, false 면 응답을 그대로 전송
+    private final CompletableFuture<Boolean> completion = new CompletableFuture<>();
+    private final List<Runnable> timeoutHandlers = new CopyOnWriteArrayList<>();
+    private ScheduledFuture<?> timeoutTask;
+
+    private volatile Object result;
+    private volatile Throwable error;
+    private volatile boolean timedOut = false;
+    // 시간 초과 시 오류 대신 응답으로 쓸 값 (없으면 503)
+    private volatile Object timeoutResult;
+
+    AsyncContext() {
+    }
+
+    /**
+     * 시간 제한을 (다시) 설정합니다. 0 이하이면 제한이 없습니다.
+     * @param timeoutMillis 지금부터 결과를 기다릴 최대 시간 (밀리초)
+     */
+    public synchronized void setTimeout(long timeoutMillis) {
+        if (timeoutTask != null) {
+            timeoutTask.cancel(false);
+            timeoutTask = null;
+        }
+        if (timeoutMillis > 0 && !finished.get()) {
+            timeoutTask = TIMEOUT_SCHEDULER.schedule(this::expire, timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // 시간 초과 시 실행할 작업 (작업 취소 등, 재처리 직전에 호출됨)
+    public void onTimeout(Runnable handler) {
+        timeoutHandlers.add(handler);
+    }
+
+    public void setTimeoutResult(Object timeoutResult) {
+        this.timeoutResult = timeoutResult;
+    }
+
+    public Object getTimeoutResult() {
+        return timeoutResult;
+    }
+
+    // 결과를 담아 ASYNC 로 재처리 (이미 끝났으면 false)
+    public boolean dispatch(Object result) {
+        if (!finished.compareAndSet(false, true)) {
+            return false;
+        }
+        this.result = result;
+        return finish(true);
+    }
+
+    // 실패를 담아 ASYNC 로 재처리 (이미 끝났으면 false)
+    public boolean dispatchError(Throwable error) {
+        if (!finished.compareAndSet(false, true)) {
+            return false;
+        }
+        this.error = error;
+        return finish(true);
+    }
+
+    // 재처리 없이 현재 응답을 그대로 전송 (이미 끝났으면 false)
+    public boolean complete() {
+        if (!finished.compareAndSet(false, true)) {
+            return false;
+        }
+        return finish(false);
+    }
+
+    public Object getResult() {
+        return result;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    public boolean isFinished() {
+        return finished.get();
+    }
+
+    /**
+     * 비동기 처리가 끝나면 완료되는 future (컨테이너 전용)
+     * 값이 true 이면 ASYNC 재처리가 필요합니다. 완료 콜백은 결과를 넘긴 스레드에서 실행됩니다.
+     */
+    public CompletableFuture<Boolean> completion() {
+        return completion;
+    }
+
+    private boolean finish(boolean redispatch) {
+        synchronized (this) {
+            if (timeoutTask != null) {
+                timeoutTask.cancel(false);
+                timeoutTask = null;
+            }
+        }
+        completion.complete(redispatch);
+        return true;
+    }
+
+    private void expire() {
+        if (!finished.compareAndSet(false, true)) {
+            return;
+        }
+        timedOut = true;
+        ForkJoinPool.commonPool().execute(() -> {
+            for (Runnable handler : timeoutHandlers) {
+                try {
+                    handler.run();
+                } catch (RuntimeException e) {
+                    System.err.println("AsyncContext WARN: timeout handler failed: " + e.getMessage());
+                }
+            }
+            completion.complete(true);
+        });
+    }
+
+    private static ScheduledThreadPoolExecutor createTimeoutScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "async-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 제때 끝난 요청의 시간 초과 작업은 바로 큐에서 제거
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+}
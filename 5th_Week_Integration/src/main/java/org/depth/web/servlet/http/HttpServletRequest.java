@@ -1,30 +1,68 @@
 package org.depth.web.servlet.http;
 
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 import org.depth.web.container.listener.RequestListener;
 import org.depth.web.http.HttpRequest;
+import org.depth.web.http.handler.HttpResponseWriter;
 import org.depth.web.http.model.HttpHeader;
 import org.depth.web.http.model.HttpSession;
+import org.depth.web.http.model.RequestBodyInputStream;
+import org.depth.web.servlet.DispatcherType;
 import org.depth.web.servlet.ServletRequest;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-@EqualsAndHashCode(callSuper = true)
+@EqualsAndHashCode(callSuper = true, doNotUseGetters = true)
+@ToString(callSuper = true, doNotUseGetters = true)
 @Data
 @SuperBuilder
 public class HttpServletRequest extends HttpRequest implements ServletRequest {
     // 세션 설정
-    // 세션 반환 (없으면 null)
+    // 이미 찾았거나 만든 세션 (getSession 으로 조회)
+    @Getter(AccessLevel.NONE)
     private HttpSession session;
+
+    // 세션을 처음 요청할 때 쿠키로 찾거나 새로 만드는 방법 (컨테이너가 설정, null 이면 설정된 세션만 사용)
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private SessionResolver sessionResolver;
     private final Map<String, Object> requestAttributes = new HashMap<>();
     private final List<RequestListener> listeners = new ArrayList<>();
+
+    // 아직 읽지 않은 본문 (파서가 설정, 본문이 없으면 null)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private RequestBodyInputStream bodyStream;
+
+    // startAsync 로 시작된 비동기 처리 (없으면 null)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile AsyncContext asyncContext;
+
+    // 현재 파이프라인을 지나는 계기 (null 이면 REQUEST)
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private DispatcherType dispatcherType;
     
     // 기본 생성자
     public HttpServletRequest() {
@@ -38,11 +76,102 @@ public class HttpServletRequest extends HttpRequest implements ServletRequest {
         this.session = null;
     }
     
-    // 세션 유무 확인
+    // 이미 세션을 찾았거나 만들었는지 확인 (세션을 새로 찾지 않음)
     public boolean hasSession() {
         return session != null;
     }
 
+    // 요청의 세션을 반환하고, 없으면 새로 만듭니다.
+    public HttpSession getSession() {
+        return getSession(true);
+    }
+
+    /**
+     * 요청의 세션을 반환합니다.
+     * 세션은 이 메서드가 처음 호출될 때에야 쿠키로 찾거나 만들어지므로, 세션을 쓰지 않는 요청은 세션 저장소에 흔적을 남기지 않습니다.
+     * @param create 세션이 없을 때 새로 만들지 여부 (새로 만들면 응답에 세션 쿠키가 붙음)
+     * @return 요청의 세션 (없고 create 가 false 면 null)
+     */
+    public synchronized HttpSession getSession(boolean create) {
+        if (session == null && sessionResolver != null) {
+            session = sessionResolver.resolve(create);
+        }
+        return session;
+    }
+
+    /**
+     * 요청 본문을 문자열로 반환합니다.
+     * 스트리밍 본문은 처음 호출할 때 남은 바이트를 모두 읽어 UTF-8 로 디코딩하므로, 대용량 업로드는 getInputStream 을 사용해야 합니다.
+     */
+    @Override
+    public String getBody() {
+        if (super.getBody() == null && bodyStream != null) {
+            try {
+                setBody(new String(bodyStream.readAllBytes(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return super.getBody();
+    }
+
+    /**
+     * 요청 본문을 바이트 스트림으로 반환합니다.
+     * 본문은 읽는 만큼만 연결(또는 임시 파일)에서 소비되며 한 번만 읽을 수 있습니다.
+     */
+    public InputStream getInputStream() {
+        if (super.getBody() == null && bodyStream != null) {
+            return bodyStream;
+        }
+        String body = super.getBody();
+        return new ByteArrayInputStream(body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Content-Length 로 선언된 본문 크기 (본문이 없으면 0)
+    public long getContentLength() {
+        if (bodyStream != null) {
+            return bodyStream.getLength();
+        }
+        String body = super.getBody();
+        return body == null ? 0 : HttpResponseWriter.utf8Length(body);
+    }
+
+    /**
+     * 서블릿이 읽지 않은 본문을 버립니다. (keep-alive 연결에서 다음 요청을 읽기 전에 호출)
+     * @param maxBytes 버릴 수 있는 최대 바이트 수
+     * @return 남은 본문을 모두 버렸으면 true, 너무 커서 연결을 닫아야 하면 false
+     */
+    public boolean discardRemainingBody(long maxBytes) throws IOException {
+        return bodyStream == null || bodyStream.discardRemaining(maxBytes);
+    }
+
+    /**
+     * 응답을 서블릿 반환 이후로 미루는 비동기 처리를 시작합니다.
+     * 워커 스레드는 바로 반환되며, 반환된 컨텍스트의 dispatch/complete 를 호출한 스레드에서 응답이 마무리됩니다.
+     * @return 비동기 처리 컨텍스트 (이미 시작했으면 같은 컨텍스트)
+     */
+    public synchronized AsyncContext startAsync() {
+        if (asyncContext == null) {
+            asyncContext = new AsyncContext();
+        }
+        return asyncContext;
+    }
+
+    public boolean isAsyncStarted() {
+        return asyncContext != null;
+    }
+
+    public AsyncContext getAsyncContext() {
+        if (asyncContext == null) {
+            throw new IllegalStateException("Async processing has not been started");
+        }
+        return asyncContext;
+    }
+
+    public DispatcherType getDispatcherType() {
+        return dispatcherType == null ? DispatcherType.REQUEST : dispatcherType;
+    }
+
     /**
      * 요청 리스너를 등록합니다.
      * @param listener 요청 리스너
@@ -171,7 +300,7 @@ public class HttpServletRequest extends HttpRequest implements ServletRequest {
             case "version" -> getVersion();
             case "headers" -> getHeaders();
             case "body" -> getBody();
-            case "session" -> getSession();
+            case "session" -> getSession(false);
             default -> null;
         };
     }
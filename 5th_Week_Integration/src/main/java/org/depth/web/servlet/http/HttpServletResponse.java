@@ -4,10 +4,15 @@ import lombok.*;
 import lombok.experimental.SuperBuilder;
 import org.depth.web.annotation.RequestMapping;
 import org.depth.web.http.HttpResponse;
+import org.depth.web.http.handler.HttpResponseEncoder;
+import org.depth.web.http.model.FileRegion;
 import org.depth.web.http.model.HttpHeader;
 import org.depth.web.servlet.ServletResponse;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 
 @EqualsAndHashCode(callSuper = true)
@@ -19,9 +24,70 @@ public class HttpServletResponse extends HttpResponse implements ServletResponse
     @Setter
     private boolean isCommitted = false;
 
+    // 설정되면 문자열 본문 대신 파일 영역을 그대로 전송 (정적 리소스 등)
+    private FileRegion fileBody;
+
+    // 컨테이너가 연결 출력을 바인딩하면 서블릿이 본문을 스트리밍으로 쓸 수 있다
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private ResponseOutputStream streamingOutput;
+
+    // getOutputStream 이 호출되어 본문을 스트리밍으로 보내는 중인지 여부
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean streaming;
+
+    /**
+     * 응답을 연결 출력에 바인딩합니다. (컨테이너 전용)
+     * @param keepAliveRequested 요청과 연결 상태상 연결을 유지할 수 있는지 여부
+     * @param chunkedSupported 길이를 모를 때 chunked 인코딩을 쓸 수 있는지 여부 (HTTP/1.1)
+     */
+    public void bindConnection(OutputStream connectionOutput, boolean keepAliveRequested, boolean chunkedSupported) {
+        this.streamingOutput = new ResponseOutputStream(this, connectionOutput, keepAliveRequested, chunkedSupported);
+    }
+
+    // getOutputStream 으로 본문을 스트리밍할 수 있는지 (컨테이너가 연결을 바인딩했는지)
+    public boolean isConnectionBound() {
+        return streamingOutput != null;
+    }
+
+    /**
+     * 본문을 직접 써 내려가는 출력 스트림을 반환합니다.
+     * 첫 쓰기에서 상태줄/헤더가 전송되므로 헤더는 그 전에 설정해야 하며, 이후 body 문자열은 무시됩니다.
+     * Content-Length 헤더를 지정하지 않으면 chunked 인코딩으로 전송됩니다.
+     */
+    public OutputStream getOutputStream() {
+        if (streamingOutput == null) {
+            throw new IllegalStateException("Response is not bound to a connection");
+        }
+        streaming = true;
+        return streamingOutput;
+    }
+
+    // getOutputStream 위에 얹은 채널 (NIO 버퍼 기반 생산자용)
+    public WritableByteChannel getChannel() {
+        return Channels.newChannel(getOutputStream());
+    }
+
+    /**
+     * 스트리밍 응답을 마칩니다. (컨테이너 전용)
+     * @return 응답 이후에도 연결을 유지할 수 있으면 true
+     */
+    public boolean finishStreaming() throws IOException {
+        return streamingOutput.finish();
+    }
+
+    // 본문 전송 도중 실패한 스트리밍 응답을 중단 (컨테이너 전용, 연결은 닫아야 함)
+    public void abortStreaming() throws IOException {
+        streamingOutput.abort();
+    }
+
     @Override
     public byte[] getContent() {
-        return this.toRawResponse().getBytes(StandardCharsets.UTF_8);
+        return HttpResponseEncoder.encode(this);
     }
 
     @Override
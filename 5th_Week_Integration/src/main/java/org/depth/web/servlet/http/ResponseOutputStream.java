@@ -0,0 +1,196 @@
+package org.depth.web.servlet.http;
+
+import org.depth.web.http.handler.HttpResponseEncoder;
+import org.depth.web.http.handler.HttpResponseWriter;
+import org.depth.web.http.handler.ZeroCopyOutput;
+import org.depth.web.http.model.HttpHeaders;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 서블릿이 본문을 직접 써 내려가는 스트리밍 응답 출력
+ * 첫 쓰기 시점에 상태줄/헤더를 커밋해 전송하고, 이후 본문은 고정 크기 버퍼 단위로 내보낸다.
+ * Content-Length 가 지정되지 않았으면 Transfer-Encoding: chunked 로 전환하며,
+ * chunked 를 쓸 수 없는 HTTP/1.0 요청은 연결 종료로 본문 끝을 알린다.
+ */
+class ResponseOutputStream extends OutputStream {
+    private static final int CHUNK_BUFFER_SIZE = 8192;
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] LAST_CHUNK = "0\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final HttpServletResponse response;
+    private final OutputStream connectionOutput;
+    private final boolean chunkedSupported;
+    private boolean keepAlive;
+
+    private byte[] buffer;
+    private int buffered = 0;
+    private boolean headersWritten = false;
+    private boolean chunked = false;
+    private long declaredLength = -1;
+    private long written = 0;
+    private boolean finished = false;
+
+    ResponseOutputStream(HttpServletResponse response, OutputStream connectionOutput,
+                         boolean keepAliveRequested, boolean chunkedSupported) {
+        this.response = response;
+        this.connectionOutput = connectionOutput;
+        this.keepAlive = keepAliveRequested;
+        this.chunkedSupported = chunkedSupported;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (finished) {
+            throw new IOException("Response stream already closed");
+        }
+        if (len == 0) {
+            return;
+        }
+        commitHeaders();
+        countWritten(len);
+
+        if (buffered + len <= buffer.length) {
+            System.arraycopy(b, off, buffer, buffered, len);
+            buffered += len;
+            return;
+        }
+        // 버퍼보다 큰 쓰기는 모아둔 것을 먼저 내보내고 복사 없이 바로 전송
+        emitBuffer();
+        if (len >= buffer.length) {
+            emit(b, off, len);
+        } else {
+            System.arraycopy(b, off, buffer, 0, len);
+            buffered = len;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (finished) {
+            return;
+        }
+        commitHeaders();
+        emitBuffer();
+        connectionOutput.flush();
+    }
+
+    // 서블릿이 스트림을 닫아도 연결은 닫지 않고 본문만 끝낸다
+    @Override
+    public void close() throws IOException {
+        finish();
+    }
+
+    /**
+     * 남은 본문과 chunked 종료 표시를 보내고 응답을 마칩니다. (여러 번 호출해도 안전)
+     * @return 응답 이후에도 연결을 유지할 수 있으면 true
+     */
+    boolean finish() throws IOException {
+        if (finished) {
+            return keepAlive;
+        }
+        commitHeaders();
+        emitBuffer();
+        finished = true;
+        if (chunked) {
+            connectionOutput.write(LAST_CHUNK);
+        }
+        if (declaredLength >= 0 && written != declaredLength) {
+            // 선언한 길이만큼 보내지 못하면 응답 경계가 어긋나므로 연결을 끊는다
+            keepAlive = false;
+        }
+        connectionOutput.flush();
+        return keepAlive;
+    }
+
+    // 본문 전송 도중 실패: 종료 청크를 보내지 않아 클라이언트가 잘린 응답임을 알 수 있게 한다
+    void abort() throws IOException {
+        if (!finished) {
+            finished = true;
+            keepAlive = false;
+            if (headersWritten) {
+                emitBuffer();
+            }
+            connectionOutput.flush();
+        }
+    }
+
+    private void commitHeaders() throws IOException {
+        if (headersWritten) {
+            return;
+        }
+        headersWritten = true;
+        buffer = new byte[CHUNK_BUFFER_SIZE];
+
+        HttpResponseWriter.standardizeHeaders(response);
+        response.setFileBody(null);
+
+        String contentLength = response.getHeader(HttpHeaders.CONTENT_LENGTH);
+        if (contentLength != null) {
+            try {
+                declaredLength = Long.parseLong(contentLength.trim());
+            } catch (NumberFormatException e) {
+                response.removeHeaderByName(HttpHeaders.CONTENT_LENGTH);
+            }
+        }
+        if (declaredLength < 0) {
+            if (chunkedSupported) {
+                chunked = true;
+                response.removeHeaderByName(HttpHeaders.TRANSFER_ENCODING);
+                response.addHeader(HttpHeaders.TRANSFER_ENCODING, "chunked");
+            } else {
+                keepAlive = false;
+            }
+        }
+
+        keepAlive = keepAlive && !"close".equalsIgnoreCase(response.getHeader(HttpHeaders.CONNECTION));
+        response.removeHeaderByName(HttpHeaders.CONNECTION);
+        response.addHeader(HttpHeaders.CONNECTION, keepAlive ? "keep-alive" : "close");
+
+        response.setCommitted(true);
+        HttpResponseEncoder.writeHead(response, connectionOutput);
+        connectionOutput.flush();
+    }
+
+    private void countWritten(int len) throws IOException {
+        written += len;
+        if (declaredLength >= 0 && written > declaredLength) {
+            throw new IOException("Response body exceeds Content-Length: " + declaredLength);
+        }
+    }
+
+    private void emitBuffer() throws IOException {
+        if (buffered > 0) {
+            emit(buffer, 0, buffered);
+            buffered = 0;
+        }
+    }
+
+    private void emit(byte[] b, int off, int len) throws IOException {
+        if (!chunked) {
+            connectionOutput.write(b, off, len);
+            return;
+        }
+        byte[] sizeLine = (Integer.toHexString(len) + "\r\n").getBytes(StandardCharsets.US_ASCII);
+        if (connectionOutput instanceof ZeroCopyOutput zeroCopyOutput) {
+            // 크기 줄 + 데이터 + CRLF 를 한 번의 gathering write 로 전송
+            zeroCopyOutput.write(new ByteBuffer[]{
+                    ByteBuffer.wrap(sizeLine), ByteBuffer.wrap(b, off, len), ByteBuffer.wrap(CRLF)});
+            return;
+        }
+        // 채널이 없는 출력은 청크 하나를 한 배열로 모아 한 번에 기록
+        byte[] chunk = new byte[sizeLine.length + len + CRLF.length];
+        System.arraycopy(sizeLine, 0, chunk, 0, sizeLine.length);
+        System.arraycopy(b, off, chunk, sizeLine.length, len);
+        System.arraycopy(CRLF, 0, chunk, sizeLine.length + len, CRLF.length);
+        connectionOutput.write(chunk);
+    }
+}
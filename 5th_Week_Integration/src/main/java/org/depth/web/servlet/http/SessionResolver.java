@@ -0,0 +1,15 @@
+package org.depth.web.servlet.http;
+
+import org.depth.web.http.model.HttpSession;
+
+/**
+ * 요청의 세션을 필요할 때 찾거나 만드는 방법 (컨테이너가 요청마다 설정)
+ */
+@FunctionalInterface
+public interface SessionResolver {
+    /**
+     * @param create 세션이 없을 때 새로 만들지 여부
+     * @return 요청의 세션 (없고 create 가 false 면 null)
+     */
+    HttpSession resolve(boolean create);
+}
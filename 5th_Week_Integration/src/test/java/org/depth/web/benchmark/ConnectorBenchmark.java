@@ -0,0 +1,103 @@
+package org.depth.web.benchmark;
+
+import org.depth.web.container.HttpServletContainer;
+import org.depth.web.servlet.http.HttpServlet;
+import org.depth.web.servlet.http.HttpServletRequest;
+import org.depth.web.servlet.http.HttpServletResponse;
+import org.depth.web.support.HttpTestClient;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 블로킹 커넥터와 NIO 셀렉터 커넥터 비교 벤치마크 (JUnit 대상 아님, main 으로 실행)
+ * 워커 풀보다 많은 유휴 연결을 열어둔 상태에서 요청 처리량과 실패 수를 측정한다.
+ *
+ * 실행 예: java -cp build/classes/java/main:build/classes/java/test org.depth.web.benchmark.ConnectorBenchmark
+ */
+public class ConnectorBenchmark {
+    private static final int WORKER_THREADS = 10;
+    private static final int IDLE_CONNECTIONS = 500;
+    private static final int CLIENT_THREADS = 8;
+    private static final int REQUESTS_PER_CLIENT = 200;
+
+    public static void main(String[] args) throws Exception {
+        run("blocking", false);
+        run("nio", true);
+        System.exit(0);
+    }
+
+    private static void run(String label, boolean nio) throws Exception {
+        HttpServletContainer container = new HttpServletContainer(Executors.newFixedThreadPool(WORKER_THREADS));
+        if (nio) {
+            container.enableNioConnector(2);
+        }
+        container.registerServlet(new PingServlet());
+        int port = HttpTestClient.findFreePort();
+        container.start(port);
+        Thread.sleep(200);
+
+        List<Socket> idleSockets = new ArrayList<>();
+        for (int i = 0; i < IDLE_CONNECTIONS; i++) {
+            idleSockets.add(new Socket("localhost", port));
+        }
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENT_THREADS);
+        long startedAt = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < CLIENT_THREADS; c++) {
+            futures.add(clients.submit(() -> {
+                for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                    try (Socket socket = new Socket("localhost", port)) {
+                        socket.setSoTimeout(200);
+                        socket.getOutputStream().write("GET /ping HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n".getBytes());
+                        socket.getInputStream().readAllBytes();
+                        succeeded.incrementAndGet();
+                    } catch (IOException e) {
+                        failed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        clients.shutdown();
+
+        System.out.printf("[%s] idle=%d ok=%d failed=%d elapsed=%dms throughput=%.1f req/s liveThreads=%d%n",
+                label, IDLE_CONNECTIONS, succeeded.get(), failed.get(), elapsedMillis,
+                succeeded.get() * 1000.0 / Math.max(1, elapsedMillis), Thread.activeCount());
+
+        for (Socket socket : idleSockets) {
+            socket.close();
+        }
+        container.stop();
+    }
+
+    static class PingServlet extends HttpServlet {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) {
+            response.setBody("pong");
+        }
+
+        @Override
+        public String getServletName() {
+            return "PingServlet";
+        }
+
+        @Override
+        public String getServletPath() {
+            return "/ping";
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.depth.web.benchmark;
+
+import org.depth.web.http.handler.HttpResponseWriter;
+import org.depth.web.servlet.HandlerInvoker;
+import org.depth.web.servlet.http.HttpServletRequest;
+import org.depth.web.servlet.http.HttpServletResponse;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+
+/**
+ * 핸들러 호출 경로의 호출당 비용 비교 (JUnit 대상 아님, main 으로 실행)
+ * - reflective: 기존 DispatcherServlet 처럼 요청마다 getParameterCount/getParameterTypes 를 확인하고 Method.invoke
+ * - invoker: 매핑 시점에 만든 HandlerInvoker (MethodHandle + 인자 바인딩 계획)
+ *
+ * 실행 예: java -cp build/classes/java/main:build/classes/java/test org.depth.web.benchmark.HandlerInvocationBenchmark
+ */
+public class HandlerInvocationBenchmark {
+    private static final int WARMUP_ITERATIONS = 2_000_000;
+    private static final int MEASURED_ITERATIONS = 10_000_000;
+
+    public static class Controller {
+        private long calls;
+
+        public String handle(HttpServletRequest request, HttpServletResponse response) {
+            calls++;
+            return "ok";
+        }
+    }
+
+    interface Invocation {
+        Object call(HttpServletRequest request, HttpServletResponse response) throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Controller controller = new Controller();
+        Method method = Controller.class.getMethod("handle", HttpServletRequest.class, HttpServletResponse.class);
+        method.setAccessible(true);
+        HandlerInvoker invoker = HandlerInvoker.create(controller, method);
+
+        HttpServletRequest request = HttpServletRequest.builder().method("GET").path("/bench").version("HTTP/1.1").build();
+        HttpServletResponse response = HttpResponseWriter.createDefaultResponse();
+
+        run("reflective", (req, res) -> invokeReflectively(controller, method, req, res), request, response);
+        run("invoker", invoker::invoke, request, response);
+        System.out.println("calls: " + controller.calls);
+    }
+
+    private static void run(String label, Invocation invocation,
+                            HttpServletRequest request, HttpServletResponse response) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        Object sink = null;
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink = invocation.call(request, response);
+        }
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink = invocation.call(request, response);
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf("[%s] %.1f ns/call, %.1f bytes allocated/call (%s)%n",
+                label, (double) elapsedNanos / MEASURED_ITERATIONS, (double) allocated / MEASURED_ITERATIONS, sink);
+    }
+
+    // 기존 DispatcherServlet.service 의 호출 방식
+    private static Object invokeReflectively(Object controller, Method methodToCall,
+                                             HttpServletRequest request, HttpServletResponse response) throws Exception {
+        if (methodToCall.getParameterCount() == 2 &&
+                methodToCall.getParameterTypes()[0].isAssignableFrom(HttpServletRequest.class) &&
+                methodToCall.getParameterTypes()[1].isAssignableFrom(HttpServletResponse.class)) {
+            return methodToCall.invoke(controller, request, response);
+        } else if (methodToCall.getParameterCount() == 0) {
+            return methodToCall.invoke(controller);
+        }
+        throw new NoSuchMethodException(methodToCall.getName());
+    }
+}
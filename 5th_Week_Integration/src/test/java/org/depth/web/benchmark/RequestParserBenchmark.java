@@ -0,0 +1,96 @@
+package org.depth.web.benchmark;
+
+import org.depth.web.http.handler.HttpRequestDecoder;
+import org.depth.web.http.model.HttpHeader;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 기존 BufferedReader + split 파서와 바이트 단위 파서의 요청당 할당량/처리 시간 비교 (JUnit 대상 아님, main 으로 실행)
+ * 할당량은 현재 스레드의 누적 할당 바이트(com.sun.management.ThreadMXBean)로 측정한다.
+ *
+ * 실행 예: java -cp build/classes/java/main:build/classes/java/test org.depth.web.benchmark.RequestParserBenchmark
+ */
+public class RequestParserBenchmark {
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 500_000;
+
+    private static final byte[] REQUEST = ("GET /api/users/42?fields=name,email HTTP/1.1\r\n"
+            + "Host: localhost:8080\r\n"
+            + "User-Agent: Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko)\r\n"
+            + "Accept: text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8\r\n"
+            + "Accept-Encoding: gzip, deflate, br\r\n"
+            + "Accept-Language: ko-KR,ko;q=0.9,en-US;q=0.8\r\n"
+            + "Cookie: JSESSIONID=7f1c2b3a-4d5e-6f70-8192-a3b4c5d6e7f8\r\n"
+            + "Connection: keep-alive\r\n"
+            + "\r\n").getBytes(StandardCharsets.UTF_8);
+
+    interface Parser {
+        Object parse(byte[] raw) throws IOException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        run("BufferedReader+split", RequestParserBenchmark::parseWithReader);
+        run("HttpRequestDecoder", RequestParserBenchmark::parseWithDecoder);
+    }
+
+    private static void run(String label, Parser parser) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        Object sink = null;
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink = parser.parse(REQUEST);
+        }
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink = parser.parse(REQUEST);
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf("[%s] %.0f ns/request, %d bytes allocated/request (%s)%n",
+                label, (double) elapsedNanos / MEASURED_ITERATIONS, allocated / MEASURED_ITERATIONS,
+                sink == null ? "-" : "ok");
+    }
+
+    // 헤더 값까지 모두 조회해 두 파서가 같은 일을 하도록 맞춤
+    private static Object parseWithDecoder(byte[] raw) throws IOException {
+        HttpRequestDecoder decoder = new HttpRequestDecoder();
+        decoder.decode(ByteBuffer.wrap(raw));
+        int checksum = decoder.getPath().length();
+        for (HttpHeader header : decoder.getHeaders()) {
+            checksum += header.getValue().length();
+        }
+        return checksum;
+    }
+
+    // 기존 HttpRequestParser 의 방식 (문자 디코딩 후 줄 단위 split)
+    private static Object parseWithReader(byte[] raw) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(raw)));
+        String[] requestParts = reader.readLine().split(" ");
+        List<HttpHeader> headers = new ArrayList<>();
+        String headerLine;
+        while ((headerLine = reader.readLine()) != null && !headerLine.isEmpty()) {
+            String[] headerParts = headerLine.split(":", 2);
+            if (headerParts.length == 2) {
+                headers.add(HttpHeader.of(headerParts[0].trim(), headerParts[1].trim()));
+            }
+        }
+        int checksum = requestParts[1].length();
+        for (HttpHeader header : headers) {
+            checksum += header.getValue().length();
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,140 @@
+package org.depth.web.benchmark;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.depth.web.container.session.SessionManager;
+import org.depth.web.http.model.HttpSession;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 세션 50만 개를 힙/힙 밖 속성으로 들고 있을 때의 GC 멈춤 시간 비교 (JUnit 대상 아님, main 으로 실행)
+ * 세션마다 사용자 정보 맵, 장바구니 목록, 숫자 속성을 넣고, 요청을 흉내 내어 무작위 세션의 속성을 읽고 바꾸면서
+ * 요청 처리 중 생기는 임시 객체를 함께 할당한다. GC 알림으로 멈춤 횟수, 합계, 최대값을 모은다.
+ * 두 방식을 같은 JVM 에서 돌리면 앞 실행이 남긴 힙 상태가 섞이므로, 방식마다 따로 실행하는 것이 정확하다.
+ *
+ * 실행 예: java -Xmx4g -cp build/classes/java/main:build/classes/java/test org.depth.web.benchmark.SessionGcBenchmark heap
+ *         java -Xmx4g -cp build/classes/java/main:build/classes/java/test org.depth.web.benchmark.SessionGcBenchmark offheap
+ */
+public class SessionGcBenchmark {
+    private static final int SESSIONS = 500_000;
+    private static final int REQUESTS = 2_000_000;
+    private static final long OFF_HEAP_CAPACITY = 2L * 1024 * 1024 * 1024;
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "both";
+        if (mode.equals("heap") || mode.equals("both")) {
+            run("heap", false);
+        }
+        if (mode.equals("offheap") || mode.equals("both")) {
+            run("offheap", true);
+        }
+    }
+
+    private static void run(String label, boolean offHeap) throws Exception {
+        SessionManager sessionManager = new SessionManager();
+        // 세션 저장소 상한 때문에 밀려나지 않도록
+        sessionManager.getSessionStore().setMaximumWeight(Long.MAX_VALUE);
+        if (offHeap) {
+            sessionManager.enableOffHeapAttributes(OFF_HEAP_CAPACITY);
+        }
+        try {
+            List<String> ids = new ArrayList<>(SESSIONS);
+            for (int i = 0; i < SESSIONS; i++) {
+                HttpSession session = sessionManager.createSession();
+                populate(session, i);
+                sessionManager.release(session);
+                ids.add(session.getId());
+            }
+            // 세션을 만드는 동안의 GC 는 빼고, 살아 있는 세션을 old 영역으로 옮긴 뒤 측정
+            System.gc();
+            long heapUsed = usedHeap();
+
+            PauseRecorder recorder = new PauseRecorder();
+            recorder.install();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long startedAt = System.nanoTime();
+            long sink = 0;
+            for (int i = 0; i < REQUESTS; i++) {
+                HttpSession session = sessionManager.getSession(ids.get(random.nextInt(SESSIONS)));
+                Object user = session.getAttribute("user");
+                sink += user == null ? 0 : user.hashCode();
+                session.setAttribute("lastPath", "/items/" + i);
+                // 요청 처리 중의 임시 객체
+                sink += new byte[512].length + String.valueOf(i).length();
+                sessionManager.release(session);
+            }
+            long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+            recorder.uninstall();
+
+            System.out.printf("[%s] heap used after setup: %d MB, off-heap used: %d MB%n", label,
+                    heapUsed / (1024 * 1024),
+                    offHeap ? sessionManager.getOffHeapAttributeStore().getUsedBytes() / (1024 * 1024) : 0);
+            System.out.printf("[%s] %d requests in %d ms, GC pauses: %d, total %d ms, max %d ms (%d)%n", label,
+                    REQUESTS, elapsedMillis, recorder.count.get(), recorder.totalMillis.get(), recorder.maxMillis.get(), sink);
+        } finally {
+            sessionManager.shutdown();
+            System.gc();
+        }
+    }
+
+    private static void populate(HttpSession session, int index) {
+        Map<String, String> user = new HashMap<>();
+        user.put("id", "user-" + index);
+        user.put("name", "name-" + index);
+        user.put("email", "user" + index + "@example.com");
+        user.put("locale", "ko-KR");
+        session.setAttribute("user", user);
+
+        ArrayList<String> cart = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            cart.add("item-" + (index + i));
+        }
+        session.setAttribute("cart", cart);
+        session.setAttribute("visits", (long) index);
+        session.setAttribute("csrf", Long.toHexString(ThreadLocalRandom.current().nextLong()));
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // GC 알림으로 멈춤 시간을 모음
+    private static final class PauseRecorder {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalMillis = new AtomicLong();
+        private final AtomicLong maxMillis = new AtomicLong();
+        private final javax.management.NotificationListener listener = (notification, handback) -> {
+            if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+                return;
+            }
+            GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            long duration = info.getGcInfo().getDuration();
+            count.incrementAndGet();
+            totalMillis.addAndGet(duration);
+            maxMillis.accumulateAndGet(duration, Math::max);
+        };
+
+        private void install() {
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                ((NotificationEmitter) gc).addNotificationListener(listener, null, null);
+            }
+        }
+
+        private void uninstall() throws Exception {
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                ((NotificationEmitter) gc).removeNotificationListener(listener);
+            }
+        }
+    }
+}
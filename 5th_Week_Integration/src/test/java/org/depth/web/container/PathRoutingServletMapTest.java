@@ -0,0 +1,105 @@
+package org.depth.web.container;
+
+import org.depth.web.servlet.http.HttpServlet;
+import org.depth.web.servlet.http.HttpServletRequest;
+import org.depth.web.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathRoutingServletMapTest {
+
+    @Test
+    @DisplayName("정확히 일치 → 가장 긴 접두사 → 확장자 → 기본 서블릿 순서로 찾는다")
+    void matchPrecedence() {
+        PathRoutingServletMap map = new PathRoutingServletMap();
+        HttpServlet root = servlet("/");
+        HttpServlet api = servlet("/api");
+        HttpServlet apiUsers = servlet("/api/users");
+        HttpServlet exact = servlet("/api/users/me");
+        HttpServlet html = servlet("*.html");
+        HttpServlet fallback = servlet("/*");
+        for (HttpServlet servlet : List.of(api, apiUsers, exact, html, fallback)) {
+            map.put(servlet.getServletPath(), servlet);
+        }
+
+        assertThat(map.findBestMatchingFor("/api/users/me")).isSameAs(exact);
+        assertThat(map.findBestMatchingFor("/api/users/1")).isSameAs(apiUsers);
+        assertThat(map.findBestMatchingFor("/api/user")).isSameAs(api);
+        assertThat(map.findBestMatchingFor("/apix")).isSameAs(api);
+        assertThat(map.findBestMatchingFor("/docs/index.html")).isSameAs(html);
+        assertThat(map.findBestMatchingFor("/docs/index.txt")).isSameAs(fallback);
+        assertThat(map.findBestMatchingFor(null)).isNull();
+
+        map.put(root.getServletPath(), root);
+        assertThat(map.findBestMatchingFor("/docs/index.html")).isSameAs(root);
+    }
+
+    @Test
+    @DisplayName("해제하면 다음으로 긴 접두사로 넘어가고 Map 뷰도 함께 바뀐다")
+    void unregisterRebuildsRoutes() {
+        PathRoutingServletMap map = new PathRoutingServletMap();
+        HttpServlet api = servlet("/api");
+        HttpServlet apiUsers = servlet("/api/users");
+        map.put(api.getServletPath(), api);
+        map.put(apiUsers.getServletPath(), apiUsers);
+
+        assertThat(map.remove("/api/users")).isSameAs(apiUsers);
+        assertThat(map.remove("/missing")).isNull();
+        assertThat(map.findBestMatchingFor("/api/users/1")).isSameAs(api);
+        assertThat(map).containsOnlyKeys("/api");
+    }
+
+    @Test
+    @DisplayName("등록이 바뀌는 동안에도 조회는 항상 완성된 라우팅 표를 본다")
+    void lookupsDuringRegistration() throws InterruptedException {
+        PathRoutingServletMap map = new PathRoutingServletMap();
+        HttpServlet stable = servlet("/stable");
+        map.put(stable.getServletPath(), stable);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Throwable> failures = new ArrayList<>();
+
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                if (map.findBestMatchingFor("/stable/resource") != stable) {
+                    synchronized (failures) {
+                        failures.add(new AssertionError("lost /stable"));
+                    }
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 500; i++) {
+            HttpServlet temporary = servlet("/stable/tmp" + i);
+            map.put(temporary.getServletPath(), temporary);
+            map.remove(temporary.getServletPath());
+        }
+        running.set(false);
+        reader.join();
+
+        assertThat(failures).isEmpty();
+    }
+
+    private static HttpServlet servlet(String path) {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+            }
+
+            @Override
+            public String getServletName() {
+                return path;
+            }
+
+            @Override
+            public String getServletPath() {
+                return path;
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package org.depth.web.container;
+
+import org.depth.web.container.connector.AcceptorStatistics;
+import org.depth.web.servlet.http.HttpServlet;
+import org.depth.web.servlet.http.HttpServletRequest;
+import org.depth.web.servlet.http.HttpServletResponse;
+import org.depth.web.support.HttpTestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.ServerSocket;
+import java.net.StandardSocketOptions;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReusePortAcceptorTest {
+
+    private HttpServletContainer container;
+
+    @AfterEach
+    void tearDown() {
+        container.stop();
+    }
+
+    @Test
+    @DisplayName("SO_REUSEPORT 억셉터들이 같은 포트에서 연결을 나눠 받고 억셉터별 통계를 남긴다")
+    void acceptsOnMultipleReusePortSockets() throws Exception {
+        container = new HttpServletContainer(Executors.newFixedThreadPool(4));
+        container.enableReusePortAcceptors(3);
+        container.registerServlet(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                response.setBody("ok");
+            }
+
+            @Override
+            public String getServletName() {
+                return "OkServlet";
+            }
+
+            @Override
+            public String getServletPath() {
+                return "/ok";
+            }
+        });
+        int port = HttpTestClient.findFreePort();
+        container.start(port);
+
+        for (int i = 0; i < 30; i++) {
+            assertThat(HttpTestClient.get(port, "/ok")).endsWith("ok");
+        }
+
+        int expectedAcceptors = reusePortSupported() ? 3 : 1;
+        assertThat(container.getAcceptorStatistics()).hasSize(expectedAcceptors);
+        assertThat(container.getAcceptorStatistics().stream().mapToLong(AcceptorStatistics::getAcceptedCount).sum())
+                .isEqualTo(30);
+    }
+
+    private static boolean reusePortSupported() throws Exception {
+        try (ServerSocket probe = new ServerSocket()) {
+            return probe.supportedOptions().contains(StandardSocketOptions.SO_REUSEPORT);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.depth.web.container;
+
+import org.depth.web.container.concurrent.ConcurrencyLimiter;
+import org.depth.web.servlet.http.HttpServlet;
+import org.depth.web.servlet.http.HttpServletRequest;
+import org.depth.web.servlet.http.HttpServletResponse;
+import org.depth.web.support.HttpTestClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadContainerTest {
+
+    @Test
+    @DisplayName("가상 스레드 모드 컨테이너가 요청을 처리한다")
+    void virtualThreadContainerServesRequests() throws Exception {
+        HttpServletContainer container = HttpServletContainer.withVirtualThreads(4);
+        container.registerServlet(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                response.setBody("virtual");
+            }
+
+            @Override
+            public String getServletName() {
+                return "VirtualServlet";
+            }
+
+            @Override
+            public String getServletPath() {
+                return "/v";
+            }
+        });
+        int port = HttpTestClient.findFreePort();
+        container.start(port);
+        try {
+            assertThat(HttpTestClient.get(port, "/v")).contains("virtual");
+            assertThat(container.getPinningMonitor()).isNotNull();
+            assertThat(container.getHttpRequestHandler().getConcurrencyLimiter().getMaxConcurrency()).isEqualTo(4);
+        } finally {
+            container.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("유휴 keep-alive 연결은 허가를 차지하지 않고, 동시 실행 제한은 요청 단위로 적용된다")
+    void limitAppliesToRequestsNotIdleConnections() throws Exception {
+        HttpServletContainer container = HttpServletContainer.withVirtualThreads(1);
+        container.getHttpRequestHandler().setKeepAliveTimeoutMillis(30_000);
+        CountDownLatch blockedEntered = new CountDownLatch(1);
+        CountDownLatch unblock = new CountDownLatch(1);
+        container.registerServlet(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                if (request.getPath().endsWith("/block")) {
+                    blockedEntered.countDown();
+                    try {
+                        unblock.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                response.setBody("ok");
+            }
+
+            @Override
+            public String getServletName() {
+                return "LimitedServlet";
+            }
+
+            @Override
+            public String getServletPath() {
+                return "/limited";
+            }
+        });
+        int port = HttpTestClient.findFreePort();
+        container.start(port);
+        ConcurrencyLimiter limiter = container.getHttpRequestHandler().getConcurrencyLimiter();
+        List<Socket> idleConnections = new ArrayList<>();
+        try {
+            // 요청 하나씩 처리한 뒤 유휴 상태로 남는 keep-alive 연결들
+            for (int i = 0; i < 3; i++) {
+                Socket socket = new Socket("localhost", port);
+                socket.setSoTimeout(5000);
+                socket.getOutputStream().write(
+                        "GET /limited/a HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+                assertThat(HttpTestClient.readResponse(socket.getInputStream())).contains("keep-alive").endsWith("ok");
+                idleConnections.add(socket);
+            }
+            assertThat(limiter.getActiveCount()).isZero();
+
+            // 유휴 연결이 있어도 새 연결의 요청은 바로 처리됨
+            long started = System.nanoTime();
+            assertThat(HttpTestClient.get(port, "/limited/b")).endsWith("ok");
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(2000);
+
+            // 서블릿을 실행 중인 요청이 허가를 잡고 있으면 다음 요청은 기다림
+            Thread blocked = new Thread(() -> {
+                try {
+                    HttpTestClient.get(port, "/limited/block");
+                } catch (IOException ignored) {
+                }
+            });
+            blocked.start();
+            assertThat(blockedEntered.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread waiting = new Thread(() -> {
+                try {
+                    HttpTestClient.get(port, "/limited/c");
+                } catch (IOException ignored) {
+                }
+            });
+            waiting.start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (limiter.getWaitingCount() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(limiter.getActiveCount()).isEqualTo(1);
+            assertThat(limiter.getWaitingCount()).isEqualTo(1);
+
+            unblock.countDown();
+            blocked.join(5000);
+            waiting.join(5000);
+            assertThat(limiter.getWaitingCount()).isZero();
+        } finally {
+            unblock.countDown();
+            for (Socket socket : idleConnections) {
+                socket.close();
+            }
+            container.stop();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package org.depth.web.container.admission;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControllerTest {
+
+    private ExecutorService worker;
+    private CountDownLatch release;
+    private final List<String> log = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        worker = Executors.newSingleThreadExecutor();
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        worker.shutdownNow();
+    }
+
+    // 워커 스레드를 점유해 이후 작업이 대기열에 쌓이도록 함
+    private void occupyWorker(AdmissionController controller) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        controller.submit(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, () -> log.add("blocker shed"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private Runnable task(String name) {
+        return () -> log.add("run " + name);
+    }
+
+    private Runnable shed(String name) {
+        return () -> log.add("shed " + name);
+    }
+
+    @Test
+    @DisplayName("REJECT_NEW: 대기열이 가득 차면 새 요청을 거절한다")
+    void rejectsNewWhenFull() throws Exception {
+        AdmissionController controller = new AdmissionController(worker, 2, new RejectNewAdmissionPolicy());
+        occupyWorker(controller);
+
+        assertThat(controller.submit(task("a"), shed("a"))).isTrue();
+        assertThat(controller.submit(task("b"), shed("b"))).isTrue();
+        assertThat(controller.submit(task("c"), shed("c"))).isFalse();
+
+        assertThat(controller.getQueueDepth()).isEqualTo(2);
+        assertThat(controller.getRejectedCount()).isEqualTo(1);
+        assertThat(log).containsExactly("shed c");
+
+        release.countDown();
+        worker.shutdown();
+        worker.awaitTermination(5, TimeUnit.SECONDS);
+        assertThat(log).containsExactly("shed c", "run a", "run b");
+    }
+
+    @Test
+    @DisplayName("SHED_OLDEST: 대기열이 가득 차면 가장 오래된 요청을 버린다")
+    void shedsOldestWhenFull() throws Exception {
+        AdmissionController controller = new AdmissionController(worker, 2, new ShedOldestAdmissionPolicy());
+        occupyWorker(controller);
+
+        controller.submit(task("a"), shed("a"));
+        controller.submit(task("b"), shed("b"));
+        assertThat(controller.submit(task("c"), shed("c"))).isTrue();
+
+        assertThat(controller.getShedOldestCount()).isEqualTo(1);
+        assertThat(controller.getQueueDepth()).isEqualTo(2);
+
+        release.countDown();
+        worker.shutdown();
+        worker.awaitTermination(5, TimeUnit.SECONDS);
+        assertThat(log).containsExactly("shed a", "run b", "run c");
+    }
+
+    @Test
+    @DisplayName("SHED_OLDEST: 계속 넘쳐도 워커 풀 대기열은 입장 대기열 길이를 넘지 않는다")
+    void shedOldestDoesNotGrowExecutorQueue() throws Exception {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        worker.shutdown();
+        worker = pool;
+        AdmissionController controller = new AdmissionController(pool, 2, new ShedOldestAdmissionPolicy());
+        occupyWorker(controller);
+
+        for (int i = 0; i < 100; i++) {
+            controller.submit(task(String.valueOf(i)), shed(String.valueOf(i)));
+        }
+
+        assertThat(controller.getShedOldestCount()).isEqualTo(98);
+        assertThat(pool.getQueue()).hasSizeLessThanOrEqualTo(2);
+
+        release.countDown();
+        pool.shutdown();
+        pool.awaitTermination(5, TimeUnit.SECONDS);
+        assertThat(log).endsWith("run 98", "run 99");
+        assertThat(controller.getQueueDepth()).isZero();
+    }
+
+    @Test
+    @DisplayName("CoDel: 대기 시간이 목표치를 계속 넘으면 꺼낸 요청을 버린다")
+    void shedsByQueueDelay() throws Exception {
+        AdmissionController controller = new AdmissionController(worker, 10, new CoDelAdmissionPolicy(1, 1));
+        occupyWorker(controller);
+
+        for (int i = 0; i < 5; i++) {
+            // 실행 시간이 interval 보다 길어 대기 지연이 계속 유지되도록 함
+            controller.submit(() -> {
+                try {
+                    Thread.sleep(3);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, shed(String.valueOf(i)));
+        }
+        Thread.sleep(20);
+
+        release.countDown();
+        worker.shutdown();
+        worker.awaitTermination(5, TimeUnit.SECONDS);
+
+        assertThat(controller.getShedByDelayCount()).isPositive();
+        assertThat(controller.getAdmittedCount() + controller.getShedByDelayCount()).isEqualTo(6);
+    }
+}
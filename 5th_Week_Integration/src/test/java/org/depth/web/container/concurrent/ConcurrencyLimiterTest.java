@@ -0,0 +1,51 @@
+package org.depth.web.container.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimiterTest {
+
+    @Test
+    @DisplayName("동시에 실행되는 작업 수가 설정값을 넘지 않는다")
+    void limitsConcurrentTasks() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(3);
+        ExecutorService executor = VirtualThreadExecutors.newVirtualThreadPerTaskExecutor();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxObserved = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            executor.execute(() -> {
+                try {
+                    limiter.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                int now = running.incrementAndGet();
+                maxObserved.accumulateAndGet(now, Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                limiter.release();
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxObserved.get()).isLessThanOrEqualTo(3);
+        assertThat(limiter.getActiveCount()).isZero();
+        assertThat(limiter.getWaitingCount()).isZero();
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,144 @@
+package org.depth.web.container.connector;
+
+import org.depth.web.container.HttpServletContainer;
+import org.depth.web.http.handler.HttpRequestDecoder;
+import org.depth.web.servlet.http.HttpServlet;
+import org.depth.web.servlet.http.HttpServletRequest;
+import org.depth.web.servlet.http.HttpServletResponse;
+import org.depth.web.support.HttpTestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NioSelectorConnectorTest {
+
+    private HttpServletContainer container;
+    private int port;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        container = new HttpServletContainer(Executors.newFixedThreadPool(2));
+        container.enableNioConnector(2);
+        container.registerServlet(new EchoServlet());
+        port = HttpTestClient.findFreePort();
+        container.start(port);
+    }
+
+    @AfterEach
+    void tearDown() {
+        container.stop();
+    }
+
+    @Test
+    @DisplayName("NIO 커넥터로 받은 요청이 기존 서블릿 파이프라인에서 처리된다")
+    void handlesRequestThroughServletPipeline() throws Exception {
+        String response = HttpTestClient.get(port, "/echo");
+
+        assertThat(response).startsWith("HTTP/1.1 200 OK");
+        assertThat(response).contains("echo:GET /echo");
+    }
+
+    @Test
+    @DisplayName("여러 번에 나뉘어 도착한 요청과 본문을 모아서 처리한다")
+    void assemblesRequestFromPartialReads() throws Exception {
+        try (Socket socket = new Socket("localhost", port)) {
+            socket.setSoTimeout(5000);
+            OutputStream out = socket.getOutputStream();
+            out.write("POST /echo HTTP/1.1\r\nConnection: close\r\nContent-".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            Thread.sleep(50);
+            out.write("Length: 5\r\n\r\nhe".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            Thread.sleep(50);
+            out.write("llo".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+
+            String response = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(response).contains("echo:POST /echo hello");
+        }
+    }
+
+    @Test
+    @DisplayName("유휴 연결이 워커 스레드 수보다 많아도 요청이 처리된다")
+    void idleConnectionsDoNotPinWorkers() throws Exception {
+        List<Socket> idleSockets = new ArrayList<>();
+        try {
+            for (int i = 0; i < 20; i++) {
+                idleSockets.add(new Socket("localhost", port));
+            }
+
+            String response = HttpTestClient.get(port, "/echo");
+
+            assertThat(response).contains("echo:GET /echo");
+        } finally {
+            for (Socket socket : idleSockets) {
+                socket.close();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("헤더가 끝나지 않은 채 계속 들어오는 입력은 최대 헤더 크기 근처에서 읽기를 멈춘다")
+    void stopsReadingPastHeaderLimit() throws Exception {
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress("localhost", 0));
+            try (SocketChannel client = SocketChannel.open(server.getLocalAddress());
+                 SocketChannel accepted = server.accept()) {
+                accepted.configureBlocking(false);
+                // 줄바꿈 없는 헤더 1MB (소켓 버퍼에 모두 들어가도록 나눠 씀)
+                byte[] chunk = ("GET /echo HTTP/1.1\r\nX-Long: " + "a".repeat(16 * 1024)).getBytes(StandardCharsets.US_ASCII);
+                Thread writer = new Thread(() -> {
+                    try {
+                        for (int i = 0; i < 64; i++) {
+                            client.write(ByteBuffer.wrap(chunk));
+                        }
+                    } catch (IOException ignored) {
+                    }
+                });
+                writer.start();
+                writer.join(2000);
+
+                NioConnection connection = new NioConnection(accepted, -1, 1024 * 1024);
+                int read = connection.readFrom(ByteBuffer.allocateDirect(8192));
+
+                assertThat(read).isGreaterThan(HttpRequestDecoder.DEFAULT_MAX_HEADER_SIZE)
+                        .isLessThanOrEqualTo(HttpRequestDecoder.DEFAULT_MAX_HEADER_SIZE + 8192);
+                assertThatThrownBy(connection::advance).isInstanceOf(IOException.class);
+                connection.close();
+            }
+        }
+    }
+
+    static class EchoServlet extends HttpServlet {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) {
+            response.setBody("echo:" + request.getMethod() + " " + request.getPath() + " " + request.getBody());
+        }
+
+        @Override
+        public String getServletName() {
+            return "EchoServlet";
+        }
+
+        @Override
+        public String getServletPath() {
+            return "/echo";
+        }
+    }
+}
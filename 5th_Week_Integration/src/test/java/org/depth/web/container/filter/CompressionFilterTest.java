@@ -0,0 +1,144 @@
+package org.depth.web.container.filter;
+
+import org.depth.web.http.handler.HttpResponseWriter;
+import org.depth.web.http.model.HttpHeader;
+import org.depth.web.servlet.http.HttpServlet;
+import org.depth.web.servlet.http.HttpServletRequest;
+import org.depth.web.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressionFilterTest {
+
+    private static final String JSON = "[" + "{\"id\":1,\"name\":\"depth\",\"active\":true},".repeat(200) + "{}]";
+
+    private final CompressionFilter filter = new CompressionFilter();
+
+    @Test
+    @DisplayName("gzip 을 허용하는 요청의 큰 JSON 응답을 gzip 으로 압축한다")
+    void compressesWithGzip() throws IOException {
+        HttpServletResponse response = execute("gzip, deflate", "application/json", JSON);
+
+        assertThat(header(response, "Content-Encoding")).isEqualTo("gzip");
+        assertThat(header(response, "Vary")).isEqualTo("Accept-Encoding");
+        byte[] body = writtenBody(response);
+        assertThat(Long.parseLong(header(response, "Content-Length"))).isEqualTo(body.length).isLessThan(JSON.length());
+        assertThat(decode(new GZIPInputStream(new ByteArrayInputStream(body)))).isEqualTo(JSON);
+
+        assertThat(filter.getStatistics().getCompressedResponses()).isEqualTo(1);
+        assertThat(filter.getStatistics().getSavedBytes()).isPositive();
+    }
+
+    @Test
+    @DisplayName("q 값이 더 높은 deflate 를 선택한다")
+    void negotiatesDeflate() throws IOException {
+        HttpServletResponse response = execute("gzip;q=0.5, deflate", "text/plain", JSON);
+
+        assertThat(header(response, "Content-Encoding")).isEqualTo("deflate");
+        assertThat(decode(new InflaterInputStream(new ByteArrayInputStream(writtenBody(response))))).isEqualTo(JSON);
+    }
+
+    @Test
+    @DisplayName("작은 본문, 압축 효과가 없는 타입, 허용하지 않는 요청은 그대로 보낸다")
+    void skipsIneligibleResponses() throws IOException {
+        assertThat(header(execute("gzip", "application/json", "{}"), "Content-Encoding")).isNull();
+        assertThat(header(execute("gzip", "image/png", JSON), "Content-Encoding")).isNull();
+        assertThat(header(execute(null, "application/json", JSON), "Content-Encoding")).isNull();
+        assertThat(header(execute("gzip;q=0, identity", "application/json", JSON), "Content-Encoding")).isNull();
+
+        assertThat(filter.getStatistics().getCompressedResponses()).isZero();
+        assertThat(filter.getStatistics().getSkippedResponses()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("같은 경로의 본문이 바뀌지 않았으면 압축 결과를 캐시에서 재사용한다")
+    void reusesCachedVariant() throws IOException {
+        execute("gzip", "application/json", JSON);
+        HttpServletResponse cached = execute("gzip", "application/json", JSON);
+        HttpServletResponse changed = execute("gzip", "application/json", JSON + " ");
+        // 길이는 같고 내용만 다른 본문도 다시 압축
+        String sameLength = JSON.replace("depth", "DEPTH");
+        HttpServletResponse replaced = execute("gzip", "application/json", sameLength);
+
+        assertThat(filter.getStatistics().getCacheHits()).isEqualTo(1);
+        assertThat(decode(new GZIPInputStream(new ByteArrayInputStream(writtenBody(cached))))).isEqualTo(JSON);
+        assertThat(decode(new GZIPInputStream(new ByteArrayInputStream(writtenBody(changed))))).isEqualTo(JSON + " ");
+        assertThat(decode(new GZIPInputStream(new ByteArrayInputStream(writtenBody(replaced))))).isEqualTo(sameLength);
+    }
+
+    private HttpServletResponse execute(String acceptEncoding, String contentType, String body) throws IOException {
+        List<HttpHeader> headers = new ArrayList<>();
+        if (acceptEncoding != null) {
+            headers.add(HttpHeader.of("Accept-Encoding", acceptEncoding));
+        }
+        HttpServletRequest request = HttpServletRequest.builder()
+                .method("GET").path("/items").version("HTTP/1.1").headers(headers).body("")
+                .build();
+        HttpServletResponse response = HttpResponseWriter.createDefaultResponse();
+
+        new FilterChain(List.of(filter), new FixedBodyServlet(contentType, body)).doFilter(request, response);
+        HttpResponseWriter.standardizeResponse(response);
+        return response;
+    }
+
+    private static byte[] writtenBody(HttpServletResponse response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HttpResponseWriter.write(response, out);
+        byte[] raw = out.toByteArray();
+        String text = new String(raw, StandardCharsets.ISO_8859_1);
+        return Arrays.copyOfRange(raw, text.indexOf("\r\n\r\n") + 4, raw.length);
+    }
+
+    private static String decode(InputStream in) throws IOException {
+        try (in) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String header(HttpServletResponse response, String name) {
+        return response.getHeaders().stream()
+                .filter(h -> h.getName().equalsIgnoreCase(name))
+                .map(HttpHeader::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    static class FixedBodyServlet extends HttpServlet {
+        private final String contentType;
+        private final String body;
+
+        FixedBodyServlet(String contentType, String body) {
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) {
+            response.addHeader("Content-Type", contentType);
+            response.setBody(body);
+        }
+
+        @Override
+        public String getServletName() {
+            return "FixedBodyServlet";
+        }
+
+        @Override
+        public String getServletPath() {
+            return "/items";
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package org.depth.web.container.filter;
+
+import org.depth.web.container.PathRoutingServletMap;
+import org.depth.web.http.handler.HttpResponseWriter;
+import org.depth.web.servlet.DispatcherType;
+import org.depth.web.servlet.http.HttpServlet;
+import org.depth.web.servlet.http.HttpServletRequest;
+import org.depth.web.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FilterRegistryTest {
+
+    private final List<String> trace = new ArrayList<>();
+
+    @Test
+    @DisplayName("URL 패턴은 접두사, 확장자, 정확히 일치로 비교하고 쿼리 문자열은 무시한다")
+    void matchesUrlPatterns() {
+        FilterMapping prefix = FilterMapping.of(new NamedFilter("a"), "/api/*");
+        assertThat(prefix.matches("/api")).isTrue();
+        assertThat(prefix.matches("/api/users?page=1")).isTrue();
+        assertThat(prefix.matches("/apix")).isFalse();
+
+        FilterMapping extension = FilterMapping.of(new NamedFilter("b"), "*.json");
+        assertThat(extension.matches("/data/items.json?v=2")).isTrue();
+        assertThat(extension.matches("/data/items.jsonp")).isFalse();
+
+        FilterMapping exact = FilterMapping.of(new NamedFilter("c"), "/login");
+        assertThat(exact.matches("/login?next=/")).isTrue();
+        assertThat(exact.matches("/login/form")).isFalse();
+
+        assertThat(FilterMapping.of(new NamedFilter("d")).matches("/anything")).isTrue();
+        assertThatThrownBy(() -> FilterMapping.of(new NamedFilter("e"), "api/*"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("서블릿별 필터 배열에는 그 라우트에 적용될 수 있는 필터만 등록 순서대로 들어간다")
+    void precompilesPerRoute() {
+        PathRoutingServletMap servletMap = new PathRoutingServletMap();
+        HttpServlet api = new TracingServlet("/api");
+        HttpServlet admin = new TracingServlet("/admin");
+        servletMap.put("/api", api);
+        servletMap.put("/admin", admin);
+        FilterRegistry registry = new FilterRegistry(servletMap);
+
+        Filter logging = new NamedFilter("logging");
+        Filter auth = new NamedFilter("auth");
+        Filter cors = new NamedFilter("cors");
+        registry.addMapping(FilterMapping.of(logging));
+        registry.addMapping(FilterMapping.of(auth, "/admin/*"));
+        registry.addMapping(new FilterMapping(cors, EnumSet.of(DispatcherType.REQUEST), "/api/*"));
+
+        assertThat(registry.compiledFilters(api, DispatcherType.REQUEST)).containsExactly(logging, cors);
+        assertThat(registry.compiledFilters(api, DispatcherType.ASYNC)).containsExactly(logging);
+        assertThat(registry.compiledFilters(admin, DispatcherType.REQUEST)).containsExactly(logging, auth);
+
+        // 등록 변경은 새 배열로 교체
+        registry.removeFilter(logging);
+        assertThat(registry.compiledFilters(admin, DispatcherType.REQUEST)).containsExactly(auth);
+        assertThat(registry.getFilters()).containsExactly(auth, cors);
+    }
+
+    @Test
+    @DisplayName("라우트만으로 정할 수 없는 필터는 요청 경로를 검사해 맞을 때만 실행한다")
+    void checksPathWhenRouteIsAmbiguous() throws IOException {
+        PathRoutingServletMap servletMap = new PathRoutingServletMap();
+        HttpServlet root = new TracingServlet("/");
+        servletMap.put("/", root);
+        FilterRegistry registry = new FilterRegistry(servletMap);
+        registry.addMapping(FilterMapping.of(new NamedFilter("api"), "/api/*"));
+        registry.addMapping(FilterMapping.of(new NamedFilter("json"), "*.json"));
+
+        run(registry, root, "/api/items.json");
+        assertThat(trace).containsExactly("api", "json", "servlet");
+
+        trace.clear();
+        run(registry, root, "/index.html");
+        assertThat(trace).containsExactly("servlet");
+
+        // 서블릿 등록이 바뀌면 다시 계산
+        HttpServlet api = new TracingServlet("/api");
+        servletMap.put("/api", api);
+        registry.refresh();
+        assertThat(registry.compiledFilters(api, DispatcherType.REQUEST)).hasSize(2);
+    }
+
+    private void run(FilterRegistry registry, HttpServlet servlet, String path) throws IOException {
+        HttpServletRequest request = HttpServletRequest.builder().method("GET").path(path).version("HTTP/1.1").build();
+        HttpServletResponse response = HttpResponseWriter.createDefaultResponse();
+        registry.createChain(servlet, request.getDispatcherType(), path).doFilter(request, response);
+    }
+
+    private class NamedFilter implements Filter {
+        private final String name;
+
+        NamedFilter(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void init() {
+        }
+
+        @Override
+        public void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws IOException {
+            trace.add(name);
+            chain.doFilter(request, response);
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+
+    private class TracingServlet extends HttpServlet {
+        private final String path;
+
+        TracingServlet(String path) {
+            this.path = path;
+        }
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) {
+            trace.add("servlet");
+        }
+
+        @Override
+        public String getServletName() {
+            return "TracingServlet";
+        }
+
+        @Override
+        public String getServletPath() {
+            return path;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.depth.web.container.request;
+
+import org.depth.web.container.HttpServletContainer;
+import org.depth.web.servlet.http.HttpServlet;
+import org.depth.web.servlet.http.HttpServletRequest;
+import org.depth.web.servlet.http.HttpServletResponse;
+import org.depth.web.support.ContainerTestSupport;
+import org.depth.web.support.HttpTestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeepAliveTest {
+
+    private HttpServletContainer container;
+
+    private int startContainer(boolean nio) throws Exception {
+        container = new HttpServletContainer(Executors.newFixedThreadPool(2));
+        if (nio) {
+            container.enableNioConnector(1);
+        }
+        container.getHttpRequestHandler().setMaxKeepAliveRequests(3);
+        container.registerServlet(new PathServlet());
+        return ContainerTestSupport.start(container);
+    }
+
+    @AfterEach
+    void tearDown() {
+        container.stop();
+    }
+
+    @ParameterizedTest(name = "nio={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("파이프라인된 요청을 한 연결에서 순서대로 처리하고 연결을 재사용한다")
+    void servesPipelinedRequestsInOrder(boolean nio) throws Exception {
+        int port = startContainer(nio);
+
+        try (Socket socket = new Socket("localhost", port)) {
+            socket.setSoTimeout(5000);
+            OutputStream out = socket.getOutputStream();
+            InputStream in = socket.getInputStream();
+            out.write(("GET /path/a HTTP/1.1\r\nHost: localhost\r\n\r\n"
+                    + "GET /path/b HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+
+            String first = HttpTestClient.readResponse(in);
+            String second = HttpTestClient.readResponse(in);
+
+            assertThat(first).contains("Connection: keep-alive").endsWith("/path/a");
+            assertThat(second).contains("Connection: keep-alive").endsWith("/path/b");
+
+            // 연결당 최대 요청 수(3)에 도달하면 서버가 연결을 닫는다
+            out.write("GET /path/c HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+            String third = HttpTestClient.readResponse(in);
+            assertThat(third).contains("Connection: close").endsWith("/path/c");
+            assertThat(in.read()).isEqualTo(-1);
+        }
+
+        KeepAliveStatistics statistics = container.getHttpRequestHandler().getKeepAliveStatistics();
+        assertThat(statistics.getReusedRequests()).isEqualTo(2);
+        assertThat(statistics.getMaxRequestsClosures()).isEqualTo(1);
+    }
+
+    @ParameterizedTest(name = "nio={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Connection: close 요청이면 응답 후 연결을 닫는다")
+    void closesWhenClientAsks(boolean nio) throws Exception {
+        int port = startContainer(nio);
+
+        try (Socket socket = new Socket("localhost", port)) {
+            socket.setSoTimeout(5000);
+            socket.getOutputStream().write("GET /path/x HTTP/1.1\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+            InputStream in = socket.getInputStream();
+
+            assertThat(HttpTestClient.readResponse(in)).contains("Connection: close");
+            assertThat(in.read()).isEqualTo(-1);
+        }
+    }
+
+    @ParameterizedTest(name = "nio={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("청크 본문 요청은 501 로 거절하고, 뒤에 파이프라인된 요청을 처리하지 않고 연결을 닫는다")
+    void rejectsChunkedRequestAndCloses(boolean nio) throws Exception {
+        int port = startContainer(nio);
+
+        try (Socket socket = new Socket("localhost", port)) {
+            socket.setSoTimeout(5000);
+            OutputStream out = socket.getOutputStream();
+            InputStream in = socket.getInputStream();
+            String smuggled = "GET /path/smuggled HTTP/1.1\r\nHost: localhost\r\n\r\n";
+            out.write(("POST /path/upload HTTP/1.1\r\nHost: localhost\r\nTransfer-Encoding: chunked\r\n\r\n"
+                    + Integer.toHexString(smuggled.length()) + "\r\n" + smuggled + "\r\n0\r\n\r\n"
+                    + "GET /path/next HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+
+            String response = HttpTestClient.readResponse(in);
+
+            assertThat(response).startsWith("HTTP/1.1 501 Not Implemented").contains("Connection: close");
+            assertThat(in.read()).isEqualTo(-1);
+        }
+    }
+
+    @ParameterizedTest(name = "nio={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Content-Length 와 Transfer-Encoding 이 함께 오면 400 으로 거절하고 연결을 닫는다")
+    void rejectsContentLengthWithTransferEncoding(boolean nio) throws Exception {
+        int port = startContainer(nio);
+
+        try (Socket socket = new Socket("localhost", port)) {
+            socket.setSoTimeout(5000);
+            OutputStream out = socket.getOutputStream();
+            InputStream in = socket.getInputStream();
+            out.write(("POST /path/upload HTTP/1.1\r\nHost: localhost\r\nContent-Length: 5\r\n"
+                    + "Transfer-Encoding: chunked\r\n\r\n0\r\n\r\n"
+                    + "GET /path/next HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+
+            String response = HttpTestClient.readResponse(in);
+
+            assertThat(response).startsWith("HTTP/1.1 400 Bad Request").contains("Connection: close");
+            assertThat(in.read()).isEqualTo(-1);
+        }
+    }
+
+    @ParameterizedTest(name = "nio={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Content-Length 헤더가 여러 번 오면 값이 달라도 같아도 400 으로 거절하고 연결을 닫는다")
+    void rejectsMultipleContentLengths(boolean nio) throws Exception {
+        int port = startContainer(nio);
+
+        for (String second : new String[]{"5", "0"}) {
+            try (Socket socket = new Socket("localhost", port)) {
+                socket.setSoTimeout(5000);
+                OutputStream out = socket.getOutputStream();
+                InputStream in = socket.getInputStream();
+                out.write(("POST /path/upload HTTP/1.1\r\nHost: localhost\r\nContent-Length: 5\r\n"
+                        + "Content-Length: " + second + "\r\n\r\nhello"
+                        + "GET /path/next HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+
+                String response = HttpTestClient.readResponse(in);
+
+                assertThat(response).startsWith("HTTP/1.1 400 Bad Request").contains("Connection: close");
+                assertThat(in.read()).isEqualTo(-1);
+            }
+        }
+    }
+
+    static class PathServlet extends HttpServlet {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) {
+            response.setBody(request.getPath());
+        }
+
+        @Override
+        public String getServletName() {
+            return "PathServlet";
+        }
+
+        @Override
+        public String getServletPath() {
+            return "/path";
+        }
+    }
+}
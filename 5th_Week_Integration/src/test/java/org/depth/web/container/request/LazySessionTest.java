@@ -0,0 +1,135 @@
+package org.depth.web.container.request;
+
+import org.depth.web.container.HttpServletContainer;
+import org.depth.web.http.model.HttpSession;
+import org.depth.web.servlet.http.HttpServlet;
+import org.depth.web.servlet.http.HttpServletRequest;
+import org.depth.web.servlet.http.HttpServletResponse;
+import org.depth.web.support.HttpTestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazySessionTest {
+
+    private static final Pattern SESSION_COOKIE = Pattern.compile("Set-Cookie: JSESSIONID=([^;]+)");
+
+    private HttpServletContainer container;
+    private int port;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        container = new HttpServletContainer(Executors.newFixedThreadPool(2));
+        container.registerServlet(new SessionServlet());
+        port = HttpTestClient.findFreePort();
+        container.start(port);
+    }
+
+    @AfterEach
+    void tearDown() {
+        container.stop();
+    }
+
+    @Test
+    @DisplayName("세션을 요청하지 않는 요청은 세션을 만들지 않고 쿠키도 보내지 않는다")
+    void statelessRequestsCreateNoSession() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            String response = HttpTestClient.get(port, "/session/none");
+            assertThat(response).startsWith("HTTP/1.1 200 OK").doesNotContain("Set-Cookie").endsWith("no-session");
+        }
+        assertThat(HttpTestClient.get(port, "/session/peek")).doesNotContain("Set-Cookie").endsWith("null");
+
+        assertThat(container.getSessionManager().getSessionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("getSession() 을 호출한 요청에서만 세션을 만들고, 쿠키로 온 요청은 같은 세션을 찾는다")
+    void createsSessionOnDemand() throws Exception {
+        String created = HttpTestClient.get(port, "/session/create");
+        Matcher matcher = SESSION_COOKIE.matcher(created);
+        assertThat(matcher.find()).isTrue();
+        String sessionId = matcher.group(1);
+        assertThat(created).endsWith(sessionId);
+
+        String peeked = HttpTestClient.send(port, "GET /session/peek HTTP/1.1\r\nHost: localhost\r\n"
+                + "Cookie: theme=dark; JSESSIONID=" + sessionId + "\r\nConnection: close\r\n\r\n");
+        assertThat(peeked).doesNotContain("Set-Cookie").endsWith(sessionId);
+
+        // 알 수 없는 세션 ID 로 조회만 하면 새로 만들지 않음
+        String unknown = HttpTestClient.send(port, "GET /session/peek HTTP/1.1\r\nHost: localhost\r\n"
+                + "Cookie: JSESSIONID=unknown\r\nConnection: close\r\n\r\n");
+        assertThat(unknown).doesNotContain("Set-Cookie").endsWith("null");
+
+        assertThat(container.getSessionManager().getSessionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("세션을 만든 뒤 핸들러가 실패해도 500 응답에 세션 쿠키가 실린다")
+    void keepsSessionCookieOnServerError() throws Exception {
+        String response = HttpTestClient.get(port, "/session/fail");
+
+        assertThat(response).startsWith("HTTP/1.1 500");
+        Matcher matcher = SESSION_COOKIE.matcher(response);
+        assertThat(matcher.find()).isTrue();
+        assertThat(container.getSessionManager().getSession(matcher.group(1))).isNotNull();
+        assertThat(container.getSessionManager().getSessionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("헤더가 이미 커밋된 뒤에는 세션을 만들지 않는다")
+    void refusesSessionAfterCommit() throws Exception {
+        String response = HttpTestClient.get(port, "/session/stream");
+
+        assertThat(response).startsWith("HTTP/1.1 200").doesNotContain("Set-Cookie");
+        assertThat(container.getSessionManager().getSessionCount()).isZero();
+    }
+
+    static class SessionServlet extends HttpServlet {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) {
+            String path = request.getPath();
+            HttpSession session;
+            if (path.endsWith("/fail")) {
+                request.getSession();
+                throw new IllegalStateException("handler failed");
+            } else if (path.endsWith("/stream")) {
+                try {
+                    response.getOutputStream().write("partial".getBytes(StandardCharsets.UTF_8));
+                    response.getOutputStream().flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                request.getSession();
+                return;
+            } else if (path.endsWith("/create")) {
+                session = request.getSession();
+            } else if (path.endsWith("/peek")) {
+                session = request.getSession(false);
+            } else {
+                response.setBody("no-session");
+                return;
+            }
+            response.setBody(session == null ? "null" : session.getId());
+        }
+
+        @Override
+        public String getServletName() {
+            return "SessionServlet";
+        }
+
+        @Override
+        public String getServletPath() {
+            return "/session";
+        }
+    }
+}
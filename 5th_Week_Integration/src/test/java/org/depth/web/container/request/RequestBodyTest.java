@@ -0,0 +1,170 @@
+package org.depth.web.container.request;
+
+import org.depth.web.container.HttpServletContainer;
+import org.depth.web.servlet.http.HttpServlet;
+import org.depth.web.servlet.http.HttpServletRequest;
+import org.depth.web.servlet.http.HttpServletResponse;
+import org.depth.web.support.ContainerTestSupport;
+import org.depth.web.support.HttpTestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestBodyTest {
+
+    private HttpServletContainer container;
+
+    private int startContainer(boolean nio) throws Exception {
+        container = new HttpServletContainer(Executors.newFixedThreadPool(2));
+        if (nio) {
+            container.enableNioConnector(1);
+        }
+        HttpRequestHandler handler = container.getHttpRequestHandler();
+        handler.setMaxRequestBodySize(4 * 1024 * 1024);
+        handler.setRequestBodySpillThreshold(64 * 1024);
+        container.registerServlet(new UploadServlet());
+        return ContainerTestSupport.start(container);
+    }
+
+    @AfterEach
+    void tearDown() {
+        container.stop();
+    }
+
+    @ParameterizedTest(name = "nio={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("임계값보다 큰 본문도 잘리지 않고 스트림으로 끝까지 읽힌다")
+    void streamsLargeBody(boolean nio) throws Exception {
+        int port = startContainer(nio);
+        int size = 3 * 1024 * 1024;
+
+        try (Socket socket = new Socket("localhost", port)) {
+            socket.setSoTimeout(10000);
+            OutputStream out = socket.getOutputStream();
+            out.write(("POST /upload/count HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\nContent-Length: "
+                    + size + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            byte[] chunk = new byte[8192];
+            for (int i = 0; i < chunk.length; i++) {
+                chunk[i] = (byte) i;
+            }
+            for (int sent = 0; sent < size; sent += chunk.length) {
+                out.write(chunk, 0, Math.min(chunk.length, size - sent));
+            }
+            out.flush();
+
+            String response = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(response).startsWith("HTTP/1.1 200").endsWith("bytes=" + size + " sum=" + expectedSum(size));
+        }
+    }
+
+    @ParameterizedTest(name = "nio={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("허용 크기를 넘는 본문은 받기 전에 413 으로 거절한다")
+    void rejectsOversizedBodyEarly(boolean nio) throws Exception {
+        int port = startContainer(nio);
+
+        // 본문은 보내지 않고 헤더만 보낸 상태에서 응답이 와야 한다
+        String response = HttpTestClient.send(port,
+                "POST /upload/count HTTP/1.1\r\nHost: localhost\r\nContent-Length: 104857600\r\n\r\n");
+
+        assertThat(response).startsWith("HTTP/1.1 413 Payload Too Large").contains("Connection: close");
+    }
+
+    @ParameterizedTest(name = "nio={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("서블릿이 읽지 않은 본문을 건너뛰고 같은 연결의 다음 요청을 처리한다")
+    void discardsUnreadBodyForKeepAlive(boolean nio) throws Exception {
+        int port = startContainer(nio);
+
+        try (Socket socket = new Socket("localhost", port)) {
+            socket.setSoTimeout(5000);
+            OutputStream out = socket.getOutputStream();
+            InputStream in = socket.getInputStream();
+            out.write(("POST /upload/ignore HTTP/1.1\r\nHost: localhost\r\nContent-Length: 11\r\n\r\nhello world"
+                    + "POST /upload/echo HTTP/1.1\r\nHost: localhost\r\nContent-Length: 6\r\n\r\nsecond").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+
+            assertThat(HttpTestClient.readResponse(in)).endsWith("ignored");
+            assertThat(HttpTestClient.readResponse(in)).endsWith("echo:second");
+        }
+    }
+
+    @ParameterizedTest(name = "nio={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Expect: 100-continue 요청에는 본문을 받기 전에 100 Continue 를 보낸다")
+    void sendsContinueBeforeBody(boolean nio) throws Exception {
+        int port = startContainer(nio);
+
+        try (Socket socket = new Socket("localhost", port)) {
+            socket.setSoTimeout(5000);
+            OutputStream out = socket.getOutputStream();
+            InputStream in = socket.getInputStream();
+            out.write(("POST /upload/echo HTTP/1.1\r\nHost: localhost\r\nExpect: 100-continue\r\nContent-Length: 4\r\n\r\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            out.flush();
+
+            byte[] interim = in.readNBytes("HTTP/1.1 100 Continue\r\n\r\n".length());
+            assertThat(new String(interim, StandardCharsets.US_ASCII)).isEqualTo("HTTP/1.1 100 Continue\r\n\r\n");
+
+            out.write("ping".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            assertThat(HttpTestClient.readResponse(in)).endsWith("echo:ping");
+        }
+    }
+
+    private static long expectedSum(int size) {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += (byte) (i % 8192) & 0xFF;
+        }
+        return sum;
+    }
+
+    static class UploadServlet extends HttpServlet {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) {
+            String path = request.getPath();
+            if (path.endsWith("/count")) {
+                long bytes = 0;
+                long sum = 0;
+                byte[] buffer = new byte[4096];
+                try (InputStream body = request.getInputStream()) {
+                    int read;
+                    while ((read = body.read(buffer)) != -1) {
+                        for (int i = 0; i < read; i++) {
+                            sum += buffer[i] & 0xFF;
+                        }
+                        bytes += read;
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+                response.setBody("bytes=" + bytes + " sum=" + sum);
+            } else if (path.endsWith("/echo")) {
+                response.setBody("echo:" + request.getBody());
+            } else {
+                response.setBody("ignored");
+            }
+        }
+
+        @Override
+        public String getServletName() {
+            return "UploadServlet";
+        }
+
+        @Override
+        public String getServletPath() {
+            return "/upload";
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.depth.web.container.session;
+
+import org.depth.web.http.model.HttpSession;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedSessionStoreTest {
+
+    private final List<HttpSession> evicted = new CopyOnWriteArrayList<>();
+
+    @Test
+    @DisplayName("최대 세션 수를 넘으면 가장 오래 쓰이지 않은 세션부터 밀어낸다")
+    void evictsLeastRecentlyUsed() {
+        BoundedSessionStore store = new BoundedSessionStore(3, Long.MAX_VALUE, 1, evicted::add);
+        HttpSession first = new HttpSession("a");
+        HttpSession second = new HttpSession("b");
+        HttpSession third = new HttpSession("c");
+        store.put(first);
+        store.put(second);
+        store.put(third);
+
+        // a 를 조회하면 b 가 가장 오래 쓰이지 않은 세션이 됨
+        assertThat(store.get("a")).isSameAs(first);
+        store.put(new HttpSession("d"));
+
+        assertThat(evicted).containsExactly(second);
+        assertThat(store.get("b")).isNull();
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.getStatistics().getCountEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("속성이 커진 세션은 조회할 때 크기가 다시 반영되어 메모리 예산을 넘으면 다른 세션을 밀어낸다")
+    void accountsAttributeSizes() {
+        HttpSession probe = new HttpSession("probe");
+        long emptySize = probe.getEstimatedSize();
+        BoundedSessionStore store = new BoundedSessionStore(100, emptySize * 5, 1, evicted::add);
+        List<HttpSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            HttpSession session = new HttpSession("s" + i);
+            sessions.add(session);
+            store.put(session);
+        }
+        assertThat(store.getWeightedSize()).isEqualTo(emptySize * 3);
+
+        HttpSession big = sessions.get(2);
+        big.setAttribute("cart", "x".repeat((int) emptySize));
+        assertThat(big.getEstimatedSize()).isGreaterThan(emptySize * 2);
+        store.get("s2");
+
+        assertThat(evicted).containsExactly(sessions.get(0));
+        assertThat(store.getWeightedSize()).isLessThanOrEqualTo(store.getMaximumWeight());
+        assertThat(store.getStatistics().getWeightEvictions()).isEqualTo(1);
+
+        big.removeAttribute("cart");
+        assertThat(big.getEstimatedSize()).isEqualTo(emptySize);
+    }
+
+    @Test
+    @DisplayName("상한이 샤드 수보다 작아도 전체 세션 수와 크기 합은 상한을 넘지 않는다")
+    void staysBoundedWithMoreShardsThanLimit() {
+        long emptySize = new HttpSession("probe").getEstimatedSize();
+        BoundedSessionStore store = new BoundedSessionStore(10, emptySize * 5, 32, evicted::add);
+        HttpSession last = null;
+        for (int i = 0; i < 100; i++) {
+            last = new HttpSession("session-" + i);
+            store.put(last);
+        }
+
+        assertThat(store.size()).isLessThanOrEqualTo(5);
+        assertThat(store.getWeightedSize()).isLessThanOrEqualTo(store.getMaximumWeight());
+        assertThat(store.get(last.getId())).isSameAs(last);
+        assertThat(evicted).hasSize(100 - store.size());
+
+        store.setMaximumWeight(Long.MAX_VALUE);
+        for (int i = 100; i < 200; i++) {
+            store.put(new HttpSession("session-" + i));
+        }
+        assertThat(store.size()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("세션 관리자는 밀려난 세션을 무효화하고, 쿠키 없는 요청이 쏟아져도 상한을 지킨다")
+    void sessionManagerStaysBounded() {
+        SessionManager sessionManager = new SessionManager();
+        try {
+            BoundedSessionStore store = sessionManager.getSessionStore();
+            store.setMaximumSessions(64);
+            List<HttpSession> created = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                created.add(sessionManager.createSession());
+            }
+
+            assertThat(sessionManager.getSessionCount()).isLessThanOrEqualTo(64);
+            assertThat(store.getStatistics().getEvictions()).isEqualTo(1000 - sessionManager.getSessionCount());
+            // 밀려난 세션은 더 이상 조회되지 않음
+            assertThat(sessionManager.getSession(created.get(0).getId())).isNull();
+            assertThat(sessionManager.getSession(created.get(999).getId())).isSameAs(created.get(999));
+        } finally {
+            sessionManager.shutdown();
+        }
+    }
+}
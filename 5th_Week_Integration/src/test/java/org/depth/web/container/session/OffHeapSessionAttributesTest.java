@@ -0,0 +1,82 @@
+package org.depth.web.container.session;
+
+import org.depth.web.http.model.HttpSession;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffHeapSessionAttributesTest {
+
+    @Test
+    @DisplayName("요청이 끝나면 속성을 힙 밖에 쓰고, 다음 요청에서는 읽은 속성만 다시 풀어낸다")
+    void roundTripsAttributes() {
+        OffHeapAttributeStore store = new OffHeapAttributeStore(16 * 1024 * 1024);
+        HttpSession session = new HttpSession();
+        session.useOffHeapAttributes(new OffHeapSessionAttributes(store));
+
+        ArrayList<String> cart = new ArrayList<>(List.of("apple", "pear"));
+        session.setAttribute("user", "depth");
+        session.setAttribute("visits", 3L);
+        session.setAttribute("admin", true);
+        session.setAttribute("cart", cart);
+        session.flushAttributes();
+
+        assertThat(store.getUsedBytes()).isPositive();
+        assertThat(session.getEstimatedSize()).isGreaterThan(new HttpSession().getEstimatedSize());
+
+        // 풀어낸 값은 원본과 다른 사본
+        @SuppressWarnings("unchecked")
+        List<String> restored = (List<String>) session.getAttribute("cart");
+        assertThat(restored).containsExactly("apple", "pear").isNotSameAs(cart);
+        // 제자리에서 바꾼 컬렉션도 요청 끝에 다시 쓰임
+        restored.add("plum");
+        session.removeAttribute("admin");
+        session.flushAttributes();
+
+        assertThat(session.getAttribute("cart")).isEqualTo(List.of("apple", "pear", "plum"));
+        assertThat(session.getAttributes()).isEqualTo(Map.of(
+                "user", "depth", "visits", 3L, "cart", List.of("apple", "pear", "plum")));
+        assertThat(session.getAttribute("admin")).isNull();
+    }
+
+    @Test
+    @DisplayName("무효화된 세션의 블록은 다시 쓰이고, 직렬화할 수 없는 값은 거절한다")
+    void reusesBlocksAndRejectsUnserializableValues() {
+        OffHeapAttributeStore store = new OffHeapAttributeStore(16 * 1024 * 1024);
+        for (int i = 0; i < 1000; i++) {
+            HttpSession session = new HttpSession();
+            session.useOffHeapAttributes(new OffHeapSessionAttributes(store));
+            session.setAttribute("payload", "x".repeat(i));
+            session.flushAttributes();
+            session.invalidate();
+        }
+        assertThat(store.getUsedBytes()).isZero();
+        // 크기 등급마다 슬랩 하나씩만 잡힘
+        assertThat(store.getReservedBytes()).isLessThanOrEqualTo(6L * 1024 * 1024);
+
+        HttpSession session = new HttpSession();
+        session.useOffHeapAttributes(new OffHeapSessionAttributes(store));
+        assertThatThrownBy(() -> session.setAttribute("lock", new Object()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("힙 밖 용량이 모자라면 속성을 힙에 남겨 두어 잃지 않는다")
+    void keepsAttributesOnHeapWhenFull() {
+        OffHeapAttributeStore store = new OffHeapAttributeStore(1024);
+        HttpSession session = new HttpSession();
+        session.useOffHeapAttributes(new OffHeapSessionAttributes(store));
+
+        session.setAttribute("user", "depth");
+        session.flushAttributes();
+
+        assertThat(store.getReservedBytes()).isZero();
+        assertThat(session.getAttribute("user")).isEqualTo("depth");
+    }
+}
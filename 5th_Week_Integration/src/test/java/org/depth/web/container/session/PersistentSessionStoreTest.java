@@ -0,0 +1,136 @@
+package org.depth.web.container.session;
+
+import org.depth.web.http.model.HttpSession;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersistentSessionStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("세션 관리자를 다시 시작해도 로그에서 세션과 속성이 되살아나고, 무효화되거나 만료된 세션은 복구하지 않는다")
+    void restoresSessionsAfterRestart() throws Exception {
+        SessionManager first = new SessionManager();
+        first.enablePersistence(directory);
+        HttpSession kept = first.createSession();
+        kept.setAttribute("user", "depth");
+        kept.setAttribute("cart", new ArrayList<>(List.of("apple")));
+        first.release(kept);
+        HttpSession invalidated = first.createSession();
+        first.release(invalidated);
+        first.invalidateSession(invalidated.getId());
+        HttpSession expiring = first.createSession();
+        expiring.setMaxInactiveInterval(Duration.ofMillis(50));
+        first.release(expiring);
+        first.shutdown();
+        Thread.sleep(100);
+
+        SessionManager second = new SessionManager();
+        try {
+            second.enablePersistence(directory);
+            assertThat(second.getPersistentStore().getRecoveredSessions()).isEqualTo(1);
+
+            HttpSession restored = second.getSession(kept.getId());
+            assertThat(restored).isNotNull().isNotSameAs(kept);
+            assertThat(restored.getAttribute("user")).isEqualTo("depth");
+            assertThat(restored.getAttribute("cart")).isEqualTo(List.of("apple"));
+            assertThat(second.getSession(kept.getId())).isSameAs(restored);
+            assertThat(second.getSession(invalidated.getId())).isNull();
+            assertThat(second.getSession(expiring.getId())).isNull();
+        } finally {
+            second.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("쓰다 만 마지막 레코드는 복구에서 건너뛰고 그 자리부터 이어서 쓴다")
+    void skipsTornTail() throws Exception {
+        PersistentSessionStore store = new PersistentSessionStore(directory, 64 * 1024);
+        HttpSession session = session("a", "value");
+        store.save(session, true);
+        store.close();
+
+        // CRC 가 맞지 않는 레코드를 덧붙임
+        Path segment = segments().get(0);
+        int end = firstZero(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(12).putInt(4).putInt(12345).putInt(-1).flip(), end);
+        }
+
+        PersistentSessionStore recovered = new PersistentSessionStore(directory, 64 * 1024);
+        assertThat(recovered.size()).isEqualTo(1);
+        recovered.save(session("b", "other"), true);
+        recovered.close();
+
+        PersistentSessionStore reopened = new PersistentSessionStore(directory, 64 * 1024);
+        assertThat(reopened.load("a").getAttributes()).containsEntry("value", "value");
+        assertThat(reopened.load("b").getAttributes()).containsEntry("value", "other");
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("압축은 살아 있는 레코드만 남기고 지난 세그먼트를 지운다")
+    void compactsSealedSegments() throws Exception {
+        PersistentSessionStore store = new PersistentSessionStore(directory, 4 * 1024);
+        HttpSession session = session("hot", "v");
+        for (int i = 0; i < 200; i++) {
+            session.setAttribute("value", "v" + i);
+            store.save(session, false);
+        }
+        HttpSession removed = session("gone", "x");
+        store.save(removed, true);
+        store.remove("gone");
+        assertThat(store.getSegmentCount()).isGreaterThan(2);
+
+        store.compactIfNeeded();
+
+        assertThat(store.getSegmentCount()).isEqualTo(1);
+        assertThat(segments()).hasSize(1);
+        assertThat(store.load("hot").getAttributes()).containsEntry("value", "v199");
+        store.close();
+
+        PersistentSessionStore reopened = new PersistentSessionStore(directory, 4 * 1024);
+        assertThat(reopened.size()).isEqualTo(1);
+        assertThat(reopened.load("hot").getAttributes()).containsEntry("value", "v199");
+        assertThat(reopened.load("gone")).isNull();
+        reopened.close();
+    }
+
+    private static HttpSession session(String id, String value) {
+        HttpSession session = new HttpSession(id);
+        session.setAttribute("value", value);
+        return session;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    // 쓰인 레코드 뒤 첫 빈 위치 (레코드 길이 필드가 0 인 곳)
+    private static int firstZero(Path segment) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int position = 0;
+        while (buffer.getInt(position) != 0) {
+            position += 8 + buffer.getInt(position);
+        }
+        return position;
+    }
+}
@@ -0,0 +1,114 @@
+package org.depth.web.container.session;
+
+import org.depth.web.container.listener.SessionListener;
+import org.depth.web.http.model.HttpSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionManagerTest {
+
+    private final SessionManager sessionManager = new SessionManager(10);
+    private final List<String> invalidated = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        sessionManager.shutdown();
+    }
+
+    @Test
+    @DisplayName("만료된 세션은 접근이 없어도 타이머 몇 칸 안에 정리되고 무효화 이벤트는 한 번만 발생한다")
+    void expiresIdleSessionsPromptly() throws Exception {
+        sessionManager.addSessionListener(new InvalidationRecorder());
+        sessionManager.setDefaultMaxInactiveInterval(Duration.ofMillis(50));
+        HttpSession session = sessionManager.createSession();
+
+        waitUntil(() -> sessionManager.getSessionCount() == 0, 1000);
+
+        assertThat(invalidated).containsExactly(session.getId());
+        assertThat(sessionManager.getSession(session.getId())).isNull();
+    }
+
+    @Test
+    @DisplayName("접근한 세션은 만료가 연장되어 남고, 접근이 끊기면 그 뒤에 만료된다")
+    void touchExtendsExpiry() throws Exception {
+        sessionManager.setDefaultMaxInactiveInterval(Duration.ofMillis(100));
+        HttpSession touched = sessionManager.createSession();
+        HttpSession idle = sessionManager.createSession();
+
+        for (int i = 0; i < 10; i++) {
+            Thread.sleep(30);
+            assertThat(sessionManager.getSession(touched.getId())).isSameAs(touched);
+        }
+
+        assertThat(sessionManager.getSession(idle.getId())).isNull();
+        waitUntil(() -> sessionManager.getSessionCount() == 0, 1000);
+    }
+
+    @Test
+    @DisplayName("타이밍 휠은 지나간 칸의 세션만 확인하고, 한 바퀴보다 먼 만료도 놓치지 않는다")
+    void wheelHandlesFarDeadlines() {
+        long tick = TimeUnit.MILLISECONDS.toNanos(10);
+        SessionExpiryWheel wheel = new SessionExpiryWheel(tick, 8, 0);
+        HttpSession near = session(0, 25);
+        HttpSession far = session(0, 1000);
+        wheel.schedule(near);
+        wheel.schedule(far);
+        AtomicInteger expired = new AtomicInteger();
+
+        assertThat(wheel.advance(TimeUnit.MILLISECONDS.toNanos(20), s -> true, s -> expired.incrementAndGet())).isZero();
+        assertThat(wheel.advance(TimeUnit.MILLISECONDS.toNanos(30), s -> true, s -> expired.incrementAndGet())).isEqualTo(1);
+        // 여러 바퀴를 도는 동안 먼 세션은 다시 칸에 들어가 남아 있음
+        for (int ms = 40; ms < 1000; ms += 10) {
+            assertThat(wheel.advance(TimeUnit.MILLISECONDS.toNanos(ms), s -> true, s -> expired.incrementAndGet())).isZero();
+        }
+        assertThat(wheel.advance(TimeUnit.MILLISECONDS.toNanos(1010), s -> true, s -> expired.incrementAndGet())).isEqualTo(1);
+        assertThat(expired.get()).isEqualTo(2);
+    }
+
+    private static HttpSession session(long nowNanos, long ttlMillis) {
+        HttpSession session = new HttpSession();
+        session.setMaxInactiveInterval(Duration.ofMillis(ttlMillis));
+        session.resetExpireTime(nowNanos);
+        return session;
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("timed out").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private class InvalidationRecorder implements SessionListener {
+        @Override
+        public void sessionCreated(HttpSession session) {
+        }
+
+        @Override
+        public void sessionInvalidated(HttpSession session) {
+            invalidated.add(session.getId());
+        }
+
+        @Override
+        public void sessionAccessed(HttpSession session) {
+        }
+
+        @Override
+        public void attributeAdded(HttpSession session, String name, Object value) {
+        }
+
+        @Override
+        public void attributeRemoved(HttpSession session, String name) {
+        }
+    }
+}
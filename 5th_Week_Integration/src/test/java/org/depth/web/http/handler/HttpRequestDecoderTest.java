@@ -0,0 +1,117 @@
+package org.depth.web.http.handler;
+
+import org.depth.web.http.model.HttpHeader;
+import org.depth.web.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpRequestDecoderTest {
+
+    private static final String REQUEST = "POST /items?id=1 HTTP/1.1\r\n"
+            + "host: localhost\r\n"
+            + "Content-Length:   5  \r\n"
+            + "X-Custom: a b\r\n"
+            + "\r\n"
+            + "hello";
+
+    @Test
+    @DisplayName("한 바이트씩 나뉘어 도착해도 이어서 파싱하고 본문 시작 위치에서 멈춘다")
+    void resumesAcrossPartialReads() throws IOException {
+        HttpRequestDecoder decoder = new HttpRequestDecoder();
+        byte[] bytes = REQUEST.getBytes(StandardCharsets.UTF_8);
+        int headerLength = REQUEST.indexOf("hello");
+
+        for (int i = 0; i < headerLength - 1; i++) {
+            assertThat(decoder.decode(ByteBuffer.wrap(bytes, i, 1))).isFalse();
+        }
+        ByteBuffer last = ByteBuffer.wrap(bytes, headerLength - 1, bytes.length - headerLength + 1);
+        assertThat(decoder.decode(last)).isTrue();
+        assertThat(last.position()).isEqualTo(headerLength);
+
+        assertThat(decoder.getMethod()).isEqualTo("POST");
+        assertThat(decoder.getPath()).isEqualTo("/items?id=1");
+        assertThat(decoder.getVersion()).isEqualTo("HTTP/1.1");
+        assertThat(decoder.getContentLength()).isEqualTo(5);
+        assertThat(decoder.getHeaderValue("X-CUSTOM")).isEqualTo("a b");
+    }
+
+    @Test
+    @DisplayName("알려진 메서드와 헤더 이름은 표준 표기의 상수 문자열을 재사용한다")
+    void internsKnownTokens() throws IOException {
+        HttpRequestDecoder decoder = new HttpRequestDecoder();
+        decoder.decode(ByteBuffer.wrap(REQUEST.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(decoder.getMethod()).isSameAs("POST");
+        assertThat(decoder.getVersion()).isSameAs("HTTP/1.1");
+        HttpHeader host = decoder.getHeaders().get(0);
+        assertThat(host.getName()).isSameAs("Host");
+        assertThat(host.getValue()).isEqualTo("localhost");
+    }
+
+    @Test
+    @DisplayName("본문은 Content-Length 만큼만 읽히는 스트림으로 요청에 연결된다")
+    void attachesBoundedBody() throws IOException {
+        byte[] bytes = (REQUEST + "GET / HTTP/1.1\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        ByteArrayInputStream input = new ByteArrayInputStream(bytes);
+
+        HttpServletRequest request = HttpRequestParser.parse(input);
+
+        assertThat(request.getBody()).isEqualTo("hello");
+        assertThat(HttpRequestParser.parse(input).getPath()).isEqualTo("/");
+    }
+
+    @Test
+    @DisplayName("본문 경계가 모호한 요청(Content-Length 중복, Transfer-Encoding)은 Content-Length 로 본문을 나누지 않는다")
+    void doesNotFrameAmbiguousBodies() throws IOException {
+        HttpRequestDecoder duplicate = new HttpRequestDecoder();
+        duplicate.decode(bytes("POST / HTTP/1.1\r\nContent-Length: 5\r\ncontent-length: 5\r\n\r\nhello"));
+        HttpRequestDecoder chunked = new HttpRequestDecoder();
+        chunked.decode(bytes("POST / HTTP/1.1\r\nTransfer-Encoding: chunked\r\nContent-Length: 5\r\n\r\n0\r\n\r\n"));
+
+        assertThat(duplicate.isDuplicateContentLength()).isTrue();
+        assertThat(duplicate.getContentLength()).isZero();
+        assertThat(chunked.isTransferEncoded()).isTrue();
+        assertThat(chunked.getContentLength()).isZero();
+        assertThat(chunked.toRequest(new ByteArrayInputStream(new byte[0])).getBody()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("toString/equals/hashCode 는 아직 읽지 않은 본문을 소비하지 않는다")
+    void objectMethodsDoNotConsumeBody() throws IOException {
+        ByteArrayInputStream input = new ByteArrayInputStream(REQUEST.getBytes(StandardCharsets.UTF_8));
+        HttpServletRequest request = HttpRequestParser.parse(input);
+        HttpServletRequest other = HttpRequestParser.parse(new ByteArrayInputStream(REQUEST.getBytes(StandardCharsets.UTF_8)));
+        int unread = input.available();
+
+        assertThat(request.toString()).contains("/items?id=1").doesNotContain("hello");
+        request.hashCode();
+        request.equals(other);
+
+        assertThat(input.available()).isEqualTo(unread);
+        assertThat(request.getBody()).isEqualTo("hello");
+    }
+
+    @Test
+    @DisplayName("잘못된 요청줄과 너무 큰 헤더는 IOException 으로 거절한다")
+    void rejectsMalformedRequests() {
+        assertThatThrownBy(() -> new HttpRequestDecoder().decode(bytes("GET /\r\n\r\n")))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> new HttpRequestDecoder().decode(bytes("GET / HTTP/1.1\r\nContent-Length: abc\r\n\r\n")))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> new HttpRequestDecoder(64).decode(bytes("GET / HTTP/1.1\r\nX-Long: " + "x".repeat(100) + "\r\n\r\n")))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("too large");
+    }
+
+    private static ByteBuffer bytes(String raw) {
+        return ByteBuffer.wrap(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,113 @@
+package org.depth.web.http.handler;
+
+import org.depth.web.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpResponseEncoderTest {
+
+    @Test
+    @DisplayName("바이트 직렬화 결과가 기존 문자열 변환과 같다 (비ASCII 본문, 비표준 사유 구문 포함)")
+    void matchesRawStringConversion() throws IOException {
+        HttpServletResponse standard = response(200, "OK", "안녕 😀 hello");
+        HttpServletResponse custom = response(299, "Custom Ä", "x");
+        custom.setVersion("HTTP/1.0");
+
+        for (HttpServletResponse response : List.of(standard, custom)) {
+            byte[] expected = response.toRawResponse().getBytes(StandardCharsets.UTF_8);
+            assertThat(HttpResponseEncoder.encode(response)).isEqualTo(expected);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            HttpResponseEncoder.write(response, out);
+            assertThat(out.toByteArray()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("소켓 출력에는 헤더와 큰 본문을 한 번의 gathering write 로 보내고 작은 본문은 헤더 버퍼에 이어 담는다")
+    void gathersHeadAndBody() throws IOException {
+        HttpServletResponse large = response(200, "OK", "a".repeat(20_000));
+        RecordingOutput out = new RecordingOutput();
+        HttpResponseEncoder.write(large, out);
+
+        assertThat(out.gatherCalls).hasSize(1);
+        assertThat(out.gatherCalls.get(0)).isEqualTo(2);
+        assertThat(out.bytes.toString(StandardCharsets.UTF_8))
+                .isEqualTo(large.toRawResponse());
+
+        HttpServletResponse small = response(200, "OK", "small");
+        RecordingOutput smallOut = new RecordingOutput();
+        HttpResponseEncoder.write(small, smallOut);
+
+        assertThat(smallOut.gatherCalls).containsExactly(1);
+        assertThat(smallOut.bytes.toString(StandardCharsets.UTF_8)).isEqualTo(small.toRawResponse());
+    }
+
+    @Test
+    @DisplayName("미리 인코딩한 404 본문에 요청 경로가 들어가고 Content-Length 가 바이트 길이와 같다")
+    void cannedNotFoundBody() throws IOException {
+        HttpServletResponse response = HttpResponseWriter.createNotFoundResponse("/없는/경로");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HttpResponseWriter.write(response, out);
+
+        String raw = out.toString(StandardCharsets.UTF_8);
+        String body = raw.substring(raw.indexOf("\r\n\r\n") + 4);
+        assertThat(raw).startsWith("HTTP/1.1 404 Not Found\r\n");
+        assertThat(body).isEqualTo("<html><body><h1>404 Not Found</h1><p>The requested URL /없는/경로"
+                + " was not found on this server.</p></body></html>");
+        assertThat(raw).contains("Content-Length: " + body.getBytes(StandardCharsets.UTF_8).length + "\r\n");
+        assertThat(HttpResponseEncoder.encode(response)).isEqualTo(out.toByteArray());
+    }
+
+    private static HttpServletResponse response(int statusCode, String statusText, String body) {
+        HttpServletResponse response = HttpResponseWriter.createDefaultResponse();
+        response.setStatusCode(statusCode);
+        response.setStatusText(statusText);
+        response.setHeaders(new ArrayList<>());
+        response.setBody(body);
+        HttpResponseWriter.standardizeResponse(response);
+        return response;
+    }
+
+    // gathering write 호출을 기록하는 커넥터 출력 대역
+    private static class RecordingOutput extends OutputStream implements ZeroCopyOutput {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final List<Integer> gatherCalls = new ArrayList<>();
+
+        @Override
+        public void write(int b) {
+            bytes.write(b);
+        }
+
+        @Override
+        public void write(ByteBuffer buffer) {
+            byte[] copy = new byte[buffer.remaining()];
+            buffer.get(copy);
+            bytes.writeBytes(copy);
+        }
+
+        @Override
+        public void write(ByteBuffer[] buffers) {
+            gatherCalls.add(buffers.length);
+            for (ByteBuffer buffer : buffers) {
+                write(buffer);
+            }
+        }
+
+        @Override
+        public void transferFrom(FileChannel source, long position, long count) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.depth.web.http.handler;
+
+import org.depth.web.http.model.FileRegion;
+import org.depth.web.http.model.HttpHeader;
+import org.depth.web.http.model.HttpHeaders;
+import org.depth.web.servlet.http.HttpServletRequest;
+import org.depth.web.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpResponseWriterTest {
+
+    @Test
+    @DisplayName("같은 본문이면 같은 ETag, 다른 본문이면 다른 ETag 를 붙이고 약한/강한 형식을 구분한다")
+    void generatesEntityTags() {
+        HttpServletResponse first = jsonResponse("{\"id\":1}");
+        HttpServletResponse same = jsonResponse("{\"id\":1}");
+        HttpServletResponse other = jsonResponse("{\"id\":2}");
+
+        HttpResponseWriter.standardizeResponse(request("GET"), first, EntityTagMode.WEAK);
+        HttpResponseWriter.standardizeResponse(request("GET"), same, EntityTagMode.WEAK);
+        HttpResponseWriter.standardizeResponse(request("GET"), other, EntityTagMode.WEAK);
+
+        assertThat(first.getHeader(HttpHeaders.ETAG)).startsWith("W/\"").endsWith("\"")
+                .isEqualTo(same.getHeader(HttpHeaders.ETAG))
+                .isNotEqualTo(other.getHeader(HttpHeaders.ETAG));
+
+        HttpServletResponse strong = jsonResponse("{\"id\":1}");
+        HttpResponseWriter.standardizeResponse(request("GET"), strong, EntityTagMode.STRONG);
+        assertThat("W/" + strong.getHeader(HttpHeaders.ETAG)).isEqualTo(first.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("If-None-Match 가 일치하면 본문 없는 304 로 바꾸고 Content-Length 를 보내지 않는다")
+    void replacesMatchingResponseWithNotModified() {
+        HttpServletResponse original = jsonResponse("{\"items\":[1,2,3]}");
+        HttpResponseWriter.standardizeResponse(request("GET"), original, EntityTagMode.WEAK);
+        String etag = original.getHeader(HttpHeaders.ETAG);
+
+        // 강한 형식으로 보내도, 목록 중 하나만 맞아도 약한 비교로 일치
+        String ifNoneMatch = "\"other\", " + etag.substring(2);
+        HttpServletResponse response = jsonResponse("{\"items\":[1,2,3]}");
+        HttpResponseWriter.standardizeResponse(request("GET", ifNoneMatch), response, EntityTagMode.WEAK);
+
+        assertThat(response.getStatusCode()).isEqualTo(304);
+        assertThat(response.getBody()).isEmpty();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_LENGTH)).isNull();
+        assertThat(new String(HttpResponseEncoder.encode(response), StandardCharsets.UTF_8))
+                .startsWith("HTTP/1.1 304 Not Modified").endsWith("\r\n\r\n");
+    }
+
+    @Test
+    @DisplayName("핸들러가 붙인 ETag 와 메모리 파일 본문도 평가하고, GET/HEAD 의 200 응답이 아니면 건드리지 않는다")
+    void respectsExistingTagsAndSkipsUnsafeResponses() {
+        HttpServletResponse tagged = jsonResponse("body");
+        tagged.addHeader(HttpHeaders.ETAG, "\"v1\"");
+        HttpResponseWriter.standardizeResponse(request("GET", "*"), tagged, EntityTagMode.NONE);
+        assertThat(tagged.getStatusCode()).isEqualTo(304);
+        assertThat(tagged.getHeader(HttpHeaders.ETAG)).isEqualTo("\"v1\"");
+
+        byte[] compressed = {1, 2, 3, 4, 5, 6, 7, 8, 9};
+        HttpServletResponse fileBody = jsonResponse("");
+        fileBody.setFileBody(FileRegion.ofBytes(compressed, 0, compressed.length));
+        HttpResponseWriter.standardizeResponse(request("GET"), fileBody, EntityTagMode.STRONG);
+        assertThat(fileBody.getHeader(HttpHeaders.ETAG)).startsWith("\"");
+
+        HttpServletResponse post = jsonResponse("body");
+        HttpResponseWriter.standardizeResponse(request("POST", "*"), post, EntityTagMode.WEAK);
+        assertThat(post.getStatusCode()).isEqualTo(200);
+        assertThat(post.getHeader(HttpHeaders.ETAG)).isNull();
+
+        HttpServletResponse notFound = jsonResponse("missing");
+        notFound.setStatusCode(404);
+        HttpResponseWriter.standardizeResponse(request("GET", "*"), notFound, EntityTagMode.WEAK);
+        assertThat(notFound.getStatusCode()).isEqualTo(404);
+        assertThat(notFound.getHeader(HttpHeaders.ETAG)).isNull();
+    }
+
+    private static HttpServletResponse jsonResponse(String body) {
+        HttpServletResponse response = HttpResponseWriter.createDefaultResponse();
+        response.addHeader(HttpHeaders.CONTENT_TYPE, "application/json");
+        response.setBody(body);
+        return response;
+    }
+
+    private static HttpServletRequest request(String method) {
+        return request(method, null);
+    }
+
+    private static HttpServletRequest request(String method, String ifNoneMatch) {
+        List<HttpHeader> headers = new ArrayList<>();
+        if (ifNoneMatch != null) {
+            headers.add(HttpHeader.of(HttpHeaders.IF_NONE_MATCH, ifNoneMatch));
+        }
+        return HttpServletRequest.builder().method(method).path("/items").version("HTTP/1.1").headers(headers).build();
+    }
+}
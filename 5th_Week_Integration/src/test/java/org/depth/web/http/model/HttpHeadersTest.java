@@ -0,0 +1,82 @@
+package org.depth.web.http.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpHeadersTest {
+
+    @Test
+    @DisplayName("대소문자와 무관하게 첫 값과 모든 값을 삽입 순서대로 찾는다")
+    void caseInsensitiveMultiValueLookup() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Set-Cookie", "a=1");
+        headers.add("X-Trace", "t1");
+        headers.add("set-cookie", "b=2");
+        headers.add("x-trace", "t2");
+
+        assertThat(headers.getValue("SET-COOKIE")).isEqualTo("a=1");
+        assertThat(headers.getValues("Set-Cookie")).containsExactly("a=1", "b=2");
+        assertThat(headers.getValues("X-TRACE")).containsExactly("t1", "t2");
+        assertThat(headers.getValue("Missing")).isNull();
+        assertThat(headers).extracting(HttpHeader::getName)
+                .containsExactly("Set-Cookie", "X-Trace", "set-cookie", "x-trace");
+    }
+
+    @Test
+    @DisplayName("이름으로 지우거나 목록 연산으로 바꿔도 색인과 순서가 유지된다")
+    void removalKeepsIndexConsistent() {
+        HttpHeaders headers = new HttpHeaders(List.of(
+                HttpHeader.of("Content-Length", "1"),
+                HttpHeader.of("Vary", "Origin"),
+                HttpHeader.of("content-length", "2"),
+                HttpHeader.of("X-A", "a")));
+
+        assertThat(headers.removeByName("CONTENT-LENGTH")).isTrue();
+        assertThat(headers.removeByName("Content-Length")).isFalse();
+        assertThat(headers.getValue("Content-Length")).isNull();
+        assertThat(headers).extracting(HttpHeader::getName).containsExactly("Vary", "X-A");
+
+        headers.add(0, HttpHeader.of("X-A", "first"));
+        assertThat(headers.getValues("x-a")).containsExactly("first", "a");
+
+        headers.set(0, HttpHeader.of("X-B", "b"));
+        assertThat(headers.getValues("x-a")).containsExactly("a");
+        assertThat(headers.getValue("x-b")).isEqualTo("b");
+
+        headers.remove(headers.get(1));
+        assertThat(headers.getValue("Vary")).isNull();
+        assertThat(headers).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("사용자 정의 이름이 많아져도 모두 찾을 수 있다")
+    void growsCustomIndex() {
+        HttpHeaders headers = new HttpHeaders();
+        for (int i = 0; i < 100; i++) {
+            headers.add("X-Custom-" + i, String.valueOf(i));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertThat(headers.getValue("x-custom-" + i)).isEqualTo(String.valueOf(i));
+        }
+        headers.removeIf(header -> header.getValue().length() == 1);
+        assertThat(headers).hasSize(90);
+        assertThat(headers.getValue("X-CUSTOM-5")).isNull();
+        assertThat(headers.getValue("X-CUSTOM-50")).isEqualTo("50");
+    }
+
+    @Test
+    @DisplayName("표준 표기의 헤더 이름은 공유 상수로 저장된다")
+    void sharesWellKnownNames() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(new String("Content-Type"), "text/plain");
+
+        assertThat(headers.get(0).getName()).isSameAs(HttpHeaders.CONTENT_TYPE);
+        assertThat(HttpHeaders.of(new ArrayList<>(headers))).isNotSameAs(headers).isEqualTo(headers);
+        assertThat(HttpHeaders.of(headers)).isSameAs(headers);
+    }
+}
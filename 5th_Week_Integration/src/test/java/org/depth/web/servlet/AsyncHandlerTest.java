@@ -0,0 +1,215 @@
+package org.depth.web.servlet;
+
+import org.depth.beans.BeanDefinition;
+import org.depth.web.annotation.Controller;
+import org.depth.web.annotation.RequestMapping;
+import org.depth.web.container.HttpServletContainer;
+import org.depth.web.container.filter.Filter;
+import org.depth.web.container.filter.FilterChain;
+import org.depth.web.container.listener.RequestListener;
+import org.depth.web.context.GenericWebApplicationContext;
+import org.depth.web.servlet.http.HttpServletRequest;
+import org.depth.web.servlet.http.HttpServletResponse;
+import org.depth.web.support.ContainerTestSupport;
+import org.depth.web.support.HttpTestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncHandlerTest {
+
+    private static volatile CountDownLatch release;
+    private static volatile DeferredResult<String> pending;
+
+    @Controller
+    public static class AsyncController {
+        @RequestMapping(value = "/future", method = "GET")
+        public CompletableFuture<String> future() {
+            return CompletableFuture.supplyAsync(() -> "from-future",
+                    CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+        }
+
+        @RequestMapping(value = "/deferred", method = "GET")
+        public DeferredResult<String> deferred() {
+            DeferredResult<String> result = new DeferredResult<>();
+            pending = result;
+            return result;
+        }
+
+        @RequestMapping(value = "/blocked", method = "GET")
+        public CompletableFuture<String> blocked() {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "released";
+            });
+        }
+
+        @RequestMapping(value = "/slow", method = "GET")
+        public DeferredResult<String> slow() {
+            return new DeferredResult<>(100L);
+        }
+
+        @RequestMapping(value = "/slow-fallback", method = "GET")
+        public DeferredResult<String> slowFallback() {
+            return new DeferredResult<>(100L, "fallback");
+        }
+
+        @RequestMapping(value = "/failing", method = "GET")
+        public CompletableFuture<String> failing() {
+            return CompletableFuture.failedFuture(new IllegalStateException("boom"));
+        }
+
+        @RequestMapping(value = "/sync", method = "GET")
+        public String sync() {
+            return "sync";
+        }
+    }
+
+    private HttpServletContainer container;
+    private final List<String> completedBodies = new CopyOnWriteArrayList<>();
+    private final List<DispatcherType> filteredDispatches = new CopyOnWriteArrayList<>();
+
+    private int startContainer(boolean nio) throws Exception {
+        release = new CountDownLatch(1);
+        // 워커 하나: 비동기 요청이 워커를 붙잡으면 다른 요청은 처리되지 못함
+        container = new HttpServletContainer(Executors.newFixedThreadPool(1));
+        if (nio) {
+            container.enableNioConnector(1);
+        }
+        GenericWebApplicationContext context = new GenericWebApplicationContext();
+        context.registerBeanDefinition("asyncController", new BeanDefinition("asyncController", AsyncController.class));
+        DispatcherServlet dispatcherServlet = new DispatcherServlet();
+        dispatcherServlet.setWebApplicationContext(context);
+        container.registerServlet(dispatcherServlet);
+        container.registerFilter(new RecordingFilter());
+        container.registerRequestListener(new CompletionListener());
+
+        return ContainerTestSupport.start(container);
+    }
+
+    @AfterEach
+    void tearDown() {
+        container.stop();
+    }
+
+    @ParameterizedTest(name = "nio={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("비동기 결과는 값을 넘긴 스레드에서 필터를 다시 거쳐 응답되고, 요청 완료 이벤트는 응답이 채워진 뒤 발생한다")
+    void completesOnResolvingThread(boolean nio) throws Exception {
+        int port = startContainer(nio);
+
+        String response = HttpTestClient.get(port, "/future");
+
+        assertThat(response).startsWith("HTTP/1.1 200 OK").endsWith("\"from-future\"");
+        assertThat(filteredDispatches).containsExactly(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        assertThat(completedBodies).containsExactly("\"from-future\"");
+    }
+
+    @ParameterizedTest(name = "nio={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("결과를 기다리는 동안 워커를 반환하므로 워커 하나로도 다른 요청을 처리한다")
+    void releasesWorkerWhileWaiting(boolean nio) throws Exception {
+        int port = startContainer(nio);
+
+        Future<String> blocked = Executors.newSingleThreadExecutor().submit(() -> HttpTestClient.get(port, "/blocked"));
+        Thread.sleep(100);
+
+        assertThat(HttpTestClient.get(port, "/sync")).endsWith("\"sync\"");
+        assertThat(blocked.isDone()).isFalse();
+
+        release.countDown();
+        assertThat(blocked.get(5, TimeUnit.SECONDS)).endsWith("\"released\"");
+    }
+
+    @ParameterizedTest(name = "nio={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("DeferredResult 는 다른 스레드가 값을 설정하면 응답되고, keep-alive 연결은 이어서 다음 요청을 처리한다")
+    void deferredResultOnKeepAliveConnection(boolean nio) throws Exception {
+        int port = startContainer(nio);
+
+        try (Socket socket = new Socket("localhost", port)) {
+            socket.setSoTimeout(5000);
+            socket.getOutputStream().write("GET /deferred HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes());
+            while (pending == null) {
+                Thread.sleep(10);
+            }
+            new Thread(() -> pending.setResult("later")).start();
+            assertThat(HttpTestClient.readResponse(socket.getInputStream()))
+                    .contains("Connection: keep-alive").endsWith("\"later\"");
+
+            socket.getOutputStream().write("GET /sync HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes());
+            assertThat(HttpTestClient.readResponse(socket.getInputStream())).endsWith("\"sync\"");
+        } finally {
+            pending = null;
+        }
+    }
+
+    @ParameterizedTest(name = "nio={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("시간 제한을 넘기면 503 (또는 지정한 대체 값)으로, 실패한 future 는 500 으로 응답한다")
+    void timeoutsAndFailures(boolean nio) throws Exception {
+        int port = startContainer(nio);
+
+        assertThat(HttpTestClient.get(port, "/slow")).startsWith("HTTP/1.1 503 Service Unavailable");
+        assertThat(HttpTestClient.get(port, "/slow-fallback")).startsWith("HTTP/1.1 200 OK").endsWith("\"fallback\"");
+        assertThat(HttpTestClient.get(port, "/failing")).startsWith("HTTP/1.1 500 Internal Server Error");
+    }
+
+    private class RecordingFilter implements Filter {
+        @Override
+        public void init() {
+        }
+
+        @Override
+        public void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws IOException {
+            filteredDispatches.add(request.getDispatcherType());
+            chain.doFilter(request, response);
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+
+    private class CompletionListener implements RequestListener {
+        @Override
+        public boolean requestInitialized(HttpServletRequest request, HttpServletResponse response) {
+            return true;
+        }
+
+        @Override
+        public void requestCompleted(HttpServletRequest request, HttpServletResponse response) {
+            completedBodies.add(response.getBody());
+        }
+
+        @Override
+        public boolean requestError(HttpServletRequest request, HttpServletResponse response, Throwable exception) {
+            return false;
+        }
+
+        @Override
+        public void attributeAdded(HttpServletRequest request, String name, Object value) {
+        }
+
+        @Override
+        public void attributeRemoved(HttpServletRequest request, String name) {
+        }
+    }
+}
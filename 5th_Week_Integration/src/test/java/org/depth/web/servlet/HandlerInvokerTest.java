@@ -0,0 +1,82 @@
+package org.depth.web.servlet;
+
+import org.depth.web.annotation.PathVariable;
+import org.depth.web.http.handler.HttpResponseWriter;
+import org.depth.web.servlet.http.HttpServletRequest;
+import org.depth.web.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HandlerInvokerTest {
+
+    static class SampleController {
+        String none() {
+            return "none";
+        }
+
+        void servletStyle(HttpServletRequest request, HttpServletResponse response) {
+            response.setBody(request.getPath());
+        }
+
+        String variables(HttpServletResponse response, @PathVariable("id") long id, @PathVariable("name") String name,
+                         @PathVariable("page") Integer page) {
+            return id + ":" + name + ":" + page;
+        }
+
+        String failing() throws java.io.IOException {
+            throw new java.io.IOException("boom");
+        }
+
+        String unsupported(StringBuilder builder) {
+            return "never";
+        }
+    }
+
+    private final SampleController controller = new SampleController();
+
+    @Test
+    @DisplayName("파라미터 종류에 맞춰 미리 정한 방법으로 인자를 채워 호출한다")
+    void resolvesArgumentsByPlan() throws Exception {
+        HttpServletRequest request = HttpServletRequest.builder().method("GET").path("/items/7").version("HTTP/1.1").build();
+        HttpServletResponse response = HttpResponseWriter.createDefaultResponse();
+        request.setRequestAttribute(RequestHandlerMapping.PATH_VARIABLES_ATTRIBUTE, Map.of("id", 7L, "name", "pen"));
+
+        assertThat(invoker("none").invoke(request, response)).isEqualTo("none");
+
+        HandlerInvoker servletStyle = invoker("servletStyle");
+        assertThat(servletStyle.invoke(request, response)).isNull();
+        assertThat(servletStyle.returnsValue()).isFalse();
+        assertThat(response.getBody()).isEqualTo("/items/7");
+
+        assertThat(invoker("variables").invoke(request, response)).isEqualTo("7:pen:null");
+    }
+
+    @Test
+    @DisplayName("핸들러 예외는 감싸지 않고 그대로 전달하며, 바인딩할 수 없는 파라미터는 매핑 시점에 거절한다")
+    void exceptionsAndUnsupportedParameters() {
+        HttpServletRequest request = HttpServletRequest.builder().method("GET").path("/").version("HTTP/1.1").build();
+
+        assertThatThrownBy(() -> invoker("failing").invoke(request, HttpResponseWriter.createDefaultResponse()))
+                .isInstanceOf(java.io.IOException.class)
+                .hasMessage("boom");
+        assertThatThrownBy(() -> invoker("unsupported"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("StringBuilder");
+    }
+
+    private HandlerInvoker invoker(String name) {
+        for (Method method : SampleController.class.getDeclaredMethods()) {
+            if (method.getName().equals(name)) {
+                method.setAccessible(true);
+                return HandlerInvoker.create(controller, method);
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+}
@@ -0,0 +1,100 @@
+package org.depth.web.servlet;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestHandlerMappingTest {
+
+    private static final Method HANDLER;
+
+    static {
+        try {
+            HANDLER = Object.class.getMethod("toString");
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Test
+    @DisplayName("같은 경로의 여러 메서드를 모두 유지하고 없는 메서드는 Allow 와 함께 거절한다")
+    void keepsEveryMethodOfPath() {
+        RequestHandlerMapping mapping = new RequestHandlerMapping();
+        mapping.addHandler("/users", "GET", "list", HANDLER);
+        mapping.addHandler("/users", "POST", "create", HANDLER);
+
+        assertThat(mapping.matchByPath("/users", "GET").getController()).isEqualTo("list");
+        assertThat(mapping.matchByPath("/users?page=2", "POST").getController()).isEqualTo("create");
+
+        RequestHandlerMapping.Route route = mapping.findRoute("/users");
+        assertThat(route.getHandler("DELETE")).isNull();
+        assertThat(route.getAllowedMethods()).isEqualTo("GET, POST");
+        assertThatThrownBy(() -> mapping.matchByPath("/users", "DELETE"))
+                .hasMessageStartingWith("Method not allowed");
+        assertThatThrownBy(() -> mapping.matchByPath("/orders", "GET"))
+                .hasMessageStartingWith("No handler found");
+    }
+
+    @Test
+    @DisplayName("리터럴 → 타입 변수 → 문자열 변수 → 나머지 경로 순으로 고르고 실패하면 다음 후보로 되돌아간다")
+    void precedenceAndBacktracking() {
+        RequestHandlerMapping mapping = new RequestHandlerMapping();
+        mapping.addHandler("/users/me", "GET", "me", HANDLER);
+        mapping.addHandler("/users/{id:int}", "GET", "byId", HANDLER);
+        mapping.addHandler("/users/{name}", "GET", "byName", HANDLER);
+        mapping.addHandler("/users/me/settings/{key}", "GET", "setting", HANDLER);
+        mapping.addHandler("/users/{name}/posts", "GET", "posts", HANDLER);
+        mapping.addHandler("/files/{*rest}", "GET", "files", HANDLER);
+        mapping.addHandler("/", "GET", "root", HANDLER);
+
+        assertThat(controllerOf(mapping, "/users/me")).isEqualTo("me");
+        assertThat(controllerOf(mapping, "/users/42")).isEqualTo("byId");
+        assertThat(controllerOf(mapping, "/users/99999999999")).isEqualTo("byName");
+        assertThat(controllerOf(mapping, "/users/alice")).isEqualTo("byName");
+        assertThat(controllerOf(mapping, "/users/me/posts")).isEqualTo("posts");
+        assertThat(controllerOf(mapping, "/files/a/b.txt")).isEqualTo("files");
+        assertThat(controllerOf(mapping, "/")).isEqualTo("root");
+        assertThat(mapping.findRoute("/users/alice/comments")).isNull();
+    }
+
+    @Test
+    @DisplayName("경로 변수는 선언한 타입으로 변환해 꺼낸다")
+    void extractsTypedVariables() {
+        RequestHandlerMapping mapping = new RequestHandlerMapping();
+        mapping.addHandler("/orders/{orderId:long}/items/{itemId:uuid}", "GET", "item", HANDLER);
+        mapping.addHandler("/static/{*path}", "GET", "static", HANDLER);
+        UUID itemId = UUID.randomUUID();
+
+        String path = "/orders/12345678901/items/" + itemId + "?x=1";
+        Map<String, Object> variables = mapping.findRoute(path).extractPathVariables(path);
+        assertThat(variables).containsExactly(Map.entry("orderId", 12345678901L), Map.entry("itemId", itemId));
+
+        assertThat(mapping.findRoute("/static/css/app.css").extractPathVariables("/static/css/app.css"))
+                .containsExactly(Map.entry("path", "css/app.css"));
+        assertThat(mapping.findRoute("/orders/abc/items/" + itemId)).isNull();
+    }
+
+    @Test
+    @DisplayName("빈 경로로 등록한 핸들러는 어떤 템플릿과도 맞지 않을 때 사용된다")
+    void emptyPathIsFallback() {
+        RequestHandlerMapping mapping = new RequestHandlerMapping();
+        mapping.addHandler("", "GET", "fallback", HANDLER);
+        mapping.addHandler("/a", "GET", "a", HANDLER);
+
+        assertThat(controllerOf(mapping, "/a")).isEqualTo("a");
+        assertThat(controllerOf(mapping, "/b")).isEqualTo("fallback");
+
+        mapping.removeHandler("/a");
+        assertThat(controllerOf(mapping, "/a")).isEqualTo("fallback");
+    }
+
+    private static Object controllerOf(RequestHandlerMapping mapping, String path) {
+        return mapping.matchByPath(path, "GET").getController();
+    }
+}
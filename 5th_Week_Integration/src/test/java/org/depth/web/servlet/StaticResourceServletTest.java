@@ -0,0 +1,124 @@
+package org.depth.web.servlet;
+
+import org.depth.web.container.HttpServletContainer;
+import org.depth.web.support.HttpTestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StaticResourceServletTest {
+
+    @TempDir
+    Path baseDirectory;
+
+    private HttpServletContainer container;
+
+    private int start(boolean nio, boolean mappedCache) throws Exception {
+        Files.writeString(baseDirectory.resolve("hello.txt"), "0123456789abcdef", StandardCharsets.UTF_8);
+
+        StaticResourceServlet servlet = new StaticResourceServlet("/static", baseDirectory);
+        if (mappedCache) {
+            servlet.enableMappedCache(1024, 4096);
+        }
+        container = new HttpServletContainer(Executors.newFixedThreadPool(2));
+        if (nio) {
+            container.enableNioConnector(1);
+        }
+        container.registerServlet(servlet);
+        int port = HttpTestClient.findFreePort();
+        container.start(port);
+        return port;
+    }
+
+    @AfterEach
+    void tearDown() {
+        container.stop();
+    }
+
+    private static String request(int port, String path, String extraHeaders) throws Exception {
+        return HttpTestClient.send(port, "GET " + path + " HTTP/1.1\r\nHost: localhost\r\n" + extraHeaders
+                + "Connection: close\r\n\r\n");
+    }
+
+    @ParameterizedTest(name = "nio={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("파일 전체를 전송하고 ETag/Last-Modified 를 붙인다")
+    void servesWholeFile(boolean nio) throws Exception {
+        int port = start(nio, false);
+
+        String response = request(port, "/static/hello.txt", "");
+
+        assertThat(response).startsWith("HTTP/1.1 200 OK");
+        assertThat(response).contains("Content-Length: 16", "ETag: \"", "Last-Modified: ", "Content-Type: text/plain");
+        assertThat(response).endsWith("\r\n\r\n0123456789abcdef");
+    }
+
+    @ParameterizedTest(name = "mappedCache={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Range 요청은 206 과 해당 구간만 보낸다")
+    void servesRange(boolean mappedCache) throws Exception {
+        int port = start(false, mappedCache);
+
+        String response = request(port, "/static/hello.txt", "Range: bytes=2-5\r\n");
+        String suffix = request(port, "/static/hello.txt", "Range: bytes=-3\r\n");
+        String unsatisfiable = request(port, "/static/hello.txt", "Range: bytes=100-\r\n");
+
+        assertThat(response).startsWith("HTTP/1.1 206 Partial Content").contains("Content-Range: bytes 2-5/16")
+                .endsWith("\r\n\r\n2345");
+        assertThat(suffix).contains("Content-Range: bytes 13-15/16").endsWith("\r\n\r\ndef");
+        assertThat(unsatisfiable).startsWith("HTTP/1.1 416").contains("Content-Range: bytes */16");
+    }
+
+    @ParameterizedTest(name = "nio={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("If-None-Match 가 일치하면 304 를 보낸다")
+    void returnsNotModified(boolean nio) throws Exception {
+        int port = start(nio, false);
+        Matcher etag = Pattern.compile("ETag: (\"[^\"]+\")").matcher(request(port, "/static/hello.txt", ""));
+        assertThat(etag.find()).isTrue();
+
+        String response = request(port, "/static/hello.txt", "If-None-Match: " + etag.group(1) + "\r\n");
+
+        assertThat(response).startsWith("HTTP/1.1 304 Not Modified").doesNotContain("0123456789");
+    }
+
+    @ParameterizedTest(name = "mappedCache={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("HEAD 는 GET 과 같은 헤더와 Content-Length 를 보내되 본문은 보내지 않는다")
+    void servesHeadWithoutBody(boolean mappedCache) throws Exception {
+        int port = start(false, mappedCache);
+
+        String whole = HttpTestClient.send(port, "HEAD /static/hello.txt HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n");
+        String range = HttpTestClient.send(port, "HEAD /static/hello.txt HTTP/1.1\r\nHost: localhost\r\n"
+                + "Range: bytes=2-5\r\nConnection: close\r\n\r\n");
+        String post = HttpTestClient.send(port, "POST /static/hello.txt HTTP/1.1\r\nHost: localhost\r\n"
+                + "Content-Length: 0\r\nConnection: close\r\n\r\n");
+
+        assertThat(whole).startsWith("HTTP/1.1 200 OK").contains("Content-Length: 16", "ETag: \"", "Last-Modified: ")
+                .endsWith("\r\n\r\n");
+        assertThat(range).startsWith("HTTP/1.1 206 Partial Content").contains("Content-Length: 4", "Content-Range: bytes 2-5/16")
+                .endsWith("\r\n\r\n");
+        assertThat(post).startsWith("HTTP/1.1 405").contains("Allow: GET, HEAD");
+    }
+
+    @ParameterizedTest(name = "nio={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("기본 디렉터리 밖의 경로는 404")
+    void rejectsPathTraversal(boolean nio) throws Exception {
+        int port = start(nio, false);
+
+        assertThat(request(port, "/static/../secret.txt", "")).startsWith("HTTP/1.1 404");
+        assertThat(request(port, "/static/missing.txt", "")).startsWith("HTTP/1.1 404");
+    }
+}
@@ -0,0 +1,148 @@
+package org.depth.web.servlet.cache;
+
+import org.depth.beans.BeanDefinition;
+import org.depth.web.annotation.Controller;
+import org.depth.web.annotation.RequestMapping;
+import org.depth.web.annotation.ResponseCache;
+import org.depth.web.context.GenericWebApplicationContext;
+import org.depth.web.http.handler.HttpResponseWriter;
+import org.depth.web.http.model.HttpHeader;
+import org.depth.web.http.model.HttpHeaders;
+import org.depth.web.servlet.DispatcherServlet;
+import org.depth.web.servlet.http.HttpServletRequest;
+import org.depth.web.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheStoreTest {
+
+    private static final AtomicInteger INVOCATIONS = new AtomicInteger();
+
+    @Controller
+    public static class CachedController {
+        @ResponseCache(ttlSeconds = 60, varyHeaders = "Accept-Language")
+        @RequestMapping(value = "/greeting", method = "GET")
+        public String greeting(HttpServletRequest request) {
+            return "hello-" + INVOCATIONS.incrementAndGet() + "-" + request.getHeader("Accept-Language");
+        }
+    }
+
+    @Test
+    @DisplayName("TTL 이 지나면 조회되지 않고 만료로 집계된다")
+    void expiresAfterTtl() throws Exception {
+        ResponseCacheStore store = new ResponseCacheStore(1024 * 1024);
+        store.put("/a", "/a", response("a"), 20);
+
+        assertThat(store.get("/a").getBody()).isEqualTo("a");
+        Thread.sleep(40);
+        assertThat(store.get("/a")).isNull();
+
+        ResponseCacheStatistics statistics = store.getStatistics();
+        assertThat(statistics.getHits()).isEqualTo(1);
+        assertThat(statistics.getMisses()).isEqualTo(1);
+        assertThat(statistics.getExpirations()).isEqualTo(1);
+        assertThat(store.getWeightedSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("용량을 넘으면 자주 조회되는 응답은 남기고 한 번 쓰인 응답을 내보낸다")
+    void keepsFrequentlyUsedEntriesUnderPressure() {
+        CachedResponse sample = response("x".repeat(1000));
+        ResponseCacheStore store = new ResponseCacheStore(sample.getWeight() * 20);
+        for (int i = 0; i < 10; i++) {
+            store.put("/hot/" + i, "/hot/" + i, sample, 60_000);
+            for (int j = 0; j < 5; j++) {
+                store.get("/hot/" + i);
+            }
+        }
+
+        // 한 번씩만 조회되는 키를 대량으로 훑어도 자주 쓰는 키는 밀려나지 않음
+        for (int i = 0; i < 200; i++) {
+            store.put("/scan/" + i, "/scan/" + i, sample, 60_000);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(store.get("/hot/" + i)).as("/hot/" + i).isNotNull();
+        }
+        assertThat(store.getWeightedSize()).isLessThanOrEqualTo(store.getMaximumWeight());
+        assertThat(store.getStatistics().getEvictions()).isGreaterThan(0);
+    }
+
+    @Test
+    @DisplayName("동시 미스는 한 요청만 로드를 맡고 나머지는 그 결과를 받는다")
+    void coalescesConcurrentMisses() {
+        ResponseCacheStore store = new ResponseCacheStore(1024 * 1024);
+
+        assertThat(store.beginLoad("/k")).isNull();
+        CompletableFuture<CachedResponse> waiting = store.beginLoad("/k");
+        assertThat(waiting).isNotNull().isNotDone();
+
+        store.completeLoad("/k", "/k", response("loaded"), 60_000);
+
+        assertThat(ResponseCacheStore.await(waiting, 100).getBody()).isEqualTo("loaded");
+        assertThat(store.get("/k").getBody()).isEqualTo("loaded");
+        assertThat(store.getStatistics().getCoalescedLoads()).isEqualTo(1);
+        // 로드가 끝나면 다음 미스는 다시 로드를 맡을 수 있음
+        assertThat(store.beginLoad("/k")).isNull();
+    }
+
+    @Test
+    @DisplayName("경로 단위 무효화는 헤더별 변형을 모두 지운다")
+    void invalidatesAllVariantsOfPath() {
+        ResponseCacheStore store = new ResponseCacheStore(1024 * 1024);
+        store.put("/items\nAccept-Language:ko", "/items", response("ko"), 60_000);
+        store.put("/items\nAccept-Language:en", "/items", response("en"), 60_000);
+        store.put("/other", "/other", response("other"), 60_000);
+
+        store.invalidatePath("/items");
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.get("/other")).isNotNull();
+        assertThat(store.getStatistics().getInvalidations()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("@ResponseCache 핸들러는 같은 키면 다시 실행되지 않고, 세션 쿠키는 저장되지 않는다")
+    void dispatcherServesCachedResponses() {
+        GenericWebApplicationContext context = new GenericWebApplicationContext();
+        context.registerBeanDefinition("cachedController", new BeanDefinition("cachedController", CachedController.class));
+        DispatcherServlet dispatcherServlet = new DispatcherServlet();
+        dispatcherServlet.setWebApplicationContext(context);
+        dispatcherServlet.init();
+
+        // 처음 요청에는 컨테이너가 새 세션 쿠키를 붙여 둔 상태
+        HttpServletResponse first = HttpResponseWriter.createDefaultResponse();
+        first.addHeader(HttpHeaders.SET_COOKIE, "JSESSIONID=abc");
+        dispatch(dispatcherServlet, "ko", first);
+        HttpServletResponse second = dispatch(dispatcherServlet, "ko", HttpResponseWriter.createDefaultResponse());
+        HttpServletResponse english = dispatch(dispatcherServlet, "en", HttpResponseWriter.createDefaultResponse());
+
+        assertThat(second.getBody()).isEqualTo(first.getBody()).isEqualTo("\"hello-1-ko\"");
+        assertThat(second.getHeader(HttpHeaders.SET_COOKIE)).isNull();
+        assertThat(english.getBody()).isEqualTo("\"hello-2-en\"");
+        assertThat(INVOCATIONS.get()).isEqualTo(2);
+        assertThat(dispatcherServlet.getResponseCacheStore().getStatistics().getHitRatio()).isEqualTo(1.0 / 3);
+    }
+
+    private static HttpServletResponse dispatch(DispatcherServlet dispatcherServlet, String language,
+                                                HttpServletResponse response) {
+        HttpServletRequest request = HttpServletRequest.builder()
+                .method("GET").path("/greeting").version("HTTP/1.1")
+                .headers(List.of(HttpHeader.of("Accept-Language", language)))
+                .build();
+        dispatcherServlet.service(request, response);
+        return response;
+    }
+
+    private static CachedResponse response(String body) {
+        HttpServletResponse response = HttpResponseWriter.createDefaultResponse();
+        response.setBody(body);
+        return CachedResponse.capture(response);
+    }
+}
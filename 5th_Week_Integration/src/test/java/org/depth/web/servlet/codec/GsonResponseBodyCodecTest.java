@@ -0,0 +1,80 @@
+package org.depth.web.servlet.codec;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GsonResponseBodyCodecTest {
+
+    static class Item {
+        private final String name;
+        private final int count;
+        private final String note = null;
+
+        Item(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+
+    // Collection 이 아닌 Iterable 빈: Gson 은 배열이 아니라 필드를 가진 객체로 직렬화
+    static class Basket implements Iterable<Item> {
+        private final String owner = "depth";
+        private final List<Item> items = List.of(new Item("c", 3));
+
+        @Override
+        public Iterator<Item> iterator() {
+            return items.iterator();
+        }
+    }
+
+    private final GsonResponseBodyCodec codec = GsonResponseBodyCodec.shared();
+
+    @Test
+    @DisplayName("기존 new Gson().toJson 과 같은 JSON 을 만든다")
+    void matchesGsonOutput() throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("title", "<안녕>");
+        map.put("items", List.of(new Item("a", 1)));
+        List<Object> values = List.of("text", 42, new Item("b", 2), map, Arrays.asList(1, null, "x"), new Basket());
+
+        for (Object value : values) {
+            String expected = new Gson().toJson(value);
+            assertThat(codec.encodeToString(value)).isEqualTo(expected);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            codec.write(value, out);
+            assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Stream 반환값은 원소를 하나씩 꺼내 배열로 쓰고 다 쓰면 스트림을 닫는다")
+    void streamsElements() throws IOException {
+        AtomicInteger closed = new AtomicInteger();
+        Stream<Item> items = IntStream.range(0, 3)
+                .mapToObj(i -> new Item("item" + i, i))
+                .onClose(closed::incrementAndGet);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.write(items, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo("[{\"name\":\"item0\",\"count\":0},{\"name\":\"item1\",\"count\":1},{\"name\":\"item2\",\"count\":2}]");
+        assertThat(closed).hasValue(1);
+    }
+}
@@ -0,0 +1,154 @@
+package org.depth.web.servlet.http;
+
+import org.depth.web.container.HttpServletContainer;
+import org.depth.web.http.handler.HttpResponseWriter;
+import org.depth.web.support.ContainerTestSupport;
+import org.depth.web.support.HttpTestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingResponseTest {
+
+    private static final String LARGE_PART = "x".repeat(20_000);
+
+    private HttpServletContainer container;
+
+    private int startContainer(boolean nio) throws Exception {
+        container = new HttpServletContainer(Executors.newFixedThreadPool(2));
+        if (nio) {
+            container.enableNioConnector(1);
+        }
+        container.registerServlet(new StreamingServlet());
+        return ContainerTestSupport.start(container);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    @ParameterizedTest(name = "nio={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("길이를 모르는 스트리밍 응답은 chunked 인코딩으로 전송된다")
+    void streamsChunkedWhenLengthUnknown(boolean nio) throws Exception {
+        int port = startContainer(nio);
+
+        String response = HttpTestClient.get(port, "/stream/chunked");
+
+        String[] parts = response.split("\r\n\r\n", 2);
+        assertThat(parts[0]).contains("Transfer-Encoding: chunked").doesNotContain("Content-Length");
+        assertThat(parts[1]).endsWith("0\r\n\r\n");
+        assertThat(decodeChunked(parts[1])).isEqualTo("hello, " + LARGE_PART + "world");
+    }
+
+    @ParameterizedTest(name = "nio={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Content-Length 를 지정한 스트리밍 응답은 본문을 그대로 전송한다")
+    void streamsRawWhenLengthDeclared(boolean nio) throws Exception {
+        int port = startContainer(nio);
+
+        String response = HttpTestClient.get(port, "/stream/fixed");
+
+        assertThat(response).contains("Content-Length: 10").doesNotContain("Transfer-Encoding");
+        assertThat(response).endsWith("\r\n\r\n0123456789");
+    }
+
+    @Test
+    @DisplayName("HTTP/1.0 요청에는 chunked 대신 연결 종료로 본문 끝을 알린다")
+    void closesConnectionForHttp10() throws Exception {
+        int port = startContainer(false);
+
+        String response = HttpTestClient.send(port, "GET /stream/chunked HTTP/1.0\r\nConnection: keep-alive\r\n\r\n");
+
+        assertThat(response).contains("Connection: close").doesNotContain("Transfer-Encoding");
+        assertThat(response).endsWith("\r\n\r\nhello, " + LARGE_PART + "world");
+    }
+
+    @Test
+    @DisplayName("청크 하나(크기 줄, 데이터, CRLF)는 출력에 한 번의 쓰기로 전달된다")
+    void writesEachChunkOnce() throws Exception {
+        List<String> writes = new ArrayList<>();
+        OutputStream recording = new OutputStream() {
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                writes.add(new String(b, off, len, StandardCharsets.US_ASCII));
+            }
+        };
+        ResponseOutputStream out = new ResponseOutputStream(HttpResponseWriter.createDefaultResponse(), recording, true, true);
+        out.write("hello".getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        int afterHead = writes.size();
+        out.write("world".getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+
+        assertThat(writes.subList(afterHead, writes.size())).containsExactly("5\r\nworld\r\n");
+    }
+
+    private static String decodeChunked(String body) {
+        StringBuilder decoded = new StringBuilder();
+        int index = 0;
+        while (true) {
+            int lineEnd = body.indexOf("\r\n", index);
+            int size = Integer.parseInt(body.substring(index, lineEnd), 16);
+            if (size == 0) {
+                return decoded.toString();
+            }
+            decoded.append(body, lineEnd + 2, lineEnd + 2 + size);
+            index = lineEnd + 2 + size + 2;
+        }
+    }
+
+    static class StreamingServlet extends HttpServlet {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) {
+            try {
+                if (request.getPath().endsWith("/fixed")) {
+                    response.addHeader("Content-Length", "10");
+                    OutputStream out = response.getOutputStream();
+                    out.write("01234".getBytes(StandardCharsets.UTF_8));
+                    out.write("56789".getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                OutputStream out = response.getOutputStream();
+                out.write("hello, ".getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                WritableByteChannel channel = response.getChannel();
+                channel.write(ByteBuffer.wrap(LARGE_PART.getBytes(StandardCharsets.UTF_8)));
+                out.write("world".getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public String getServletName() {
+            return "StreamingServlet";
+        }
+
+        @Override
+        public String getServletPath() {
+            return "/stream";
+        }
+    }
+}
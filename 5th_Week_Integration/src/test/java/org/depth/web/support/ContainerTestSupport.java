@@ -0,0 +1,29 @@
+package org.depth.web.support;
+
+import org.depth.web.container.HttpServletContainer;
+
+import java.io.IOException;
+import java.net.BindException;
+
+/**
+ * 컨테이너 통합 테스트용 시작 도우미
+ * 빈 포트를 고른 뒤 바인드하기 전까지 다른 프로세스가 그 포트를 가져갈 수 있으므로, 바인드에 실패하면 새 포트로 다시 시도한다.
+ */
+public class ContainerTestSupport {
+    private static final int MAX_ATTEMPTS = 5;
+
+    // 설정을 마친 컨테이너를 빈 포트에서 시작하고 그 포트를 반환
+    public static int start(HttpServletContainer container) throws IOException {
+        BindException lastFailure = null;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            int port = HttpTestClient.findFreePort();
+            try {
+                container.start(port);
+                return port;
+            } catch (BindException e) {
+                lastFailure = e;
+            }
+        }
+        throw lastFailure;
+    }
+}